@@ -2,29 +2,42 @@
 
 #include <jni.h>
 #include <Windows.h>
+#include <vector>
 
+/*
+* One slot of FSUIPCDataRequestManager pool. The slot is reused for many requests, so it keeps its staging memory
+* (the memory FSUIPC reads into or writes from) and the global reference to the last Java byte array it was used for.
+* Java side registers the same arrays every cycle, so the global reference is usually just compared, not re-created.
+*/
 class FSUIPCDataRequest
 {
 private:
 	DWORD m_dwOffset;
 	DWORD m_dwSize;
-	jbyte* m_cData;				//C++ data representation	
+	std::vector<jbyte> m_arStaging;	//C++ data representation, kept allocated between uses
+	BOOL m_bCopyBack;			//whether to copy the data back to Java array when released (read requests)
+	BOOL m_bAllocated;			//whether the slot holds a request waiting for FSUIPC_Process
+	unsigned int m_iIdleCycles;	//the number of process calls the slot was not used for
 	jobject m_oData;			//global reference to our java byte array
-	JavaVM* m_oJavaVM;			//reference to JavaVM	
+	JavaVM* m_oJavaVM;			//reference to JavaVM
 
 public:
 	DWORD getOffset() { return m_dwOffset; };
 	DWORD getSize() { return m_dwSize; };
-	jbyte* getCData() { return m_cData; };		
+	jbyte* getCData() { return m_arStaging.data(); };
+	BOOL isAllocated() { return m_bAllocated; };
+	BOOL hasDataRef() { return m_oData != NULL; };
+	unsigned int getIdleCycles() { return m_iIdleCycles; };
 
 	void setOffset(DWORD dwOffset) { m_dwOffset = dwOffset; };
-	void setSize(DWORD dwSize) { m_dwSize = dwSize; };	
+	void setSize(DWORD dwSize) { m_dwSize = dwSize; };
+	void setIdleCycles(unsigned int iIdleCycles) { m_iIdleCycles = iIdleCycles; };
 
-	BOOL alloc(jbyteArray jData);
-	BOOL release();
+	BOOL alloc(jbyteArray jData, DWORD dwSize, BOOL bCopyBack);
+	BOOL release(BOOL bProcessed);
+	void releaseDataRef();
 
-	FSUIPCDataRequest();	
+	FSUIPCDataRequest();
 	FSUIPCDataRequest(JavaVM* oJavaVM);
 	~FSUIPCDataRequest();
 };
-
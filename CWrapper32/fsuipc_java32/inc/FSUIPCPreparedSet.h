@@ -0,0 +1,40 @@
+#pragma once
+
+#include <jni.h>
+#include <Windows.h>
+#include <vector>
+
+/*
+* A set of read/write requests registered once and then stored with FSUIPC again and again, on every call of
+* processPrepared function. The data of all the requests are in one direct byte buffer (the pool), which does not
+* move in memory, so the requests point right into it and nothing is pinned or copied when processed.
+*/
+class FSUIPCPreparedSet
+{
+private:
+	std::vector<DWORD> m_arOffsets;
+	std::vector<DWORD> m_arSizes;
+	std::vector<jbyte> m_arTypes;
+	std::vector<DWORD> m_arPositions;	//the position of request data within the pool
+	std::vector<jbyte> m_arPrevious;	//the data of read requests after the previous process, to find out what changed
+	BOOL m_bPreviousValid;				//whether m_arPrevious holds the data of previous process
+	jbyte* m_pPool;						//the memory of the direct byte buffer
+	jobject m_oPool;					//global reference to the direct byte buffer, so it is not garbage collected
+	JavaVM* m_oJavaVM;					//reference to JavaVM
+
+public:
+	size_t getCount() { return m_arOffsets.size(); };
+	DWORD getOffset(size_t i) { return m_arOffsets[i]; };
+	DWORD getSize(size_t i) { return m_arSizes[i]; };
+	jbyte getType(size_t i) { return m_arTypes[i]; };
+	jbyte* getData(size_t i) { return m_pPool + m_arPositions[i]; };
+
+	size_t getChangedLength() { return (m_arOffsets.size() + 63) / 64; };
+
+	BOOL alloc(JNIEnv* env, jintArray aOffsets, jintArray aSizes, jbyteArray aTypes, jobject aPool);
+	void updateChanged(jlong* pChanged);
+	void release();
+
+	FSUIPCPreparedSet(JavaVM* oJavaVM);
+	~FSUIPCPreparedSet();
+};
@@ -7,6 +7,10 @@
 #ifdef __cplusplus
 extern "C" {
 #endif
+#undef com_mouseviator_fsuipc_FSUIPCWrapper_BATCH_READ
+#define com_mouseviator_fsuipc_FSUIPCWrapper_BATCH_READ 0L
+#undef com_mouseviator_fsuipc_FSUIPCWrapper_BATCH_WRITE
+#define com_mouseviator_fsuipc_FSUIPCWrapper_BATCH_WRITE 1L
 /*
  * Class:     com_mouseviator_fsuipc_FSUIPCWrapper
  * Method:    open
@@ -31,6 +35,14 @@ JNIEXPORT void JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_close
 JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_read
   (JNIEnv *, jclass, jint, jint, jbyteArray);
 
+/*
+ * Class:     com_mouseviator_fsuipc_FSUIPCWrapper
+ * Method:    readDirect
+ * Signature: (IILjava/nio/ByteBuffer;I)I
+ */
+JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_readDirect
+  (JNIEnv *, jclass, jint, jint, jobject, jint);
+
 /*
  * Class:     com_mouseviator_fsuipc_FSUIPCWrapper
  * Method:    readData
@@ -63,6 +75,46 @@ JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_writeData
 JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_process
   (JNIEnv *, jclass);
 
+/*
+ * Class:     com_mouseviator_fsuipc_FSUIPCWrapper
+ * Method:    processBatch
+ * Signature: ([I[I[B[B)I
+ */
+JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_processBatch
+  (JNIEnv *, jclass, jintArray, jintArray, jbyteArray, jbyteArray);
+
+/*
+ * Class:     com_mouseviator_fsuipc_FSUIPCWrapper
+ * Method:    prepare
+ * Signature: ([I[I[BLjava/nio/ByteBuffer;)I
+ */
+JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_prepare
+  (JNIEnv *, jclass, jintArray, jintArray, jbyteArray, jobject);
+
+/*
+ * Class:     com_mouseviator_fsuipc_FSUIPCWrapper
+ * Method:    processPrepared
+ * Signature: (I)I
+ */
+JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_processPrepared__I
+  (JNIEnv *, jclass, jint);
+
+/*
+ * Class:     com_mouseviator_fsuipc_FSUIPCWrapper
+ * Method:    processPrepared
+ * Signature: (I[J)I
+ */
+JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_processPrepared__I_3J
+  (JNIEnv *, jclass, jint, jlongArray);
+
+/*
+ * Class:     com_mouseviator_fsuipc_FSUIPCWrapper
+ * Method:    releasePrepared
+ * Signature: (I)V
+ */
+JNIEXPORT void JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_releasePrepared
+  (JNIEnv *, jclass, jint);
+
 /*
  * Class:     com_mouseviator_fsuipc_FSUIPCWrapper
  * Method:    getResult
@@ -71,6 +123,14 @@ JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_process
 JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_getResult
   (JNIEnv *, jclass);
 
+/*
+ * Class:     com_mouseviator_fsuipc_FSUIPCWrapper
+ * Method:    getLastProcessResult
+ * Signature: ()I
+ */
+JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_getLastProcessResult
+  (JNIEnv *, jclass);
+
 /*
  * Class:     com_mouseviator_fsuipc_FSUIPCWrapper
  * Method:    getFSVersion
@@ -95,6 +155,14 @@ JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_getVersion
 JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_getLibVersion
   (JNIEnv *, jclass);
 
+/*
+ * Class:     com_mouseviator_fsuipc_FSUIPCWrapper
+ * Method:    getDroppedLogMessages
+ * Signature: ()J
+ */
+JNIEXPORT jlong JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_getDroppedLogMessages
+  (JNIEnv *, jclass);
+
 /*
  * Class:     com_mouseviator_fsuipc_FSUIPCWrapper
  * Method:    setupLogging
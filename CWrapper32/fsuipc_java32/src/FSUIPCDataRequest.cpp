@@ -1,8 +1,8 @@
 #include "FSUIPCDataRequest.h"
 
-BOOL FSUIPCDataRequest::alloc(jbyteArray jData)
+BOOL FSUIPCDataRequest::alloc(jbyteArray jData, DWORD dwSize, BOOL bCopyBack)
 {
-    if (m_oJavaVM == NULL || jData == NULL) {
+    if (m_oJavaVM == NULL || jData == NULL || dwSize == 0) {
         return FALSE;
     }
 
@@ -13,27 +13,58 @@ BOOL FSUIPCDataRequest::alloc(jbyteArray jData)
         return FALSE;
     }
 
-    //create global reference to the byte array passed as container to store read values into
-    //because otherwise it would not survive between JNI calls and would cause memory exception
-    m_oData = env->NewGlobalRef(jData);
-    //convert our java byte array to C++ byte array
-    m_cData = env->GetByteArrayElements((jbyteArray)m_oData, 0);
-    if (m_cData == NULL) {
-        //if failed to convert to c byte array, we will not need that global ref
-        env->DeleteGlobalRef(m_oData);        
+    if (env->GetArrayLength(jData) < (jsize)dwSize) {
         return FALSE;
     }
-    else {
-        return TRUE;
+
+    //create global reference to the byte array passed as container to store read values into
+    //because otherwise it would not survive between JNI calls and would cause memory exception.
+    //The slot is usually used for the same array as in the previous cycle, then the reference is kept
+    if (m_oData == NULL || !env->IsSameObject(m_oData, jData)) {
+        if (m_oData != NULL) {
+            env->DeleteGlobalRef(m_oData);
+        }
+        m_oData = env->NewGlobalRef(jData);
+        if (m_oData == NULL) {
+            return FALSE;
+        }
     }
+
+    //the staging memory only grows, so after the first few cycles there is nothing to allocate
+    if (m_arStaging.size() < dwSize) {
+        m_arStaging.resize(dwSize);
+    }
+
+    //write request needs the data now, read request will get them from FSUIPC_Process
+    if (!bCopyBack) {
+        env->GetByteArrayRegion((jbyteArray)m_oData, 0, dwSize, m_arStaging.data());
+    }
+
+    m_dwSize = dwSize;
+    m_bCopyBack = bCopyBack;
+    m_bAllocated = TRUE;
+
+    return TRUE;
 }
 
-BOOL FSUIPCDataRequest::release()
+BOOL FSUIPCDataRequest::release(BOOL bProcessed)
 {
-    if (m_oJavaVM == NULL || m_oData == NULL || m_cData == NULL) {
+    if (m_oJavaVM == NULL || m_oData == NULL || !m_bAllocated) {
         return FALSE;
     }
 
+    m_bAllocated = FALSE;
+
+    if (!m_bCopyBack) {
+        //write request, nothing to return to Java
+        return TRUE;
+    }
+
+    if (!bProcessed) {
+        //the staging memory was not filled by FSUIPC_Process, it holds the data of some earlier request, so the Java array must stay as it is
+        return TRUE;
+    }
+
     //get java env
     JNIEnv* env;
     if (m_oJavaVM->GetEnv((void**)&env, JNI_VERSION_1_6)) {
@@ -41,20 +72,38 @@ BOOL FSUIPCDataRequest::release()
         return FALSE;
     }
 
-    //copy back data from C++ byte array to Java byte array, release the C++ byte array
-    env->ReleaseByteArrayElements((jbyteArray)m_oData, m_cData, 0);
+    //copy back data from C++ byte array to Java byte array. The global reference stays for the next use of the slot
+    env->SetByteArrayRegion((jbyteArray)m_oData, 0, m_dwSize, m_arStaging.data());
+
+    return TRUE;
+}
+
+void FSUIPCDataRequest::releaseDataRef()
+{
+    if (m_oJavaVM == NULL || m_oData == NULL) {
+        return;
+    }
+
+    //get java env
+    JNIEnv* env;
+    if (m_oJavaVM->GetEnv((void**)&env, JNI_VERSION_1_6)) {
+        //failed to get Java Env
+        return;
+    }
+
     //release the global reference to the Java byte array
     env->DeleteGlobalRef(m_oData);
-    m_cData = NULL;
-    
-    return TRUE;
+    m_oData = NULL;
+    m_bAllocated = FALSE;
 }
 
 FSUIPCDataRequest::FSUIPCDataRequest()
 {
     m_dwOffset = 0;
     m_dwSize = 0;
-    m_cData = NULL;
+    m_bCopyBack = FALSE;
+    m_bAllocated = FALSE;
+    m_iIdleCycles = 0;
     m_oData = NULL;
     m_oJavaVM = NULL;
 }
@@ -63,13 +112,16 @@ FSUIPCDataRequest::FSUIPCDataRequest(JavaVM* oJavaVM)
 {
     m_dwOffset = 0;
     m_dwSize = 0;
-    m_cData = NULL;
+    m_bCopyBack = FALSE;
+    m_bAllocated = FALSE;
+    m_iIdleCycles = 0;
     m_oData = NULL;
     m_oJavaVM = oJavaVM;
 }
 
 
 FSUIPCDataRequest::~FSUIPCDataRequest()
-{    
-    release();
+{
+    release(FALSE);
+    releaseDataRef();
 }
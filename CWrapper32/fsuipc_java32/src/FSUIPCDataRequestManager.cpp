@@ -1,40 +1,79 @@
 #include "FSUIPCDataRequestManager.h"
 #include <boost/log/core.hpp>
 #include <boost/log/trivial.hpp>
+#include "FSUIPCLogging.h"
+
+FSUIPCDataRequest* FSUIPCDataRequestManager::nextRequest()
+{
+	//the slot right after the stored requests is free, the pool grows only when all slots are used
+	if (m_iActiveCount == m_arRequests.size()) {
+		m_arRequests.push_back(new FSUIPCDataRequest(m_oJavaVM));
+		FSUIPC_LOG(debug) << "FSUIPC data request pool grown to: " << m_arRequests.size() << " requests!";
+	}
+
+	return m_arRequests[m_iActiveCount];
+}
 
 void FSUIPCDataRequestManager::addRequest(FSUIPCDataRequest* dataRequest)
 {
-	if (dataRequest != NULL) {
-		m_arRequests.push_back(dataRequest);
-		BOOST_LOG_TRIVIAL(debug) << "Stored new FSUIPC data request! The current count of requests is: " << m_arRequests.size();
-	}	
+	//only the slot returned by nextRequest can be stored
+	if (dataRequest != NULL && m_iActiveCount < m_arRequests.size() && m_arRequests[m_iActiveCount] == dataRequest) {
+		m_iActiveCount++;
+		FSUIPC_LOG(trace) << "Stored new FSUIPC data request! The current count of requests is: " << m_iActiveCount;
+	}
 }
 
-void FSUIPCDataRequestManager::releaseAll()
+void FSUIPCDataRequestManager::releaseAll(BOOL bProcessed)
 {
-	size_t iSize = m_arRequests.size();
-	
-	BOOST_LOG_TRIVIAL(debug) << "Releasing all stored FSUIPC data requests! There is: " << iSize << " requests stored!";
+	FSUIPC_LOG(debug) << "Releasing all stored FSUIPC data requests! There is: " << m_iActiveCount << " requests stored!";
+
+	for (size_t i = 0; i < m_iActiveCount; i++) {
+		m_arRequests[i]->release(bProcessed);
+		m_arRequests[i]->setIdleCycles(0);
+	}
 
+	//slots not used in this cycle would keep their Java arrays from being garbage collected, but the plans with processing
+	//divisors use the last slots only on some cycles, so the references are released only after the slot is idle for a while.
+	//The slots are used from the first one, so the later the slot, the longer it is idle - the ones after the first slot
+	//without reference have none either
+	for (size_t i = m_iActiveCount; i < m_arRequests.size() && m_arRequests[i]->hasDataRef(); i++) {
+		unsigned int iIdleCycles = m_arRequests[i]->getIdleCycles() + 1;
+		m_arRequests[i]->setIdleCycles(iIdleCycles);
+		if (iIdleCycles >= IDLE_CYCLES_TO_RELEASE) {
+			m_arRequests[i]->releaseDataRef();
+		}
+	}
+
+	m_iActiveCount = 0;
+
+	FSUIPC_LOG(debug) << "All FSUIPC data requests released!";
+}
+
+void FSUIPCDataRequestManager::freeAll()
+{
+	//the requests still stored were never processed, nothing to copy back
+	releaseAll(FALSE);
+
+	size_t iSize = m_arRequests.size();
 	for (size_t i = 0; i < iSize; i++) {
-		FSUIPCDataRequest* dataRequest = m_arRequests[i];
-		dataRequest->release();
-		delete (dataRequest);
+		delete (m_arRequests[i]);
 	}
 
 	m_arRequests.clear();
 
-	BOOST_LOG_TRIVIAL(info) << "All FSUIPC data requests released!";
+	FSUIPC_LOG(debug) << "FSUIPC data request pool freed! There was: " << iSize << " requests in the pool!";
 }
 
 FSUIPCDataRequestManager::FSUIPCDataRequestManager()
 {
+	m_iActiveCount = 0;
+	m_oJavaVM = NULL;
 }
 
 FSUIPCDataRequestManager::~FSUIPCDataRequestManager()
 {
 	//Will delete all requests that we store
-	BOOST_LOG_TRIVIAL(debug) << "FSUIPCDataRequestManager destructor called! Will release all stored data requests...";
+	FSUIPC_LOG(debug) << "FSUIPCDataRequestManager destructor called! Will release all stored data requests...";
 
-	releaseAll();
+	freeAll();
 }
@@ -0,0 +1,103 @@
+#include "FSUIPCPreparedSet.h"
+#include "com_mouseviator_fsuipc_FSUIPCWrapper.h"
+#include <string.h>
+
+BOOL FSUIPCPreparedSet::alloc(JNIEnv* env, jintArray aOffsets, jintArray aSizes, jbyteArray aTypes, jobject aPool)
+{
+    if (aOffsets == NULL || aSizes == NULL || aTypes == NULL || aPool == NULL) {
+        return FALSE;
+    }
+
+    jsize iCount = env->GetArrayLength(aOffsets);
+    if (iCount == 0 || env->GetArrayLength(aSizes) != iCount || env->GetArrayLength(aTypes) != iCount) {
+        return FALSE;
+    }
+
+    jbyte* pPool = (jbyte*)env->GetDirectBufferAddress(aPool);
+    jlong lCapacity = env->GetDirectBufferCapacity(aPool);
+    if (pPool == NULL) {
+        return FALSE;
+    }
+
+    //copy the arrays, they are only needed now
+    std::vector<jint> arOffsets(iCount);
+    std::vector<jint> arSizes(iCount);
+    m_arTypes.resize(iCount);
+    env->GetIntArrayRegion(aOffsets, 0, iCount, arOffsets.data());
+    env->GetIntArrayRegion(aSizes, 0, iCount, arSizes.data());
+    env->GetByteArrayRegion(aTypes, 0, iCount, m_arTypes.data());
+
+    jlong lPoolPos = 0;
+    for (jsize i = 0; i < iCount; i++) {
+        if (arSizes[i] <= 0 || lPoolPos + arSizes[i] > lCapacity) {
+            return FALSE;
+        }
+        m_arOffsets.push_back(arOffsets[i]);
+        m_arSizes.push_back(arSizes[i]);
+        m_arPositions.push_back((DWORD)lPoolPos);
+        lPoolPos += arSizes[i];
+    }
+
+    //the direct buffer memory is freed when the buffer is garbage collected, so keep it referenced
+    m_oPool = env->NewGlobalRef(aPool);
+    if (m_oPool == NULL) {
+        return FALSE;
+    }
+    m_pPool = pPool;
+    m_arPrevious.resize((size_t)lPoolPos);
+    m_bPreviousValid = FALSE;
+
+    return TRUE;
+}
+
+void FSUIPCPreparedSet::updateChanged(jlong* pChanged)
+{
+    size_t iCount = m_arOffsets.size();
+    memset(pChanged, 0, getChangedLength() * sizeof(jlong));
+
+    for (size_t i = 0; i < iCount; i++) {
+        if (m_arTypes[i] == com_mouseviator_fsuipc_FSUIPCWrapper_BATCH_WRITE) {
+            continue;
+        }
+        //the first process after prepare has nothing to compare with, all the reads changed
+        jbyte* pPrevious = m_arPrevious.data() + m_arPositions[i];
+        if (!m_bPreviousValid || memcmp(pPrevious, m_pPool + m_arPositions[i], m_arSizes[i]) != 0) {
+            pChanged[i / 64] |= (jlong)1 << (i % 64);
+            memcpy(pPrevious, m_pPool + m_arPositions[i], m_arSizes[i]);
+        }
+    }
+
+    m_bPreviousValid = TRUE;
+}
+
+void FSUIPCPreparedSet::release()
+{
+    if (m_oJavaVM == NULL || m_oPool == NULL) {
+        return;
+    }
+
+    //get java env
+    JNIEnv* env;
+    if (m_oJavaVM->GetEnv((void**)&env, JNI_VERSION_1_6)) {
+        //failed to get Java Env
+        return;
+    }
+
+    //release the global reference to the direct byte buffer
+    env->DeleteGlobalRef(m_oPool);
+    m_oPool = NULL;
+    m_pPool = NULL;
+}
+
+FSUIPCPreparedSet::FSUIPCPreparedSet(JavaVM* oJavaVM)
+{
+    m_pPool = NULL;
+    m_oPool = NULL;
+    m_bPreviousValid = FALSE;
+    m_oJavaVM = oJavaVM;
+}
+
+FSUIPCPreparedSet::~FSUIPCPreparedSet()
+{
+    release();
+}
@@ -8,6 +8,12 @@
 #include "FSUIPC_User.h"
 #include "FSUIPCDataRequest.h"
 #include "FSUIPCDataRequestManager.h"
+#include "FSUIPCPreparedSet.h"
+#include "FSUIPCLogging.h"
+#include <map>
+#include <string>
+#include <mutex>
+#include <atomic>
 #include <boost/log/core.hpp>
 #include <boost/log/trivial.hpp>
 #include <boost/log/expressions.hpp>
@@ -15,6 +21,10 @@
 #include <boost/log/utility/setup/file.hpp>
 #include <boost/log/utility/setup/common_attributes.hpp>
 #include <boost/log/sinks/text_file_backend.hpp>
+#include <boost/log/sinks/async_frontend.hpp>
+#include <boost/log/sinks/bounded_fifo_queue.hpp>
+#include <boost/log/utility/setup/formatter_parser.hpp>
+#include <boost/make_shared.hpp>
 #include <boost/lambda/lambda.hpp>
 
 
@@ -50,17 +60,64 @@ BOOL APIENTRY DllMain( HANDLE hModule,
 **********************************************************************************************************************************************/
 
 
-// Stores the result of last FSUIPC function call
-static DWORD iResult;
+// Stores the result of last FSUIPC function call, for each calling thread, so that it cannot be overwritten by the call of another thread
+static thread_local DWORD iResult;
+
+// Guards the FSUIPC library and the stored requests, the status queries below do not need it
+static std::mutex oIPCMutex;
+
+// Guards the logging setup
+static std::mutex oLoggingMutex;
+
+// The result of last FSUIPC_Process call (by any thread), cached, so that it can be read without waiting for the running process
+static std::atomic<DWORD> iLastProcessResult(FSUIPC_ERR_OK);
+
+// The version variables of the FSUIPC library, cached after open and close
+static std::atomic<DWORD> iCachedVersion(0);
+static std::atomic<DWORD> iCachedFSVersion(0);
+static std::atomic<DWORD> iCachedLibVersion(0);
 
 //A manager to store requests made to FSUIPC between calls o process function
 static FSUIPCDataRequestManager* oFSUIPCDataRequestManager = new FSUIPCDataRequestManager();
 
+//Prepared request sets by their handles, see prepare function
+static std::map<jint, FSUIPCPreparedSet*> mapPreparedSets;
+
+//The handle of the next prepared request set
+static jint iNextPreparedHandle = 1;
+
 // Whether file logging has already been enabled
 static boolean bFileLoggingEnabled = false;
 
+//The severity level of logging, see FSUIPCLogging.h
+std::atomic<int> iLoggingSeverity(logging::trivial::info);
+
+//The number of log messages dropped by the file logging sink
+std::atomic<long long> iDroppedLogMessages(0);
+
+/*
+* What the file logging sink does when its queue is full - it drops the message and counts it. So the thread logging the message
+* never waits for the disk.
+*/
+struct count_dropped_on_overflow
+{
+	template< typename LockT >
+	static bool on_overflow(logging::record_view const&, LockT&)
+	{
+		iDroppedLogMessages.fetch_add(1, std::memory_order_relaxed);
+		return false;
+	}
+
+	static void interrupt() {}
+
+	static void reset() {}
+};
+
+//The file logging sink writes the messages to file by its own thread, the messages wait for it in a bounded queue
+typedef sinks::asynchronous_sink<sinks::text_file_backend, sinks::bounded_fifo_queue<LOG_QUEUE_SIZE, count_dropped_on_overflow>> file_sink_t;
+
 //Reference to file logging sink
-boost::shared_ptr <sinks::synchronous_sink< sinks::text_file_backend>> file_logging_sink = NULL;
+boost::shared_ptr<file_sink_t> file_logging_sink = NULL;
 
 //A reference to cached JavaVirtualMachine
 JavaVM* cachedJVM;
@@ -76,41 +133,42 @@ JavaVM* cachedJVM;
 
 void setup_logging(boolean bEnableFileLogging, const char* pFileName, byte severityLevel, DWORD rotationSize)
 {
-	BOOST_LOG_TRIVIAL(trace) << "setup_logging called with params EnableFileLogging=" << (int)bEnableFileLogging << " , FileName=" << pFileName << ", severity level=" << (int)severityLevel << " ,rotation size=" << rotationSize;
+	std::lock_guard<std::mutex> lock(oLoggingMutex);
+
+	FSUIPC_LOG(trace) << "setup_logging called with params EnableFileLogging=" << (int)bEnableFileLogging << " , FileName=" << pFileName << ", severity level=" << (int)severityLevel << " ,rotation size=" << rotationSize;
 
 	if (bEnableFileLogging && !bFileLoggingEnabled) {		
 		
 		//add logging to file		
-		file_logging_sink = logging::add_file_log(
+		boost::shared_ptr<sinks::text_file_backend> file_logging_backend = boost::make_shared<sinks::text_file_backend>(
 			keywords::file_name = pFileName,
-			keywords::rotation_size = rotationSize,
-			keywords::format = "[%TimeStamp%] [%LineID%] [%ProcessID%] [%ThreadID%] [%Severity%] %Message%"
+			keywords::rotation_size = rotationSize
 		);
+		file_logging_sink = boost::make_shared<file_sink_t>(file_logging_backend);
+		file_logging_sink->set_formatter(logging::parse_formatter("[%TimeStamp%] [%LineID%] [%ProcessID%] [%ThreadID%] [%Severity%] %Message%"));
 
 		
-		// Set header and footer writing functors
+		// Set header and footer writing functors, the file is opened by the sink thread later, so the functor keeps its own copy of the name
+		const std::string sFileName(pFileName);
 		file_logging_sink->locked_backend()->set_open_handler
 		(
-			bll::_1 << "Started logging to file: " << pFileName << " with severity level: " << (int)severityLevel << " and rotation size: " << rotationSize << " .This is " << DLL_NAME << " ,version " << DLL_VERSION << "\n"
+			bll::_1 << "Started logging to file: " << sFileName << " with severity level: " << (int)severityLevel << " and rotation size: " << rotationSize << " .This is " << DLL_NAME << " ,version " << DLL_VERSION << "\n"
 		);
 		file_logging_sink->locked_backend()->set_close_handler
 		(
 			bll::_1 << "This is the last line of the log. Good Bye.\n"
 		);
+		logging::core::get()->add_sink(file_logging_sink);
 
-		BOOST_LOG_TRIVIAL(info) << "Enabled logging to file: " << pFileName;
+		FSUIPC_LOG(info) << "Enabled logging to file: " << pFileName;
 
 		bFileLoggingEnabled = true;
 	}
 	else if (!bEnableFileLogging  && file_logging_sink != NULL) {
 		//remove the file_logging_sink from boost core
+		stop_file_logging();
 
-		logging::core::get()->remove_sink(file_logging_sink);
-		file_logging_sink = NULL;
-
-		bFileLoggingEnabled = false;
-
-		BOOST_LOG_TRIVIAL(info) << "Disabled logging to file: " << pFileName;
+		FSUIPC_LOG(info) << "Disabled logging to file: " << pFileName;
 	}	
 
 	//setup severity level
@@ -135,15 +193,48 @@ void setup_logging(boolean bEnableFileLogging, const char* pFileName, byte sever
 		loggingSeverityLevel = logging::trivial::info;
 	}
 
-	BOOST_LOG_TRIVIAL(info) << "Logging severity changed to level: " << loggingSeverityLevel;
+	FSUIPC_LOG(info) << "Logging severity changed to level: " << loggingSeverityLevel;
 
 	logging::core::get()->set_filter(
 		logging::trivial::severity >= loggingSeverityLevel
 	);
+	iLoggingSeverity = loggingSeverityLevel;
 
 	logging::add_common_attributes();
 }
 
+void stop_file_logging()
+{
+	if (file_logging_sink == NULL) {
+		return;
+	}
+
+	//no new messages for the sink, then let its thread write the ones still in the queue
+	logging::core::get()->remove_sink(file_logging_sink);
+	file_logging_sink->stop();
+	file_logging_sink->flush();
+	file_logging_sink = NULL;
+
+	bFileLoggingEnabled = false;
+}
+
+void cache_versions()
+{
+	iCachedVersion = FSUIPC_Version;
+	iCachedFSVersion = FSUIPC_FS_Version;
+	iCachedLibVersion = FSUIPC_Lib_Version;
+}
+
+void release_prepared_sets()
+{
+	FSUIPC_LOG(debug) << "Releasing all prepared request sets! There is: " << mapPreparedSets.size() << " sets stored!";
+
+	for (std::map<jint, FSUIPCPreparedSet*>::iterator it = mapPreparedSets.begin(); it != mapPreparedSets.end(); ++it) {
+		delete (it->second);
+	}
+	mapPreparedSets.clear();
+}
+
 /**********************************************************************************************************************************************
 * Library (helper) functions implementation end
 **********************************************************************************************************************************************/
@@ -159,8 +250,10 @@ void setup_logging(boolean bEnableFileLogging, const char* pFileName, byte sever
 JNIEXPORT jint JNICALL JNI_OnLoad(JavaVM* vm, void* reserved)
 {
 	cachedJVM = vm;
+	oFSUIPCDataRequestManager->setJavaVM(vm);
+	cache_versions();
 	
-	BOOST_LOG_TRIVIAL(info) << "JNI_OnLoad called! Returning JNI version: " << JNI_VERSION_1_6;
+	FSUIPC_LOG(info) << "JNI_OnLoad called! Returning JNI version: " << JNI_VERSION_1_6;
 
 	return JNI_VERSION_1_6;	
 }
@@ -170,15 +263,21 @@ JNIEXPORT jint JNICALL JNI_OnLoad(JavaVM* vm, void* reserved)
 */
 JNIEXPORT void JNICALL JNI_OnUnload(JavaVM* vm, void* reserved)
 {
-	BOOST_LOG_TRIVIAL(info) << "JNI_OnUnload called! Calling FSUIPCDataRequestManager to release all remaining requests!";
-	//release all data requests in case it was not done 
-	oFSUIPCDataRequestManager->releaseAll();
+	std::lock_guard<std::mutex> lock(oIPCMutex);
+	FSUIPC_LOG(info) << "JNI_OnUnload called! Calling FSUIPCDataRequestManager to release all remaining requests!";
+	//release all data requests in case it was not done and free the pool
+	oFSUIPCDataRequestManager->freeAll();
+	release_prepared_sets();
 
-	BOOST_LOG_TRIVIAL(info) << "Calling FSUIPC_Close just in case client left connection opened!";
+	FSUIPC_LOG(info) << "Calling FSUIPC_Close just in case client left connection opened!";
 	//close FSUIPC connection (for the case user app forgot to do it)
 	FSUIPC_Close();
 
-	BOOST_LOG_TRIVIAL(info) << "Bye!";
+	FSUIPC_LOG(info) << "Bye!";
+
+	//write what is left in the queue of file logging sink
+	std::lock_guard<std::mutex> loggingLock(oLoggingMutex);
+	stop_file_logging();
 }
 
 
@@ -187,6 +286,18 @@ JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_getResult(JNIEn
 	return iResult;
 }
 
+/*
+ * This function returns the result of last FSUIPC_Process call, made by any thread. It does not wait for the running one.
+ *
+ * Class:     com_mouseviator_fsuipc_FSUIPCWrapper
+ * Method:    getLastProcessResult
+ * Signature: ()I
+ */
+JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_getLastProcessResult(JNIEnv*, jclass)
+{
+	return iLastProcessResult;
+}
+
 /*
  * This function opens FSUIPC connection.
  *
@@ -196,9 +307,12 @@ JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_getResult(JNIEn
  */
 JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_open(JNIEnv* env, jclass, jint aFlightSim)
 {
+	std::lock_guard<std::mutex> lock(oIPCMutex);
 	jint iRet = FSUIPC_Open(aFlightSim, &iResult);
+	iLastProcessResult = iResult;
+	cache_versions();
 
-	BOOST_LOG_TRIVIAL(debug) << "FSUIPC_Open called with parameter aFlightSim=" << aFlightSim << ". Returned value is: " << iRet;
+	FSUIPC_LOG(debug) << "FSUIPC_Open called with parameter aFlightSim=" << aFlightSim << ". Returned value is: " << iRet;
 
 	return iRet;
 }
@@ -212,10 +326,14 @@ JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_open(JNIEnv* en
  */
 JNIEXPORT void JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_close(JNIEnv* env, jclass)
 {	
+	std::lock_guard<std::mutex> lock(oIPCMutex);
 	FSUIPC_Close();	
-	BOOST_LOG_TRIVIAL(debug) << "FSUIPC_Close() called! Releasing all remaining data requests!";
-	//relase all data request that might be still there
-	oFSUIPCDataRequestManager->releaseAll();
+	cache_versions();
+	FSUIPC_LOG(debug) << "FSUIPC_Close() called! Releasing all remaining data requests!";
+	//relase all data request that might be still there and free the pool, so it does not keep references to Java arrays
+	oFSUIPCDataRequestManager->freeAll();
+	//the prepared sets belong to the connection too
+	release_prepared_sets();
 }
 
 /*
@@ -226,18 +344,249 @@ JNIEXPORT void JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_close(JNIEnv* e
  * Signature: ()I
  */
 JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_process(JNIEnv* env, jclass) {
+	std::lock_guard<std::mutex> lock(oIPCMutex);
 	jint iRet = 0;
 	
 	// call FSUIPC_Process to process all waiting requests
 	iRet = FSUIPC_Process(&iResult);
-	BOOST_LOG_TRIVIAL(info) << "FSUIPC_Process() called! Will now call FSUIPCRequestManager->releaseAll() to process all returned data!";
+	iLastProcessResult = iResult;
+	FSUIPC_LOG(debug) << "FSUIPC_Process() called! Will now call FSUIPCRequestManager->releaseAll() to process all returned data!";
+
+	//instruct the FSUIPCDataRequestManager to release all requests - copy changed data back to JVM. If the process failed, the staging
+	//memory of read requests holds no new data, so the Java arrays are left unchanged
+	oFSUIPCDataRequestManager->releaseAll(iRet);
+
+	return iRet;
+}
+
+/*
+ * This function will store all the requests of the batch and process them, so that the whole cycle needs only one JNI call.
+ *
+ * Class:     com_mouseviator_fsuipc_FSUIPCWrapper
+ * Method:    processBatch
+ * Signature: ([I[I[B[B)I
+ */
+JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_processBatch(JNIEnv* env, jclass, jintArray aOffsets, jintArray aSizes, jbyteArray aTypes, jbyteArray aPool)
+{
+	std::lock_guard<std::mutex> lock(oIPCMutex);
+	jint iRet = FALSE;
+
+	if (aOffsets == NULL || aSizes == NULL || aTypes == NULL || aPool == NULL) {
+		iResult = FSUIPC_ERR_DATA;
+		FSUIPC_LOG(warning) << "Batch processing called with NULL array!";
+		return FALSE;
+	}
+
+	jsize iCount = env->GetArrayLength(aOffsets);
+	jsize iPoolSize = env->GetArrayLength(aPool);
+	if (env->GetArrayLength(aSizes) != iCount || env->GetArrayLength(aTypes) != iCount) {
+		iResult = FSUIPC_ERR_DATA;
+		FSUIPC_LOG(warning) << "Batch processing called with arrays of different lengths!";
+		return FALSE;
+	}
+
+	//offsets, sizes and types are only read, so they will be released without copying back (JNI_ABORT)
+	jint* pOffsets = env->GetIntArrayElements(aOffsets, 0);
+	jint* pSizes = env->GetIntArrayElements(aSizes, 0);
+	jbyte* pTypes = env->GetByteArrayElements(aTypes, 0);
+	//the pool is pinned (or copied) only once for the whole batch
+	jbyte* pPool = env->GetByteArrayElements(aPool, 0);
+	if (pOffsets == NULL || pSizes == NULL || pTypes == NULL || pPool == NULL) {
+		if (pOffsets != NULL) env->ReleaseIntArrayElements(aOffsets, pOffsets, JNI_ABORT);
+		if (pSizes != NULL) env->ReleaseIntArrayElements(aSizes, pSizes, JNI_ABORT);
+		if (pTypes != NULL) env->ReleaseByteArrayElements(aTypes, pTypes, JNI_ABORT);
+		if (pPool != NULL) env->ReleaseByteArrayElements(aPool, pPool, JNI_ABORT);
+		FSUIPC_LOG(warning) << "Failed to allocate data for batch processing!";
+		return FALSE;
+	}
+
+	BOOL bStored = TRUE;
+	DWORD dwStoreResult = FSUIPC_ERR_OK;
+	jsize iPoolPos = 0;
+	for (jsize i = 0; i < iCount; i++) {
+		if (pSizes[i] <= 0 || iPoolPos + pSizes[i] > iPoolSize) {
+			bStored = FALSE;
+			dwStoreResult = FSUIPC_ERR_DATA;
+			FSUIPC_LOG(fatal) << "Batch request " << i << " does not fit into the pool! The offset was: " << boost::format("0x%04X") % pOffsets[i] << " ,the data length was: " << pSizes[i];
+			break;
+		}
+
+		if (pTypes[i] == com_mouseviator_fsuipc_FSUIPCWrapper_BATCH_WRITE) {
+			bStored = FSUIPC_Write(pOffsets[i], pSizes[i], (void*)(pPool + iPoolPos), &iResult);
+		}
+		else {
+			bStored = FSUIPC_Read(pOffsets[i], pSizes[i], (void*)(pPool + iPoolPos), &iResult);
+		}
+
+		if (!bStored) {
+			dwStoreResult = iResult;
+			FSUIPC_LOG(fatal) << "FAILED to store batch request " << i << "! The offset was: " << boost::format("0x%04X") % pOffsets[i] << " ,the data length was: " << pSizes[i] << " and value of Result variable is: " << iResult;
+			break;
+		}
+		iPoolPos += pSizes[i];
+	}
+
+	//process even if some store failed, so that FSUIPC does not keep pointers into the pool that is about to be released
+	iRet = FSUIPC_Process(&iResult);
+	iLastProcessResult = iResult;
+	FSUIPC_LOG(debug) << "FSUIPC_Process() called for batch of " << iCount << " requests, " << iPoolPos << " bytes. Returned value is: " << iRet;
+
+	if (!bStored) {
+		iResult = dwStoreResult;
+		iRet = FALSE;
+	}
+
+	env->ReleaseIntArrayElements(aOffsets, pOffsets, JNI_ABORT);
+	env->ReleaseIntArrayElements(aSizes, pSizes, JNI_ABORT);
+	env->ReleaseByteArrayElements(aTypes, pTypes, JNI_ABORT);
+	//copy the read data back to JVM
+	env->ReleaseByteArrayElements(aPool, pPool, 0);
+
+	return iRet;
+}
+
+/*
+ * This function will register a set of requests, that can then be processed again and again by processPrepared function.
+ *
+ * Class:     com_mouseviator_fsuipc_FSUIPCWrapper
+ * Method:    prepare
+ * Signature: ([I[I[BLjava/nio/ByteBuffer;)I
+ */
+JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_prepare(JNIEnv* env, jclass, jintArray aOffsets, jintArray aSizes, jbyteArray aTypes, jobject aPool)
+{
+	std::lock_guard<std::mutex> lock(oIPCMutex);
+	FSUIPCPreparedSet* preparedSet = new FSUIPCPreparedSet(cachedJVM);
+	if (!preparedSet->alloc(env, aOffsets, aSizes, aTypes, aPool)) {
+		delete (preparedSet);
+		iResult = FSUIPC_ERR_DATA;
+		FSUIPC_LOG(warning) << "Failed to prepare request set! The arrays are NULL, of different lengths, or the data do not fit into the direct buffer!";
+		return 0;
+	}
+
+	jint iHandle = iNextPreparedHandle++;
+	//the handle is never 0, that means failure
+	if (iNextPreparedHandle <= 0) {
+		iNextPreparedHandle = 1;
+	}
+	mapPreparedSets[iHandle] = preparedSet;
+
+	FSUIPC_LOG(debug) << "Prepared request set with handle: " << iHandle << " of " << preparedSet->getCount() << " requests!";
+
+	return iHandle;
+}
+
+/*
+ * This function will store all the requests of given prepared set and process them. Used by both processPrepared functions.
+ */
+static jint process_prepared_set(FSUIPCPreparedSet* preparedSet, jint aHandle)
+{
+	BOOL bStored = TRUE;
+	DWORD dwStoreResult = FSUIPC_ERR_OK;
+	size_t iCount = preparedSet->getCount();
+	for (size_t i = 0; i < iCount; i++) {
+		//the requests point right into the direct buffer, the write data are there already and the read data will be put there by FSUIPC_Process
+		if (preparedSet->getType(i) == com_mouseviator_fsuipc_FSUIPCWrapper_BATCH_WRITE) {
+			bStored = FSUIPC_Write(preparedSet->getOffset(i), preparedSet->getSize(i), (void*)preparedSet->getData(i), &iResult);
+		}
+		else {
+			bStored = FSUIPC_Read(preparedSet->getOffset(i), preparedSet->getSize(i), (void*)preparedSet->getData(i), &iResult);
+		}
+
+		if (!bStored) {
+			dwStoreResult = iResult;
+			FSUIPC_LOG(fatal) << "FAILED to store prepared request " << i << "! The offset was: " << boost::format("0x%04X") % preparedSet->getOffset(i) << " ,the data length was: " << preparedSet->getSize(i) << " and value of Result variable is: " << iResult;
+			break;
+		}
+	}
 
-	//instruct the FSUIPCDataRequestManager to release all requests - copy changed data back to JVM
-	oFSUIPCDataRequestManager->releaseAll();
+	//process even if some store failed, the same way as processBatch does
+	jint iRet = FSUIPC_Process(&iResult);
+	iLastProcessResult = iResult;
+	FSUIPC_LOG(debug) << "FSUIPC_Process() called for prepared request set " << aHandle << " of " << iCount << " requests. Returned value is: " << iRet;
+
+	if (!bStored) {
+		iResult = dwStoreResult;
+		iRet = FALSE;
+	}
 
 	return iRet;
 }
 
+/*
+ * This function will store all the requests of the prepared set and process them.
+ *
+ * Class:     com_mouseviator_fsuipc_FSUIPCWrapper
+ * Method:    processPrepared
+ * Signature: (I)I
+ */
+JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_processPrepared__I(JNIEnv* env, jclass, jint aHandle)
+{
+	std::lock_guard<std::mutex> lock(oIPCMutex);
+	std::map<jint, FSUIPCPreparedSet*>::iterator it = mapPreparedSets.find(aHandle);
+	if (it == mapPreparedSets.end()) {
+		iResult = FSUIPC_ERR_DATA;
+		FSUIPC_LOG(warning) << "Process of unknown prepared request set called! The handle was: " << aHandle;
+		return FALSE;
+	}
+
+	return process_prepared_set(it->second, aHandle);
+}
+
+/*
+ * This function will store all the requests of the prepared set and process them. Then it compares the data of read requests with the ones
+ * of previous process and sets the bits of the changed ones in aChanged array.
+ *
+ * Class:     com_mouseviator_fsuipc_FSUIPCWrapper
+ * Method:    processPrepared
+ * Signature: (I[J)I
+ */
+JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_processPrepared__I_3J(JNIEnv* env, jclass, jint aHandle, jlongArray aChanged)
+{
+	std::lock_guard<std::mutex> lock(oIPCMutex);
+	std::map<jint, FSUIPCPreparedSet*>::iterator it = mapPreparedSets.find(aHandle);
+	if (it == mapPreparedSets.end()) {
+		iResult = FSUIPC_ERR_DATA;
+		FSUIPC_LOG(warning) << "Process of unknown prepared request set called! The handle was: " << aHandle;
+		return FALSE;
+	}
+
+	FSUIPCPreparedSet* preparedSet = it->second;
+	jsize iChangedLength = (jsize)preparedSet->getChangedLength();
+	if (aChanged == NULL || env->GetArrayLength(aChanged) < iChangedLength) {
+		iResult = FSUIPC_ERR_DATA;
+		FSUIPC_LOG(warning) << "Process of prepared request set " << aHandle << " called with too short array for the changed bits!";
+		return FALSE;
+	}
+
+	jint iRet = process_prepared_set(preparedSet, aHandle);
+	if (iRet) {
+		//the data of unchanged requests are not compared again in Java, only the bitmap is copied back
+		std::vector<jlong> arChanged(iChangedLength);
+		preparedSet->updateChanged(arChanged.data());
+		env->SetLongArrayRegion(aChanged, 0, iChangedLength, arChanged.data());
+	}
+
+	return iRet;
+}
+
+/*
+ * This function will release the prepared request set.
+ *
+ * Class:     com_mouseviator_fsuipc_FSUIPCWrapper
+ * Method:    releasePrepared
+ * Signature: (I)V
+ */
+JNIEXPORT void JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_releasePrepared(JNIEnv* env, jclass, jint aHandle)
+{
+	std::lock_guard<std::mutex> lock(oIPCMutex);
+	std::map<jint, FSUIPCPreparedSet*>::iterator it = mapPreparedSets.find(aHandle);
+	if (it != mapPreparedSets.end()) {
+		delete (it->second);
+		mapPreparedSets.erase(it);
+		FSUIPC_LOG(debug) << "Released prepared request set with handle: " << aHandle;
+	}
+}
+
 /*
  * Class:     com_mouseviator_fsuipc_fsuipc_wrapper
  * Method:    Read
@@ -245,31 +594,65 @@ JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_process(JNIEnv*
  */
 JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_read(JNIEnv* env, jclass, jint aOffset, jint aSize, jbyteArray aData)
 {
+	std::lock_guard<std::mutex> lock(oIPCMutex);
 	jint iRet = FALSE;
 
-	/* We create a new FSUIPC data request, so that we store a reference to the data being modified. They will not be modified right away by the call
+	/* We take a FSUIPC data request from the pool, so that we store a reference to the data being modified. They will not be modified right away by the call
 	* of FSUIPC_Read, it will only store the request. The data will be modified by calling the FSUIPC_Process and we need to have a reference to those byte
-	* buffers to be able to copy them back to the Java Virtual Machine
+	* buffers to be able to copy them back to the Java Virtual Machine. If the request is not stored, the slot stays free for the next one.
 	*/
-	FSUIPCDataRequest* dataRequest = new FSUIPCDataRequest(cachedJVM);
-	if (dataRequest->alloc(aData)) {
+	FSUIPCDataRequest* dataRequest = oFSUIPCDataRequestManager->nextRequest();
+	if (dataRequest->alloc(aData, aSize, TRUE)) {
 		iRet = FSUIPC_Read(aOffset, aSize, (void*)dataRequest->getCData(), &iResult);
 		//add request to manager if the read function successfully stored the data read request
 		if (iRet) {
 			oFSUIPCDataRequestManager->addRequest(dataRequest);
-			BOOST_LOG_TRIVIAL(debug) << "The FSUIPC_Read succesfully stored read request! The offset was: " << boost::format("0x%04X") % aOffset << " ,the data length was: " << aSize << " and value of Result variable is: " << iResult;
+			FSUIPC_LOG(debug) << "The FSUIPC_Read succesfully stored read request! The offset was: " << boost::format("0x%04X") % aOffset << " ,the data length was: " << aSize << " and value of Result variable is: " << iResult;
 		}
 		else {
-			BOOST_LOG_TRIVIAL(fatal) << "The FSUIPC_Read FAILED to store read request! The offset was: " << boost::format("0x%04X") % aOffset << " ,the data length was: " << aSize << " and value of Result variable is: " << iResult;
+			FSUIPC_LOG(fatal) << "The FSUIPC_Read FAILED to store read request! The offset was: " << boost::format("0x%04X") % aOffset << " ,the data length was: " << aSize << " and value of Result variable is: " << iResult;
 		}
 	}
 	else {
-		BOOST_LOG_TRIVIAL(warning) << "Failed to allocate data for FSUIPC read request!";
+		FSUIPC_LOG(warning) << "Failed to allocate data for FSUIPC read request!";
 	}
 			
 	return iRet;
 }
 
+/*
+ * Class:     com_mouseviator_fsuipc_FSUIPCWrapper
+ * Method:    readDirect
+ * Signature: (IILjava/nio/ByteBuffer;I)I
+ */
+JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_readDirect(JNIEnv* env, jclass, jint aOffset, jint aSize, jobject aBuffer, jint aBufferOffset)
+{
+	std::lock_guard<std::mutex> lock(oIPCMutex);
+	jint iRet = FALSE;
+
+	/* The direct buffer memory is not moved by the garbage collector, so FSUIPC_Read can store the address right away. Unlike the read function,
+	* there is nothing to pin now and nothing to copy back after FSUIPC_Process, so the request is not added to the FSUIPCDataRequestManager.
+	* The Java side must keep the buffer referenced until process is called.
+	*/
+	jbyte* pBuffer = (jbyte*)env->GetDirectBufferAddress(aBuffer);
+	jlong lCapacity = env->GetDirectBufferCapacity(aBuffer);
+	if (pBuffer != NULL && aSize > 0 && aBufferOffset >= 0 && (jlong)aBufferOffset + aSize <= lCapacity) {
+		iRet = FSUIPC_Read(aOffset, aSize, (void*)(pBuffer + aBufferOffset), &iResult);
+		if (iRet) {
+			FSUIPC_LOG(debug) << "The FSUIPC_Read succesfully stored direct read request! The offset was: " << boost::format("0x%04X") % aOffset << " ,the data length was: " << aSize << " and value of Result variable is: " << iResult;
+		}
+		else {
+			FSUIPC_LOG(fatal) << "The FSUIPC_Read FAILED to store direct read request! The offset was: " << boost::format("0x%04X") % aOffset << " ,the data length was: " << aSize << " and value of Result variable is: " << iResult;
+		}
+	}
+	else {
+		iResult = FSUIPC_ERR_DATA;
+		FSUIPC_LOG(warning) << "Invalid direct buffer for FSUIPC read request! The buffer offset was: " << aBufferOffset << " ,the data length was: " << aSize << " and the buffer capacity is: " << lCapacity;
+	}
+
+	return iRet;
+}
+
 /*
  * Class:     com_mouseviator_fsuipc_FSUIPCWrapper
  * Method:    readData
@@ -277,10 +660,12 @@ JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_read(JNIEnv* en
  */
 JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_readData(JNIEnv* env, jclass, jint aOffset, jint aSize, jbyteArray aData)
 {
+	std::lock_guard<std::mutex> lock(oIPCMutex);
 	BOOL bRet = TRUE;
 	jbyte* data = env->GetByteArrayElements(aData, 0);
 	bRet &= FSUIPC_Read(aOffset, aSize, (void*)data, &iResult);
 	bRet &= FSUIPC_Process(&iResult);
+	iLastProcessResult = iResult;
 	env->ReleaseByteArrayElements(aData, data, 0);
 	return bRet;	//this only will stay TRUE unless none of the FSUIPC calls above fails!
 }
@@ -292,27 +677,29 @@ JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_readData(JNIEnv
  */
 JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_write(JNIEnv* env, jclass, jint aOffset, jint aSize, jbyteArray aData)
 {	
+	std::lock_guard<std::mutex> lock(oIPCMutex);
 	jint iRet = FALSE;
 
-	/* We create a new FSUIPC data request, so that we store a reference to the data being modified. They will not be modified right away by the call
+	/* We take a FSUIPC data request from the pool, so that we store a reference to the data being modified. They will not be modified right away by the call
 	* of FSUIPC_Write, it will only store the request. The data will be modified by calling the FSUIPC_Process and we need to have a reference to those byte
 	* buffers to be able to copy them back to the Java Virtual Machine
 
-	* NOTE: Probably not needed to hold references, as FSUIPC_Write will copy the data and nothinf should be returned
+	* NOTE: Probably not needed to hold references, as FSUIPC_Write will copy the data and nothinf should be returned. The data are copied to the staging
+	* memory of the pooled request and are not copied back after processing.
 	*/
-	FSUIPCDataRequest* dataRequest = new FSUIPCDataRequest(cachedJVM);
-	if (dataRequest->alloc(aData)) {
+	FSUIPCDataRequest* dataRequest = oFSUIPCDataRequestManager->nextRequest();
+	if (dataRequest->alloc(aData, aSize, FALSE)) {
 		iRet = FSUIPC_Write(aOffset, aSize, (void*)dataRequest->getCData(), &iResult);
 		if (iRet) {
 			oFSUIPCDataRequestManager->addRequest(dataRequest);
-			BOOST_LOG_TRIVIAL(debug) << "The FSUIPC_Read succesfully stored write request! The offset was: " << boost::format("0x%04X") % aOffset << " ,the data length was: " << aSize << " and value of Result variable is: " << iResult;
+			FSUIPC_LOG(debug) << "The FSUIPC_Read succesfully stored write request! The offset was: " << boost::format("0x%04X") % aOffset << " ,the data length was: " << aSize << " and value of Result variable is: " << iResult;
 		}
 		else {
-			BOOST_LOG_TRIVIAL(fatal) << "The FSUIPC_Read FAILED to store write request! The offset was: " << boost::format("0x%04X") % aOffset << " ,the data length was: " << aSize << " and value of Result variable is: " << iResult;
+			FSUIPC_LOG(fatal) << "The FSUIPC_Read FAILED to store write request! The offset was: " << boost::format("0x%04X") % aOffset << " ,the data length was: " << aSize << " and value of Result variable is: " << iResult;
 		}
 	}
 	else {
-		BOOST_LOG_TRIVIAL(warning) << "Failed to allocate data for FSUIPC write request!";
+		FSUIPC_LOG(warning) << "Failed to allocate data for FSUIPC write request!";
 	}
 		
 	return iRet;
@@ -325,10 +712,12 @@ JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_write(JNIEnv* e
  */
 JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_writeData(JNIEnv* env, jclass, jint aOffset, jint aSize, jbyteArray aData)
 {
+	std::lock_guard<std::mutex> lock(oIPCMutex);
 	BOOL bRet = TRUE;
 	jbyte* data = env->GetByteArrayElements(aData, 0);
 	bRet &= FSUIPC_Write(aOffset, aSize, (void*)data, &iResult);
 	bRet &= FSUIPC_Process(&iResult);
+	iLastProcessResult = iResult;
 	env->ReleaseByteArrayElements(aData, data, 0);
 	return bRet;	//this only will stay TRUE unless none of the FSUIPC calls above fails!
 }
@@ -342,7 +731,7 @@ JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_writeData(JNIEn
  */
 JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_getLibVersion(JNIEnv*, jclass)
 {
-	return FSUIPC_Lib_Version;
+	return iCachedLibVersion;
 }
 
 /*
@@ -354,7 +743,7 @@ JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_getLibVersion(J
  */
 JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_getFSVersion(JNIEnv*, jclass)
 {
-	return FSUIPC_FS_Version;
+	return iCachedFSVersion;
 }
 
 /*
@@ -366,7 +755,19 @@ JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_getFSVersion(JN
  */
 JNIEXPORT jint JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_getVersion(JNIEnv*, jclass)
 {
-	return FSUIPC_Version;
+	return iCachedVersion;
+}
+
+/*
+ * This function returns the number of log messages dropped because the queue of file logging sink was full.
+ *
+ * Class:     com_mouseviator_fsuipc_FSUIPCWrapper
+ * Method:    getDroppedLogMessages
+ * Signature: ()J
+ */
+JNIEXPORT jlong JNICALL Java_com_mouseviator_fsuipc_FSUIPCWrapper_getDroppedLogMessages(JNIEnv*, jclass)
+{
+	return iDroppedLogMessages;
 }
 
 /*
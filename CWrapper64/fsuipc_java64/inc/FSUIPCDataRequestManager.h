@@ -2,16 +2,31 @@
 #include "FSUIPCDataRequest.h"
 #include <vector>
 
+/*
+* Pool of FSUIPC data requests. The requests stored between two calls of process function use the first slots of the pool,
+* releaseAll returns them to the pool instead of deleting them, so the steady state polling does not allocate. The read data are copied
+* back to Java only if the process succeeded, otherwise the Java arrays keep their data.
+* The slots not used for IDLE_CYCLES_TO_RELEASE process calls release their Java arrays.
+*/
 class FSUIPCDataRequestManager
 {
 private:
+	static const unsigned int			IDLE_CYCLES_TO_RELEASE = 256;
+
 	std::vector<FSUIPCDataRequest*>		m_arRequests;
+	size_t								m_iActiveCount;
+	JavaVM*								m_oJavaVM;
 
 public:
+	FSUIPCDataRequest* nextRequest();
 	void addRequest(FSUIPCDataRequest* dataRequest);
-	void releaseAll();
+	void releaseAll(BOOL bProcessed);
+	void freeAll();
+
+	size_t getActiveCount() { return m_iActiveCount; };
+	size_t getPoolSize() { return m_arRequests.size(); };
+	void setJavaVM(JavaVM* oJavaVM) { m_oJavaVM = oJavaVM; };
 
 	FSUIPCDataRequestManager();
 	~FSUIPCDataRequestManager();
 };
-
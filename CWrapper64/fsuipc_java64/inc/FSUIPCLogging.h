@@ -0,0 +1,21 @@
+#pragma once
+
+#include <atomic>
+#include <boost/log/trivial.hpp>
+
+/*
+* The severity level the logging is set to (see setup_logging), cached, so that the level can be checked before the log record is
+* opened. Nothing is formatted for the messages that would be filtered out anyway.
+*/
+extern std::atomic<int> iLoggingSeverity;
+
+/*
+* The number of log messages dropped because the queue of the asynchronous file sink was full.
+*/
+extern std::atomic<long long> iDroppedLogMessages;
+
+/*
+* The same as BOOST_LOG_TRIVIAL, but the severity level is checked first. If it is filtered out, the message (including all the
+* values streamed into it) is not evaluated at all.
+*/
+#define FSUIPC_LOG(lvl) if (iLoggingSeverity.load(std::memory_order_relaxed) > boost::log::trivial::lvl) {} else BOOST_LOG_TRIVIAL(lvl)
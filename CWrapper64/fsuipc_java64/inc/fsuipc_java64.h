@@ -16,6 +16,15 @@ FSUIPC_JAVA_API int fnFsuipc_java(void);
 //Function to setup logging
 void setup_logging(boolean, const char* , byte,  DWORD);
 
+//Function to stop logging to file, the messages still in the queue are written first
+void stop_file_logging();
+
+//Function to cache the version variables of FSUIPC library
+void cache_versions();
+
+//Function to release all prepared request sets
+void release_prepared_sets();
+
 //Logging severity levels
 const byte LOGGING_SL_TRACE = 0;
 const byte LOGGING_SL_DEBUG = 1;
@@ -26,5 +35,8 @@ const byte LOGGING_SL_FATAL = 5;
 
 const DWORD DEFAULT_ROTATION_SIZE = 10 * 1024 * 1024;
 
+//The number of messages the file logging sink can hold before they are written, the ones above are dropped
+const size_t LOG_QUEUE_SIZE = 4096;
+
 #define DLL_NAME "fsuipc_java64.dll"
 #define DLL_VERSION "1.0.0.1"
\ No newline at end of file
@@ -0,0 +1,110 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc;
+
+import com.mouseviator.fsuipc.datarequest.IByteDataRequest;
+import com.mouseviator.fsuipc.datarequest.IDataRequest;
+import com.mouseviator.fsuipc.datarequest.IFloatDataRequest;
+import com.mouseviator.fsuipc.datarequest.IShortDataRequest;
+import com.mouseviator.fsuipc.helpers.SimHelper;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class computes the period of adaptive request processing (see
+ * {@link FSUIPC#processRequestsAdaptive(int, int, boolean) }). Every processing cycle reads the pause indicator
+ * (0x0264), the in menu or dialog flag (0x3365) and the frame rate (0x0274) along with the other requests, the next
+ * cycle then comes after one frame, but not sooner than the minimum period and not later than the maximum one. While
+ * the sim is paused or in menu, the data do not change, so the period is the maximum one.
+ *
+ * @author Mouseviator
+ */
+final class AdaptivePolling {
+
+    private final long minPeriod;
+    private final long maxPeriod;
+
+    private final IShortDataRequest pauseIndicator;
+    private final IByteDataRequest menuIndicator;
+    private final IFloatDataRequest frameRate;
+
+    /**
+     * The plan reading the requests above, registered every cycle.
+     */
+    private final RequestPlan plan;
+
+    /**
+     * The period of the next cycle, in nanoseconds.
+     */
+    private long period;
+
+    /**
+     * @param minPeriod The minimum period in nanoseconds.
+     * @param maxPeriod The maximum period in nanoseconds, the period while paused or in menu.
+     */
+    AdaptivePolling(long minPeriod, long maxPeriod) {
+        this.minPeriod = minPeriod;
+        this.maxPeriod = maxPeriod;
+        this.period = minPeriod;
+
+        final SimHelper simHelper = new SimHelper();
+        //the helper functions keep their IDataRequest return types, but the requests are the primitive ones
+        this.pauseIndicator = (IShortDataRequest) simHelper.getPauseIndicator();
+        this.menuIndicator = simHelper.getMenuIndicator();
+        this.frameRate = (IFloatDataRequest) simHelper.getFrameRate();
+        this.plan = RequestPlan.compile(List.<IDataRequest>of(pauseIndicator, menuIndicator, frameRate), null, 0, null);
+    }
+
+    /**
+     * @return The plan reading the offsets the period is computed from.
+     */
+    RequestPlan getPlan() {
+        return plan;
+    }
+
+    /**
+     * @return The period of the next cycle, in nanoseconds.
+     */
+    long getPeriod() {
+        return period;
+    }
+
+    /**
+     * Computes the period of the next cycle from the values read by the last processed {@link #getPlan() }.
+     *
+     * @return The period of the next cycle, in nanoseconds.
+     */
+    long update() {
+        final boolean idle = pauseIndicator.getAsShort() != 0 || menuIndicator.getAsByte() != 0;
+        period = computePeriod(idle, frameRate.getAsFloat(), minPeriod, maxPeriod);
+        return period;
+    }
+
+    /**
+     * Computes the processing period.
+     *
+     * @param idle Whether the sim is paused or in menu.
+     * @param frameRate The frame rate of the sim, frames per second. Infinite if not known (FSUIPC gives 0).
+     * @param minPeriod The minimum period in nanoseconds.
+     * @param maxPeriod The maximum period in nanoseconds.
+     * @return The period in nanoseconds - the maximum one if idle, otherwise the time of one frame within the bounds.
+     */
+    static long computePeriod(boolean idle, float frameRate, long minPeriod, long maxPeriod) {
+        //below 1 fps, the raw value does not fit the signed short and the frame rate is negative
+        if (idle || !(frameRate > 0)) {
+            return maxPeriod;
+        }
+        final long frameTime = (long) (TimeUnit.SECONDS.toNanos(1) / (double) frameRate);
+        return Math.max(minPeriod, Math.min(maxPeriod, frameTime));
+    }
+}
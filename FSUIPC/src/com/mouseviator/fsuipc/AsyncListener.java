@@ -0,0 +1,322 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc;
+
+import com.mouseviator.fsuipc.datarequest.IDataRequest;
+import java.security.InvalidParameterException;
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This class is a listener that passes the notifications to another listener on its own executor, so that slow listener
+ * does not delay the processing thread of {@link FSUIPC} (and with it the next FSUIPC process call). Wrap the listener
+ * and add the wrapper to FSUIPC:
+ *
+ * <pre><code>
+ *  AsyncListener asyncListener = new AsyncListener(listener);
+ *  fsuipc.addListener(asyncListener);
+ *  ...
+ *  fsuipc.removeListener(asyncListener);
+ *  asyncListener.close();
+ * </code></pre>
+ *
+ * <p>
+ * The notifications wait for the listener in a bounded queue. The processing cycles are conflated - if the listener
+ * did not get to the previous cycle yet, the new cycle does not add another entry to the queue, the listener will just
+ * get the latest one (the {@link IFSUIPCListener#onChanged(java.util.Collection) } will get all the requests that
+ * changed since it was called the last time). The other notifications (connected, disconnected, fail) are kept in
+ * order, but if the queue is full, the oldest one is dropped (see {@link #getDroppedCount() }).</p>
+ *
+ * <p>
+ * The data requests hold their data themselves, so the listener reads the latest values, which the processing thread
+ * may be updating meanwhile - the same as when passing the values to another thread from
+ * {@link IFSUIPCListener#onProcess(java.util.AbstractQueue) }, for example by SwingUtilities.invokeLater.</p>
+ *
+ * @author Mouseviator
+ */
+public final class AsyncListener implements IFSUIPCListener, AutoCloseable {
+
+    /**
+     * The default capacity of the queue of notifications.
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 16;
+
+    private static final Logger logger = Logger.getLogger(AsyncListener.class.getName());
+
+    /**
+     * The listener to pass the notifications to.
+     */
+    private final IFSUIPCListener listener;
+
+    /**
+     * The executor the listener is called on.
+     */
+    private final Executor executor;
+
+    /**
+     * The executor created by this class, to shut down on {@link #close() }. Null if the executor was given.
+     */
+    private final ExecutorService ownExecutor;
+
+    /**
+     * The notifications waiting for the listener.
+     */
+    private final BlockingQueue<Runnable> arNotifications;
+
+    /**
+     * The notification of processing cycle. It is in the queue at most once.
+     */
+    private final Runnable cycleNotification = this::notifyCycle;
+
+    /**
+     * Whether the {@link #cycleNotification} is in the queue.
+     */
+    private final AtomicBoolean cycleQueued = new AtomicBoolean(false);
+
+    /**
+     * Whether there was a processing cycle the listener did not get yet.
+     */
+    private final AtomicBoolean processPending = new AtomicBoolean(false);
+
+    /**
+     * The last queue of processed requests.
+     */
+    private volatile AbstractQueue<IDataRequest> arProcessedRequests;
+
+    /**
+     * The requests that changed since the listener was called the last time, guarded by itself.
+     */
+    private final List<IDataRequest> arChangedRequests = new ArrayList<>();
+    private final Set<IDataRequest> setChangedRequests = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Whether the notifications are being passed to the listener (the drain is scheduled or running).
+     */
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong conflatedCount = new AtomicLong();
+    private volatile boolean closed = false;
+
+    /**
+     * Creates new asynchronous listener, that will call given listener on its own thread, with queue of
+     * {@link #DEFAULT_QUEUE_CAPACITY}. The thread is stopped by {@link #close() }.
+     *
+     * @param listener The listener to pass the notifications to.
+     * @throws InvalidParameterException If the listener is null.
+     */
+    public AsyncListener(IFSUIPCListener listener) throws InvalidParameterException {
+        this(listener, null, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Creates new asynchronous listener, that will call given listener on given executor. The listener is called by one
+     * thread at a time, in the order of the notifications, even if the executor has more threads.
+     *
+     * @param listener The listener to pass the notifications to.
+     * @param executor The executor to call the listener on. If null, this class will create single thread executor,
+     * stopped by {@link #close() }.
+     * @param queueCapacity The maximum number of notifications waiting for the listener.
+     * @throws InvalidParameterException If the listener is null or the queue capacity is less than 1.
+     */
+    public AsyncListener(IFSUIPCListener listener, Executor executor, int queueCapacity) throws InvalidParameterException {
+        if (listener == null) {
+            throw new InvalidParameterException("Listener cannot be null!");
+        }
+        if (queueCapacity < 1) {
+            throw new InvalidParameterException("Queue capacity must be at least 1!");
+        }
+        this.listener = listener;
+        this.arNotifications = new ArrayBlockingQueue<>(queueCapacity);
+        if (executor != null) {
+            this.executor = executor;
+            this.ownExecutor = null;
+        } else {
+            this.ownExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "FSUIPC async listener");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.executor = this.ownExecutor;
+        }
+    }
+
+    @Override
+    public void onConnected() {
+        offer(listener::onConnected);
+    }
+
+    @Override
+    public void onDisconnected() {
+        offer(listener::onDisconnected);
+    }
+
+    @Override
+    public void onProcess(AbstractQueue<IDataRequest> arRequests) {
+        arProcessedRequests = arRequests;
+        if (processPending.getAndSet(true)) {
+            conflatedCount.incrementAndGet();
+        }
+        offerCycle();
+    }
+
+    @Override
+    public void onChanged(Collection<IDataRequest> arChanged) {
+        //the collection is valid only during this call, so keep the requests
+        synchronized (arChangedRequests) {
+            for (IDataRequest dataRequest : arChanged) {
+                if (setChangedRequests.add(dataRequest)) {
+                    arChangedRequests.add(dataRequest);
+                }
+            }
+        }
+        offerCycle();
+    }
+
+    @Override
+    public void onFail(int lastResult) {
+        offer(() -> listener.onFail(lastResult));
+    }
+
+    /**
+     * @return The listener the notifications are passed to.
+     */
+    public IFSUIPCListener getListener() {
+        return listener;
+    }
+
+    /**
+     * @return The number of notifications dropped because the queue was full.
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * @return The number of processing cycles the listener did not get, because newer cycle came before it got to them.
+     */
+    public long getConflatedCount() {
+        return conflatedCount.get();
+    }
+
+    /**
+     * Stops passing the notifications to the listener. The notifications waiting in the queue are discarded. If the
+     * executor was created by this class, it is shut down.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        arNotifications.clear();
+        if (ownExecutor != null) {
+            ownExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Adds the cycle notification into the queue, if not there already.
+     */
+    private void offerCycle() {
+        if (!cycleQueued.getAndSet(true)) {
+            offer(cycleNotification);
+        }
+    }
+
+    /**
+     * Adds the notification into the queue, dropping the oldest one if full, and makes sure the queue is being drained.
+     */
+    private void offer(Runnable notification) {
+        if (closed) {
+            return;
+        }
+        while (!arNotifications.offer(notification)) {
+            final Runnable dropped = arNotifications.poll();
+            if (dropped == cycleNotification) {
+                //the cycle is not lost, it will be queued again with the next one
+                cycleQueued.set(false);
+            }
+            if (dropped != null) {
+                droppedCount.incrementAndGet();
+            }
+        }
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (!closed && draining.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException ex) {
+                draining.set(false);
+                logger.log(Level.WARNING, "Executor rejected to run the listener!", ex);
+            }
+        }
+    }
+
+    /**
+     * Passes all queued notifications to the listener.
+     */
+    private void drain() {
+        try {
+            Runnable notification;
+            while (!closed && (notification = arNotifications.poll()) != null) {
+                try {
+                    notification.run();
+                } catch (RuntimeException ex) {
+                    logger.log(Level.SEVERE, "Listener failed to handle FSUIPC notification!", ex);
+                }
+            }
+        } finally {
+            draining.set(false);
+        }
+        //something might have been added after the last poll, but before the flag was cleared
+        if (!arNotifications.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    /**
+     * Passes the latest processing cycle to the listener.
+     */
+    private void notifyCycle() {
+        cycleQueued.set(false);
+        if (processPending.getAndSet(false)) {
+            listener.onProcess(arProcessedRequests);
+        }
+
+        final List<IDataRequest> arChanged;
+        synchronized (arChangedRequests) {
+            if (arChangedRequests.isEmpty()) {
+                return;
+            }
+            arChanged = new ArrayList<>(arChangedRequests);
+            arChangedRequests.clear();
+            setChangedRequests.clear();
+        }
+        listener.onChanged(Collections.unmodifiableList(arChanged));
+    }
+}
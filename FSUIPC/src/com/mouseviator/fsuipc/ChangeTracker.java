@@ -0,0 +1,153 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc;
+
+import com.mouseviator.fsuipc.datarequest.IDataRequest;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * This class finds out which READ data requests changed their data since the last processing. It keeps a copy of the
+ * data of every request from the last call of {@link #update(java.util.Collection) } and compares it with the current
+ * data. The changed requests are marked in a bitset (by their position in the collection), the
+ * {@link #getChangedRequests() } is a view of the collection filtered by this bitset.
+ *
+ * <p>
+ * Not thread safe, should be used by the thread that processes the requests only.</p>
+ *
+ * @author Mouseviator
+ */
+final class ChangeTracker {
+
+    /**
+     * The data of the requests from the last update.
+     */
+    private Map<IDataRequest, byte[]> mapSnapshots = new IdentityHashMap<>();
+
+    /**
+     * The map for the next update, swapped with {@link #mapSnapshots}, so that requests no longer present are dropped.
+     */
+    private Map<IDataRequest, byte[]> mapNextSnapshots = new IdentityHashMap<>();
+
+    /**
+     * The requests of the last update.
+     */
+    private final List<IDataRequest> arRequests = new ArrayList<>();
+
+    /**
+     * The requests that changed during the last update, by their position in {@link #arRequests}.
+     */
+    private final BitSet dirty = new BitSet();
+
+    /**
+     * The view of the changed requests.
+     */
+    private final Collection<IDataRequest> changedRequests = new ChangedRequests();
+
+    /**
+     * Compares the data of given requests with the data they had in the previous update. Only READ requests are
+     * checked, requests not seen by the previous update are changed ones.
+     *
+     * @param arProcessedRequests The requests that were just processed.
+     * @return The number of changed requests.
+     */
+    int update(Collection<IDataRequest> arProcessedRequests) {
+        arRequests.clear();
+        dirty.clear();
+
+        for (IDataRequest dataRequest : arProcessedRequests) {
+            if (dataRequest.getType() != IDataRequest.RequestType.READ || mapNextSnapshots.containsKey(dataRequest)) {
+                continue;
+            }
+
+            final byte[] data = dataRequest.getDataBuffer();
+            byte[] snapshot = mapSnapshots.remove(dataRequest);
+            if (snapshot == null || !Arrays.equals(snapshot, data)) {
+                if (snapshot == null || snapshot.length != data.length) {
+                    snapshot = data.clone();
+                } else {
+                    System.arraycopy(data, 0, snapshot, 0, data.length);
+                }
+                dirty.set(arRequests.size());
+            }
+            mapNextSnapshots.put(dataRequest, snapshot);
+            arRequests.add(dataRequest);
+        }
+
+        //what was left were the requests that are gone
+        mapSnapshots.clear();
+        final Map<IDataRequest, byte[]> mapTemp = mapSnapshots;
+        mapSnapshots = mapNextSnapshots;
+        mapNextSnapshots = mapTemp;
+
+        return dirty.cardinality();
+    }
+
+    /**
+     * @return The READ requests that changed during the last update. Valid until the next update.
+     */
+    Collection<IDataRequest> getChangedRequests() {
+        return changedRequests;
+    }
+
+    /**
+     * Forgets all the data, so that on the next update all requests will be changed ones.
+     */
+    void reset() {
+        mapSnapshots.clear();
+        mapNextSnapshots.clear();
+        arRequests.clear();
+        dirty.clear();
+    }
+
+    /**
+     * The read only view of changed requests.
+     */
+    private final class ChangedRequests extends AbstractCollection<IDataRequest> {
+
+        @Override
+        public Iterator<IDataRequest> iterator() {
+            return new Iterator<IDataRequest>() {
+                private int next = dirty.nextSetBit(0);
+
+                @Override
+                public boolean hasNext() {
+                    return next >= 0;
+                }
+
+                @Override
+                public IDataRequest next() {
+                    if (next < 0) {
+                        throw new NoSuchElementException();
+                    }
+                    final IDataRequest dataRequest = arRequests.get(next);
+                    next = dirty.nextSetBit(next + 1);
+                    return dataRequest;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return dirty.cardinality();
+        }
+    }
+}
@@ -14,22 +14,42 @@ package com.mouseviator.fsuipc;
 
 import com.mouseviator.fsuipc.datarequest.DataRequest;
 import com.mouseviator.fsuipc.datarequest.IDataRequest;
+import com.mouseviator.fsuipc.helpers.SimHelper;
 import com.mouseviator.fsuipc.helpers.aircraft.AircraftHelper;
+import com.mouseviator.fsuipc.transport.FSUIPCWrapperTransport;
+import com.mouseviator.fsuipc.transport.IFSUIPCTransport;
+import java.lang.management.ManagementFactory;
 import java.security.InvalidParameterException;
 import java.util.AbstractQueue;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 
 /**
  * <h2>General description</h2>
@@ -54,6 +74,15 @@ import java.util.logging.Logger;
  * as JNI.</p>
  *
  * <p>
+ * Actually, the {@link FSUIPCWrapper} is not called directly, but through the
+ * {@link IFSUIPCTransport} interface. The default transport is the
+ * {@link FSUIPCWrapperTransport}, which calls the native functions. To run
+ * without the native library and the simulator (tests, benchmarks...), set
+ * another one using the {@link #setTransport(com.mouseviator.fsuipc.transport.IFSUIPCTransport)
+ * } function, such as the
+ * {@link com.mouseviator.fsuipc.transport.SimulatedOffsetSpace}.</p>
+ *
+ * <p>
  * This class is build upon a concept of data requests. Data requests simply are
  * data that you want to read/write to/from the simulator via FSUIPC. Each data
  * request is associated with the offset (what data you want to read/write, you
@@ -309,6 +338,29 @@ public class FSUIPC {
      * the function.
      */
     public static final int PROCESS_RESULT_THREAD_ALREADY_RUNNING = 517;
+
+    /**
+     * A value for {@link #setReadCoalescingGap(int) } that will disable merging of READ requests into block reads.
+     * Every READ request will be registered by its own FSUIPC_Read call then.
+     */
+    public static final int READ_COALESCING_DISABLED = -1;
+
+    /**
+     * The default value of the read coalescing gap. Only overlapping or directly adjacent READ requests will be merged
+     * into block reads.
+     */
+    public static final int DEFAULT_READ_COALESCING_GAP = 0;
+
+    /**
+     * The default processing divisor of continual requests. Such requests are processed on every tick of the
+     * processing thread. See {@link #addContinualRequest(com.mouseviator.fsuipc.datarequest.IDataRequest, int) }.
+     */
+    public static final int DEFAULT_PROCESSING_DIVISOR = 1;
+
+    /**
+     * The JMX object name of the metrics MBean. See {@link #registerMetricsMBean() }.
+     */
+    public static final String METRICS_MBEAN_NAME = "com.mouseviator.fsuipc:type=FSUIPCMetrics";
     /**
      * Name of 64 bit library implementation
      */
@@ -498,17 +550,39 @@ public class FSUIPC {
      * An array of one time data requests
      */
     private final AbstractQueue<IDataRequest> arOneTimeRequests = new ConcurrentLinkedQueue<>();
+    /**
+     * The requests submitted by {@link #submit(com.mouseviator.fsuipc.datarequest.IDataRequest...) }, waiting to be
+     * processed.
+     */
+    private final AbstractQueue<Submission> arSubmissions = new ConcurrentLinkedQueue<>();
 
     /**
      * An array for holding repeated requests
      */
     private final AbstractQueue<IDataRequest> arContinualRequests = new ConcurrentLinkedQueue<>();
 
+    /**
+     * Canonical READ requests shared by continual READ requests with the same offset and size. Only these are
+     * registered with FSUIPC. The key is made by {@link SharedRead#key(int, int) }.
+     */
+    private final Map<Long, SharedRead> mapSharedReads = new ConcurrentHashMap<>();
+
+    /**
+     * Processing divisors of continual requests, only the ones that are not processed on every tick. See
+     * {@link #addContinualRequest(com.mouseviator.fsuipc.datarequest.IDataRequest, int) }.
+     */
+    private final Map<IDataRequest, Integer> mapDivisors = new ConcurrentHashMap<>();
+
     /**
      * An array of FSUIPC event listeners
      */
     private final List<IFSUIPCListener> arListeners = new LinkedList<>();
 
+    /**
+     * The sessions with their own continual requests and listeners, see {@link #createSession() }.
+     */
+    private final List<FSUIPCSession> arSessions = new CopyOnWriteArrayList<>();
+
     /**
      * Whether the lib is connected to FSUIPC or not
      */
@@ -516,7 +590,7 @@ public class FSUIPC {
     /**
      * Thread pool for running continuous requests
      */
-    private ScheduledExecutorService scheduledESForCRPTask = null;
+    private volatile ScheduledExecutorService scheduledESForCRPTask = null;
     /**
      * Thread pool for wait for connection task
      */
@@ -529,25 +603,103 @@ public class FSUIPC {
      * A reference to task that process requests continually
      */
     private ScheduledFuture continualRequestProcessThread = null;
+    /**
+     * The task run by {@link #waitForConnectionThread}, used to wait for its completion when canceled
+     */
+    private StoppableTask waitForConnectionTask = null;
+    /**
+     * The task run by {@link #continualRequestProcessThread}, used to wait for its completion when canceled
+     */
+    private volatile StoppableTask continualRequestProcessTask = null;
+
+    /**
+     * The worker run by {@link #continualRequestProcessTask}, to run the priority cycles.
+     */
+    private volatile ContinualRequestsProcessWorker continualRequestsWorker = null;
     /**
      * this variable stores last processing time. It is being updated in each
      * call of {@link #process() } function.
      */
-    private long lastProcessingTime = 0;
+    private volatile long lastProcessingTime = 0;
+    /**
+     * The metrics of request processing. See {@link #getMetrics() }.
+     */
+    private final FSUIPCMetrics metrics = new FSUIPCMetrics();
+    /**
+     * Maximum gap in bytes between two READ requests to still merge them into one block read. See
+     * {@link #setReadCoalescingGap(int) }.
+     */
+    private volatile int readCoalescingGap = DEFAULT_READ_COALESCING_GAP;
+    /**
+     * The version of the continual requests set, incremented whenever a continual request is added or removed. The
+     * processing thread compiles the continual requests into a {@link RequestPlan} only when this changes.
+     */
+    private final AtomicLong continualRequestsVersion = new AtomicLong();
+    /**
+     * The transport used to exchange data with FSUIPC. See {@link #setTransport(com.mouseviator.fsuipc.transport.IFSUIPCTransport)
+     * }.
+     */
+    private volatile IFSUIPCTransport transport = FSUIPCWrapperTransport.getInstance();
+    /**
+     * The shadow image of the offset space the block reads are read into, null if not enabled. See
+     * {@link #setShadowImageEnabled(boolean) }.
+     */
+    private volatile ShadowImage shadowImage = null;
+    /**
+     * Whether to store and process the requests of one cycle by one batch call. See
+     * {@link #setBatchProcessingEnabled(boolean) }.
+     */
+    private volatile boolean batchProcessingEnabled = false;
+    /**
+     * Whether to collapse and merge the one-time WRITE requests. See {@link #setWriteCoalescingEnabled(boolean) }.
+     */
+    private volatile boolean writeCoalescingEnabled = false;
+    /**
+     * Whether to process the continual requests as prepared set. See {@link #setPreparedProcessingEnabled(boolean) }.
+     */
+    private volatile boolean preparedProcessingEnabled = false;
+    /**
+     * Whether the priority cycle processes only the one-time requests. See {@link #setLightPriorityProcessing(boolean)
+     * }.
+     */
+    private volatile boolean lightPriorityProcessing = false;
+    /**
+     * The last result, cached after every call to FSUIPC, so that any thread can get it by {@link #getLastResult() }
+     * (the transport keeps the last result for every calling thread).
+     */
+    private volatile int lastResult = FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_OK.getValue();
+    /**
+     * Whether the priority cycle is waiting for the processing thread. See {@link #addPriorityRequest(com.mouseviator.fsuipc.datarequest.IDataRequest)
+     * }.
+     */
+    private final AtomicBoolean priorityCyclePending = new AtomicBoolean(false);
+
+    /**
+     * Gets the last result of the transport, it must be called by the thread that made the call to FSUIPC, and caches it
+     * for {@link #getLastResult() }.
+     *
+     * @return The last result.
+     */
+    private int updateLastResult() {
+        lastResult = transport.getResult();
+        return lastResult;
+    }
 
     /**
      * This function will check last FSUIPC result and change library state if
      * desired.
      */
     private void checkLastResult() {
-        int lastResult = FSUIPCWrapper.getResult();
+        final int lastResult = updateLastResult();
         
         // in case of some error, inform all listeners
         if (lastResult != FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_OK.getValue()) {
+            metrics.recordFailure(lastResult);
             logger.log(Level.FINER, "Something did not go as planned! FSUIPC last result code is: {0}. Letting the listeners know!", lastResult);
             arListeners.forEach(listener -> {
                 listener.onFail(lastResult);
             });
+            arSessions.forEach(session -> session.notifyListeners(listener -> listener.onFail(lastResult)));
         }
 
         //check if disconnected
@@ -579,6 +731,8 @@ public class FSUIPC {
                 //if disconnected, cancel processing tasks
                 logger.finer("FSUIPC disconnected! Will cancel continual requests processing thread.");
                 cancelRequestsProcessing();
+                //the submitted requests will not be processed
+                failSubmissions(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_NOTOPEN.getValue());
             }
 
             //let all listeners know
@@ -589,9 +743,32 @@ public class FSUIPC {
                     listener.onDisconnected();
                 }
             });
+            arSessions.forEach(session -> session.notifyListeners(connected ? IFSUIPCListener::onConnected : IFSUIPCListener::onDisconnected));
         }
     }
 
+    /**
+     * Sets the transport this class will use to exchange data with FSUIPC. By default, it is the
+     * {@link FSUIPCWrapperTransport}, which uses the native functions of {@link FSUIPCWrapper}. Another transport,
+     * such as {@link com.mouseviator.fsuipc.transport.SimulatedOffsetSpace}, can be used to run without the native
+     * library and the simulator. The transport should be set before connecting, changing it while connected will
+     * NOT close the connection of the previous one.
+     *
+     * @param transport The transport to use. If null, the default one will be set.
+     */
+    public void setTransport(IFSUIPCTransport transport) {
+        this.transport = transport != null ? transport : FSUIPCWrapperTransport.getInstance();
+    }
+
+    /**
+     * Returns the transport this class uses to exchange data with FSUIPC.
+     *
+     * @return The transport.
+     */
+    public IFSUIPCTransport getTransport() {
+        return transport;
+    }
+
     /**
      * This will add listener. If the listener is already present, it will not be added.
      *
@@ -627,6 +804,52 @@ public class FSUIPC {
         arListeners.clear();
     }
 
+    /**
+     * Creates new session - an independent set of continual requests and listeners, processed by the processing thread
+     * of this class together with the continual requests of this class and of the other sessions. See
+     * {@link FSUIPCSession}.
+     *
+     * @return New session. Close it once not needed anymore.
+     */
+    public FSUIPCSession createSession() {
+        final FSUIPCSession session = new FSUIPCSession(this);
+        arSessions.add(session);
+        return session;
+    }
+
+    /**
+     * Removes closed session.
+     *
+     * @param session The session.
+     */
+    void removeSession(FSUIPCSession session) {
+        arSessions.remove(session);
+        continualRequestsChanged();
+    }
+
+    /**
+     * Lets the processing thread know that the continual requests (of this class or of a session) changed, so the
+     * request plans will be compiled again.
+     */
+    void continualRequestsChanged() {
+        continualRequestsVersion.incrementAndGet();
+    }
+
+    /**
+     * @return True if there is any continual request, in this class or in any session.
+     */
+    private boolean hasContinualRequests() {
+        if (!arContinualRequests.isEmpty()) {
+            return true;
+        }
+        for (FSUIPCSession session : arSessions) {
+            if (session.hasContinualRequests()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Open FSUIPC connection to selected simulator version.
      *
@@ -634,7 +857,8 @@ public class FSUIPC {
      * @return 0 if not connected, 1 (or non-zero) when successfully connected.
      */
     public int connect(FSUIPCWrapper.FSUIPCSimVersion simVersion) {
-        int iRet = FSUIPCWrapper.open(simVersion.getValue());
+        int iRet = transport.open(simVersion.getValue());
+        updateLastResult();
         if (iRet != 0) {
             logger.info("Connection to FSUIPC opened.");
             setConnected(true);
@@ -675,7 +899,8 @@ public class FSUIPC {
                     scheduledESForWfCTask = Executors.newScheduledThreadPool(1);
                 }
                 //start waiting thread
-                waitForConnectionThread = scheduledESForWfCTask.scheduleAtFixedRate(new WaitForConnectionWorker(simVersion), 0, repeatPeriod, TimeUnit.SECONDS);
+                waitForConnectionTask = new StoppableTask(new WaitForConnectionWorker(simVersion));
+                waitForConnectionThread = scheduledESForWfCTask.scheduleAtFixedRate(waitForConnectionTask, 0, repeatPeriod, TimeUnit.SECONDS);
                 logger.log(Level.FINER, "Started new task to wait to connection to sim via FSUIPC. Required sim version is: {0} and repeat period is: {1} seoonds.", new Object[]{getFSVersion(simVersion), repeatPeriod});
                 return true;
             }
@@ -697,19 +922,13 @@ public class FSUIPC {
                 //cancel any currently running task
                 ((ScheduledThreadPoolExecutor) scheduledESForWfCTask).setRemoveOnCancelPolicy(true);
                 waitForConnectionThread.cancel(true);
-                //wait for the task to complete
-                while (!waitForConnectionThread.isDone()) {
-                    try {
-                        /* It is said that using Thread.sleep in the loop is bad design pattern, but here, I do not know about
-                           better solution for waiting for the thread to be completly finished.
-                        */
-                        Thread.sleep(50);
-                    } catch (InterruptedException ex) {
-                        //just continue on processing
-                        logger.log(Level.WARNING, "Interrupted while waiting for wait for FSUIPC connection thread to finish!", ex);
-                    }
+                //wait for the run in progress (if any) to complete, the future is done right after cancel
+                if (!waitForConnectionTask.stop()) {
+                    logger.warning("Timed out waiting for wait for FSUIPC connection thread to finish!");
+                    return false;
                 }
                 waitForConnectionThread = null; //important so that the condition above works next time
+                waitForConnectionTask = null;
                 logger.finer("Thread to wait for FSUIPC connection was canceled!");
             }
         } catch (Exception ex) {
@@ -736,21 +955,19 @@ public class FSUIPC {
                 ((ScheduledThreadPoolExecutor) scheduledESForCRPTask).setRemoveOnCancelPolicy(true);
                 //this one, we will let finish if already running - the false parameter
                 continualRequestProcessThread.cancel(false);
-                //wait for the task to complete
-                while (!continualRequestProcessThread.isDone()) {
-                    try {
-                        /* It is said that using Thread.sleep in the loop is bad design pattern, but here, I do not know about
-                           better solution for waiting for the thread to be completly finished.
-                        */
-                        Thread.sleep(50);
-                    } catch (InterruptedException ex) {
-                        //just continue on processing
-                        logger.log(Level.WARNING, "Interrupted while waiting for continual request processing thread to finish!", ex);
-                    }
+                //wait for the run in progress (if any) to complete, the future is done right after cancel
+                if (!continualRequestProcessTask.stop()) {
+                    logger.warning("Timed out waiting for continual request processing thread to finish!");
+                    return false;
                 }
                 continualRequestProcessThread = null;   //important so that the condition above works next time
+                continualRequestProcessTask = null;
+                if (continualRequestsWorker != null) {
+                    continualRequestsWorker.releasePreparedPlans();
+                }
+                continualRequestsWorker = null;
                 //clear array of requests
-                arContinualRequests.clear();        //added as anothe call to start request processing in one session would add request (double them and so on)
+                clearContinualRequestsQueue();        //added as anothe call to start request processing in one session would add request (double them and so on)
                 logger.finer("Thread for FSUIPC continual requests processing was canceled!");
             }
         } catch (Exception ex) {
@@ -767,26 +984,15 @@ public class FSUIPC {
         logger.info("Called disconnect! Will close FSUIPC connection and release resoures.");
         setConnected(false);
 
-        //cancel runnig  threads waiting for FSUIPC connection if any        
+        //cancel runnig  threads waiting for FSUIPC connection if any, this waits for the run in progress to complete, so
+        //the executor has nothing left to do and the shutdown does not need to be waited for
         if (scheduledESForWfCTask != null) {
             try {
+                cancelWaitForConnectionTask();
                 scheduledESForWfCTask.shutdown();
-                while (!scheduledESForWfCTask.isShutdown()) {
-                    //wait for tasks to shutdown
-                    try {
-                        /* It is said that using Thread.sleep in the loop is bad design pattern, but here, I do not know about
-                           better solution for waiting for the executor to be completly shutdown. We could call awaitTermination,
-                           but it has tim limit and if tasks does not finish within limit, than we still have to take another action,
-                           so may not be sure the executor finished all and was shutdown
-                        */
-                        Thread.sleep(50);                        
-                    } catch (InterruptedException ex) {
-                        //just continue on processing
-                        logger.log(Level.WARNING, "Interrupted while waiting for \"Wait for FSUIPC connection\" task executor to shutdown!", ex);
-                    }
-                }
                 scheduledESForWfCTask = null;
                 waitForConnectionThread = null;
+                waitForConnectionTask = null;
                 logger.finer("The \"Wait for FSUIPC connection\" task executor is shutdown. Thread waiting for connection is terminated.");
             } catch (Exception ex) {
                 logger.log(Level.SEVERE, "Failed to terminate the \"Wait for FSUIPC connection\" task executor! The waiting thread might still be running!", ex);
@@ -796,24 +1002,13 @@ public class FSUIPC {
         //terminate all running continual request processing threads
         if (scheduledESForCRPTask != null) {
             try {
+                cancelRequestsProcessing();
                 scheduledESForCRPTask.shutdown();
-                while (!scheduledESForCRPTask.isShutdown()) {
-                    //wait for tasks to shutdown
-                    try {
-                        /* It is said that using Thread.sleep in the loop is bad design pattern, but here, I do not know about
-                           better solution for waiting for the executor to be completly shutdown. We could call awaitTermination,
-                           but it has tim limit and if tasks does not finish within limit, than we still have to take another action,
-                           so may not be sure the executor finished all and was shutdown
-                        */
-                        Thread.sleep(50);                        
-                    } catch (InterruptedException ex) {
-                        //just continue on processing
-                        logger.log(Level.WARNING, "Interrupted while waiting for \"Continual requests processing\" scheduled task executor to shutdown!", ex);
-                    }
-                }
                 scheduledESForCRPTask = null;
                 continualRequestProcessThread = null;
-                arContinualRequests.clear();    //added as another call to start request processing in one session would add request (double them and so on)
+                continualRequestProcessTask = null;
+                continualRequestsWorker = null;
+                clearContinualRequestsQueue();    //added as another call to start request processing in one session would add request (double them and so on)
                 logger.finer("The \"Continual requests processing\" task executor is shutdown. Thread performing continual request processing is terminated.");
             } catch (Exception ex) {
                 logger.log(Level.SEVERE, "Failed to terminate the \"Continual requests processing\" executor service! The thread performing continual request processing might still be running!", ex);
@@ -823,12 +1018,15 @@ public class FSUIPC {
         //close FSUIPC connection. We do it as last command, after cancelling all processing, as doing it as firts, may
         //cause many calls to onFail, while it is actaully not fail. This function is not called internally, so the disconnect
         //should be called only when we really want to
-        FSUIPCWrapper.close();
+        transport.close();
     }
 
     /**
      * Return the last result from last FSUIPC operation. This should be one
-     * from {@link FSUIPCWrapper.FSUIPCResult }
+     * from {@link FSUIPCWrapper.FSUIPCResult }. The result is cached after every
+     * call, so this does not wait for the processing that is running, and it
+     * returns the result of the call made by any thread (the processing thread
+     * most of the time).
      *
      * @return {@link FSUIPCWrapper.FSUIPCResult } of last FSUIPC function call.
      * @throws InvalidParameterException if {@link FSUIPCWrapper#getResult() }
@@ -836,7 +1034,7 @@ public class FSUIPC {
      * would mean this library is outdated!
      */
     public FSUIPCWrapper.FSUIPCResult getLastResult() throws InvalidParameterException {
-        return FSUIPCWrapper.FSUIPCResult.get(FSUIPCWrapper.getResult());
+        return FSUIPCWrapper.FSUIPCResult.get(lastResult);
     }
 
     /**
@@ -863,7 +1061,7 @@ public class FSUIPC {
      */
     public String getFSVersion() {
         try {
-            FSUIPCWrapper.FSUIPCSimVersion simVersion = FSUIPCWrapper.FSUIPCSimVersion.get(FSUIPCWrapper.getFSVersion());
+            FSUIPCWrapper.FSUIPCSimVersion simVersion = FSUIPCWrapper.FSUIPCSimVersion.get(transport.getFSVersion());
             return FSUIPC_SIM_VERSION_TEXT.get(simVersion);
         } catch (Exception ex) {
             logger.log(Level.SEVERE, "Failed to get FS version!", ex);
@@ -898,7 +1096,7 @@ public class FSUIPC {
      * @return String representation of FSUIPC version.
      */
     public String getVersion() {
-        int version = FSUIPCWrapper.getVersion();
+        int version = transport.getVersion();
 
         //Below code copied from SDK UIPCHello.c
         //hiword is FSUIPC version - BCD encoded
@@ -921,7 +1119,7 @@ public class FSUIPC {
      */
     public String getLibVersion() {
         //According to documentation the values hould be stored the same as the fsuipc vesrion, but it does not give meaningfull value
-        int version = FSUIPCWrapper.getLibVersion();
+        int version = transport.getLibVersion();
 
         return String.format("%.3f", version / 1000.f);
     }
@@ -943,28 +1141,391 @@ public class FSUIPC {
     }
 
     /**
-     * This method will add data request to the continual requests array.
+     * This method will add data request to the one-time requests array and wake the processing thread (see
+     * {@link #processRequests(int, boolean) }) to process it right away, instead of waiting for the next cycle. Use it
+     * for the requests the user waits for, such as {@link com.mouseviator.fsuipc.datarequest.advanced.FSControlRequest}
+     * sent by a button - with processing period of 250 milliseconds, the one-time request would wait up to a quarter
+     * of second otherwise.
+     *
+     * <p>
+     * By default, the processing thread runs the whole cycle right away, including the continual requests and the
+     * listeners. If the light priority processing is enabled (see {@link #setLightPriorityProcessing(boolean) }), it
+     * processes only the one-time requests, by one small FSUIPC process call. Either way, the cycle does not count
+     * as a tick, the next cycle comes at the time it would come without it. The priority requests added while the
+     * processing thread is being woken up are processed together. If the processing thread is not running, the
+     * request just waits in the one-time requests array, as if added by {@link #addOneTimeRequest(com.mouseviator.fsuipc.datarequest.IDataRequest)
+     * }.</p>
+     *
+     * @param dataRequest Read or Write data request.
+     * @return The passed <b>dataRequest</b> if not null, otherwise null.
+     */
+    public IDataRequest addPriorityRequest(IDataRequest dataRequest) {
+        if (dataRequest != null) {
+            arOneTimeRequests.add(dataRequest);
+            wakeRequestsProcessing();
+            return dataRequest;
+        }
+        return null;
+    }
+
+    /**
+     * Sets whether the processing thread woken up by {@link #addPriorityRequest(com.mouseviator.fsuipc.datarequest.IDataRequest)
+     * } processes only the one-time requests (light), or the whole cycle, including the continual requests and the
+     * listeners.
+     *
+     * @param light True to process only the one-time requests, false to process the whole cycle.
+     */
+    public void setLightPriorityProcessing(boolean light) {
+        this.lightPriorityProcessing = light;
+    }
+
+    /**
+     * @return True if the priority requests are processed without the continual requests.
+     */
+    public boolean isLightPriorityProcessing() {
+        return lightPriorityProcessing;
+    }
+
+    /**
+     * Makes the processing thread run the priority cycle right away, unless it is about to run it already.
+     */
+    private void wakeRequestsProcessing() {
+        final ScheduledExecutorService executor = scheduledESForCRPTask;
+        final StoppableTask task = continualRequestProcessTask;
+        final ContinualRequestsProcessWorker worker = continualRequestsWorker;
+        if (executor == null || task == null || worker == null || !priorityCyclePending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            //the same single thread as the scheduled cycles, so the cycles do not run at the same time
+            executor.execute(() -> {
+                //the requests added from now on wake it up again, this cycle might have compiled its plan already
+                priorityCyclePending.set(false);
+                task.runExclusive(() -> worker.runPriorityCycle(lightPriorityProcessing));
+            });
+        } catch (RejectedExecutionException ex) {
+            //the executor was shut down meanwhile, the request stays in the one-time requests
+            priorityCyclePending.set(false);
+        }
+    }
+
+    /**
+     * This method will submit data requests to be processed once, together with the one-time requests, by the next
+     * cycle of the processing thread (see {@link #processRequests(int, boolean) }), or by the next call of
+     * {@link #processRequestsOnce() }. Unlike {@link #addOneTimeRequest(com.mouseviator.fsuipc.datarequest.IDataRequest)
+     * }, it returns a future that is completed right after the FSUIPC process call that serviced the requests, on the
+     * thread that called it (the processing thread). So the data of the READ requests can be used without blocking or
+     * polling:
+     *
+     * <pre><code>
+     *  fsuipc.submit(altitude, heading).thenAccept(arRequests -&gt; {
+     *      System.out.println("Altitude: " + altitude.getValue() + ", heading: " + heading.getValue());
+     *  });
+     * </code></pre>
+     *
+     * <p>
+     * If the requests fail to be stored or processed, the future is completed exceptionally with
+     * {@link FSUIPCException}, carrying the FSUIPC result code. The same happens if FSUIPC is not connected, or gets
+     * disconnected before the requests are processed. The listeners (if any) run after the futures are completed. Keep
+     * the code that runs on the processing thread short, the same as in the listeners.</p>
+     *
+     * @param dataRequests Read or Write data requests.
+     * @return The future that completes with the list of the submitted requests once they are processed. If no requests
+     * are given, it is already completed.
+     * @throws InvalidParameterException If any of the requests is null.
+     */
+    public CompletableFuture<List<IDataRequest>> submit(IDataRequest... dataRequests) throws InvalidParameterException {
+        for (IDataRequest dataRequest : dataRequests) {
+            if (dataRequest == null) {
+                throw new InvalidParameterException("Submitted data request cannot be null!");
+            }
+        }
+
+        final Submission submission = new Submission(List.of(dataRequests));
+        if (dataRequests.length == 0) {
+            submission.future.complete(submission.arRequests);
+        } else if (!connected.get()) {
+            submission.future.completeExceptionally(new FSUIPCException(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_NOTOPEN.getValue()));
+        } else {
+            arSubmissions.add(submission);
+            //the disconnect might have been called meanwhile and would not see this one
+            if (!connected.get()) {
+                failSubmissions(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_NOTOPEN.getValue());
+            }
+        }
+        return submission.future;
+    }
+
+    /**
+     * Takes all the submitted requests waiting to be processed.
+     *
+     * @return The list of submissions, empty if there are none.
+     */
+    private List<Submission> pollSubmissions() {
+        if (arSubmissions.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<Submission> arPolled = new ArrayList<>();
+        Submission submission;
+        while ((submission = arSubmissions.poll()) != null) {
+            arPolled.add(submission);
+        }
+        return arPolled;
+    }
+
+    /**
+     * Completes the futures of given submissions based on the processing result.
+     *
+     * @param arPolled The submissions processed.
+     * @param processResult The result of the processing, {@link #PROCESS_RESULT_OK} completes them normally, anything
+     * else completes them exceptionally with <b>resultCode</b>.
+     * @param resultCode The FSUIPC result code of the failure.
+     */
+    private void completeSubmissions(List<Submission> arPolled, int processResult, int resultCode) {
+        if (arPolled.isEmpty()) {
+            return;
+        }
+        if (processResult == PROCESS_RESULT_OK) {
+            arPolled.forEach(submission -> submission.future.complete(submission.arRequests));
+        } else {
+            final FSUIPCException ex = new FSUIPCException(resultCode);
+            arPolled.forEach(submission -> submission.future.completeExceptionally(ex));
+        }
+    }
+
+    /**
+     * Completes the futures of all the submissions waiting to be processed exceptionally.
+     *
+     * @param resultCode The FSUIPC result code to complete them with.
+     */
+    private void failSubmissions(int resultCode) {
+        final List<Submission> arPolled = pollSubmissions();
+        if (!arPolled.isEmpty()) {
+            final FSUIPCException ex = new FSUIPCException(resultCode);
+            arPolled.forEach(submission -> submission.future.completeExceptionally(ex));
+        }
+    }
+
+    /**
+     * Compiles given one-time requests and submitted requests into a plan.
+     *
+     * @param arOneTime The one-time requests, see {@link #getPendingOneTimeRequests() }.
+     * @param arPolled Submissions to include.
+     * @return The plan.
+     */
+    private RequestPlan compileOneTimePlan(List<IDataRequest> arOneTime, List<Submission> arPolled) {
+        final boolean coalesceWrites = writeCoalescingEnabled;
+        if (arPolled.isEmpty()) {
+            return arOneTime.isEmpty() ? RequestPlan.EMPTY : RequestPlan.compile(arOneTime, null, readCoalescingGap, null, coalesceWrites);
+        }
+        final List<IDataRequest> arRequests = new ArrayList<>(arOneTime);
+        arPolled.forEach(submission -> arRequests.addAll(submission.arRequests));
+        return RequestPlan.compile(arRequests, null, readCoalescingGap, null, coalesceWrites);
+    }
+
+    /**
+     * Returns the one-time requests waiting to be processed. They stay in the queue, till processed successfully (see
+     * {@link #removeOneTimeRequests(int) }). Must be called holding the process lock of the transport, the same lock
+     * hold as the removal, so that the same requests are not taken by two threads.
+     *
+     * @return The copy of the one-time requests, empty if there are none.
+     */
+    private List<IDataRequest> getPendingOneTimeRequests() {
+        return arOneTimeRequests.isEmpty() ? Collections.emptyList() : new ArrayList<>(arOneTimeRequests);
+    }
+
+    /**
+     * Removes the one-time requests that were processed from the head of the queue. The requests added meanwhile (for
+     * example by {@link #addPriorityRequest(com.mouseviator.fsuipc.datarequest.IDataRequest) } from another thread)
+     * stay in the queue for the next processing. Must be called holding the process lock of the transport, the same
+     * lock hold as {@link #getPendingOneTimeRequests() } that returned the processed requests.
+     *
+     * @param count The number of the processed requests.
+     */
+    private void removeOneTimeRequests(int count) {
+        for (int i = 0; i < count; i++) {
+            arOneTimeRequests.poll();
+        }
+    }
+
+    /**
+     * This method will add data request to the continual requests array. The request will be processed on every tick
+     * of the processing thread (see {@link #processRequests(int, boolean) }).
+     *
+     * <p>
+     * The continual requests are compiled into a plan of reads and writes when they are added or removed, so the offset,
+     * size and type of the request should not be changed while it is in the continual requests array. To change them,
+     * remove the request and add it again.</p>
      *
      * @param dataRequest Read or Write data request.
      * @return The passed <b>dataRequest</b> if not null, otherwise null.
      */
     public IDataRequest addContinualRequest(IDataRequest dataRequest) {
+        return addContinualRequest(dataRequest, DEFAULT_PROCESSING_DIVISOR);
+    }
+
+    /**
+     * This method will add data request to the continual requests array, that will be processed only on every
+     * <b>divisor</b>-th tick of the processing thread. For example, with the processing thread started by
+     * {@link #processRequests(int, boolean) } with period of 50 milliseconds, a request added with divisor 20 will be
+     * processed once per second (on ticks 0, 20, 40...). Use this for data that do not change often, so that they do
+     * not make every FSUIPC process call bigger. On the ticks when it is not processed, the request keeps its last
+     * data. Requests with the same divisor are processed on the same ticks, so they form a group.
+     *
+     * @param dataRequest Read or Write data request.
+     * @param divisor Process the request on every divisor-th tick. 1 ({@link #DEFAULT_PROCESSING_DIVISOR}) means every
+     * tick.
+     * @return The passed <b>dataRequest</b> if not null, otherwise null.
+     * @throws InvalidParameterException If divisor is less than 1.
+     */
+    public IDataRequest addContinualRequest(IDataRequest dataRequest, int divisor) throws InvalidParameterException {
+        if (divisor < 1) {
+            throw new InvalidParameterException("Processing divisor must be at least 1!");
+        }
         if (dataRequest != null) {
+            if (divisor > DEFAULT_PROCESSING_DIVISOR) {
+                mapDivisors.put(dataRequest, divisor);
+            } else {
+                mapDivisors.remove(dataRequest);
+            }
+            subscribeSharedRead(dataRequest);
             arContinualRequests.add(dataRequest);
+            continualRequestsVersion.incrementAndGet();
             return dataRequest;
         }
         return null;
     }
 
     /**
-     * This function will remove data request from continual requests array.
+     * Subscribes continual request to the shared read of its offset and size, if it is a READ request. The READ
+     * requests for the same offset and size (of this class and of all sessions) share one physical read.
+     *
+     * @param dataRequest The continual data request.
+     */
+    void subscribeSharedRead(IDataRequest dataRequest) {
+        if (SharedRead.isShareable(dataRequest)) {
+            mapSharedReads.compute(SharedRead.key(dataRequest), (key, sharedRead) -> {
+                if (sharedRead == null) {
+                    sharedRead = new SharedRead(dataRequest.getOffset(), dataRequest.getSize());
+                }
+                sharedRead.addSubscriber(dataRequest);
+                return sharedRead;
+            });
+        }
+    }
+
+    /**
+     * Removes one reference of removed continual request from its shared read. If it was the last one, the shared read
+     * is dropped.
+     *
+     * @param dataRequest The removed continual data request.
+     */
+    void unsubscribeSharedRead(IDataRequest dataRequest) {
+        //the request might have been changed since it was added, so if not found under its key, look through all
+        if (!unsubscribe(SharedRead.key(dataRequest), dataRequest)) {
+            for (Long key : mapSharedReads.keySet()) {
+                if (unsubscribe(key, dataRequest)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * This function will remove data request from continual requests array. If
+     * it is a READ request sharing its physical read with other requests for
+     * the same offset and size, the physical read will be dropped only when the
+     * last of them is removed.
      *
      * @param dataRequest A data request to remove.
      * @return True if continual requests array changed (the request was
      * removed).
      */
     public boolean removeContinualRequest(IDataRequest dataRequest) {
-        return arContinualRequests.remove(dataRequest);
+        if (dataRequest == null || !arContinualRequests.remove(dataRequest)) {
+            return false;
+        }
+        if (!arContinualRequests.contains(dataRequest)) {
+            mapDivisors.remove(dataRequest);
+        }
+        unsubscribeSharedRead(dataRequest);
+        continualRequestsVersion.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Removes one reference of given data request from the shared read stored under given key. If it was the last
+     * one, the shared read is dropped.
+     *
+     * @param key The shared read key.
+     * @param dataRequest The data request to unsubscribe.
+     * @return True if the data request was subscribed to the shared read.
+     */
+    private boolean unsubscribe(long key, IDataRequest dataRequest) {
+        final AtomicBoolean removed = new AtomicBoolean(false);
+        mapSharedReads.computeIfPresent(key, (k, sharedRead) -> {
+            removed.set(sharedRead.removeSubscriber(dataRequest));
+            return sharedRead.getSubscriberCount() > 0 ? sharedRead : null;
+        });
+        return removed.get();
+    }
+
+    /**
+     * Returns the processing divisor of given continual request. See
+     * {@link #addContinualRequest(com.mouseviator.fsuipc.datarequest.IDataRequest, int) }.
+     *
+     * @param dataRequest A continual data request.
+     * @return The processing divisor, {@link #DEFAULT_PROCESSING_DIVISOR} for requests processed on every tick (also
+     * for requests that are not in the continual requests queue).
+     */
+    public int getProcessingDivisor(IDataRequest dataRequest) {
+        final Integer divisor = dataRequest != null ? mapDivisors.get(dataRequest) : null;
+        return divisor != null ? divisor : DEFAULT_PROCESSING_DIVISOR;
+    }
+
+    /**
+     * Returns whether given continual request is to be processed on given tick.
+     *
+     * @param dataRequest A data request.
+     * @param tick The number of processing tick.
+     * @return True if the request should be processed.
+     */
+    private boolean isDue(IDataRequest dataRequest, long tick) {
+        if (mapDivisors.isEmpty()) {
+            return true;
+        }
+        final Integer divisor = mapDivisors.get(dataRequest);
+        return divisor == null || tick % divisor == 0;
+    }
+
+    /**
+     * Clears the continual requests queue and releases their shared reads. The continual requests of the sessions are
+     * kept.
+     */
+    private void clearContinualRequestsQueue() {
+        IDataRequest dataRequest;
+        while ((dataRequest = arContinualRequests.poll()) != null) {
+            unsubscribeSharedRead(dataRequest);
+        }
+        mapDivisors.clear();
+        continualRequestsVersion.incrementAndGet();
+    }
+
+    /**
+     * Returns the continual requests due on given tick - the ones of this class and of all sessions.
+     *
+     * @param tick The number of processing tick.
+     * @return The list of the requests.
+     */
+    private List<IDataRequest> getDueContinualRequests(long tick) {
+        final List<IDataRequest> arDue = new ArrayList<>();
+        for (IDataRequest dataRequest : arContinualRequests) {
+            if (isDue(dataRequest, tick)) {
+                arDue.add(dataRequest);
+            }
+        }
+        arSessions.forEach(session -> session.collectDueRequests(arDue, tick));
+        return arDue;
     }
 
     /**
@@ -978,7 +1539,7 @@ public class FSUIPC {
         //stop continual request thread
         boolean bRet = cancelRequestsProcessing();
         //clear the requests queue
-        arContinualRequests.clear();
+        clearContinualRequestsQueue();
 
         return bRet;
     }
@@ -993,26 +1554,182 @@ public class FSUIPC {
     }
 
     /**
-     * This function registers given requests to FSUIPC
+     * Sets the maximum gap (in bytes) between two READ data requests to still merge them into a single block read.
+     * Before registering the requests with FSUIPC, every run of consecutive READ requests is sorted by offset and the
+     * requests that overlap, are adjacent or are no more than <b>gap</b> bytes apart are read by one FSUIPC_Read
+     * call. After FSUIPC process, the data are copied back into the respective data requests. This lowers the number
+     * of JNI calls and the number of requests FSUIPC has to handle for every process call, which matters with bigger
+     * request sets. The requests are not merged across WRITE requests, so their order is kept.
+     *
+     * @param gap Maximum gap in bytes. Zero will merge only overlapping or adjacent requests. Use
+     * {@link #READ_COALESCING_DISABLED} (or any negative value) to disable the merging.
+     */
+    public void setReadCoalescingGap(int gap) {
+        this.readCoalescingGap = gap < 0 ? READ_COALESCING_DISABLED : gap;
+    }
+
+    /**
+     * Returns the maximum gap in bytes between two READ requests to still merge them into one block read.
+     *
+     * @return The gap, or {@link #READ_COALESCING_DISABLED} if READ requests merging is disabled.
+     */
+    public int getReadCoalescingGap() {
+        return readCoalescingGap;
+    }
+
+    /**
+     * Enables or disables the shadow image of the offset space. When enabled, the block reads (see
+     * {@link #setReadCoalescingGap(int) }) are not read into Java byte arrays, but directly into one direct byte buffer,
+     * the {@link ShadowImage}, at the position equal to their offset. This saves the native library from pinning and
+     * copying every byte array on every process call. The data requests still get their data, they are copied from the
+     * image after process, and the values can also be read right from the image, see {@link #getShadowImage() }.
      *
-     * @param arRequests
-     * @return
+     * <p>
+     * The block reads go into the image by {@link IFSUIPCTransport#readDirect(int, int, java.nio.ByteBuffer, int) }. If the
+     * native library is an older version without the {@link FSUIPCWrapper#readDirect(int, int, java.nio.ByteBuffer, int)
+     * } function, the default transport reads them into byte arrays and copies them into the image, so the image still
+     * works, it just does not save anything. Reads beyond the image ({@link ShadowImage#DEFAULT_SIZE}) are done the usual
+     * way.</p>
+     *
+     * @param enabled True to enable the shadow image, false to disable it.
+     */
+    public void setShadowImageEnabled(boolean enabled) {
+        if (enabled) {
+            if (shadowImage == null) {
+                shadowImage = new ShadowImage(ShadowImage.DEFAULT_SIZE);
+            }
+        } else {
+            shadowImage = null;
+        }
+    }
+
+    /**
+     * @return True if the shadow image of the offset space is enabled.
+     */
+    public boolean isShadowImageEnabled() {
+        return shadowImage != null;
+    }
+
+    /**
+     * Returns the shadow image of the offset space. See {@link #setShadowImageEnabled(boolean) }.
+     *
+     * @return The shadow image, or null if not enabled.
+     */
+    public ShadowImage getShadowImage() {
+        return shadowImage;
+    }
+
+    /**
+     * Enables or disables batch processing. When enabled, the requests of one processing cycle (after the READ
+     * requests merging, see {@link #setReadCoalescingGap(int) }) are not stored one by one, but all of them are stored
+     * and processed by one {@link IFSUIPCTransport#processBatch(int[], int[], byte[], byte[]) } call. With the default
+     * transport, that means one JNI call (and one pinned byte array) per cycle, instead of one per request, see
+     * {@link FSUIPCWrapper#processBatch(int[], int[], byte[], byte[]) }. The order of the requests is kept.
+     *
+     * <p>
+     * The shadow image (see {@link #setShadowImageEnabled(boolean) }) is not used while batch processing is enabled,
+     * the batch has its own byte array for all the requests data.</p>
+     *
+     * @param enabled True to enable batch processing, false to disable it.
+     */
+    public void setBatchProcessingEnabled(boolean enabled) {
+        this.batchProcessingEnabled = enabled;
+    }
+
+    /**
+     * @return True if batch processing is enabled.
+     */
+    public boolean isBatchProcessingEnabled() {
+        return batchProcessingEnabled;
+    }
+
+    /**
+     * Enables or disables coalescing of the one-time WRITE requests. When enabled, the one-time WRITE requests
+     * (including the submitted ones, see {@link #submit(com.mouseviator.fsuipc.datarequest.IDataRequest...) }) that
+     * wait for the same processing cycle are collapsed - if more of them write the same offset and size, only the
+     * last one is written. The remaining writes that are adjacent or overlap are merged into one block write, so one
+     * FSUIPC_Write is registered per block. This bounds the amount of writes when they come in bursts, for example
+     * from an axis or slider setting the throttle lever several times between the cycles.
+     *
+     * <p>
+     * Only the runs of consecutive WRITE requests are coalesced, the order of reads and writes is kept. The command
+     * requests (see {@link com.mouseviator.fsuipc.datarequest.ICommandRequest}), such as
+     * {@link com.mouseviator.fsuipc.datarequest.advanced.FSControlRequest} or the requests of {@link com.mouseviator.fsuipc.helpers.LVarHelper},
+     * are never collapsed and the writes before and after them stay apart. Requests written to command offsets
+     * (such as 0x3110 or 0x0D70) by the primitive requests are not recognized as commands, do not enable coalescing
+     * if you send commands that way. The continual requests are not coalesced.</p>
+     *
+     * @param enabled True to enable write coalescing, false to disable it.
+     */
+    public void setWriteCoalescingEnabled(boolean enabled) {
+        this.writeCoalescingEnabled = enabled;
+    }
+
+    /**
+     * @return True if write coalescing is enabled.
+     */
+    public boolean isWriteCoalescingEnabled() {
+        return writeCoalescingEnabled;
+    }
+
+    /**
+     * Enables or disables prepared processing of the continual requests. When enabled, the compiled continual requests
+     * (see {@link #setReadCoalescingGap(int) }) are registered with the transport only once, as a prepared set (see
+     * {@link IFSUIPCTransport#prepare(int[], int[], byte[], java.nio.ByteBuffer) }), and every processing cycle then
+     * just processes the set. With the default transport, that means one JNI call per cycle no matter how many
+     * requests there are, and the native library does not get the requests from Java again and again, see
+     * {@link FSUIPCWrapper#prepare(int[], int[], byte[], java.nio.ByteBuffer) }. The set is registered again only when
+     * the continual requests change.
+     *
+     * <p>
+     * The prepared set is used only in the cycles with no one-time requests, the other cycles are processed the usual
+     * way (see {@link #setBatchProcessingEnabled(boolean) }). If the transport does not support prepared sets (the
+     * native library is an older version, for example), all the cycles are processed the usual way too.</p>
+     *
+     * @param enabled True to enable prepared processing, false to disable it.
+     */
+    public void setPreparedProcessingEnabled(boolean enabled) {
+        this.preparedProcessingEnabled = enabled;
+    }
+
+    /**
+     * @return True if prepared processing is enabled.
      */
-    private int registerRequests(AbstractQueue<IDataRequest> arRequests) {
-        int iRet = 0;
+    public boolean isPreparedProcessingEnabled() {
+        return preparedProcessingEnabled;
+    }
 
-        //if the array of requests is empty, nothing to do here
-        if (arRequests.isEmpty()) {
+    /**
+     * This function registers the steps of given request plan to FSUIPC. The blocks that were successfully registered
+     * are added to <b>arReadBlocks</b>, so that their data can be scattered into the requests after process. The blocks
+     * added to batch are not, the batch scatters them on its own.
+     *
+     * @param plan The plan to register, see {@link RequestPlan#compile(java.lang.Iterable, java.util.Map, int, java.util.function.Predicate)
+     * }.
+     * @param arReadBlocks A list to add registered block reads into.
+     * @param batch A batch to add the requests into instead of storing them with FSUIPC right away. Can be null.
+     * @return {@link #PROCESS_RESULT_OK}, {@link #PROCESS_RESULT_REQUESTS_EMPTY} if the plan has no steps or
+     * {@link #PROCESS_RESULT_REQUESTS_STORE_FAILED}
+     */
+    private int registerPlan(RequestPlan plan, List<ReadCoalescer.ReadBlock> arReadBlocks, RequestBatch batch) {
+        if (plan.isEmpty()) {
             return PROCESS_RESULT_REQUESTS_EMPTY;
         }
 
-        for (IDataRequest dataRequest : arRequests) {
-            if (dataRequest.getType() == IDataRequest.RequestType.READ) {
-                iRet = FSUIPCWrapper.read(dataRequest.getOffset(), dataRequest.getSize(), dataRequest.getDataBuffer());
+        //the shadow image is not used with batch, the batch keeps the order of reads and writes on its own
+        final ShadowImage image = batch == null ? shadowImage : null;
+        int iRet = 1;
+
+        for (int i = 0, count = plan.getStepCount(); i < count; i++) {
+            final ReadCoalescer.ReadBlock readBlock = plan.getBlock(i);
+            if (readBlock != null) {
+                iRet = registerReadBlock(readBlock, image, batch);
+                if (iRet != 0 && batch == null) {
+                    arReadBlocks.add(readBlock);
+                }
             } else {
-                iRet = FSUIPCWrapper.write(dataRequest.getOffset(), dataRequest.getSize(), dataRequest.getDataBuffer());
+                iRet = registerRequest(plan.getRequest(i), batch);
             }
-
             if (iRet == 0) {
                 break;
             }
@@ -1027,6 +1744,46 @@ public class FSUIPC {
         return PROCESS_RESULT_OK;
     }
 
+    /**
+     * This function registers one block read with FSUIPC.
+     *
+     * @param readBlock The block read.
+     * @param image The shadow image to read the block into, if it fits. Can be null.
+     * @param batch A batch to add the block read into instead of storing it with FSUIPC right away. Can be null.
+     * @return Non-zero if the block was registered, 0 if FSUIPC failed to register it.
+     */
+    private int registerReadBlock(ReadCoalescer.ReadBlock readBlock, ShadowImage image, RequestBatch batch) {
+        if (batch != null) {
+            batch.addRead(readBlock);
+            return 1;
+        } else if (image != null && image.contains(readBlock.getOffset(), readBlock.getSize())) {
+            //read right into the shadow image, at the position of the offset
+            readBlock.setImage(image.getBuffer());
+            return transport.readDirect(readBlock.getOffset(), readBlock.getSize(), image.getBuffer(), readBlock.getOffset());
+        } else {
+            readBlock.setImage(null);
+            return transport.read(readBlock.getOffset(), readBlock.getSize(), readBlock.getDataBuffer());
+        }
+    }
+
+    /**
+     * This function registers one data request with FSUIPC.
+     *
+     * @param dataRequest The data request.
+     * @param batch A batch to add the request into instead of storing it with FSUIPC right away. Can be null.
+     * @return Non-zero if the request was registered, 0 if FSUIPC failed to register it.
+     */
+    private int registerRequest(IDataRequest dataRequest, RequestBatch batch) {
+        if (batch != null) {
+            batch.add(dataRequest);
+            return 1;
+        } else if (dataRequest.getType() == IDataRequest.RequestType.READ) {
+            return transport.read(dataRequest.getOffset(), dataRequest.getSize(), dataRequest.getDataBuffer());
+        } else {
+            return transport.write(dataRequest.getOffset(), dataRequest.getSize(), dataRequest.getDataBuffer());
+        }
+    }
+
     /**
      * This function will call FSUIPC process function. It also monitors
      * processing time, which can be returned by {@link #getLastProcessingTime()
@@ -1041,18 +1798,63 @@ public class FSUIPC {
      * then.
      */
     private int process() {
+        return process(Collections.emptyList(), null);
+    }
+
+    /**
+     * The same as {@link #process() }, but if the processing succeeds, it will also copy the data of given block reads
+     * into the data requests they were made of.
+     *
+     * @param arReadBlocks Block reads registered by {@link #registerPlan(com.mouseviator.fsuipc.RequestPlan, java.util.List, com.mouseviator.fsuipc.RequestBatch)
+     * }.
+     * @param batch The batch the requests were added into, it will be stored and processed by one call. If null, the
+     * requests are expected to be stored with FSUIPC already.
+     * @return The same as {@link #process() }.
+     */
+    private int process(List<ReadCoalescer.ReadBlock> arReadBlocks, RequestBatch batch) {
         //get time, for measurements
         final long startTime = System.nanoTime();
         //now, process all
-        int iRet = FSUIPCWrapper.process();
+        int iRet = batch != null ? batch.process(transport) : transport.process();
         //compute elapsed time
         lastProcessingTime = System.nanoTime() - startTime;       
+        metrics.recordProcess(lastProcessingTime);
                    
         //return value based od process result
         if (iRet == 0) {
             checkLastResult();  //check whether we are still connected
             return PROCESS_RESULT_REQUESTS_PROCESS_FAILED;
         } else {
+            updateLastResult();
+            arReadBlocks.forEach(ReadCoalescer.ReadBlock::scatter);
+            return PROCESS_RESULT_OK;
+        }
+    }
+
+    /**
+     * The same as {@link #process() }, but processes given prepared plan. If the processing succeeds, it will also copy
+     * the read data into the data requests of the plan, see {@link PreparedPlan#scatter(boolean) }.
+     *
+     * @param preparedPlan The prepared plan.
+     * @param scatterAll Whether to copy the data of all the read requests, not only the changed ones.
+     * @param arChangedCount The number of read requests that changed is stored at index 0 (if processing succeeds).
+     * @return The same as {@link #process() }.
+     */
+    private int processPrepared(PreparedPlan preparedPlan, boolean scatterAll, int[] arChangedCount) {
+        //get time, for measurements
+        final long startTime = System.nanoTime();
+        final int iRet = preparedPlan.process();
+        //compute elapsed time
+        lastProcessingTime = System.nanoTime() - startTime;
+        metrics.recordProcess(lastProcessingTime);
+
+        //return value based od process result
+        if (iRet == 0) {
+            checkLastResult();  //check whether we are still connected
+            return PROCESS_RESULT_REQUESTS_PROCESS_FAILED;
+        } else {
+            updateLastResult();
+            arChangedCount[0] = preparedPlan.scatter(scatterAll);
             return PROCESS_RESULT_OK;
         }
     }
@@ -1074,15 +1876,34 @@ public class FSUIPC {
      * } to find out what did not work.
      */
     public int processRequestsOnce() {
-        int iRet = registerRequests(arOneTimeRequests);
+        final List<ReadCoalescer.ReadBlock> arReadBlocks = new ArrayList<>();
+        final RequestBatch batch = batchProcessingEnabled ? new RequestBatch() : null;
+        final List<Submission> arPolled = pollSubmissions();
+        final long startTime = System.nanoTime();
+        //the requests of other threads must not be processed with these, and the one-time requests must not be taken by
+        //another thread before the processed ones are removed
+        final Lock processLock = transport.getProcessLock();
+        int iRet;
+        int iResult;
+        processLock.lock();
+        try {
+            final List<IDataRequest> arOneTime = getPendingOneTimeRequests();
+            final RequestPlan plan = compileOneTimePlan(arOneTime, arPolled);
+            iRet = registerPlan(plan, arReadBlocks, batch);
+            metrics.recordRegister(System.nanoTime() - startTime, plan.getByteCount(), plan.getStepCount());
 
-        //if registration was ok, process request
-        if (iRet == PROCESS_RESULT_OK) {
-            iRet = process();
+            //if registration was ok, process request
+            if (iRet == PROCESS_RESULT_OK) {
+                iRet = process(arReadBlocks, batch);
+            }
+            iResult = transport.getResult();
             if (iRet == PROCESS_RESULT_OK) {
-                arOneTimeRequests.clear();
+                removeOneTimeRequests(arOneTime.size());
             }
+        } finally {
+            processLock.unlock();
         }
+        completeSubmissions(arPolled, iRet, iResult);
 
         return iRet;
     }
@@ -1113,6 +1934,85 @@ public class FSUIPC {
      * returned if it fails to start new thread.
      */
     public int processRequests(int repeatPeriod, boolean cancelRunning) {
+        final int iRet = prepareRequestsProcessing(cancelRunning);
+        if (iRet != PROCESS_RESULT_OK) {
+            return iRet;
+        }
+
+        try {
+            //start our process continual request thread
+            continualRequestsWorker = new ContinualRequestsProcessWorker(TimeUnit.MILLISECONDS.toNanos(repeatPeriod));
+            continualRequestProcessTask = new StoppableTask(continualRequestsWorker);
+            continualRequestProcessThread = scheduledESForCRPTask.scheduleAtFixedRate(continualRequestProcessTask, 0, repeatPeriod, TimeUnit.MILLISECONDS);
+            logger.log(Level.FINER, "Started thread to process continual requests at period of: {0} miliseconds.", repeatPeriod);
+        } catch (Exception ex) {
+            logger.log(Level.SEVERE, "Failed to start thread to process continual requests!", ex);
+            return PROCESS_RESULT_FAILTED_TO_START_THREAD;
+        }
+
+        return PROCESS_RESULT_OK;
+    }
+
+    /**
+     * This function will start thread for continual processing of FSUIPC data requests, the same as {@link #processRequests(int, boolean)
+     * }, but the period is not fixed, it follows the simulator. Every processing cycle also reads the pause indicator
+     * (0x0264), the in menu or dialog flag (0x3365) and the frame rate (0x0274), see {@link SimHelper}. The next cycle
+     * then comes after the time of one frame - it makes no sense to read the data more often than the simulator
+     * updates them - but not sooner than <b>minPeriod</b> and not later than <b>maxPeriod</b>. While the simulator is
+     * paused or in menu or dialog, the requests are processed every <b>maxPeriod</b>.
+     *
+     * <p>
+     * The processing divisors (see {@link #addContinualRequest(com.mouseviator.fsuipc.datarequest.IDataRequest, int)
+     * }) count the processing cycles, so with adaptive period, the continual request with divisor is processed every
+     * divisor-th cycle, whatever its period is.</p>
+     *
+     * <strong>WARNING:</strong> This function will try to stop any currently running processing thread (if cancelRunning is true). This might take some time - thus may
+     * block the current thread! Should not be called from main EDT thread.
+     *
+     * @param minPeriod The shortest period to process the requests at. Milliseconds.
+     * @param maxPeriod The longest period to process the requests at, used while the sim is paused or in menu.
+     * Milliseconds.
+     * @param cancelRunning Whether to cancel the task if currently running and start a new one.
+     * @return The same as {@link #processRequests(int, boolean) }.
+     * @throws InvalidParameterException If the minPeriod is less than 1, or the maxPeriod is less than minPeriod.
+     */
+    public int processRequestsAdaptive(int minPeriod, int maxPeriod, boolean cancelRunning) throws InvalidParameterException {
+        if (minPeriod < 1) {
+            throw new InvalidParameterException("Minimum period must be at least 1 millisecond!");
+        }
+        if (maxPeriod < minPeriod) {
+            throw new InvalidParameterException("Maximum period cannot be less than the minimum period!");
+        }
+
+        final int iRet = prepareRequestsProcessing(cancelRunning);
+        if (iRet != PROCESS_RESULT_OK) {
+            return iRet;
+        }
+
+        try {
+            //the task schedules its next run itself, after the period computed in the run
+            final ContinualRequestsProcessWorker worker = new ContinualRequestsProcessWorker(TimeUnit.MILLISECONDS.toNanos(minPeriod),
+                    new AdaptivePolling(TimeUnit.MILLISECONDS.toNanos(minPeriod), TimeUnit.MILLISECONDS.toNanos(maxPeriod)));
+            continualRequestsWorker = worker;
+            continualRequestProcessTask = new StoppableTask(worker, worker::getNextDelay);
+            continualRequestProcessThread = continualRequestProcessTask.start(scheduledESForCRPTask);
+            logger.log(Level.FINER, "Started thread to process continual requests at adaptive period of: {0} - {1} miliseconds.", new Object[]{minPeriod, maxPeriod});
+        } catch (Exception ex) {
+            logger.log(Level.SEVERE, "Failed to start thread to process continual requests!", ex);
+            return PROCESS_RESULT_FAILTED_TO_START_THREAD;
+        }
+
+        return PROCESS_RESULT_OK;
+    }
+
+    /**
+     * Cancels the processing thread if running (and asked to) and creates the executor to run the new one.
+     *
+     * @param cancelRunning Whether to cancel the task if currently running.
+     * @return {@link #PROCESS_RESULT_OK} if the new thread can be started, otherwise the result the functions starting
+     * it should return.
+     */
+    private int prepareRequestsProcessing(boolean cancelRunning) {
         //if the thread is already running, try to stop it
         if (continualRequestProcessThread != null) {
             if (cancelRunning) {
@@ -1136,9 +2036,6 @@ public class FSUIPC {
                 //directly into the respective variable memory
                 scheduledESForCRPTask = Executors.newScheduledThreadPool(1);
             }
-            //start our process continual request thread
-            continualRequestProcessThread = scheduledESForCRPTask.scheduleAtFixedRate(new ContinualRequestsProcessWorker(), 0, repeatPeriod, TimeUnit.MILLISECONDS);
-            logger.log(Level.FINER, "Started thread to process continual requests at period of: {0} miliseconds.", repeatPeriod);
         } catch (Exception ex) {
             logger.log(Level.SEVERE, "Failed to start thread to process continual requests!", ex);
             return PROCESS_RESULT_FAILTED_TO_START_THREAD;
@@ -1147,6 +2044,17 @@ public class FSUIPC {
         return PROCESS_RESULT_OK;
     }
 
+    /**
+     * Creates the task run by the processing thread, every run is one processing cycle, the same as
+     * {@link #processRequests(int, boolean) } runs. The benchmarks use it to run the cycles without scheduling.
+     *
+     * @param period The processing period in nanoseconds.
+     * @return The task.
+     */
+    Runnable createContinualRequestsWorker(long period) {
+        return new ContinualRequestsProcessWorker(period);
+    }
+
     /**
      * Returns the time in nanoseconds that the last call to FSUIPC process
      * function took. It will be updated by
@@ -1159,6 +2067,55 @@ public class FSUIPC {
         return lastProcessingTime;
     }
 
+    /**
+     * Returns the metrics of request processing - latency histograms of the processing phases, schedule jitter,
+     * overruns, bytes and requests per cycle and the failures by FSUIPC result. See {@link FSUIPCMetrics}.
+     *
+     * @return The metrics.
+     */
+    public FSUIPCMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Registers the metrics (see {@link #getMetrics() }) with the platform MBean server, under the name
+     * {@link #METRICS_MBEAN_NAME}, so they can be watched by JMX clients, such as JConsole or VisualVM.
+     *
+     * @return True if registered (or was registered already), false otherwise.
+     */
+    public boolean registerMetricsMBean() {
+        try {
+            final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName objectName = new ObjectName(METRICS_MBEAN_NAME);
+            if (!mBeanServer.isRegistered(objectName)) {
+                mBeanServer.registerMBean(metrics, objectName);
+            }
+            return true;
+        } catch (JMException ex) {
+            logger.log(Level.SEVERE, "Failed to register the metrics MBean!", ex);
+        }
+        return false;
+    }
+
+    /**
+     * Unregisters the metrics MBean registered by {@link #registerMetricsMBean() }.
+     *
+     * @return True if unregistered (or was not registered), false otherwise.
+     */
+    public boolean unregisterMetricsMBean() {
+        try {
+            final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName objectName = new ObjectName(METRICS_MBEAN_NAME);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+            return true;
+        } catch (JMException ex) {
+            logger.log(Level.SEVERE, "Failed to unregister the metrics MBean!", ex);
+        }
+        return false;
+    }
+
     /**
      * This thread will is about to call FSUIPC open until it is successfully
      * opened.
@@ -1175,7 +2132,8 @@ public class FSUIPC {
         @Override
         public void run() {
             //Try to open FSUIPC connection, if Ok, set connectef flag, othrwise, check for error
-            result = FSUIPCWrapper.open(this.simVersion.getValue());
+            result = transport.open(this.simVersion.getValue());
+            updateLastResult();
             if (result != 0) {
                 setConnected(true);
             } else {
@@ -1191,29 +2149,499 @@ public class FSUIPC {
         }
     }
 
+    /**
+     * Data requests submitted by {@link #submit(com.mouseviator.fsuipc.datarequest.IDataRequest...) } and the future
+     * to complete once they are processed.
+     */
+    private static class Submission {
+
+        private final List<IDataRequest> arRequests;
+        private final CompletableFuture<List<IDataRequest>> future = new CompletableFuture<>();
+
+        Submission(List<IDataRequest> arRequests) {
+            this.arRequests = arRequests;
+        }
+    }
+
+    /**
+     * A wrapper of periodic task that can be stopped and waited for. Canceling the future of a periodic task only
+     * prevents the next runs, the future is done right away, even if the task is running at the moment. The
+     * {@link #stop() } will also wait till the run in progress completes, without polling - the task holds a lock
+     * while running. The task can also stop itself (for example, when the connection is lost while processing), then
+     * there is nothing to wait for. Task with varying period schedules its next run itself (see
+     * {@link #start(java.util.concurrent.ScheduledExecutorService) }), the {@link #stop() } cancels the scheduled run.
+     */
+    private static class StoppableTask implements Runnable {
+
+        /**
+         * How long to wait for the run in progress to complete, in milliseconds.
+         */
+        private static final long STOP_TIMEOUT = 10000;
+
+        private final Runnable task;
+        private final ReentrantLock runLock = new ReentrantLock();
+        private volatile boolean stopped = false;
+
+        /**
+         * Returns the delay of the next run in nanoseconds, for the task that schedules itself. Null otherwise.
+         */
+        private final LongSupplier nextDelay;
+        private ScheduledExecutorService executor;
+        private volatile ScheduledFuture<?> nextRun;
+
+        StoppableTask(Runnable task) {
+            this(task, null);
+        }
+
+        StoppableTask(Runnable task, LongSupplier nextDelay) {
+            this.task = task;
+            this.nextDelay = nextDelay;
+        }
+
+        /**
+         * Runs the task that schedules itself right away. After every run, the next one is scheduled after the delay
+         * given by the supplier passed to constructor.
+         *
+         * @param executor The executor to run the task on.
+         * @return The future of the first run.
+         */
+        ScheduledFuture<?> start(ScheduledExecutorService executor) {
+            this.executor = executor;
+            nextRun = executor.schedule(this, 0, TimeUnit.NANOSECONDS);
+            return nextRun;
+        }
+
+        @Override
+        public void run() {
+            runLock.lock();
+            try {
+                if (!stopped) {
+                    try {
+                        task.run();
+                    } catch (Throwable ex) {
+                        //do not let one failed run stop the processing, the future would keep the exception and never run again
+                        logger.log(Level.SEVERE, "The processing task failed! Will run it again.", ex);
+                    }
+                    //under the lock, so the stop either waits for the next run to be scheduled, or it is not scheduled
+                    if (nextDelay != null && !stopped) {
+                        nextRun = executor.schedule(this, nextDelay.getAsLong(), TimeUnit.NANOSECONDS);
+                    }
+                }
+            } catch (RejectedExecutionException ex) {
+                //the executor was shut down
+                stopped = true;
+            } finally {
+                runLock.unlock();
+            }
+        }
+
+        /**
+         * Runs given action the same way as the task - holding the lock, so the {@link #stop() } waits for it, and
+         * only if not stopped.
+         *
+         * @param action The action to run.
+         */
+        void runExclusive(Runnable action) {
+            runLock.lock();
+            try {
+                if (!stopped) {
+                    action.run();
+                }
+            } finally {
+                runLock.unlock();
+            }
+        }
+
+        /**
+         * Stops the task and waits for the run in progress (if any) to complete.
+         *
+         * @return True if the task is not running, false if it did not complete in time or the waiting was interrupted.
+         */
+        boolean stop() {
+            stopped = true;
+            //stopped by itself, the run in progress is the caller
+            if (runLock.isHeldByCurrentThread()) {
+                return true;
+            }
+            try {
+                if (runLock.tryLock(STOP_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                    runLock.unlock();
+                    if (nextRun != null) {
+                        nextRun.cancel(false);
+                    }
+                    return true;
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+    }
+
     /**
      * A thread to process continual requests
      */
     private class ContinualRequestsProcessWorker implements Runnable {
 
+        /**
+         * Finds out which continual requests changed, for {@link IFSUIPCListener#onChanged(java.util.Collection) }.
+         * Every start of processing creates new worker, so the first cycle reports all requests as changed.
+         */
+        private final ChangeTracker changeTracker = new ChangeTracker();
+
+        /**
+         * The number of the current tick, for continual requests with processing divisor.
+         */
+        private long tick = 0;
+
+        /**
+         * The compiled plans of the continual requests, by the mask of the divisors due on the tick (see
+         * {@link #getDueMask(long) }).
+         */
+        private final Map<Long, RequestPlan> mapPlans = new HashMap<>();
+
+        /**
+         * The cached plans registered as prepared sets, see {@link #setPreparedProcessingEnabled(boolean) }.
+         */
+        private final Map<RequestPlan, PreparedPlan> mapPreparedPlans = new IdentityHashMap<>();
+
+        /**
+         * The batches of the cached plans, see {@link #setBatchProcessingEnabled(boolean) }.
+         */
+        private final Map<RequestPlan, RequestBatch> mapBatches = new IdentityHashMap<>();
+
+        /**
+         * The prepared plan processed by the last cycle, null if it was processed the usual way. Only if the same plan
+         * is processed again, the requests hold its data and just the changed ones need to be copied.
+         */
+        private PreparedPlan lastPreparedPlan = null;
+
+        /**
+         * Whether the change tracker was updated by the last cycle, so that it does not need to be updated again when
+         * nothing changed.
+         */
+        private boolean changeTrackerCurrent = false;
+
+        /**
+         * The maximum number of plans to keep, with many different divisors the number of their combinations can grow.
+         */
+        private static final int MAX_CACHED_PLANS = 64;
+
+        /**
+         * The distinct processing divisors greater than 1, the index in this array is the bit in the due mask.
+         */
+        private int[] arDivisors = new int[0];
+
+        /**
+         * The version of continual requests and the read coalescing gap the plans were compiled for.
+         */
+        private long planVersion = -1;
+        private int planGap;
+
+        /**
+         * The list of block reads registered in a cycle, reused.
+         */
+        private final List<ReadCoalescer.ReadBlock> arReadBlocks = new ArrayList<>();
+
+        /**
+         * The processing period in nanoseconds. With adaptive polling, the period of the current cycle.
+         */
+        private long period;
+
+        /**
+         * Computes the period of the next cycle from the sim state. Null for fixed period.
+         */
+        private final AdaptivePolling adaptivePolling;
+
+        /**
+         * The time the next cycle is intended to start, -1 before the first one.
+         */
+        private long nextStartTime = -1;
+
+        /**
+         * @param period The processing period in nanoseconds.
+         */
+        ContinualRequestsProcessWorker(long period) {
+            this(period, null);
+        }
+
+        /**
+         * @param period The processing period of the first cycle in nanoseconds.
+         * @param adaptivePolling Computes the period of the next cycles. Null for fixed period.
+         */
+        ContinualRequestsProcessWorker(long period, AdaptivePolling adaptivePolling) {
+            this.period = period;
+            this.adaptivePolling = adaptivePolling;
+        }
+
         @Override
         public void run() {
-            //process all requests, the continual ones and also the one-time ones
-            registerRequests(arOneTimeRequests);
-            registerRequests(arContinualRequests);
+            final long startTime = System.nanoTime();
+            if (nextStartTime < 0) {
+                nextStartTime = startTime;
+            }
+            final long jitter = startTime - nextStartTime;
+            try {
+                runCycle(startTime, true);
+            } finally {
+                metrics.recordCycle(jitter, System.nanoTime() - startTime, period);
+                if (adaptivePolling != null) {
+                    //the period follows the sim, do not catch up with the cycles that were late
+                    period = adaptivePolling.getPeriod();
+                    nextStartTime = startTime + period;
+                } else {
+                    nextStartTime += period;
+                }
+            }
+        }
 
-            int iRet = process();            
-            //clear the one time requests
-            if (iRet == PROCESS_RESULT_OK) {
-                arOneTimeRequests.clear();
+        /**
+         * @return The time till the next cycle is intended to start, in nanoseconds.
+         */
+        long getNextDelay() {
+            return Math.max(0, nextStartTime - System.nanoTime());
+        }
+
+        /**
+         * Runs the cycle for the priority requests (see {@link #addPriorityRequest(com.mouseviator.fsuipc.datarequest.IDataRequest)
+         * }) right away, out of the schedule. It does not count as a tick, so the next scheduled cycle processes the
+         * same continual requests as it would without it.
+         *
+         * @param light Whether to process only the one-time requests (see {@link #setLightPriorityProcessing(boolean)
+         * }).
+         */
+        void runPriorityCycle(boolean light) {
+            //the scheduled cycle might have processed them already
+            if (arOneTimeRequests.isEmpty() && arSubmissions.isEmpty()) {
+                return;
+            }
+            if (light) {
+                //the one-time requests might be the continual ones too, do not rely on the data of the last cycle
+                lastPreparedPlan = null;
+                changeTrackerCurrent = false;
+                processRequestsOnce();
+            } else {
+                runCycle(System.nanoTime(), false);
+            }
+        }
+
+        /**
+         * Runs one processing cycle.
+         *
+         * @param startTime The time the cycle started.
+         * @param advanceTick Whether this is the scheduled cycle, that moves to the next tick.
+         */
+        private void runCycle(long startTime, boolean advanceTick) {
+            //process all requests, the continual ones (the ones due on this tick) and also the one-time ones
+            arReadBlocks.clear();
+            final List<Submission> arPolled = pollSubmissions();
+            final int iOneTimeRet;
+            final int iOneTimeResult;
+            final int iRet;
+            //the number of read requests that changed, -1 if not known
+            final int[] arChangedCount = {-1};
+            //the requests of other threads must not be processed with these, and the one-time requests must not be
+            //taken by another thread before the processed ones are removed
+            final Lock processLock = transport.getProcessLock();
+            processLock.lock();
+            try {
+                final List<IDataRequest> arOneTime = getPendingOneTimeRequests();
+                final RequestPlan oneTimePlan = compileOneTimePlan(arOneTime, arPolled);
+                final RequestPlan continualPlan = getPlan(advanceTick ? tick++ : tick);
+                //with no one-time requests, the batch of the continual ones is cached with their plan
+                final RequestBatch cachedBatch = batchProcessingEnabled && oneTimePlan.isEmpty() ? getBatch(continualPlan) : null;
+                final RequestBatch batch = cachedBatch != null ? cachedBatch : batchProcessingEnabled ? new RequestBatch() : null;
+
+                //with no one-time requests, the continual ones can be processed as prepared set
+                final PreparedPlan preparedPlan = preparedProcessingEnabled && oneTimePlan.isEmpty() && !continualPlan.isEmpty()
+                        ? getPreparedPlan(continualPlan) : null;
+                if (preparedPlan != null) {
+                    iOneTimeRet = PROCESS_RESULT_REQUESTS_EMPTY;
+                    iOneTimeResult = 0;
+                    metrics.recordRegister(System.nanoTime() - startTime, continualPlan.getByteCount(), continualPlan.getStepCount());
+                    final boolean scatterAll = preparedPlan != lastPreparedPlan;
+                    iRet = processPrepared(preparedPlan, scatterAll, arChangedCount);
+                    if (scatterAll) {
+                        //the requests not changed for this plan might have changed since the last cycle anyway
+                        arChangedCount[0] = -1;
+                    }
+                    lastPreparedPlan = iRet == PROCESS_RESULT_OK ? preparedPlan : null;
+                } else {
+                    lastPreparedPlan = null;
+                    iOneTimeRet = registerPlan(oneTimePlan, arReadBlocks, batch);
+                    iOneTimeResult = iOneTimeRet == PROCESS_RESULT_REQUESTS_STORE_FAILED ? transport.getResult() : 0;
+                    final int iContinualRet;
+                    if (cachedBatch != null) {
+                        //the cached batch has the steps of the continual plan (and adaptive polling plan) already
+                        iContinualRet = continualPlan.isEmpty() ? PROCESS_RESULT_REQUESTS_EMPTY : PROCESS_RESULT_OK;
+                    } else {
+                        iContinualRet = registerPlan(continualPlan, arReadBlocks, batch);
+                        if (adaptivePolling != null) {
+                            registerPlan(adaptivePolling.getPlan(), arReadBlocks, batch);
+                        }
+                    }
+                    metrics.recordRegister(System.nanoTime() - startTime, oneTimePlan.getByteCount() + continualPlan.getByteCount(),
+                            oneTimePlan.getStepCount() + continualPlan.getStepCount());
+
+                    //nothing is due on this tick, nothing to process (FSUIPC would fail with no data)
+                    if (iOneTimeRet == PROCESS_RESULT_REQUESTS_EMPTY && iContinualRet == PROCESS_RESULT_REQUESTS_EMPTY && hasContinualRequests()
+                            && adaptivePolling == null) {
+                        return;
+                    }
+
+                    iRet = process(arReadBlocks, batch);
+                }
+
+                //clear the one time requests
+                if (iRet == PROCESS_RESULT_OK) {
+                    removeOneTimeRequests(arOneTime.size());
+                }
+            } finally {
+                processLock.unlock();
+            }
+            if (iRet == PROCESS_RESULT_OK && adaptivePolling != null) {
+                adaptivePolling.update();
+            }
+            //and complete the submitted ones, they failed if they were not stored
+            if (iOneTimeRet == PROCESS_RESULT_REQUESTS_STORE_FAILED) {
+                completeSubmissions(arPolled, iOneTimeRet, iOneTimeResult);
+            } else {
+                completeSubmissions(arPolled, iRet, transport.getResult());
             }
 
             //Let all listeners know, if we are still connected, the disconnect might have been called while processing
+            final boolean trackerCurrent = changeTrackerCurrent;
+            changeTrackerCurrent = false;
             if (connected.get()) {
+                final long listenersStartTime = System.nanoTime();
                 arListeners.forEach(listener -> {
                     listener.onProcess(arContinualRequests);
                 });
+
+                //and let them know what changed, if anything
+                if (iRet == PROCESS_RESULT_OK && !arListeners.isEmpty()) {
+                    //nothing was read differently since the last update of the tracker, no need to compare all the requests
+                    final boolean unchanged = arChangedCount[0] == 0 && trackerCurrent;
+                    changeTrackerCurrent = true;
+                    if (!unchanged && changeTracker.update(arContinualRequests) > 0) {
+                        final Collection<IDataRequest> arChangedRequests = changeTracker.getChangedRequests();
+                        arListeners.forEach(listener -> {
+                            listener.onChanged(arChangedRequests);
+                        });
+                    }
+                }
+                //and the listeners of the sessions, with their own requests
+                for (FSUIPCSession session : arSessions) {
+                    session.notifyProcess(iRet == PROCESS_RESULT_OK);
+                }
+                metrics.recordListeners(System.nanoTime() - listenersStartTime);
+            }
+        }
+
+        /**
+         * Returns the plan of the continual requests due on given tick. The plan is compiled only the first time it is
+         * needed after the continual requests changed.
+         *
+         * @param tick The number of the processing tick.
+         * @return The plan.
+         */
+        private RequestPlan getPlan(long tick) {
+            final long version = continualRequestsVersion.get();
+            final int gap = readCoalescingGap;
+            if (version != planVersion || gap != planGap) {
+                mapPlans.clear();
+                releasePreparedPlans();
+                arDivisors = Stream.concat(mapDivisors.values().stream(), arSessions.stream().flatMap(session -> session.getDivisors().stream()))
+                        .mapToInt(Integer::intValue).distinct().sorted().toArray();
+                planVersion = version;
+                planGap = gap;
+            }
+
+            //too many different divisors to tell the plans apart, compile every time
+            if (arDivisors.length >= Long.SIZE) {
+                return RequestPlan.compile(getDueContinualRequests(tick), mapSharedReads, gap, null);
+            }
+
+            final long dueMask = getDueMask(tick);
+            RequestPlan plan = mapPlans.get(dueMask);
+            if (plan == null) {
+                if (mapPlans.size() >= MAX_CACHED_PLANS) {
+                    mapPlans.clear();
+                    releasePreparedPlans();
+                }
+                plan = RequestPlan.compile(getDueContinualRequests(tick), mapSharedReads, gap, null);
+                mapPlans.put(dueMask, plan);
+            }
+            return plan;
+        }
+
+        /**
+         * Returns the prepared set of given continual requests plan (and the plan of adaptive polling, if any). The set
+         * is registered the first time it is needed after the plan was compiled.
+         *
+         * @param continualPlan The plan returned by {@link #getPlan(long) }.
+         * @return The prepared plan, or null if the transport does not support prepared sets or the plan is not
+         * cached.
+         */
+        private PreparedPlan getPreparedPlan(RequestPlan continualPlan) {
+            //the plans compiled every time would be registered every time
+            if (arDivisors.length >= Long.SIZE) {
+                return null;
+            }
+
+            PreparedPlan preparedPlan = mapPreparedPlans.get(continualPlan);
+            if (preparedPlan == null || preparedPlan.getTransport() != transport) {
+                if (preparedPlan != null) {
+                    preparedPlan.release();
+                }
+                //kept even if not prepared, so that the transport not supporting it is not asked every cycle
+                preparedPlan = adaptivePolling != null ? new PreparedPlan(transport, continualPlan, adaptivePolling.getPlan())
+                        : new PreparedPlan(transport, continualPlan);
+                mapPreparedPlans.put(continualPlan, preparedPlan);
+            }
+            return preparedPlan.isPrepared() ? preparedPlan : null;
+        }
+
+        /**
+         * Releases all the prepared sets registered by this worker and drops the cached batches.
+         */
+        void releasePreparedPlans() {
+            lastPreparedPlan = null;
+            mapPreparedPlans.values().forEach(PreparedPlan::release);
+            mapPreparedPlans.clear();
+            mapBatches.clear();
+        }
+
+        /**
+         * Returns the batch of given continual requests plan (and the plan of adaptive polling, if any). The batch is
+         * made the first time it is needed after the plan was compiled, so the steady state processing does not make
+         * it again and again.
+         *
+         * @param continualPlan The plan returned by {@link #getPlan(long) }.
+         * @return The batch.
+         */
+        private RequestBatch getBatch(RequestPlan continualPlan) {
+            //the plans compiled every time are not worth caching
+            if (arDivisors.length >= Long.SIZE) {
+                return adaptivePolling != null ? new RequestBatch(continualPlan, adaptivePolling.getPlan()) : new RequestBatch(continualPlan);
+            }
+
+            return mapBatches.computeIfAbsent(continualPlan, plan -> adaptivePolling != null ? new RequestBatch(plan, adaptivePolling.getPlan())
+                    : new RequestBatch(plan));
+        }
+
+        /**
+         * @param tick The number of the processing tick.
+         * @return The mask of divisors due on given tick, bit i is set if {@code arDivisors[i]} is due.
+         */
+        private long getDueMask(long tick) {
+            long dueMask = 0;
+            for (int i = 0; i < arDivisors.length; i++) {
+                if (tick % arDivisors[i] == 0) {
+                    dueMask |= 1L << i;
+                }
             }
+            return dueMask;
         }
     }
 
@@ -0,0 +1,69 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc;
+
+import java.security.InvalidParameterException;
+
+/**
+ * An exception telling that FSUIPC failed to service data requests. It carries the FSUIPC result code, see
+ * {@link FSUIPCWrapper.FSUIPCResult}. The futures returned by
+ * {@link FSUIPC#submit(com.mouseviator.fsuipc.datarequest.IDataRequest...) } are completed exceptionally with this
+ * exception.
+ *
+ * @author Mouseviator
+ */
+public class FSUIPCException extends Exception {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The FSUIPC result code.
+     */
+    private final int resultCode;
+
+    /**
+     * Creates new exception for given FSUIPC result code.
+     *
+     * @param resultCode The FSUIPC result code, should be one of {@link FSUIPCWrapper.FSUIPCResult}.
+     */
+    public FSUIPCException(int resultCode) {
+        super(getMessage(resultCode));
+        this.resultCode = resultCode;
+    }
+
+    /**
+     * @return The FSUIPC result code.
+     */
+    public int getResultCode() {
+        return resultCode;
+    }
+
+    /**
+     * @return The FSUIPC result, or null if the result code is not one of {@link FSUIPCWrapper.FSUIPCResult}.
+     */
+    public FSUIPCWrapper.FSUIPCResult getResult() {
+        try {
+            return FSUIPCWrapper.FSUIPCResult.get(resultCode);
+        } catch (InvalidParameterException ex) {
+            return null;
+        }
+    }
+
+    private static String getMessage(int resultCode) {
+        try {
+            return "FSUIPC failed with result " + resultCode + ": " + FSUIPC.FSUIPC_ERROR_MESSAGES.get(FSUIPCWrapper.FSUIPCResult.get(resultCode));
+        } catch (InvalidParameterException ex) {
+            return "FSUIPC failed with result " + resultCode;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc;
+
+import java.security.InvalidParameterException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class collects the metrics of request processing done by {@link FSUIPC} - histograms of the time spent in the
+ * phases of processing cycle, schedule jitter, overruns, the amount of data per cycle and the failures. It is always
+ * on, the recording does not allocate and costs a few atomic operations per cycle. Get it by
+ * {@link FSUIPC#getMetrics() }, read the values at once by {@link #getSnapshot() }, or publish it over JMX by
+ * {@link FSUIPC#registerMetricsMBean() }.
+ *
+ * <pre><code>
+ *  FSUIPCMetrics.Snapshot snapshot = fsuipc.getMetrics().getSnapshot();
+ *  System.out.println("Process p99: " + snapshot.getProcessLatency().getP99() + " ns");
+ * </code></pre>
+ *
+ * @author Mouseviator
+ */
+public final class FSUIPCMetrics implements FSUIPCMetricsMXBean {
+
+    private final LatencyHistogram registerLatency = new LatencyHistogram();
+    private final LatencyHistogram processLatency = new LatencyHistogram();
+    private final LatencyHistogram listenerLatency = new LatencyHistogram();
+    private final LatencyHistogram cycleLatency = new LatencyHistogram();
+    private final LatencyHistogram scheduleJitter = new LatencyHistogram();
+    private final LatencyHistogram cycleBytes = new LatencyHistogram();
+    private final LatencyHistogram cycleRequests = new LatencyHistogram();
+    private final AtomicLong overrunCount = new AtomicLong();
+    private final Map<Integer, LongAdder> mapFailures = new ConcurrentHashMap<>();
+
+    FSUIPCMetrics() {
+    }
+
+    /**
+     * Records the registration of the requests of one cycle.
+     *
+     * @param nanos The time it took.
+     * @param bytes The number of bytes registered.
+     * @param requests The number of requests registered.
+     */
+    void recordRegister(long nanos, int bytes, int requests) {
+        registerLatency.record(nanos);
+        cycleBytes.record(bytes);
+        cycleRequests.record(requests);
+    }
+
+    /**
+     * @param nanos The time of FSUIPC process call.
+     */
+    void recordProcess(long nanos) {
+        processLatency.record(nanos);
+    }
+
+    /**
+     * @param nanos The time the listeners took.
+     */
+    void recordListeners(long nanos) {
+        listenerLatency.record(nanos);
+    }
+
+    /**
+     * Records one cycle of the processing thread.
+     *
+     * @param jitter How late the cycle started.
+     * @param nanos The time of the cycle.
+     * @param period The processing period, the cycle that takes longer is an overrun.
+     */
+    void recordCycle(long jitter, long nanos, long period) {
+        scheduleJitter.record(jitter);
+        cycleLatency.record(nanos);
+        if (nanos > period) {
+            overrunCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * @param resultCode The FSUIPC result code of the failure.
+     */
+    void recordFailure(int resultCode) {
+        mapFailures.computeIfAbsent(resultCode, code -> new LongAdder()).increment();
+    }
+
+    @Override
+    public LatencyStats getRegisterLatency() {
+        return registerLatency.getStats();
+    }
+
+    @Override
+    public LatencyStats getProcessLatency() {
+        return processLatency.getStats();
+    }
+
+    @Override
+    public LatencyStats getListenerLatency() {
+        return listenerLatency.getStats();
+    }
+
+    @Override
+    public LatencyStats getCycleLatency() {
+        return cycleLatency.getStats();
+    }
+
+    @Override
+    public LatencyStats getScheduleJitter() {
+        return scheduleJitter.getStats();
+    }
+
+    @Override
+    public LatencyStats getCycleBytes() {
+        return cycleBytes.getStats();
+    }
+
+    @Override
+    public LatencyStats getCycleRequests() {
+        return cycleRequests.getStats();
+    }
+
+    @Override
+    public long getCycleCount() {
+        return cycleLatency.getCount();
+    }
+
+    @Override
+    public long getOverrunCount() {
+        return overrunCount.get();
+    }
+
+    @Override
+    public Map<String, Long> getFailureCounts() {
+        final Map<String, Long> mapCounts = new TreeMap<>();
+        mapFailures.forEach((resultCode, counter) -> mapCounts.put(getResultName(resultCode), counter.sum()));
+        return mapCounts;
+    }
+
+    @Override
+    public void reset() {
+        registerLatency.reset();
+        processLatency.reset();
+        listenerLatency.reset();
+        cycleLatency.reset();
+        scheduleJitter.reset();
+        cycleBytes.reset();
+        cycleRequests.reset();
+        overrunCount.set(0);
+        mapFailures.clear();
+    }
+
+    /**
+     * @return All the metrics at once.
+     */
+    public Snapshot getSnapshot() {
+        return new Snapshot(this);
+    }
+
+    private static String getResultName(int resultCode) {
+        try {
+            return FSUIPCWrapper.FSUIPCResult.get(resultCode).name();
+        } catch (InvalidParameterException ex) {
+            return String.valueOf(resultCode);
+        }
+    }
+
+    /**
+     * Immutable copy of the metrics. See {@link FSUIPCMetricsMXBean} for the meaning of the values.
+     */
+    public static final class Snapshot {
+
+        private final long time = System.currentTimeMillis();
+        private final LatencyStats registerLatency;
+        private final LatencyStats processLatency;
+        private final LatencyStats listenerLatency;
+        private final LatencyStats cycleLatency;
+        private final LatencyStats scheduleJitter;
+        private final LatencyStats cycleBytes;
+        private final LatencyStats cycleRequests;
+        private final long overrunCount;
+        private final Map<String, Long> mapFailureCounts;
+
+        private Snapshot(FSUIPCMetrics metrics) {
+            this.registerLatency = metrics.getRegisterLatency();
+            this.processLatency = metrics.getProcessLatency();
+            this.listenerLatency = metrics.getListenerLatency();
+            this.cycleLatency = metrics.getCycleLatency();
+            this.scheduleJitter = metrics.getScheduleJitter();
+            this.cycleBytes = metrics.getCycleBytes();
+            this.cycleRequests = metrics.getCycleRequests();
+            this.overrunCount = metrics.getOverrunCount();
+            this.mapFailureCounts = Collections.unmodifiableMap(metrics.getFailureCounts());
+        }
+
+        /**
+         * @return The time the snapshot was taken, in milliseconds since the epoch.
+         */
+        public long getTime() {
+            return time;
+        }
+
+        public LatencyStats getRegisterLatency() {
+            return registerLatency;
+        }
+
+        public LatencyStats getProcessLatency() {
+            return processLatency;
+        }
+
+        public LatencyStats getListenerLatency() {
+            return listenerLatency;
+        }
+
+        public LatencyStats getCycleLatency() {
+            return cycleLatency;
+        }
+
+        public LatencyStats getScheduleJitter() {
+            return scheduleJitter;
+        }
+
+        public LatencyStats getCycleBytes() {
+            return cycleBytes;
+        }
+
+        public LatencyStats getCycleRequests() {
+            return cycleRequests;
+        }
+
+        public long getCycleCount() {
+            return cycleLatency.getCount();
+        }
+
+        public long getOverrunCount() {
+            return overrunCount;
+        }
+
+        public Map<String, Long> getFailureCounts() {
+            return mapFailureCounts;
+        }
+    }
+}
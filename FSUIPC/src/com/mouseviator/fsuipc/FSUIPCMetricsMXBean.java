@@ -0,0 +1,80 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc;
+
+import java.util.Map;
+
+/**
+ * The management interface of {@link FSUIPCMetrics}, published over JMX by {@link FSUIPC#registerMetricsMBean() }.
+ * All times are in nanoseconds.
+ *
+ * @author Mouseviator
+ */
+public interface FSUIPCMetricsMXBean {
+
+    /**
+     * @return The time it took to register the requests of a cycle with FSUIPC (or to prepare the batch).
+     */
+    public LatencyStats getRegisterLatency();
+
+    /**
+     * @return The time of the FSUIPC process calls, including the data copying after it.
+     */
+    public LatencyStats getProcessLatency();
+
+    /**
+     * @return The time the listeners took to handle a cycle.
+     */
+    public LatencyStats getListenerLatency();
+
+    /**
+     * @return The time of whole processing cycles.
+     */
+    public LatencyStats getCycleLatency();
+
+    /**
+     * @return How late the cycles started compared to their intended time (start of processing plus number of cycle
+     * times the period).
+     */
+    public LatencyStats getScheduleJitter();
+
+    /**
+     * @return The number of bytes exchanged with FSUIPC per cycle (not a time).
+     */
+    public LatencyStats getCycleBytes();
+
+    /**
+     * @return The number of requests stored with FSUIPC per cycle, after merging the reads (not a time).
+     */
+    public LatencyStats getCycleRequests();
+
+    /**
+     * @return The number of processing cycles.
+     */
+    public long getCycleCount();
+
+    /**
+     * @return The number of cycles that took longer than the processing period.
+     */
+    public long getOverrunCount();
+
+    /**
+     * @return The number of failures by the name of FSUIPC result (see {@link FSUIPCWrapper.FSUIPCResult}).
+     */
+    public Map<String, Long> getFailureCounts();
+
+    /**
+     * Forgets all the recorded values.
+     */
+    public void reset();
+}
@@ -0,0 +1,322 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc;
+
+import com.mouseviator.fsuipc.datarequest.IDataRequest;
+import java.security.InvalidParameterException;
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * This class is a session of {@link FSUIPC} - an independent set of continual requests, with their processing divisors
+ * and listeners, for one module of the application. The {@link FSUIPC} class is a singleton, as there is only one
+ * connection to FSUIPC, and when more modules add their continual requests and listeners directly to it, they share
+ * them - for example, {@link FSUIPC#cancelRequestsProcessing() } clears the continual requests of all of them. Each
+ * module can create its own session instead:
+ *
+ * <pre><code>
+ *  FSUIPCSession session = FSUIPC.getInstance().createSession();
+ *  session.addListener(listener);
+ *  session.addContinualRequest(new IntRequest(0x0580));
+ *  ...
+ *  session.close();
+ * </code></pre>
+ *
+ * <p>
+ * The requests of all the sessions are processed by the processing thread of {@link FSUIPC} (see
+ * {@link FSUIPC#processRequests(int, boolean) }), together with the continual requests added to {@link FSUIPC}
+ * directly, by one FSUIPC process call per tick. The READ requests of the same offset and size share one physical
+ * read, even if they are in different sessions, and the adjacent reads are merged into block reads (see
+ * {@link FSUIPC#setReadCoalescingGap(int) }). The listeners of the session get
+ * {@link IFSUIPCListener#onProcess(java.util.AbstractQueue) } with the continual requests of the session only and
+ * {@link IFSUIPCListener#onChanged(java.util.Collection) } with the ones of them that changed. They also get the
+ * connection notifications and failures.</p>
+ *
+ * <p>
+ * The continual requests of the session are kept when the processing thread is canceled or FSUIPC disconnects, they
+ * are processed again once the processing thread is started again. They are removed by
+ * {@link #clearContinualRequests() } or {@link #close() }.</p>
+ *
+ * @author Mouseviator
+ */
+public final class FSUIPCSession implements AutoCloseable {
+
+    private final FSUIPC fsuipc;
+
+    /**
+     * The continual requests of this session.
+     */
+    private final AbstractQueue<IDataRequest> arContinualRequests = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Processing divisors of continual requests, only the ones that are not processed on every tick.
+     */
+    private final Map<IDataRequest, Integer> mapDivisors = new ConcurrentHashMap<>();
+
+    private final CopyOnWriteArrayList<IFSUIPCListener> arListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Finds out which continual requests of this session changed. Used by the processing thread only.
+     */
+    private final ChangeTracker changeTracker = new ChangeTracker();
+
+    private volatile boolean closed = false;
+
+    /**
+     * Creates new session, use {@link FSUIPC#createSession() }.
+     *
+     * @param fsuipc The FSUIPC processing the requests of this session.
+     */
+    FSUIPCSession(FSUIPC fsuipc) {
+        this.fsuipc = fsuipc;
+    }
+
+    /**
+     * @return The FSUIPC processing the requests of this session.
+     */
+    public FSUIPC getFSUIPC() {
+        return fsuipc;
+    }
+
+    /**
+     * Adds data request to the continual requests of this session, it will be processed on every tick of the
+     * processing thread.
+     *
+     * @param dataRequest Read or Write data request.
+     * @return The passed <b>dataRequest</b> if not null, otherwise null.
+     * @throws IllegalStateException If the session is closed.
+     */
+    public IDataRequest addContinualRequest(IDataRequest dataRequest) throws IllegalStateException {
+        return addContinualRequest(dataRequest, FSUIPC.DEFAULT_PROCESSING_DIVISOR);
+    }
+
+    /**
+     * Adds data request to the continual requests of this session, that will be processed only on every
+     * <b>divisor</b>-th tick of the processing thread. See {@link FSUIPC#addContinualRequest(com.mouseviator.fsuipc.datarequest.IDataRequest, int)
+     * }.
+     *
+     * @param dataRequest Read or Write data request.
+     * @param divisor Process the request on every divisor-th tick. 1 ({@link FSUIPC#DEFAULT_PROCESSING_DIVISOR}) means
+     * every tick.
+     * @return The passed <b>dataRequest</b> if not null, otherwise null.
+     * @throws InvalidParameterException If divisor is less than 1.
+     * @throws IllegalStateException If the session is closed.
+     */
+    public IDataRequest addContinualRequest(IDataRequest dataRequest, int divisor) throws InvalidParameterException, IllegalStateException {
+        if (divisor < 1) {
+            throw new InvalidParameterException("Processing divisor must be at least 1!");
+        }
+        if (closed) {
+            throw new IllegalStateException("The session is closed!");
+        }
+        if (dataRequest != null) {
+            if (divisor > FSUIPC.DEFAULT_PROCESSING_DIVISOR) {
+                mapDivisors.put(dataRequest, divisor);
+            } else {
+                mapDivisors.remove(dataRequest);
+            }
+            fsuipc.subscribeSharedRead(dataRequest);
+            arContinualRequests.add(dataRequest);
+            fsuipc.continualRequestsChanged();
+            return dataRequest;
+        }
+        return null;
+    }
+
+    /**
+     * Removes data request from the continual requests of this session.
+     *
+     * @param dataRequest A data request to remove.
+     * @return True if the continual requests of this session changed (the request was removed).
+     */
+    public boolean removeContinualRequest(IDataRequest dataRequest) {
+        if (dataRequest == null || !arContinualRequests.remove(dataRequest)) {
+            return false;
+        }
+        if (!arContinualRequests.contains(dataRequest)) {
+            mapDivisors.remove(dataRequest);
+        }
+        fsuipc.unsubscribeSharedRead(dataRequest);
+        fsuipc.continualRequestsChanged();
+        return true;
+    }
+
+    /**
+     * Removes all the continual requests of this session. Unlike {@link FSUIPC#clearContinualRequests() }, it does not
+     * stop the processing thread, the other sessions go on.
+     */
+    public void clearContinualRequests() {
+        IDataRequest dataRequest;
+        while ((dataRequest = arContinualRequests.poll()) != null) {
+            fsuipc.unsubscribeSharedRead(dataRequest);
+        }
+        mapDivisors.clear();
+        fsuipc.continualRequestsChanged();
+    }
+
+    /**
+     * @return The continual requests of this session, unmodifiable.
+     */
+    public Collection<IDataRequest> getContinualRequests() {
+        return Collections.unmodifiableCollection(arContinualRequests);
+    }
+
+    /**
+     * Returns the processing divisor of given continual request of this session.
+     *
+     * @param dataRequest A continual data request.
+     * @return The processing divisor, {@link FSUIPC#DEFAULT_PROCESSING_DIVISOR} for requests processed on every tick
+     * (also for requests that are not in the continual requests of this session).
+     */
+    public int getProcessingDivisor(IDataRequest dataRequest) {
+        final Integer divisor = dataRequest != null ? mapDivisors.get(dataRequest) : null;
+        return divisor != null ? divisor : FSUIPC.DEFAULT_PROCESSING_DIVISOR;
+    }
+
+    /**
+     * Adds data request to be processed once, the same as {@link FSUIPC#addOneTimeRequest(com.mouseviator.fsuipc.datarequest.IDataRequest)
+     * }. The one-time requests are not kept by the session, they are processed by the next cycle.
+     *
+     * @param dataRequest Read or Write data request.
+     * @return The passed <b>dataRequest</b> if not null, otherwise null.
+     */
+    public IDataRequest addOneTimeRequest(IDataRequest dataRequest) {
+        return fsuipc.addOneTimeRequest(dataRequest);
+    }
+
+    /**
+     * Submits data requests to be processed once, the same as {@link FSUIPC#submit(com.mouseviator.fsuipc.datarequest.IDataRequest...)
+     * }.
+     *
+     * @param dataRequests Read or Write data requests.
+     * @return The future that completes with the list of the submitted requests once they are processed.
+     * @throws InvalidParameterException If any of the requests is null.
+     */
+    public CompletableFuture<List<IDataRequest>> submit(IDataRequest... dataRequests) throws InvalidParameterException {
+        return fsuipc.submit(dataRequests);
+    }
+
+    /**
+     * Adds listener of this session. If the listener is already present, it will not be added.
+     *
+     * @param listener A listener to add.
+     * @return True if listener was added, false otherwise.
+     */
+    public boolean addListener(IFSUIPCListener listener) {
+        return listener != null && arListeners.addIfAbsent(listener);
+    }
+
+    /**
+     * Removes listener of this session.
+     *
+     * @param listener A listener to remove.
+     * @return True if listener was removed, false otherwise.
+     */
+    public boolean removeListener(IFSUIPCListener listener) {
+        return listener != null && arListeners.remove(listener);
+    }
+
+    /**
+     * Removes all the listeners of this session.
+     */
+    public void removeAllListeners() {
+        arListeners.clear();
+    }
+
+    /**
+     * @return True if the session is closed.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Closes the session - removes its continual requests and listeners. The closed session cannot be used anymore.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        fsuipc.removeSession(this);
+        clearContinualRequests();
+        arListeners.clear();
+    }
+
+    /**
+     * @return True if there is any continual request in this session.
+     */
+    boolean hasContinualRequests() {
+        return !arContinualRequests.isEmpty();
+    }
+
+    /**
+     * @return The processing divisors of the continual requests of this session.
+     */
+    Collection<Integer> getDivisors() {
+        return mapDivisors.values();
+    }
+
+    /**
+     * Adds the continual requests due on given tick to given list.
+     *
+     * @param arDue The list to add the requests to.
+     * @param tick The number of processing tick.
+     */
+    void collectDueRequests(List<IDataRequest> arDue, long tick) {
+        for (IDataRequest dataRequest : arContinualRequests) {
+            final Integer divisor = mapDivisors.isEmpty() ? null : mapDivisors.get(dataRequest);
+            if (divisor == null || tick % divisor == 0) {
+                arDue.add(dataRequest);
+            }
+        }
+    }
+
+    /**
+     * Lets the listeners know about the processing cycle. Called by the processing thread.
+     *
+     * @param processed Whether the requests were processed successfully, so the changed ones can be found.
+     */
+    void notifyProcess(boolean processed) {
+        if (arListeners.isEmpty()) {
+            return;
+        }
+        arListeners.forEach(listener -> {
+            listener.onProcess(arContinualRequests);
+        });
+        if (processed && changeTracker.update(arContinualRequests) > 0) {
+            final Collection<IDataRequest> arChangedRequests = changeTracker.getChangedRequests();
+            arListeners.forEach(listener -> {
+                listener.onChanged(arChangedRequests);
+            });
+        }
+    }
+
+    /**
+     * Passes a notification (connected, disconnected, fail) to all the listeners of this session.
+     *
+     * @param notification The notification.
+     */
+    void notifyListeners(Consumer<IFSUIPCListener> notification) {
+        arListeners.forEach(notification);
+    }
+}
@@ -12,10 +12,13 @@
  */
 package com.mouseviator.fsuipc;
 
+import java.nio.ByteBuffer;
 import java.security.InvalidParameterException;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Wrapper class for fsuipc_java64.dll and fsuipc_java32.dll libraries. <strong>This class is based upon SDK written by Mark Burton, later amended by Paul Henty for 64 bit environment.</strong>
@@ -71,9 +74,37 @@ import java.util.Map;
  * of this class! But, the direct usage of this class is sort of cumbersome. Rather, use the {@link FSUIPC} class. It uses more object oriented approach, uses this class
  * internally and also provides functions, such as {@link FSUIPC#load() }, {@link FSUIPC#load32() } and {@link FSUIPC#load64() } to load the dll libraries.</p>
  * 
+ * <p>The native functions are synchronized on this class, so they are thread safe with any version of the native library, including the prebuilt
+ * fsuipc_java64.dll and fsuipc_java32.dll, which have no locking of their own. The libraries built from the current sources also guard the functions
+ * talking to FSUIPC (open, close, storing and processing the requests) by a lock within the library, keep the last result for every calling thread and
+ * let the status queries ({@link #getResult() }, {@link #getLastProcessResult() }, {@link #getFSVersion() }, {@link #getVersion() }, {@link #getLibVersion() })
+ * run without waiting for them. The synchronization can be dropped once the prebuilt libraries are rebuilt from those sources. The functions added
+ * later, such as {@link #getLastProcessResult() }, are not in the prebuilt libraries, calling them with those libraries throws {@link UnsatisfiedLinkError}.
+ * Until then, the {@link FSUIPC} class does not call the status queries from other threads: the versions are cached by the
+ * {@link com.mouseviator.fsuipc.transport.FSUIPCWrapperTransport} when the connection is opened and the last result is cached after every call,
+ * see {@link FSUIPC#getLastResult() }.</p>
+ *
+ * <p>The requests stored by one thread are processed by whichever thread calls the process function next, so if more threads store and process requests,
+ * each should hold the {@link #getProcessLock() } from storing the first request till the processing is done.</p>
+ * 
  * @author Mouseviator
  */
 public class FSUIPCWrapper {
+
+    /**
+     * The type of read request in the <b>aTypes</b> array of {@link #processBatch(int[], int[], byte[], byte[]) }.
+     */
+    public static final byte BATCH_READ = 0;
+
+    /**
+     * The type of write request in the <b>aTypes</b> array of {@link #processBatch(int[], int[], byte[], byte[]) }.
+     */
+    public static final byte BATCH_WRITE = 1;
+
+    /**
+     * The lock to hold while storing and processing the requests, see {@link #getProcessLock() }.
+     */
+    private static final ReentrantLock PROCESS_LOCK = new ReentrantLock();
               
     /**
      * Connect to FS.
@@ -98,6 +129,19 @@ public class FSUIPCWrapper {
      */
     public static synchronized native int read(int aOffset, int aSize, byte[] aData);
 
+    /**
+     * Stores read request to read data from flight simulator directly into the memory of given direct byte buffer. Unlike
+     * {@link #read(int, int, byte[]) }, no Java array is pinned and no data is copied when {@link #process() } is called,
+     * the FSUIPC library writes the data in place. The buffer must stay referenced until {@link #process() } is called.
+     *
+     * @param aOffset An FSUIPC offset to read data from.
+     * @param aSize A size of the data to read (in bytes).
+     * @param aBuffer A direct byte buffer to store the read data into.
+     * @param aBufferOffset The position within the buffer to store the data at.
+     * @return Returns True (request successfully saved), or False (failed to save request - also if the buffer is not direct or the data does not fit into it). If request failed, we can get last error code by {@link #getResult() }
+     */
+    public static synchronized native int readDirect(int aOffset, int aSize, ByteBuffer aBuffer, int aBufferOffset);
+
     /**
      * Reads data from flight simulator. This function will internally call FSUIPC_Read to store read request for given data, and immediately will call FSUPC_Process to force
      * FSUIPC to process the request. The result will be available within aData right after function call. Note that this approach is suitable for small programs reading a couple
@@ -139,14 +183,94 @@ public class FSUIPCWrapper {
      */
     public static synchronized native int process();        
 
+    /**
+     * Stores a whole batch of read/write requests and processes them, all within one call. This is the same as calling
+     * {@link #read(int, int, byte[]) } or {@link #write(int, int, byte[]) } for every request and then {@link #process() },
+     * but it crosses from Java to the native library only once, and the data of all the requests are in one byte array
+     * (the pool), which is pinned/copied only once.
+     * 
+     * <p>The request <b>i</b> has offset <b>aOffsets[i]</b>, size <b>aSizes[i]</b> and type <b>aTypes[i]</b> (one of {@link #BATCH_READ}
+     * and {@link #BATCH_WRITE}). Its data are in the pool right after the data of request <b>i - 1</b> (the first request data are at the start of the pool).
+     * So, the pool must hold the data to write before the call, and it will hold the read data after the call. All three arrays must have the same length.</p>
+     * 
+     * <p>If storing any of the requests fails, the requests stored so far are still processed (so that FSUIPC does not keep pointers to the pool), but
+     * the function returns False and the last result is the one of the failed store.</p>
+     * 
+     * @param aOffsets FSUIPC offsets of the requests.
+     * @param aSizes Sizes of the requests (in bytes).
+     * @param aTypes Types of the requests.
+     * @param aPool The data of all the requests.
+     * @return True if all the requests were stored and processed, False otherwise. In case of failure, get the last result by {@link #getResult() }.
+     */
+    public static synchronized native int processBatch(int[] aOffsets, int[] aSizes, byte[] aTypes, byte[] aPool);
+
+    /**
+     * Registers a set of read/write requests with the native library, so that it can be processed again and again by
+     * {@link #processPrepared(int) }, without passing the requests from Java every time. The arrays have the same layout
+     * as in {@link #processBatch(int[], int[], byte[], byte[]) }, but the pool is a direct byte buffer, which stays bound
+     * to the set. The native library keeps a reference to it, FSUIPC reads the data right into it and writes the data
+     * right from it, nothing is copied.
+     *
+     * <p>The offsets, sizes and types are copied, they can be changed after the call. The set is released by {@link #releasePrepared(int) }
+     * or when the connection is closed.</p>
+     *
+     * @param aOffsets FSUIPC offsets of the requests.
+     * @param aSizes Sizes of the requests (in bytes).
+     * @param aTypes Types of the requests.
+     * @param aPool A direct byte buffer for the data of all the requests.
+     * @return The handle of the prepared set (non-zero), or 0 if the set was not prepared - the arrays have different lengths, the buffer is not direct or the data do not fit into it.
+     */
+    public static synchronized native int prepare(int[] aOffsets, int[] aSizes, byte[] aTypes, ByteBuffer aPool);
+
+    /**
+     * Stores all the requests of prepared set (see {@link #prepare(int[], int[], byte[], java.nio.ByteBuffer) }) and processes them, all
+     * within one call. The data to write must be in the pool before the call, the read data are in the pool after the call. If storing any
+     * of the requests fails, the requests stored so far are still processed, the same as by {@link #processBatch(int[], int[], byte[], byte[]) }.
+     *
+     * @param aHandle The handle of prepared set.
+     * @return True if all the requests were stored and processed, False otherwise (also if there is no such set). In case of failure, get the last result by {@link #getResult() }.
+     */
+    public static synchronized native int processPrepared(int aHandle);
+
+    /**
+     * The same as {@link #processPrepared(int) }, but then it also finds out which read requests of the set changed their data. The native
+     * library keeps the data of every read request from the previous call and compares them with the new ones, the bit <b>i % 64</b> of
+     * <b>aChanged[i / 64]</b> is set if the request <b>i</b> changed. The bits of write requests are never set, the first call after
+     * {@link #prepare(int[], int[], byte[], java.nio.ByteBuffer) } sets the bits of all read requests. So the caller needs to decode only
+     * the data of the changed requests.
+     *
+     * @param aHandle The handle of prepared set.
+     * @param aChanged The array for the changed bits, at least (number of requests + 63) / 64 long.
+     * @return True if all the requests were stored and processed, False otherwise (also if there is no such set or the array is too short). In case of failure, get the last result by {@link #getResult() }, the <b>aChanged</b> is not changed then.
+     */
+    public static synchronized native int processPrepared(int aHandle, long[] aChanged);
+
+    /**
+     * Releases prepared set, see {@link #prepare(int[], int[], byte[], java.nio.ByteBuffer) }. The native library will no longer reference its pool.
+     * Does nothing if there is no such set.
+     *
+     * @param aHandle The handle of prepared set.
+     */
+    public static synchronized native void releasePrepared(int aHandle);
+
     /**
      * Returns the last result code. It is integer value. All the known values are defined within {@link FSUIPCResult }
      * This value is changed in the calls of either one of {@link #read(int, int, byte[]) }, {@link #write(int, int, byte[]) }, {@link #process() }.
+     * The libraries built from the current sources keep the value for every thread, so it is the result of the last call made by the calling thread and the calls
+     * of other threads do not change it. The prebuilt libraries keep one value for all threads.
      * 
      * @return Integer value representing the last result.
      */
     public static synchronized native int getResult();
 
+    /**
+     * Returns the result of the last process call (or open), no matter which thread made it. Unlike {@link #getResult() }, this can be used
+     * by other threads, for example to check the connection. Not available in the prebuilt native libraries, see the class description.
+     * 
+     * @return Integer value representing the result of the last process call.
+     */
+    public static synchronized native int getLastProcessResult();
+
     /**
      * Returns the FSUIPC_FS_Version variable.
      * 
@@ -204,6 +328,31 @@ public class FSUIPCWrapper {
      * @param rotationSize The maximum size of the log file in bytes.
      */
     public static synchronized native void setupLogging(boolean bEnableFileLogging, String fileName, byte severityLevel, int rotationSize);
+
+    /**
+     * Returns the number of log messages the library dropped. The messages are written to the log file by a thread of its own, so that logging does not slow
+     * down the processing. They wait for it in a queue of limited size and if the disk cannot keep up and the queue is full, the new messages are dropped
+     * rather than making the processing wait. The messages of severity level that is not enabled (see {@link #setupLogging(boolean, byte) }) are not even
+     * built.
+     * 
+     * <p>Not available in the prebuilt native libraries, see the class description.</p>
+     * 
+     * @return The number of log messages dropped since the library was loaded.
+     */
+    public static synchronized native long getDroppedLogMessages();
+
+    /**
+     * Returns the lock that guards the sequence of storing the requests and processing them. The functions of this class do not acquire it on
+     * their own, each function is atomic, but the requests stored by {@link #read(int, int, byte[]) } or {@link #write(int, int, byte[]) } are
+     * processed by the next {@link #process() } call of any thread. So, if more threads use this class, hold this lock for the whole sequence.
+     * The {@link FSUIPC} class does so.
+     * 
+     * @return The lock guarding the store/process sequence.
+     */
+    public static Lock getProcessLock() {
+        return PROCESS_LOCK;
+    }
+
     /**
      * Private constructor to prevent direct instantiation
      */
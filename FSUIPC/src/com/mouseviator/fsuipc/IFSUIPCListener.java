@@ -14,6 +14,7 @@ package com.mouseviator.fsuipc;
 
 import com.mouseviator.fsuipc.datarequest.IDataRequest;
 import java.util.AbstractQueue;
+import java.util.Collection;
 
 /**
  * This interface to be implemented to receive notifications from {@link FSUIPC} library.
@@ -35,6 +36,16 @@ public interface IFSUIPCListener {
      * @param arRequests A queue of requests that has been processed. This will be only requests stored int the continual requests queue. The "one-time" requests queue is discarded after every successful processing.
      */
     public void onProcess(AbstractQueue<IDataRequest> arRequests);
+    /**
+     * This function will be called after {@link #onProcess(java.util.AbstractQueue) }, but only if the data of some of the
+     * continual READ requests changed since the previous processing (or the request was just added, or the processing
+     * just started). So, the listener can do only the work for the values that actually changed. The default implementation does nothing.
+     * 
+     * @param arChangedRequests The continual READ requests whose data changed, in the order of the continual requests queue. The collection is valid only
+     * during this call, do not keep it.
+     */
+    public default void onChanged(Collection<IDataRequest> arChangedRequests) {
+    }
     /**
      * This function will be called when FSUIPC functions return something other than OK value....
      * 
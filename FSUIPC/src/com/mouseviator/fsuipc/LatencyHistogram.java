@@ -0,0 +1,144 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class is a histogram of durations (or any non-negative values) in nanoseconds, with fixed memory footprint and
+ * no allocation when recording. The values are counted in log-linear buckets - every power of two range is split into
+ * {@link #SUB_BUCKET_COUNT} equal buckets, so the percentiles are reported with relative error of at most 1/16 (6.25%),
+ * no matter whether the value is microseconds or seconds. Recording is thread safe and lock free.
+ *
+ * @author Mouseviator
+ */
+public final class LatencyHistogram {
+
+    /**
+     * The number of buckets every power of two range is split into.
+     */
+    public static final int SUB_BUCKET_COUNT = 16;
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray arCounts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records one value. Negative values are recorded as 0.
+     *
+     * @param value The value in nanoseconds.
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        arCounts.incrementAndGet(getBucket(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        long currentMax = max.get();
+        while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+            currentMax = max.get();
+        }
+    }
+
+    /**
+     * Forgets all recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            arCounts.set(i, 0);
+        }
+        count.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+
+    /**
+     * @return The number of recorded values.
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Returns the statistics of the recorded values. If values are being recorded meanwhile, the statistics might not
+     * include all of them, but are always usable.
+     *
+     * @return The statistics.
+     */
+    public LatencyStats getStats() {
+        final long[] arSnapshot = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            arSnapshot[i] = arCounts.get(i);
+            total += arSnapshot[i];
+        }
+        if (total == 0) {
+            return new LatencyStats(0, 0, 0, 0, 0, 0, 0);
+        }
+
+        final long maxValue = max.get();
+        return new LatencyStats(total, sum.get() / Math.max(1, count.get()), maxValue,
+                getPercentile(arSnapshot, total, 0.5, maxValue),
+                getPercentile(arSnapshot, total, 0.9, maxValue),
+                getPercentile(arSnapshot, total, 0.99, maxValue),
+                getPercentile(arSnapshot, total, 0.999, maxValue));
+    }
+
+    /**
+     * Returns the value below or at which given fraction of recorded values is. It is the upper bound of the bucket
+     * holding it, but not more than the maximum recorded value.
+     */
+    private static long getPercentile(long[] arSnapshot, long total, double fraction, long maxValue) {
+        final long rank = Math.max(1, (long) Math.ceil(total * fraction));
+        long seen = 0;
+        for (int i = 0; i < arSnapshot.length; i++) {
+            seen += arSnapshot[i];
+            if (seen >= rank) {
+                return Math.min(getBucketUpperBound(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    /**
+     * @param value Non-negative value.
+     * @return The index of the bucket for given value.
+     */
+    static int getBucket(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int shift = exponent - SUB_BUCKET_BITS;
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + (int) ((value >>> shift) & (SUB_BUCKET_COUNT - 1));
+    }
+
+    /**
+     * @param bucket The index of bucket.
+     * @return The highest value counted in given bucket.
+     */
+    static long getBucketUpperBound(int bucket) {
+        if (bucket < SUB_BUCKET_COUNT) {
+            return bucket;
+        }
+        final int shift = bucket / SUB_BUCKET_COUNT - 1;
+        final long lowerBound = (long) (SUB_BUCKET_COUNT + bucket % SUB_BUCKET_COUNT) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc;
+
+import javax.management.ConstructorParameters;
+
+/**
+ * Immutable statistics of the values recorded by {@link LatencyHistogram}. All values are in nanoseconds. The
+ * percentiles have the precision of the histogram buckets (see {@link LatencyHistogram}).
+ *
+ * @author Mouseviator
+ */
+public final class LatencyStats {
+
+    private final long count;
+    private final long mean;
+    private final long max;
+    private final long p50;
+    private final long p90;
+    private final long p99;
+    private final long p999;
+
+    /**
+     * Creates new statistics.
+     *
+     * @param count The number of recorded values.
+     * @param mean The mean value.
+     * @param max The maximum value.
+     * @param p50 The median.
+     * @param p90 The 90th percentile.
+     * @param p99 The 99th percentile.
+     * @param p999 The 99.9th percentile.
+     */
+    @ConstructorParameters({"count", "mean", "max", "p50", "p90", "p99", "p999"})
+    public LatencyStats(long count, long mean, long max, long p50, long p90, long p99, long p999) {
+        this.count = count;
+        this.mean = mean;
+        this.max = max;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.p999 = p999;
+    }
+
+    /**
+     * @return The number of recorded values.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return The mean value.
+     */
+    public long getMean() {
+        return mean;
+    }
+
+    /**
+     * @return The maximum value.
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @return The median.
+     */
+    public long getP50() {
+        return p50;
+    }
+
+    /**
+     * @return The 90th percentile.
+     */
+    public long getP90() {
+        return p90;
+    }
+
+    /**
+     * @return The 99th percentile.
+     */
+    public long getP99() {
+        return p99;
+    }
+
+    /**
+     * @return The 99.9th percentile.
+     */
+    public long getP999() {
+        return p999;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d, mean=%d ns, p50=%d ns, p90=%d ns, p99=%d ns, p999=%d ns, max=%d ns", count, mean, p50, p90, p99, p999, max);
+    }
+}
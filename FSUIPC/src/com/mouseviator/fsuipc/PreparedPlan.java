@@ -0,0 +1,162 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc;
+
+import com.mouseviator.fsuipc.datarequest.IDataRequest;
+import com.mouseviator.fsuipc.transport.IFSUIPCTransport;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class is one or more {@link RequestPlan}s registered with the transport as a prepared set (see
+ * {@link IFSUIPCTransport#prepare(int[], int[], byte[], java.nio.ByteBuffer) }). The steps of the plans are registered
+ * only once, every processing cycle is then one {@link IFSUIPCTransport#processPrepared(int) } call (one JNI call with
+ * the default transport), no matter how many steps there are. The data of all the steps are in one direct byte buffer
+ * bound to the set - the data of WRITE steps are copied into it before the call, the data of READ steps are copied
+ * from it to the requests after the call. The transport also tells which READ steps changed their data since the
+ * previous call (see {@link IFSUIPCTransport#processPrepared(int, long[]) }), so only those are copied.
+ *
+ * @author Mouseviator
+ */
+final class PreparedPlan {
+
+    private final ReadCoalescer.ReadBlock[] arBlocks;
+    private final IDataRequest[] arRequests;
+    private final int[] arPositions;
+    private final ByteBuffer pool;
+    private final long[] arChanged;
+    private final IFSUIPCTransport transport;
+    private int handle;
+
+    /**
+     * Creates prepared plan of the steps of given plans and registers it with given transport. Check {@link #isPrepared()
+     * } whether the transport supports that.
+     *
+     * @param transport The transport to register the prepared set with.
+     * @param arPlans The plans, their steps are processed in the order of the plans.
+     */
+    PreparedPlan(IFSUIPCTransport transport, RequestPlan... arPlans) {
+        final List<ReadCoalescer.ReadBlock> arStepBlocks = new ArrayList<>();
+        final List<IDataRequest> arStepRequests = new ArrayList<>();
+        for (RequestPlan plan : arPlans) {
+            for (int i = 0, count = plan.getStepCount(); i < count; i++) {
+                arStepBlocks.add(plan.getBlock(i));
+                arStepRequests.add(plan.getRequest(i));
+            }
+        }
+        this.arBlocks = arStepBlocks.toArray(new ReadCoalescer.ReadBlock[0]);
+        this.arRequests = arStepRequests.toArray(new IDataRequest[0]);
+        this.arPositions = new int[arBlocks.length];
+        this.arChanged = new long[(arBlocks.length + Long.SIZE - 1) / Long.SIZE];
+        this.transport = transport;
+
+        final int[] arOffsets = new int[arBlocks.length];
+        final int[] arSizes = new int[arBlocks.length];
+        final byte[] arTypes = new byte[arBlocks.length];
+        int poolSize = 0;
+        for (int i = 0; i < arBlocks.length; i++) {
+            if (arBlocks[i] != null) {
+                arOffsets[i] = arBlocks[i].getOffset();
+                arSizes[i] = arBlocks[i].getSize();
+                arTypes[i] = FSUIPCWrapper.BATCH_READ;
+            } else {
+                arOffsets[i] = arRequests[i].getOffset();
+                arSizes[i] = arRequests[i].getSize();
+                arTypes[i] = arRequests[i].getType() == IDataRequest.RequestType.READ ? FSUIPCWrapper.BATCH_READ : FSUIPCWrapper.BATCH_WRITE;
+            }
+            arPositions[i] = poolSize;
+            poolSize += arSizes[i];
+        }
+
+        this.pool = ByteBuffer.allocateDirect(Math.max(1, poolSize));
+        this.handle = arBlocks.length > 0 ? transport.prepare(arOffsets, arSizes, arTypes, pool) : 0;
+    }
+
+    /**
+     * @return True if the transport registered the prepared set, false if it does not support prepared sets or failed.
+     */
+    boolean isPrepared() {
+        return handle != 0;
+    }
+
+    /**
+     * @return The transport the prepared set is registered with.
+     */
+    IFSUIPCTransport getTransport() {
+        return transport;
+    }
+
+    /**
+     * Copies the data of WRITE steps into the pool and processes the prepared set.
+     *
+     * @return The return value of {@link IFSUIPCTransport#processPrepared(int, long[]) }.
+     */
+    int process() {
+        for (int i = 0; i < arBlocks.length; i++) {
+            if (arBlocks[i] == null && arRequests[i].getType() != IDataRequest.RequestType.READ) {
+                pool.put(arPositions[i], arRequests[i].getDataBuffer(), 0, arRequests[i].getSize());
+            }
+        }
+        return transport.processPrepared(handle, arChanged);
+    }
+
+    /**
+     * Copies the data of READ steps from the pool into the requests. Should be called after successful
+     * {@link #process() }. Only the steps that changed since the previous {@link #process() } are copied, unless
+     * <b>all</b> is true - the requests might have been read by something else in between (another plan, or the usual
+     * processing), so they might not hold the data of the previous call of this plan.
+     *
+     * @param all Whether to copy all the READ steps, not only the changed ones.
+     * @return The number of READ steps that changed since the previous {@link #process() }.
+     */
+    int scatter(boolean all) {
+        int changedCount = 0;
+        for (int i = 0; i < arBlocks.length; i++) {
+            final boolean changed = (arChanged[i / Long.SIZE] & (1L << (i % Long.SIZE))) != 0;
+            if (changed) {
+                changedCount++;
+            } else if (!all) {
+                continue;
+            }
+
+            final ReadCoalescer.ReadBlock readBlock = arBlocks[i];
+            if (readBlock != null) {
+                readBlock.setImage(null);
+                pool.get(arPositions[i], readBlock.getDataBuffer(), 0, readBlock.getSize());
+                readBlock.scatter();
+            } else if (arRequests[i].getType() == IDataRequest.RequestType.READ) {
+                final byte[] requestBuffer = arRequests[i].getDataBuffer();
+                pool.get(arPositions[i], requestBuffer, 0, Math.min(requestBuffer.length, arRequests[i].getSize()));
+            }
+        }
+        return changedCount;
+    }
+
+    /**
+     * @return The number of steps.
+     */
+    int getStepCount() {
+        return arBlocks.length;
+    }
+
+    /**
+     * Releases the prepared set. The plan cannot be processed after that.
+     */
+    void release() {
+        if (handle != 0) {
+            transport.releasePrepared(handle);
+            handle = 0;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc;
+
+import com.mouseviator.fsuipc.datarequest.IDataRequest;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * This class merges READ data requests whose offsets are adjacent, overlapping, or within a given gap, into bigger
+ * block reads. Each block is then registered with FSUIPC by single FSUIPC_Read call (and single JNI call) and after
+ * FSUIPC process, the block data are copied back (scattered) into the byte data buffers of all data requests the block
+ * was made of.
+ *
+ * <p>
+ * The {@link FSUIPC} class uses this for every run of consecutive READ requests. The requests within such a run are
+ * sorted by offset, so the order in which they are registered changes, but READ requests do not depend on each other,
+ * so that does not matter. WRITE requests are never merged nor reordered.</p>
+ *
+ * @author Mouseviator
+ */
+final class ReadCoalescer {
+
+    /**
+     * The maximum size of one block read in bytes. Requests will not be merged into a block that would be bigger than
+     * this (unless the single request itself is bigger), so that gap merging does not eat the FSUIPC memory file.
+     */
+    static final int MAX_BLOCK_SIZE = 4096;
+
+    /**
+     * Private constructor, only static methods here.
+     */
+    private ReadCoalescer() {
+    }
+
+    /**
+     * This function will create block reads for given READ data requests. Two requests will end up in the same block
+     * if the gap between the end of the one and the start of the next one (sorted by offset) is not bigger than
+     * <b>maxGap</b>.
+     *
+     * @param arRequests A list of READ data requests. All of them must have valid data buffer.
+     * @param maxGap Maximum gap in bytes between two requests to still merge them. Zero means that only overlapping
+     * or directly adjacent requests will be merged. Negative value means no merging at all, every request will be one
+     * block.
+     * @return A list of blocks, sorted by offset.
+     */
+    static List<ReadBlock> coalesce(List<IDataRequest> arRequests, int maxGap) {
+        final List<ReadBlock> arBlocks = new ArrayList<>();
+        if (arRequests.isEmpty()) {
+            return arBlocks;
+        }
+
+        //merging disabled, every request is its own block and the order is kept
+        if (maxGap < 0) {
+            for (IDataRequest dataRequest : arRequests) {
+                arBlocks.add(new ReadBlock(dataRequest.getOffset(), dataRequest.getSize(), List.of(dataRequest)));
+            }
+            return arBlocks;
+        }
+
+        final List<IDataRequest> arSorted = new ArrayList<>(arRequests);
+        arSorted.sort(Comparator.comparingInt(IDataRequest::getOffset));
+
+        int blockStart = arSorted.get(0).getOffset();
+        int blockEnd = blockStart;
+        List<IDataRequest> arBlockRequests = new ArrayList<>();
+
+        for (IDataRequest dataRequest : arSorted) {
+            final int start = dataRequest.getOffset();
+            final int end = start + dataRequest.getSize();
+
+            //close the current block if this request is too far, or the block would grow too big
+            if (!arBlockRequests.isEmpty()
+                    && (start - blockEnd > maxGap || Math.max(end, blockEnd) - blockStart > MAX_BLOCK_SIZE)) {
+                arBlocks.add(new ReadBlock(blockStart, blockEnd - blockStart, arBlockRequests));
+                arBlockRequests = new ArrayList<>();
+            }
+
+            if (arBlockRequests.isEmpty()) {
+                blockStart = start;
+                blockEnd = end;
+            } else {
+                blockEnd = Math.max(blockEnd, end);
+            }
+            arBlockRequests.add(dataRequest);
+        }
+        arBlocks.add(new ReadBlock(blockStart, blockEnd - blockStart, arBlockRequests));
+
+        return arBlocks;
+    }
+
+    /**
+     * One block read covering one or more READ data requests.
+     */
+    static final class ReadBlock {
+
+        private final int offset;
+        private final int size;
+        private final IDataRequest[] arRequests;
+        private byte[] dataBuffer;
+        private ByteBuffer image;
+
+        ReadBlock(int offset, int size, List<IDataRequest> arRequests) {
+            this.offset = offset;
+            this.size = size;
+            this.arRequests = arRequests.toArray(new IDataRequest[0]);
+        }
+
+        /**
+         * @return The offset of the block.
+         */
+        int getOffset() {
+            return offset;
+        }
+
+        /**
+         * @return The size of the block in bytes.
+         */
+        int getSize() {
+            return size;
+        }
+
+        /**
+         * @return The byte buffer FSUIPC will read the block into.
+         */
+        byte[] getDataBuffer() {
+            //a block made of one request that covers it whole can read directly into the request buffer, asked for every
+            //time, as the block may live long (in RequestPlan) and the request may replace its buffer meanwhile
+            if (arRequests.length == 1 && arRequests[0].getOffset() == offset && arRequests[0].getSize() == size) {
+                final byte[] requestBuffer = arRequests[0].getDataBuffer();
+                if (requestBuffer != null && requestBuffer.length >= size) {
+                    dataBuffer = requestBuffer;
+                    return dataBuffer;
+                }
+            }
+            if (dataBuffer == null || dataBuffer.length < size) {
+                dataBuffer = new byte[size];
+            }
+            return dataBuffer;
+        }
+
+        /**
+         * Sets the shadow image FSUIPC reads this block into (at the block offset) instead of the block byte buffer.
+         * The {@link #scatter() } will then take the data from the image.
+         *
+         * @param image The direct buffer of {@link ShadowImage}.
+         */
+        void setImage(ByteBuffer image) {
+            this.image = image;
+        }
+
+        /**
+         * @return The number of data requests this block was made of.
+         */
+        int getRequestCount() {
+            return arRequests.length;
+        }
+
+        /**
+         * This will copy the block data into the byte data buffers of all the requests this block was made of. Should
+         * be called after successful FSUIPC process.
+         */
+        void scatter() {
+            for (IDataRequest dataRequest : arRequests) {
+                final byte[] requestBuffer = dataRequest.getDataBuffer();
+                //the buffer might have been re-allocated in the meantime (StringRequest can do that), so copy only what fits
+                final int length = Math.min(requestBuffer.length, offset + size - dataRequest.getOffset());
+                if (image != null) {
+                    //the image is indexed by offset
+                    image.get(dataRequest.getOffset(), requestBuffer, 0, length);
+                } else if (requestBuffer != dataBuffer) {
+                    System.arraycopy(dataBuffer, dataRequest.getOffset() - offset, requestBuffer, 0, length);
+                }
+                //shared reads pass the data on to their subscribers
+                if (dataRequest instanceof SharedRead) {
+                    ((SharedRead) dataRequest).scatter();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc;
+
+import com.mouseviator.fsuipc.datarequest.IDataRequest;
+import com.mouseviator.fsuipc.transport.IFSUIPCTransport;
+import java.util.Arrays;
+
+/**
+ * This class collects the read/write requests of one processing cycle, so that they can be stored and processed by one
+ * {@link IFSUIPCTransport#processBatch(int[], int[], byte[], byte[]) } call (one JNI call with the default transport),
+ * instead of one {@link IFSUIPCTransport#read(int, int, byte[]) } or {@link IFSUIPCTransport#write(int, int, byte[]) }
+ * call per request. The requests are kept in the order they were added.
+ *
+ * <p>
+ * The batch keeps the block reads and requests, not their byte arrays, so it can be processed again and again, the
+ * same as the {@link RequestPlan} it was made of. The arrays passed to the transport and the pool for the data are
+ * made by the first {@link #process(IFSUIPCTransport) } and reused by the next ones, as long as no request is added.
+ * The block reads are scattered into their requests by the batch itself.</p>
+ *
+ * @author Mouseviator
+ */
+final class RequestBatch {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] arOffsets = new int[INITIAL_CAPACITY];
+    private int[] arSizes = new int[INITIAL_CAPACITY];
+    private byte[] arTypes = new byte[INITIAL_CAPACITY];
+    private ReadCoalescer.ReadBlock[] arBlocks = new ReadCoalescer.ReadBlock[INITIAL_CAPACITY];
+    private IDataRequest[] arRequests = new IDataRequest[INITIAL_CAPACITY];
+    private int count = 0;
+    private int poolSize = 0;
+
+    /**
+     * The arrays passed to the transport, of exactly {@link #count} length, and the pool. Null till the first process
+     * (or after a request was added).
+     */
+    private int[] arBatchOffsets;
+    private int[] arBatchSizes;
+    private byte[] arBatchTypes;
+    private byte[] arPool;
+
+    /**
+     * Creates empty batch.
+     */
+    RequestBatch() {
+    }
+
+    /**
+     * Creates batch of all the steps of given plans, in the order of the plans.
+     *
+     * @param arPlans The plans.
+     */
+    RequestBatch(RequestPlan... arPlans) {
+        for (RequestPlan plan : arPlans) {
+            for (int i = 0, stepCount = plan.getStepCount(); i < stepCount; i++) {
+                final ReadCoalescer.ReadBlock readBlock = plan.getBlock(i);
+                if (readBlock != null) {
+                    addRead(readBlock);
+                } else {
+                    add(plan.getRequest(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds block read. After successful {@link #process(IFSUIPCTransport) }, the data are copied into the block and
+     * scattered into its requests.
+     *
+     * @param readBlock The block read.
+     */
+    void addRead(ReadCoalescer.ReadBlock readBlock) {
+        add(readBlock.getOffset(), readBlock.getSize(), FSUIPCWrapper.BATCH_READ, readBlock, null);
+    }
+
+    /**
+     * Adds read or write request, by its type. The data of read request are copied into its data buffer after
+     * successful {@link #process(IFSUIPCTransport) }, the data of write request are copied when the batch is
+     * processed.
+     *
+     * @param dataRequest The request.
+     */
+    void add(IDataRequest dataRequest) {
+        final byte type = dataRequest.getType() == IDataRequest.RequestType.READ ? FSUIPCWrapper.BATCH_READ : FSUIPCWrapper.BATCH_WRITE;
+        add(dataRequest.getOffset(), dataRequest.getSize(), type, null, dataRequest);
+    }
+
+    private void add(int offset, int size, byte type, ReadCoalescer.ReadBlock readBlock, IDataRequest dataRequest) {
+        if (count == arOffsets.length) {
+            final int capacity = count * 2;
+            arOffsets = Arrays.copyOf(arOffsets, capacity);
+            arSizes = Arrays.copyOf(arSizes, capacity);
+            arTypes = Arrays.copyOf(arTypes, capacity);
+            arBlocks = Arrays.copyOf(arBlocks, capacity);
+            arRequests = Arrays.copyOf(arRequests, capacity);
+        }
+        arOffsets[count] = offset;
+        arSizes[count] = size;
+        arTypes[count] = type;
+        arBlocks[count] = readBlock;
+        arRequests[count] = dataRequest;
+        count++;
+        poolSize += size;
+        arBatchOffsets = null;
+    }
+
+    /**
+     * @return The number of requests in this batch.
+     */
+    int getCount() {
+        return count;
+    }
+
+    /**
+     * @return The size of the data of all the requests in bytes.
+     */
+    int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * Stores and processes all the requests of this batch by one call of given transport. If it succeeds, the data of
+     * read requests are copied into their byte arrays and the block reads are scattered.
+     *
+     * @param transport The transport to use.
+     * @return The return value of {@link IFSUIPCTransport#processBatch(int[], int[], byte[], byte[]) }.
+     */
+    int process(IFSUIPCTransport transport) {
+        if (arBatchOffsets == null) {
+            arBatchOffsets = Arrays.copyOf(arOffsets, count);
+            arBatchSizes = Arrays.copyOf(arSizes, count);
+            arBatchTypes = Arrays.copyOf(arTypes, count);
+            if (arPool == null || arPool.length != poolSize) {
+                arPool = new byte[poolSize];
+            }
+        }
+
+        int poolPos = 0;
+        for (int i = 0; i < count; i++) {
+            if (arTypes[i] == FSUIPCWrapper.BATCH_WRITE) {
+                final byte[] data = arRequests[i].getDataBuffer();
+                System.arraycopy(data, 0, arPool, poolPos, Math.min(data.length, arSizes[i]));
+            }
+            poolPos += arSizes[i];
+        }
+
+        final int iRet = transport.processBatch(arBatchOffsets, arBatchSizes, arBatchTypes, arPool);
+
+        if (iRet != 0) {
+            poolPos = 0;
+            for (int i = 0; i < count; i++) {
+                if (arTypes[i] == FSUIPCWrapper.BATCH_READ) {
+                    final ReadCoalescer.ReadBlock readBlock = arBlocks[i];
+                    if (readBlock != null) {
+                        readBlock.setImage(null);
+                        final byte[] data = readBlock.getDataBuffer();
+                        System.arraycopy(arPool, poolPos, data, 0, Math.min(data.length, arSizes[i]));
+                        readBlock.scatter();
+                    } else {
+                        final byte[] data = arRequests[i].getDataBuffer();
+                        System.arraycopy(arPool, poolPos, data, 0, Math.min(data.length, arSizes[i]));
+                    }
+                }
+                poolPos += arSizes[i];
+            }
+        }
+
+        return iRet;
+    }
+}
@@ -0,0 +1,222 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc;
+
+import com.mouseviator.fsuipc.datarequest.IDataRequest;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * This class is a compiled form of a collection of data requests - the list of steps to register with FSUIPC, in the
+ * order to register them. Each step is either a block read (see {@link ReadCoalescer}) or a single request (WRITE
+ * request, or READ request that cannot be merged). The READ requests that share a physical read (see
+ * {@link SharedRead}) are replaced by the shared read. The runs of WRITE requests can be coalesced into block writes
+ * (see {@link WriteCoalescer}).
+ *
+ * <p>
+ * A shared read is registered at the position of its last subscriber. So if a WRITE request to the same offset comes
+ * between two subscribers, all of them get the data written by it - the later subscribers keep the read after write
+ * order, the earlier ones just get more recent data than they would get from a read of their own.</p>
+ *
+ * <p>
+ * The {@link FSUIPC} class compiles the continual requests into a plan only when they change and then just replays it
+ * on every tick. The block reads of the plan keep their byte buffers, so that the steady state processing does not
+ * allocate them again and again. The requests are expected not to change their offset, size and type while in the
+ * plan.</p>
+ *
+ * @author Mouseviator
+ */
+final class RequestPlan {
+
+    /**
+     * A plan with no steps.
+     */
+    static final RequestPlan EMPTY = new RequestPlan(new ReadCoalescer.ReadBlock[0], new IDataRequest[0]);
+
+    /**
+     * Block reads, null where the step is a single request.
+     */
+    private final ReadCoalescer.ReadBlock[] arBlocks;
+
+    /**
+     * Single requests, null where the step is a block read.
+     */
+    private final IDataRequest[] arRequests;
+
+    /**
+     * The number of bytes exchanged with FSUIPC by all the steps.
+     */
+    private final int byteCount;
+
+    private RequestPlan(ReadCoalescer.ReadBlock[] arBlocks, IDataRequest[] arRequests) {
+        this.arBlocks = arBlocks;
+        this.arRequests = arRequests;
+
+        int bytes = 0;
+        for (int i = 0; i < arBlocks.length; i++) {
+            bytes += arBlocks[i] != null ? arBlocks[i].getSize() : arRequests[i].getSize();
+        }
+        this.byteCount = bytes;
+    }
+
+    /**
+     * This function compiles given requests into a plan. Runs of consecutive READ requests are merged into block reads,
+     * other requests are single steps, so the order of reads and writes is kept.
+     *
+     * @param arRequestsToCompile The requests.
+     * @param mapShared Shared reads to use instead of the READ requests they are shared by. Can be null.
+     * @param gap The maximum gap between two READ requests to merge them, see
+     * {@link ReadCoalescer#coalesce(java.util.List, int) }.
+     * @param due Filter of the requests to include in the plan. Can be null to include all of them.
+     * @return The plan.
+     */
+    static RequestPlan compile(Iterable<IDataRequest> arRequestsToCompile, Map<Long, SharedRead> mapShared, int gap, Predicate<IDataRequest> due) {
+        return compile(arRequestsToCompile, mapShared, gap, due, false);
+    }
+
+    /**
+     * This function compiles given requests into a plan, the same as {@link #compile(java.lang.Iterable, java.util.Map, int, java.util.function.Predicate)
+     * }, optionally also coalescing the runs of consecutive WRITE requests by {@link WriteCoalescer}. The block writes
+     * carry the data the requests had at the time of compiling, so the plan with coalesced writes should be registered
+     * right away and not kept.
+     *
+     * @param arRequestsToCompile The requests.
+     * @param mapShared Shared reads to use instead of the READ requests they are shared by. Can be null.
+     * @param gap The maximum gap between two READ requests to merge them, see
+     * {@link ReadCoalescer#coalesce(java.util.List, int) }.
+     * @param due Filter of the requests to include in the plan. Can be null to include all of them.
+     * @param coalesceWrites Whether to coalesce the WRITE requests.
+     * @return The plan.
+     */
+    static RequestPlan compile(Iterable<IDataRequest> arRequestsToCompile, Map<Long, SharedRead> mapShared, int gap, Predicate<IDataRequest> due, boolean coalesceWrites) {
+        final List<ReadCoalescer.ReadBlock> arPlanBlocks = new ArrayList<>();
+        final List<IDataRequest> arPlanRequests = new ArrayList<>();
+        final List<IDataRequest> arReads = new ArrayList<>();
+        final List<IDataRequest> arWrites = new ArrayList<>();
+
+        //find the due requests and the position of the last subscriber of each shared read
+        final List<IDataRequest> arDueRequests = new ArrayList<>();
+        final Map<SharedRead, Integer> mapLastSubscriber = new IdentityHashMap<>();
+        for (IDataRequest dataRequest : arRequestsToCompile) {
+            if (due != null && !due.test(dataRequest)) {
+                continue;
+            }
+            if (mapShared != null && SharedRead.isShareable(dataRequest)) {
+                final SharedRead sharedRead = mapShared.get(SharedRead.key(dataRequest));
+                if (sharedRead != null) {
+                    mapLastSubscriber.put(sharedRead, arDueRequests.size());
+                }
+            }
+            arDueRequests.add(dataRequest);
+        }
+
+        for (int i = 0; i < arDueRequests.size(); i++) {
+            final IDataRequest dataRequest = arDueRequests.get(i);
+
+            if (coalesceWrites && WriteCoalescer.isCoalescable(dataRequest)) {
+                //collect the run of WRITE requests, after the reads before it
+                addReadBlocks(arReads, gap, arPlanBlocks, arPlanRequests);
+                arWrites.add(dataRequest);
+                continue;
+            }
+            addWrites(arWrites, arPlanBlocks, arPlanRequests);
+
+            if (SharedRead.isShareable(dataRequest)) {
+                //collect the run of READ requests, it will be merged into block reads
+                final SharedRead sharedRead = mapShared != null ? mapShared.get(SharedRead.key(dataRequest)) : null;
+                if (sharedRead == null) {
+                    arReads.add(dataRequest);
+                } else if (mapLastSubscriber.get(sharedRead) == i) {
+                    //the shared read is registered only for its last subscriber, so that it reads the data after all
+                    //the writes registered before any of its subscribers
+                    arReads.add(sharedRead);
+                }
+                continue;
+            }
+
+            //add collected reads before this request, so the order of reads and writes is kept
+            addReadBlocks(arReads, gap, arPlanBlocks, arPlanRequests);
+            arPlanBlocks.add(null);
+            arPlanRequests.add(dataRequest);
+        }
+        addReadBlocks(arReads, gap, arPlanBlocks, arPlanRequests);
+        addWrites(arWrites, arPlanBlocks, arPlanRequests);
+
+        if (arPlanBlocks.isEmpty()) {
+            return EMPTY;
+        }
+        return new RequestPlan(arPlanBlocks.toArray(new ReadCoalescer.ReadBlock[0]), arPlanRequests.toArray(new IDataRequest[0]));
+    }
+
+    /**
+     * Merges given READ requests into block reads and adds them as steps. The list of READ requests is cleared.
+     */
+    private static void addReadBlocks(List<IDataRequest> arReads, int gap, List<ReadCoalescer.ReadBlock> arPlanBlocks, List<IDataRequest> arPlanRequests) {
+        for (ReadCoalescer.ReadBlock readBlock : ReadCoalescer.coalesce(arReads, gap)) {
+            arPlanBlocks.add(readBlock);
+            arPlanRequests.add(null);
+        }
+        arReads.clear();
+    }
+
+    /**
+     * Coalesces given WRITE requests and adds them as steps. The list of WRITE requests is cleared.
+     */
+    private static void addWrites(List<IDataRequest> arWrites, List<ReadCoalescer.ReadBlock> arPlanBlocks, List<IDataRequest> arPlanRequests) {
+        for (IDataRequest dataRequest : WriteCoalescer.coalesce(arWrites)) {
+            arPlanBlocks.add(null);
+            arPlanRequests.add(dataRequest);
+        }
+        arWrites.clear();
+    }
+
+    /**
+     * @return True if there is nothing to register.
+     */
+    boolean isEmpty() {
+        return arBlocks.length == 0;
+    }
+
+    /**
+     * @return The number of steps.
+     */
+    int getStepCount() {
+        return arBlocks.length;
+    }
+
+    /**
+     * @return The number of bytes exchanged with FSUIPC by all the steps.
+     */
+    int getByteCount() {
+        return byteCount;
+    }
+
+    /**
+     * @param step The step index.
+     * @return The block read of given step, or null if the step is a single request.
+     */
+    ReadCoalescer.ReadBlock getBlock(int step) {
+        return arBlocks[step];
+    }
+
+    /**
+     * @param step The step index.
+     * @return The single request of given step, or null if the step is a block read.
+     */
+    IDataRequest getRequest(int step) {
+        return arRequests[step];
+    }
+}
@@ -0,0 +1,156 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.security.InvalidParameterException;
+
+/**
+ * This class is a shadow image of the FSUIPC offset space, held in one direct {@link ByteBuffer}. The position of the
+ * data within the buffer is the same as the FSUIPC offset, so the value of offset 0x0580 is at buffer index 0x0580.
+ *
+ * <p>
+ * When enabled by {@link FSUIPC#setShadowImageEnabled(boolean) }, the {@link FSUIPC} class registers the block reads
+ * with {@link FSUIPCWrapper#readDirect(int, int, java.nio.ByteBuffer, int) }, so the native library lets FSUIPC write
+ * the polled data straight into this buffer, without pinning and copying a Java array per request. The data requests
+ * still get their data (they are copied from this image after process), but the values can also be read right from
+ * here, by offset, without any allocation:</p>
+ *
+ * <pre><code>
+ *  ShadowImage image = fsuipc.getShadowImage();
+ *  int heading = image.getInt(0x0580);
+ * </code></pre>
+ *
+ * <p>
+ * Only the regions that are being read hold valid data. The image is written by the thread that processes the
+ * requests, so the values should be read from the {@link IFSUIPCListener#onProcess(java.util.AbstractQueue) }, the same
+ * way as the data requests.</p>
+ *
+ * @author Mouseviator
+ */
+public final class ShadowImage {
+
+    /**
+     * The default size of the shadow image, covers the standard FSUIPC offset space.
+     */
+    public static final int DEFAULT_SIZE = 0x10000;
+
+    /**
+     * The image itself.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Creates new shadow image of given size.
+     *
+     * @param size The size in bytes.
+     * @throws InvalidParameterException If size is less than 1.
+     */
+    ShadowImage(int size) throws InvalidParameterException {
+        if (size < 1) {
+            throw new InvalidParameterException("Shadow image size must be positive!");
+        }
+        this.buffer = ByteBuffer.allocateDirect(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * @return The direct buffer FSUIPC writes into.
+     */
+    ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * @return The size of the image in bytes.
+     */
+    public int getSize() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Returns whether the data of given offset and size fits into this image.
+     *
+     * @param offset The FSUIPC offset.
+     * @param size The size of the data in bytes.
+     * @return True if the data fits, false otherwise.
+     */
+    public boolean contains(int offset, int size) {
+        return offset >= 0 && size >= 0 && offset <= buffer.capacity() - size;
+    }
+
+    /**
+     * @param offset The FSUIPC offset.
+     * @return The byte value at given offset.
+     */
+    public byte getByte(int offset) {
+        return buffer.get(offset);
+    }
+
+    /**
+     * @param offset The FSUIPC offset.
+     * @return The short value at given offset.
+     */
+    public short getShort(int offset) {
+        return buffer.getShort(offset);
+    }
+
+    /**
+     * @param offset The FSUIPC offset.
+     * @return The integer value at given offset.
+     */
+    public int getInt(int offset) {
+        return buffer.getInt(offset);
+    }
+
+    /**
+     * @param offset The FSUIPC offset.
+     * @return The long value at given offset.
+     */
+    public long getLong(int offset) {
+        return buffer.getLong(offset);
+    }
+
+    /**
+     * @param offset The FSUIPC offset.
+     * @return The float value at given offset.
+     */
+    public float getFloat(int offset) {
+        return buffer.getFloat(offset);
+    }
+
+    /**
+     * @param offset The FSUIPC offset.
+     * @return The double value at given offset.
+     */
+    public double getDouble(int offset) {
+        return buffer.getDouble(offset);
+    }
+
+    /**
+     * Copies the data at given offset into given byte array. The number of bytes copied is the length of the array.
+     *
+     * @param offset The FSUIPC offset.
+     * @param data The byte array to copy the data into.
+     */
+    public void get(int offset, byte[] data) {
+        buffer.get(offset, data, 0, data.length);
+    }
+
+    /**
+     * @return Read-only view of the whole image, with little endian byte order.
+     */
+    public ByteBuffer asReadOnlyBuffer() {
+        return buffer.asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
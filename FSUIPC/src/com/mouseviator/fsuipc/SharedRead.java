@@ -0,0 +1,122 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc;
+
+import com.mouseviator.fsuipc.datarequest.DataRequest;
+import com.mouseviator.fsuipc.datarequest.IDataRequest;
+import com.mouseviator.fsuipc.datarequest.IReadOnlyRequest;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * This is a canonical READ request shared by all continual READ requests with the same offset and size (the
+ * subscribers). Only this one is registered with FSUIPC, and after FSUIPC process, its data are copied into all the
+ * subscribers. The subscribers are reference counted - the same request object added twice counts twice.
+ *
+ * @author Mouseviator
+ */
+final class SharedRead extends DataRequest implements IReadOnlyRequest<byte[]> {
+
+    private final List<IDataRequest> arSubscribers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates new shared read for given offset and size.
+     *
+     * @param offset The offset to read.
+     * @param size The size of the data to read.
+     */
+    SharedRead(int offset, int size) {
+        this.offset = offset;
+        this.dataBuffer = new byte[size];
+    }
+
+    /**
+     * Returns the key the shared read is stored under for given offset and size.
+     *
+     * @param offset The offset.
+     * @param size The size of the data.
+     * @return The key.
+     */
+    static long key(int offset, int size) {
+        return ((long) offset << 32) | (size & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns the key for given data request.
+     *
+     * @param dataRequest A data request.
+     * @return The key.
+     */
+    static long key(IDataRequest dataRequest) {
+        return key(dataRequest.getOffset(), dataRequest.getSize());
+    }
+
+    /**
+     * Returns whether given data request can share physical read with other requests.
+     *
+     * @param dataRequest A data request.
+     * @return True for READ requests with valid data buffer.
+     */
+    static boolean isShareable(IDataRequest dataRequest) {
+        return dataRequest.getType() == IDataRequest.RequestType.READ && dataRequest.getSize() > 0;
+    }
+
+    /**
+     * Adds subscriber.
+     *
+     * @param dataRequest The subscriber.
+     */
+    void addSubscriber(IDataRequest dataRequest) {
+        arSubscribers.add(dataRequest);
+    }
+
+    /**
+     * Removes one reference of given subscriber. The subscriber is found by identity, so a different request that is
+     * equal to it stays subscribed.
+     *
+     * @param dataRequest The subscriber.
+     * @return True if the subscriber was found and removed.
+     */
+    boolean removeSubscriber(IDataRequest dataRequest) {
+        for (int i = 0; i < arSubscribers.size(); i++) {
+            if (arSubscribers.get(i) == dataRequest) {
+                arSubscribers.remove(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The number of subscribers (references).
+     */
+    int getSubscriberCount() {
+        return arSubscribers.size();
+    }
+
+    /**
+     * This will copy the data of this request into all the subscribers. Should be called after successful FSUIPC
+     * process.
+     */
+    void scatter() {
+        for (IDataRequest subscriber : arSubscribers) {
+            final byte[] subscriberBuffer = subscriber.getDataBuffer();
+            System.arraycopy(dataBuffer, 0, subscriberBuffer, 0, Math.min(dataBuffer.length, subscriberBuffer.length));
+        }
+    }
+
+    @Override
+    public byte[] getValue() {
+        return dataBuffer.clone();
+    }
+}
@@ -0,0 +1,171 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc;
+
+import com.mouseviator.fsuipc.datarequest.DataRequest;
+import com.mouseviator.fsuipc.datarequest.ICommandRequest;
+import com.mouseviator.fsuipc.datarequest.IDataRequest;
+import com.mouseviator.fsuipc.datarequest.IWriteOnlyRequest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class collapses a run of consecutive WRITE data requests, so that every offset is written only once, with the
+ * value of the last request writing it, and merges the writes that are adjacent or overlap into bigger block writes.
+ * Each block is then registered with FSUIPC by single FSUIPC_Write call.
+ *
+ * <p>
+ * The {@link FSUIPC} class uses this for the one-time requests, if enabled by
+ * {@link FSUIPC#setWriteCoalescingEnabled(boolean) }. The data of the requests are copied into the blocks when the
+ * requests are coalesced, so the continual requests, whose values change between the ticks, are never coalesced.
+ * The command requests ({@link ICommandRequest}) are not coalesced and the writes are not merged across them.</p>
+ *
+ * @author Mouseviator
+ */
+final class WriteCoalescer {
+
+    /**
+     * Private constructor, only static methods here.
+     */
+    private WriteCoalescer() {
+    }
+
+    /**
+     * Returns whether given data request can be collapsed and merged with other writes.
+     *
+     * @param dataRequest A data request.
+     * @return True for WRITE requests with valid data buffer, that are not commands.
+     */
+    static boolean isCoalescable(IDataRequest dataRequest) {
+        return dataRequest.getType() == IDataRequest.RequestType.WRITE && dataRequest.getSize() > 0 && !(dataRequest instanceof ICommandRequest);
+    }
+
+    /**
+     * This function collapses given WRITE requests, where the later request writing the same offset and size replaces
+     * the earlier one, and merges the rest into block writes. Where the writes overlap, the bytes of the later one are
+     * written, the same as if the requests were written one by one in order.
+     *
+     * @param arRequests A run of consecutive WRITE data requests, in order. All of them must be coalescable, see
+     * {@link #isCoalescable(com.mouseviator.fsuipc.datarequest.IDataRequest) }.
+     * @return The data requests to write, sorted by offset - the request itself if it is alone in its block, otherwise
+     * {@link WriteBlock}.
+     */
+    static List<IDataRequest> coalesce(List<IDataRequest> arRequests) {
+        final List<IDataRequest> arWrites = new ArrayList<>();
+        if (arRequests.isEmpty()) {
+            return arWrites;
+        }
+
+        //the last writer wins, removing the earlier one first keeps the map in the order of the last writes
+        final Map<Long, IDataRequest> mapLastWrites = new LinkedHashMap<>();
+        for (IDataRequest dataRequest : arRequests) {
+            final long key = SharedRead.key(dataRequest);
+            mapLastWrites.remove(key);
+            mapLastWrites.put(key, dataRequest);
+        }
+
+        final List<IDataRequest> arSorted = new ArrayList<>(mapLastWrites.values());
+        arSorted.sort(Comparator.comparingInt(IDataRequest::getOffset));
+
+        int blockStart = arSorted.get(0).getOffset();
+        int blockEnd = blockStart;
+        final List<IDataRequest> arBlockRequests = new ArrayList<>();
+
+        for (IDataRequest dataRequest : arSorted) {
+            final int start = dataRequest.getOffset();
+            final int end = start + dataRequest.getSize();
+
+            //close the current block if there is a gap, or the adjacent write would make it too big (overlapping writes
+            //stay in one block, so the blocks do not overlap)
+            if (!arBlockRequests.isEmpty()
+                    && (start > blockEnd || (start == blockEnd && end - blockStart > ReadCoalescer.MAX_BLOCK_SIZE))) {
+                arWrites.add(createWrite(blockStart, blockEnd, arBlockRequests, mapLastWrites.values()));
+                arBlockRequests.clear();
+            }
+
+            if (arBlockRequests.isEmpty()) {
+                blockStart = start;
+                blockEnd = end;
+            } else {
+                blockEnd = Math.max(blockEnd, end);
+            }
+            arBlockRequests.add(dataRequest);
+        }
+        arWrites.add(createWrite(blockStart, blockEnd, arBlockRequests, mapLastWrites.values()));
+
+        return arWrites;
+    }
+
+    /**
+     * Creates the write of one block.
+     *
+     * @param blockStart The offset of the block.
+     * @param blockEnd The offset after the block.
+     * @param arBlockRequests The requests of the block.
+     * @param arOrdered All the requests, in the order they are to be written.
+     * @return The request itself if alone in the block, otherwise new block write.
+     */
+    private static IDataRequest createWrite(int blockStart, int blockEnd, List<IDataRequest> arBlockRequests, Collection<IDataRequest> arOrdered) {
+        if (arBlockRequests.size() == 1) {
+            return arBlockRequests.get(0);
+        }
+
+        final byte[] data = new byte[blockEnd - blockStart];
+        for (IDataRequest dataRequest : arOrdered) {
+            //only the requests of this block, in the order of writing, so the later one wins where they overlap
+            if (dataRequest.getOffset() >= blockStart && dataRequest.getOffset() < blockEnd) {
+                final byte[] requestBuffer = dataRequest.getDataBuffer();
+                System.arraycopy(requestBuffer, 0, data, dataRequest.getOffset() - blockStart, Math.min(requestBuffer.length, dataRequest.getSize()));
+            }
+        }
+        return new WriteBlock(blockStart, data, arBlockRequests.size());
+    }
+
+    /**
+     * One block write covering one or more WRITE data requests, with their data.
+     */
+    static final class WriteBlock extends DataRequest implements IWriteOnlyRequest<byte[]> {
+
+        private final int requestCount;
+
+        /**
+         * Creates new block write.
+         *
+         * @param offset The offset of the block.
+         * @param data The data to write.
+         * @param requestCount The number of data requests the block was made of.
+         */
+        WriteBlock(int offset, byte[] data, int requestCount) {
+            this.offset = offset;
+            this.dataBuffer = data;
+            this.type = RequestType.WRITE;
+            this.requestCount = requestCount;
+        }
+
+        /**
+         * @return The number of data requests this block was made of.
+         */
+        int getRequestCount() {
+            return requestCount;
+        }
+
+        @Override
+        public void setValue(byte[] value) {
+            throw new UnsupportedOperationException("The block write carries the data of the requests it was made of!");
+        }
+    }
+}
@@ -14,7 +14,8 @@ package com.mouseviator.fsuipc.datarequest;
 
 import com.mouseviator.fsuipc.FSUIPC;
 import com.mouseviator.fsuipc.FSUIPCWrapper;
-import java.nio.ByteBuffer;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.security.InvalidParameterException;
@@ -78,6 +79,15 @@ public abstract class DataRequest {
      */
     public static final byte BUFFER_LENGTH_DOUBLE = 8;
 
+    /**
+     * Little-endian views of the byte data buffer, to get and put the values without allocating any helper buffer.
+     */
+    private static final VarHandle SHORT_HANDLE = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INT_HANDLE = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LONG_HANDLE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle FLOAT_HANDLE = MethodHandles.byteArrayViewVarHandle(float[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle DOUBLE_HANDLE = MethodHandles.byteArrayViewVarHandle(double[].class, ByteOrder.LITTLE_ENDIAN);
+
     /**
      * The actual byte data buffer that will hold the value.
      */
@@ -163,10 +173,7 @@ public abstract class DataRequest {
      * @return Value stored within the internal byte data buffer as Short value.
      */
     protected final short getShort() {
-        final ByteBuffer buf = ByteBuffer.allocate(BUFFER_LENGTH_SHORT);
-        buf.order(ByteOrder.LITTLE_ENDIAN);
-        buf.put(dataBuffer, 0, BUFFER_LENGTH_SHORT);
-        return buf.getShort(0);
+        return (short) SHORT_HANDLE.get(dataBuffer, 0);
     }
 
     /**
@@ -175,10 +182,7 @@ public abstract class DataRequest {
      * @return Value stored within the internal byte data buffer as Integer value.
      */
     protected final int getInt() {
-        final ByteBuffer buf = ByteBuffer.allocate(BUFFER_LENGTH_INT);
-        buf.order(ByteOrder.LITTLE_ENDIAN);
-        buf.put(dataBuffer, 0, BUFFER_LENGTH_INT);
-        return buf.getInt(0);
+        return (int) INT_HANDLE.get(dataBuffer, 0);
     }
 
     /**
@@ -187,10 +191,7 @@ public abstract class DataRequest {
      * @return Value stored within the internal byte data buffer as Long value.
      */
     protected final long getLong() {
-        final ByteBuffer buf = ByteBuffer.allocate(BUFFER_LENGTH_LONG);
-        buf.order(ByteOrder.LITTLE_ENDIAN);
-        buf.put(dataBuffer, 0, BUFFER_LENGTH_LONG);
-        return buf.getLong(0);
+        return (long) LONG_HANDLE.get(dataBuffer, 0);
     }
 
     /**
@@ -199,10 +200,7 @@ public abstract class DataRequest {
      * @return Value stored within the internal byte data buffer as Float value.
      */
     protected final float getFloat() {
-        final ByteBuffer buf = ByteBuffer.allocate(BUFFER_LENGTH_FLOAT);
-        buf.order(ByteOrder.LITTLE_ENDIAN);
-        buf.put(dataBuffer, 0, BUFFER_LENGTH_FLOAT);
-        return buf.getFloat(0);
+        return (float) FLOAT_HANDLE.get(dataBuffer, 0);
     }
 
     /**
@@ -211,10 +209,7 @@ public abstract class DataRequest {
      * @return Value stored within the internal byte data buffer as Double value.
      */
     protected final double getDouble() {
-        final ByteBuffer buf = ByteBuffer.allocate(BUFFER_LENGTH_DOUBLE);
-        buf.order(ByteOrder.LITTLE_ENDIAN);
-        buf.put(dataBuffer, 0, BUFFER_LENGTH_DOUBLE);
-        return buf.getDouble(0);
+        return (double) DOUBLE_HANDLE.get(dataBuffer, 0);
     }
 
     /**
@@ -223,11 +218,7 @@ public abstract class DataRequest {
      * @param value A value to store in the underlying byte data buffer.
      */
     protected final void putShort(Short value) {
-        final ByteBuffer buf = ByteBuffer.allocate(BUFFER_LENGTH_SHORT);
-        buf.order(ByteOrder.LITTLE_ENDIAN);
-        buf.putShort(value);
-        buf.rewind();
-        buf.get(dataBuffer);
+        putShort(value.shortValue());
     }
 
     /**
@@ -236,11 +227,7 @@ public abstract class DataRequest {
      * @param value A value to store in the underlying byte data buffer.
      */
     protected final void putInt(Integer value) {
-        final ByteBuffer buf = ByteBuffer.allocate(BUFFER_LENGTH_INT);
-        buf.order(ByteOrder.LITTLE_ENDIAN);
-        buf.putInt(value);
-        buf.rewind();
-        buf.get(dataBuffer);
+        putInt(value.intValue());
     }
 
     /**
@@ -249,11 +236,7 @@ public abstract class DataRequest {
      * @param value A value to store in the underlying byte data buffer.
      */
     protected final void putLong(Long value) {
-        final ByteBuffer buf = ByteBuffer.allocate(BUFFER_LENGTH_LONG);
-        buf.order(ByteOrder.LITTLE_ENDIAN);
-        buf.putLong(value);
-        buf.rewind();
-        buf.get(dataBuffer);
+        putLong(value.longValue());
     }
 
     /**
@@ -262,11 +245,7 @@ public abstract class DataRequest {
      * @param value A value to store in the underlying byte data buffer.
      */
     protected final void putFloat(Float value) {
-        final ByteBuffer buf = ByteBuffer.allocate(4);
-        buf.order(ByteOrder.LITTLE_ENDIAN);
-        buf.putFloat(value);
-        buf.rewind();
-        buf.get(dataBuffer);
+        putFloat(value.floatValue());
     }
 
     /**
@@ -275,11 +254,7 @@ public abstract class DataRequest {
      * @param value A value to store in the underlying byte data buffer.
      */
     protected final void putDouble(Double value) {
-        final ByteBuffer buf = ByteBuffer.allocate(BUFFER_LENGTH_DOUBLE);
-        buf.order(ByteOrder.LITTLE_ENDIAN);
-        buf.putDouble(value);
-        buf.rewind();
-        buf.get(dataBuffer);
+        putDouble(value.doubleValue());
     }
 
     /**
@@ -288,11 +263,7 @@ public abstract class DataRequest {
      * @param value A value to store in the underlying byte data buffer.
      */
     protected final void putShort(short value) {
-        final ByteBuffer buf = ByteBuffer.allocate(BUFFER_LENGTH_SHORT);
-        buf.order(ByteOrder.LITTLE_ENDIAN);
-        buf.putShort(value);
-        buf.rewind();
-        buf.get(dataBuffer);
+        SHORT_HANDLE.set(dataBuffer, 0, value);
     }
 
     /**
@@ -301,11 +272,17 @@ public abstract class DataRequest {
      * @param value A value to store in the underlying byte data buffer.
      */
     protected final void putInt(int value) {
-        final ByteBuffer buf = ByteBuffer.allocate(BUFFER_LENGTH_INT);
-        buf.order(ByteOrder.LITTLE_ENDIAN);
-        buf.putInt(value);
-        buf.rewind();
-        buf.get(dataBuffer);
+        INT_HANDLE.set(dataBuffer, 0, value);
+    }
+
+    /**
+     * Will store given integer value in this data request byte buffer, at given position.
+     *
+     * @param value A value to store in the underlying byte data buffer.
+     * @param index The position in the underlying byte data buffer to store the value at.
+     */
+    protected final void putInt(int value, int index) {
+        INT_HANDLE.set(dataBuffer, index, value);
     }
 
     /**
@@ -314,11 +291,7 @@ public abstract class DataRequest {
      * @param value A value to store in the underlying byte data buffer.
      */
     protected final void putLong(long value) {
-        final ByteBuffer buf = ByteBuffer.allocate(BUFFER_LENGTH_LONG);
-        buf.order(ByteOrder.LITTLE_ENDIAN);
-        buf.putLong(value);
-        buf.rewind();
-        buf.get(dataBuffer);
+        LONG_HANDLE.set(dataBuffer, 0, value);
     }
 
     /**
@@ -327,11 +300,7 @@ public abstract class DataRequest {
      * @param value A value to store in the underlying byte data buffer.
      */
     protected final void putFloat(float value) {
-        final ByteBuffer buf = ByteBuffer.allocate(BUFFER_LENGTH_FLOAT);
-        buf.order(ByteOrder.LITTLE_ENDIAN);
-        buf.putFloat(value);
-        buf.rewind();
-        buf.get(dataBuffer);
+        FLOAT_HANDLE.set(dataBuffer, 0, value);
     }
 
     /**
@@ -340,11 +309,7 @@ public abstract class DataRequest {
      * @param value A value to store in the underlying byte data buffer.
      */
     protected final void putDouble(double value) {
-        final ByteBuffer buf = ByteBuffer.allocate(BUFFER_LENGTH_DOUBLE);
-        buf.order(ByteOrder.LITTLE_ENDIAN);
-        buf.putDouble(value);
-        buf.rewind();
-        buf.get(dataBuffer);
+        DOUBLE_HANDLE.set(dataBuffer, 0, value);
     }
 
     /**
@@ -378,10 +343,21 @@ public abstract class DataRequest {
      * @param charset Charset to use when encoding the string.
      * @return The contents of underlying byte up to first zero byte buffer converted to String.
      */
-    protected String getZeroTerminatedString(Charset charset) {        
-        int firstZeroBytePos = dataBuffer.length;
-        for (int i = 0; i < dataBuffer.length; i++) {
-            if (dataBuffer[i] == 0) {
+    protected String getZeroTerminatedString(Charset charset) {
+        return getZeroTerminatedString(dataBuffer, charset);
+    }
+
+    /**
+     * This function will convert given byte array to string ending at first zero byte.
+     *
+     * @param data The byte array.
+     * @param charset Charset to use when encoding the string.
+     * @return The contents of given byte array up to first zero byte converted to String.
+     */
+    protected static String getZeroTerminatedString(byte[] data, Charset charset) {
+        int firstZeroBytePos = data.length;
+        for (int i = 0; i < data.length; i++) {
+            if (data[i] == 0) {
                 firstZeroBytePos = i;
                 break;
             }
@@ -392,7 +368,7 @@ public abstract class DataRequest {
             firstZeroBytePos = 1;
         }
         
-        String result = new String(dataBuffer, 0, firstZeroBytePos, charset);
+        String result = new String(data, 0, firstZeroBytePos, charset);
         return result;
     }
 
@@ -0,0 +1,26 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc.datarequest;
+
+/**
+ * This is a marker interface for WRITE data requests that trigger an action in the simulator or FSUIPC (send a control,
+ * run a macro or lua script, toggle something...), rather than set a value. Every such write counts, so they are never
+ * collapsed nor merged with other writes when write coalescing is enabled (see
+ * {@link com.mouseviator.fsuipc.FSUIPC#setWriteCoalescingEnabled(boolean) }), and the writes before and after them
+ * are not merged together, so they keep their order relative to the command.
+ *
+ * @author Mouseviator
+ */
+public interface ICommandRequest {
+
+}
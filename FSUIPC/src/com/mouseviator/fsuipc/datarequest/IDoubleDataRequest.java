@@ -0,0 +1,52 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc.datarequest;
+
+/**
+ * This interface extends the {@link IDataRequest} interface with functions to get and set the value as primitive
+ * double, without boxing it to {@link Double}. The {@link #getValue() } is implemented by {@link #getAsDouble() }, so the
+ * data request implementing this interface should implement the conversion of the value (such as scaling) in
+ * {@link #getAsDouble() } and {@link #setAsDouble(double) }, the boxed functions will give the same value.
+ *
+ * @author Mouseviator
+ */
+public interface IDoubleDataRequest extends IDataRequest<Double> {
+
+    /**
+     * Returns the value stored within this data request byte data buffer as primitive double.
+     *
+     * @return The value stored within this data request.
+     */
+    public double getAsDouble();
+
+    /**
+     * Sets the value to be stored in the byte data buffer of this data request. The default implementation passes the
+     * boxed value to {@link #setValue(java.lang.Object) }, so it will cause an exception for read-only data
+     * request.
+     *
+     * @param value The value to store.
+     */
+    default public void setAsDouble(double value) {
+        setValue(value);
+    }
+
+    /**
+     * Returns the value of {@link #getAsDouble() } boxed.
+     *
+     * @return The value stored within this data request.
+     */
+    @Override
+    default public Double getValue() {
+        return getAsDouble();
+    }
+}
@@ -0,0 +1,52 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc.datarequest;
+
+/**
+ * This interface extends the {@link IDataRequest} interface with functions to get and set the value as primitive
+ * int, without boxing it to {@link Integer}. The {@link #getValue() } is implemented by {@link #getAsInt() }, so the
+ * data request implementing this interface should implement the conversion of the value (such as scaling) in
+ * {@link #getAsInt() } and {@link #setAsInt(int) }, the boxed functions will give the same value.
+ *
+ * @author Mouseviator
+ */
+public interface IIntDataRequest extends IDataRequest<Integer> {
+
+    /**
+     * Returns the value stored within this data request byte data buffer as primitive int.
+     *
+     * @return The value stored within this data request.
+     */
+    public int getAsInt();
+
+    /**
+     * Sets the value to be stored in the byte data buffer of this data request. The default implementation passes the
+     * boxed value to {@link #setValue(java.lang.Object) }, so it will cause an exception for read-only data
+     * request.
+     *
+     * @param value The value to store.
+     */
+    default public void setAsInt(int value) {
+        setValue(value);
+    }
+
+    /**
+     * Returns the value of {@link #getAsInt() } boxed.
+     *
+     * @return The value stored within this data request.
+     */
+    @Override
+    default public Integer getValue() {
+        return getAsInt();
+    }
+}
@@ -0,0 +1,52 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc.datarequest;
+
+/**
+ * This interface extends the {@link IDataRequest} interface with functions to get and set the value as primitive
+ * long, without boxing it to {@link Long}. The {@link #getValue() } is implemented by {@link #getAsLong() }, so the
+ * data request implementing this interface should implement the conversion of the value (such as scaling) in
+ * {@link #getAsLong() } and {@link #setAsLong(long) }, the boxed functions will give the same value.
+ *
+ * @author Mouseviator
+ */
+public interface ILongDataRequest extends IDataRequest<Long> {
+
+    /**
+     * Returns the value stored within this data request byte data buffer as primitive long.
+     *
+     * @return The value stored within this data request.
+     */
+    public long getAsLong();
+
+    /**
+     * Sets the value to be stored in the byte data buffer of this data request. The default implementation passes the
+     * boxed value to {@link #setValue(java.lang.Object) }, so it will cause an exception for read-only data
+     * request.
+     *
+     * @param value The value to store.
+     */
+    default public void setAsLong(long value) {
+        setValue(value);
+    }
+
+    /**
+     * Returns the value of {@link #getAsLong() } boxed.
+     *
+     * @return The value stored within this data request.
+     */
+    @Override
+    default public Long getValue() {
+        return getAsLong();
+    }
+}
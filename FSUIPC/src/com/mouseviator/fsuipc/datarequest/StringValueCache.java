@@ -0,0 +1,88 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc.datarequest;
+
+import com.mouseviator.fsuipc.datarequest.primitives.StringRequest;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * This class remembers the string decoded from the byte data buffer of a data request, and decodes it again only if the
+ * bytes changed (or the charset or the retrieve method), so that strings that almost never change, such as the
+ * situation file or the ATC airline name, are not decoded every time the value is read. It is used by
+ * {@link StringRequest} and the string requests of helpers, one instance per data request.
+ *
+ * <p>
+ * The check compares the buffer with a copy of the bytes the string was decoded from, which is much cheaper than the
+ * decoding. The decoding is done from the copy, so the cached value always matches it, even if the buffer is being
+ * updated by processing thread meanwhile. The class is thread safe and allocates only when the value changes.</p>
+ *
+ * @author Mouseviator
+ */
+public final class StringValueCache {
+
+    /**
+     * The last decoded value, immutable.
+     */
+    private static final class Entry {
+
+        private final byte[] arData;
+        private final Charset charset;
+        private final StringRequest.ValueRetrieveMethod valueRetrieveMethod;
+        private final String value;
+
+        private Entry(byte[] arData, Charset charset, StringRequest.ValueRetrieveMethod valueRetrieveMethod) {
+            this.arData = arData;
+            this.charset = charset;
+            this.valueRetrieveMethod = valueRetrieveMethod;
+            if (valueRetrieveMethod == StringRequest.ValueRetrieveMethod.WHOLE_BUFFER) {
+                this.value = new String(arData, charset).trim();
+            } else {
+                this.value = DataRequest.getZeroTerminatedString(arData, charset);
+            }
+        }
+
+        private boolean matches(byte[] arData, Charset charset, StringRequest.ValueRetrieveMethod valueRetrieveMethod) {
+            return this.valueRetrieveMethod == valueRetrieveMethod && this.charset.equals(charset) && Arrays.equals(this.arData, arData);
+        }
+    }
+
+    private volatile Entry entry;
+
+    /**
+     * Returns given byte array converted to string. If the bytes, the charset and the method are the same as the last
+     * time, the last string is returned.
+     *
+     * @param arData The byte array, usually the byte data buffer of data request.
+     * @param charset The charset to decode the string with.
+     * @param valueRetrieveMethod The method to retrieve the value, {@link StringRequest.ValueRetrieveMethod#WHOLE_BUFFER}
+     * returns the whole array trimmed, {@link StringRequest.ValueRetrieveMethod#TO_FIRST_ZERO_BYTE} the bytes up to the
+     * first zero byte.
+     * @return The string.
+     */
+    public String decode(byte[] arData, Charset charset, StringRequest.ValueRetrieveMethod valueRetrieveMethod) {
+        Entry current = entry;
+        if (current == null || !current.matches(arData, charset, valueRetrieveMethod)) {
+            current = new Entry(arData.clone(), charset, valueRetrieveMethod);
+            entry = current;
+        }
+        return current.value;
+    }
+
+    /**
+     * Forgets the last decoded string.
+     */
+    public void clear() {
+        entry = null;
+    }
+}
@@ -13,9 +13,8 @@
 package com.mouseviator.fsuipc.datarequest.advanced;
 
 import com.mouseviator.fsuipc.datarequest.DataRequest;
+import com.mouseviator.fsuipc.datarequest.ICommandRequest;
 import com.mouseviator.fsuipc.datarequest.IWriteOnlyRequest;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 
 /**
  * This class implements special data request to send any FS control to flight simulator. This works via the 0x3110 FSUIPC offset. You do not need to specify this offset,
@@ -24,7 +23,7 @@ import java.nio.ByteOrder;
  * 
  * @author Murdock
  */
-public class FSControlRequest extends DataRequest implements IWriteOnlyRequest<Integer> {        
+public class FSControlRequest extends DataRequest implements IWriteOnlyRequest<Integer>, ICommandRequest {        
     
     {
         //Offset 3110 operates facility to send any FS conrol to Flight Simulator
@@ -39,12 +38,8 @@ public class FSControlRequest extends DataRequest implements IWriteOnlyRequest<I
      * 
      * @param control A FS control to be sent by this data request.
      */
-    public FSControlRequest(int control) {       
-        final ByteBuffer buf = ByteBuffer.allocate(BUFFER_LENGTH_INT);
-        buf.order(ByteOrder.LITTLE_ENDIAN);
-        buf.putInt(control);
-        buf.rewind();
-        buf.get(this.dataBuffer, 0, BUFFER_LENGTH_INT);  
+    public FSControlRequest(int control) {
+        putInt(control, 0);
     }
     
     /**
@@ -54,18 +49,9 @@ public class FSControlRequest extends DataRequest implements IWriteOnlyRequest<I
      * @param value A value to be sent along with the control.
      */
     public FSControlRequest(int control, int value) {
-        final ByteBuffer ctrl_buf = ByteBuffer.allocate(BUFFER_LENGTH_INT);
-        ctrl_buf.order(ByteOrder.LITTLE_ENDIAN);
-        ctrl_buf.putInt(control);
-        ctrl_buf.rewind();
-        ctrl_buf.get(this.dataBuffer, 0, BUFFER_LENGTH_INT);  
-        
-        final ByteBuffer value_buf = ByteBuffer.allocate(BUFFER_LENGTH_INT);
-        value_buf.order(ByteOrder.LITTLE_ENDIAN);
-        value_buf.putInt(value);
-        value_buf.rewind();
+        putInt(control, 0);
         //we want to write the parameter the higher int
-        value_buf.get(dataBuffer, BUFFER_LENGTH_INT, value_buf.capacity());
+        putInt(value, BUFFER_LENGTH_INT);
     }
     
     /**
@@ -74,20 +60,12 @@ public class FSControlRequest extends DataRequest implements IWriteOnlyRequest<I
      * @param control A FS control to be sent by this data request.
      */
     public void setControl(int control) {
-        final ByteBuffer buf = ByteBuffer.allocate(BUFFER_LENGTH_INT);
-        buf.order(ByteOrder.LITTLE_ENDIAN);
-        buf.putInt(control);
-        buf.rewind();
-        buf.get(dataBuffer, 0, BUFFER_LENGTH_INT);  
+        putInt(control, 0);
     }
 
     @Override
     public void setValue(Integer value) {
-        final ByteBuffer buf = ByteBuffer.allocate(BUFFER_LENGTH_INT);
-        buf.order(ByteOrder.LITTLE_ENDIAN);
-        buf.putInt(value);
-        buf.rewind();
         //we want to write the parameter the higher int
-        buf.get(dataBuffer, BUFFER_LENGTH_INT, buf.capacity());
+        putInt(value, BUFFER_LENGTH_INT);
     }    
 }
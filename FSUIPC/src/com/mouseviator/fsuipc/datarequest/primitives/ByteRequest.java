@@ -13,7 +13,7 @@
 package com.mouseviator.fsuipc.datarequest.primitives;
 
 import com.mouseviator.fsuipc.datarequest.DataRequest;
-import com.mouseviator.fsuipc.datarequest.IDataRequest;
+import com.mouseviator.fsuipc.datarequest.IByteDataRequest;
 import java.security.InvalidParameterException;
 
 /**
@@ -23,7 +23,7 @@ import java.security.InvalidParameterException;
  * 
  * @author Mouseviator
  */
-public class ByteRequest extends DataRequest implements IDataRequest<Byte> {
+public class ByteRequest extends DataRequest implements IByteDataRequest {
         
     /**
      * Creates a new byte data request.     
@@ -81,12 +81,17 @@ public class ByteRequest extends DataRequest implements IDataRequest<Byte> {
     }
     
     @Override
-    public Byte getValue() {
+    public byte getAsByte() {
         return dataBuffer[0];
     }
 
     @Override
-    public void setValue(Byte value) {
+    public void setAsByte(byte value) {
         dataBuffer[0] = value;
-    }        
+    }
+
+    @Override
+    public void setValue(Byte value) {
+        setAsByte(value);
+    }
 }
@@ -13,7 +13,7 @@
 package com.mouseviator.fsuipc.datarequest.primitives;
 
 import com.mouseviator.fsuipc.datarequest.DataRequest;
-import com.mouseviator.fsuipc.datarequest.IDataRequest;
+import com.mouseviator.fsuipc.datarequest.IDoubleDataRequest;
 import java.security.InvalidParameterException;
 
 /**
@@ -23,7 +23,7 @@ import java.security.InvalidParameterException;
  * 
  * @author Mouseviator
  */
-public class DoubleRequest extends DataRequest implements IDataRequest<Double> {
+public class DoubleRequest extends DataRequest implements IDoubleDataRequest {
     /**
      * Creates a new double data request.     
      */
@@ -84,12 +84,17 @@ public class DoubleRequest extends DataRequest implements IDataRequest<Double> {
     }    
     
     @Override
-    public Double getValue() {
+    public double getAsDouble() {
         return getDouble();
     }
 
     @Override
-    public void setValue(Double value) {
+    public void setAsDouble(double value) {
         putDouble(value);
-    }    
+    }
+
+    @Override
+    public void setValue(Double value) {
+        setAsDouble(value);
+    }
 }
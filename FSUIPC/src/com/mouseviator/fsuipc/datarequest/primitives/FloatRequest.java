@@ -13,7 +13,7 @@
 package com.mouseviator.fsuipc.datarequest.primitives;
 
 import com.mouseviator.fsuipc.datarequest.DataRequest;
-import com.mouseviator.fsuipc.datarequest.IDataRequest;
+import com.mouseviator.fsuipc.datarequest.IFloatDataRequest;
 import static com.mouseviator.fsuipc.datarequest.DataRequest.MAX_OFFSET_VALUE;
 import static com.mouseviator.fsuipc.datarequest.DataRequest.MIN_OFFSET_VALUE;
 import java.security.InvalidParameterException;
@@ -25,7 +25,7 @@ import java.security.InvalidParameterException;
  * 
  * @author Mouseviator
  */
-public class FloatRequest extends DataRequest implements IDataRequest<Float> {    
+public class FloatRequest extends DataRequest implements IFloatDataRequest {    
     /**
      * Creates a new float data request.     
      */
@@ -86,12 +86,17 @@ public class FloatRequest extends DataRequest implements IDataRequest<Float> {
     }    
 
     @Override
-    public Float getValue() {
+    public float getAsFloat() {
         return getFloat();
     }
 
     @Override
-    public void setValue(Float value) {
+    public void setAsFloat(float value) {
         putFloat(value);
     }
+
+    @Override
+    public void setValue(Float value) {
+        setAsFloat(value);
+    }
 }
@@ -13,7 +13,7 @@
 package com.mouseviator.fsuipc.datarequest.primitives;
 
 import com.mouseviator.fsuipc.datarequest.DataRequest;
-import com.mouseviator.fsuipc.datarequest.IDataRequest;
+import com.mouseviator.fsuipc.datarequest.IIntDataRequest;
 import java.security.InvalidParameterException;
 
 /**
@@ -23,7 +23,7 @@ import java.security.InvalidParameterException;
  * 
  * @author Mouseviator
  */
-public class IntRequest extends DataRequest implements IDataRequest<Integer> {    
+public class IntRequest extends DataRequest implements IIntDataRequest {    
     /**
      * Creates a new integer data request.     
      */
@@ -84,12 +84,17 @@ public class IntRequest extends DataRequest implements IDataRequest<Integer> {
     }
     
     @Override
-    public Integer getValue() {
+    public int getAsInt() {
         return getInt();
     }
 
     @Override
-    public void setValue(Integer value) {
+    public void setAsInt(int value) {
         putInt(value);
-    }    
+    }
+
+    @Override
+    public void setValue(Integer value) {
+        setAsInt(value);
+    }
 }
@@ -13,7 +13,7 @@
 package com.mouseviator.fsuipc.datarequest.primitives;
 
 import com.mouseviator.fsuipc.datarequest.DataRequest;
-import com.mouseviator.fsuipc.datarequest.IDataRequest;
+import com.mouseviator.fsuipc.datarequest.ILongDataRequest;
 import static com.mouseviator.fsuipc.datarequest.DataRequest.MAX_OFFSET_VALUE;
 import static com.mouseviator.fsuipc.datarequest.DataRequest.MIN_OFFSET_VALUE;
 import java.security.InvalidParameterException;
@@ -25,7 +25,7 @@ import java.security.InvalidParameterException;
  * 
  * @author Mouseviator
  */
-public class LongRequest extends DataRequest implements IDataRequest<Long> {    
+public class LongRequest extends DataRequest implements ILongDataRequest {    
     /**
      * Creates a new long data request.     
      */
@@ -86,13 +86,17 @@ public class LongRequest extends DataRequest implements IDataRequest<Long> {
     }
     
     @Override
-    public Long getValue() {
+    public long getAsLong() {
         return getLong();
     }
 
     @Override
-    public void setValue(Long value) {
+    public void setAsLong(long value) {
         putLong(value);
     }
-    
+
+    @Override
+    public void setValue(Long value) {
+        setAsLong(value);
+    }
 }
@@ -13,7 +13,7 @@
 package com.mouseviator.fsuipc.datarequest.primitives;
 
 import com.mouseviator.fsuipc.datarequest.DataRequest;
-import com.mouseviator.fsuipc.datarequest.IDataRequest;
+import com.mouseviator.fsuipc.datarequest.IShortDataRequest;
 import java.security.InvalidParameterException;
 
 /**
@@ -23,7 +23,7 @@ import java.security.InvalidParameterException;
  * 
  * @author Mouseviator
  */
-public class ShortRequest extends DataRequest implements IDataRequest<Short> {            
+public class ShortRequest extends DataRequest implements IShortDataRequest {            
     /**
      * Creates a new short data request.     
      */
@@ -84,12 +84,17 @@ public class ShortRequest extends DataRequest implements IDataRequest<Short> {
     }
     
     @Override
-    public Short getValue() {
+    public short getAsShort() {
         return getShort();
     }
 
     @Override
-    public void setValue(Short value) {
+    public void setAsShort(short value) {
         putShort(value);
-    }    
+    }
+
+    @Override
+    public void setValue(Short value) {
+        setAsShort(value);
+    }
 }
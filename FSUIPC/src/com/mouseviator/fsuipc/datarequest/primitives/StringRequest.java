@@ -14,6 +14,7 @@ package com.mouseviator.fsuipc.datarequest.primitives;
 
 import com.mouseviator.fsuipc.datarequest.DataRequest;
 import com.mouseviator.fsuipc.datarequest.IDataRequest;
+import com.mouseviator.fsuipc.datarequest.StringValueCache;
 import java.nio.charset.Charset;
 import java.security.InvalidParameterException;
 
@@ -33,6 +34,11 @@ public class StringRequest extends DataRequest implements IDataRequest<String> {
     private Charset charset = Charset.defaultCharset();
     private ValueRetrieveMethod valueRetrieveMethod = ValueRetrieveMethod.WHOLE_BUFFER;
 
+    /**
+     * The last decoded value, decoded again only when the byte data buffer changes.
+     */
+    private final StringValueCache valueCache = new StringValueCache();
+
     /**
      * Creates a new string data request associated with given offset and the byte data buffer initialized to given
      * size. Note that this is only useful for READ type request. If you use the {@link #setValue(java.lang.String)
@@ -162,17 +168,14 @@ public class StringRequest extends DataRequest implements IDataRequest<String> {
 
     /**
      * This function will return underlying byte data buffer as String. You have to specify how the value will be retrieved
-     * by <code>valueRetrieveMethod</code> parameter.
+     * by <code>valueRetrieveMethod</code> parameter. The string is decoded only if the byte data buffer changed since the
+     * last call, otherwise the same string is returned.
      *
      * @param valueRetrieveMethod The method to retrieve the value.
      * @return String representation of the underlying byte data buffer.
      */
     public String getValue(ValueRetrieveMethod valueRetrieveMethod) {
-        if (valueRetrieveMethod == ValueRetrieveMethod.WHOLE_BUFFER) {
-            return new String(dataBuffer, charset).trim();
-        } else {
-            return getZeroTerminatedString(charset);
-        }
+        return valueCache.decode(dataBuffer, charset, valueRetrieveMethod);
     }
 
     @Override
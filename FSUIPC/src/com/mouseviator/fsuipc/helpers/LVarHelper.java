@@ -18,7 +18,13 @@ import static com.mouseviator.fsuipc.datarequest.DataRequest.BUFFER_LENGTH_DOUBL
 import static com.mouseviator.fsuipc.datarequest.DataRequest.BUFFER_LENGTH_FLOAT;
 import static com.mouseviator.fsuipc.datarequest.DataRequest.BUFFER_LENGTH_INT;
 import static com.mouseviator.fsuipc.datarequest.DataRequest.BUFFER_LENGTH_SHORT;
+import com.mouseviator.fsuipc.datarequest.ICommandRequest;
 import com.mouseviator.fsuipc.datarequest.IDataRequest;
+import com.mouseviator.fsuipc.datarequest.IShortDataRequest;
+import com.mouseviator.fsuipc.datarequest.IIntDataRequest;
+import com.mouseviator.fsuipc.datarequest.IFloatDataRequest;
+import com.mouseviator.fsuipc.datarequest.IDoubleDataRequest;
+import com.mouseviator.fsuipc.datarequest.IByteDataRequest;
 import com.mouseviator.fsuipc.datarequest.IReadOnlyRequest;
 import com.mouseviator.fsuipc.datarequest.IWriteOnlyRequest;
 import java.nio.charset.Charset;
@@ -670,7 +676,7 @@ public class LVarHelper {
      * be found (where you told FSUIPC to store it). This class is best used with {@link LVarHelper#readLVar(java.lang.String, int, com.mouseviator.fsuipc.helpers.LVarHelper.LVarValueFormat) } function
      * or {@link LVarHelper#readLVar(java.lang.String, int, com.mouseviator.fsuipc.helpers.LVarHelper.LVarValueFormat, com.mouseviator.fsuipc.FSUIPC, boolean) } function.
      */
-    public static class DoubleLVarReadRequest extends DataRequest implements IReadOnlyRequest<Double> {
+    public static class DoubleLVarReadRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
         /**
          * Construct new LVar read request.
@@ -688,7 +694,7 @@ public class LVarHelper {
          * @return The read request value.
          */
         @Override
-        public Double getValue() {
+        public double getAsDouble() {
             return getDouble();
         }        
     };
@@ -699,7 +705,7 @@ public class LVarHelper {
      * be found (where you told FSUIPC to store it). This class is best used with {@link LVarHelper#readLVar(java.lang.String, int, com.mouseviator.fsuipc.helpers.LVarHelper.LVarValueFormat) } function
      * or {@link LVarHelper#readLVar(java.lang.String, int, com.mouseviator.fsuipc.helpers.LVarHelper.LVarValueFormat, com.mouseviator.fsuipc.FSUIPC, boolean) } function.
      */
-    public static class FloatLVarReadRequest extends DataRequest implements IReadOnlyRequest<Float> {
+    public static class FloatLVarReadRequest extends DataRequest implements IReadOnlyRequest<Float>, IFloatDataRequest {
 
         /**
          * Construct new LVar read request.
@@ -717,7 +723,7 @@ public class LVarHelper {
          * @return The read request value.
          */
         @Override
-        public Float getValue() {
+        public float getAsFloat() {
             return getFloat();
         }
     };
@@ -728,7 +734,7 @@ public class LVarHelper {
      * be found (where you told FSUIPC to store it). This class is best used with {@link LVarHelper#readLVar(java.lang.String, int, com.mouseviator.fsuipc.helpers.LVarHelper.LVarValueFormat) } function
      * or {@link LVarHelper#readLVar(java.lang.String, int, com.mouseviator.fsuipc.helpers.LVarHelper.LVarValueFormat, com.mouseviator.fsuipc.FSUIPC, boolean) } function.
      */
-    public static class IntegerLVarReadRequest extends DataRequest implements IReadOnlyRequest<Integer> {
+    public static class IntegerLVarReadRequest extends DataRequest implements IReadOnlyRequest<Integer>, IIntDataRequest {
 
         /**
          * Construct new LVar read request.
@@ -746,7 +752,7 @@ public class LVarHelper {
          * @return The read request value.
          */
         @Override
-        public Integer getValue() {
+        public int getAsInt() {
             return getInt();
         }
     };
@@ -757,7 +763,7 @@ public class LVarHelper {
      * found (where you told FSUIPC to store it). This class is best used with {@link LVarHelper#readLVar(java.lang.String, int, com.mouseviator.fsuipc.helpers.LVarHelper.LVarValueFormat) } function
      * or {@link LVarHelper#readLVar(java.lang.String, int, com.mouseviator.fsuipc.helpers.LVarHelper.LVarValueFormat, com.mouseviator.fsuipc.FSUIPC, boolean) } function.
      */
-    public static class ShortLVarReadRequest extends DataRequest implements IReadOnlyRequest<Short> {
+    public static class ShortLVarReadRequest extends DataRequest implements IReadOnlyRequest<Short>, IShortDataRequest {
 
         /**
          * Construct new LVar read request.
@@ -775,7 +781,7 @@ public class LVarHelper {
          * @return The read request value.
          */
         @Override
-        public Short getValue() {
+        public short getAsShort() {
             return getShort();
         }
     };
@@ -786,7 +792,7 @@ public class LVarHelper {
      * found (where you told FSUIPC to store it). This class is best used with {@link LVarHelper#readLVar(java.lang.String, int, com.mouseviator.fsuipc.helpers.LVarHelper.LVarValueFormat) } function
      * or {@link LVarHelper#readLVar(java.lang.String, int, com.mouseviator.fsuipc.helpers.LVarHelper.LVarValueFormat, com.mouseviator.fsuipc.FSUIPC, boolean) } function.
      */
-    public static class ByteLVarReadRequest extends DataRequest implements IReadOnlyRequest<Byte> {
+    public static class ByteLVarReadRequest extends DataRequest implements IReadOnlyRequest<Byte>, IByteDataRequest {
 
         /**
          * Construct new LVar read request.
@@ -804,7 +810,7 @@ public class LVarHelper {
          * @return The read request value.
          */
         @Override
-        public Byte getValue() {
+        public byte getAsByte() {
             return dataBuffer[0];
         }
     };
@@ -1018,7 +1024,7 @@ public class LVarHelper {
      * } method. The command - what to do, is being set by constructor or by {@link #setCommand(com.mouseviator.fsuipc.helpers.LVarHelper.LVarControlRequestCommand)
      * } method.
      */
-    public static class LVarControlRequest extends DataRequest implements IWriteOnlyRequest<String> {
+    public static class LVarControlRequest extends DataRequest implements IWriteOnlyRequest<String>, ICommandRequest {
 
         private LVarControlRequestCommand command;
         private Charset charset = Charset.forName("UTF-8");
@@ -14,6 +14,7 @@ package com.mouseviator.fsuipc.helpers;
 
 import com.mouseviator.fsuipc.FSUIPC;
 import com.mouseviator.fsuipc.datarequest.DataRequest;
+import com.mouseviator.fsuipc.datarequest.ICommandRequest;
 import com.mouseviator.fsuipc.datarequest.IDataRequest;
 import com.mouseviator.fsuipc.datarequest.IDataRequest.RequestType;
 import com.mouseviator.fsuipc.datarequest.IWriteOnlyRequest;
@@ -398,7 +399,7 @@ public class LuaHelper {
      * @return A data request to kill all running lua programs.
      */
     public IDataRequest luaKillAll() {
-        class LuaKillAllRequest extends DataRequest implements IWriteOnlyRequest<Integer> {
+        class LuaKillAllRequest extends DataRequest implements IWriteOnlyRequest<Integer>, ICommandRequest {
 
             {
                 this.dataBuffer = new byte[BUFFER_LENGTH_INT];
@@ -545,7 +546,7 @@ public class LuaHelper {
      * } method. The command - what to do, is being set by constructor or by {@link #setCommand(com.mouseviator.fsuipc.helpers.LVarHelper.LuaControlRequestCommand)
      * } method.
      */
-    public static class LuaControlRequest extends DataRequest implements IWriteOnlyRequest<String> {
+    public static class LuaControlRequest extends DataRequest implements IWriteOnlyRequest<String>, ICommandRequest {
 
         /**
          * This character si used to separate command and arguments when working with lua programs via FSUIPC
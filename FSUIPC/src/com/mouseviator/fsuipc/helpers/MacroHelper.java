@@ -14,6 +14,7 @@ package com.mouseviator.fsuipc.helpers;
 
 import com.mouseviator.fsuipc.FSUIPC;
 import com.mouseviator.fsuipc.datarequest.DataRequest;
+import com.mouseviator.fsuipc.datarequest.ICommandRequest;
 import com.mouseviator.fsuipc.datarequest.IDataRequest.RequestType;
 import com.mouseviator.fsuipc.datarequest.IWriteOnlyRequest;
 import java.nio.charset.Charset;
@@ -378,7 +379,7 @@ public class MacroHelper {
      * The constructors as well as the {@link MacroExecuteRequest#setValue(java.lang.String) } will check for these limitations and will
      * raise the {@link InvalidParameterException} if not met.
      */
-    public static class MacroExecuteRequest extends DataRequest implements IWriteOnlyRequest<String> {
+    public static class MacroExecuteRequest extends DataRequest implements IWriteOnlyRequest<String>, ICommandRequest {
 
         /**
          * This character is used to separate macro file name and macro name when calling macro using FSUIPC
@@ -13,10 +13,18 @@
 package com.mouseviator.fsuipc.helpers;
 
 import com.mouseviator.fsuipc.datarequest.DataRequest;
+import com.mouseviator.fsuipc.datarequest.IByteDataRequest;
 import com.mouseviator.fsuipc.datarequest.IDataRequest;
+import com.mouseviator.fsuipc.datarequest.IDoubleDataRequest;
+import com.mouseviator.fsuipc.datarequest.IFloatDataRequest;
+import com.mouseviator.fsuipc.datarequest.IIntDataRequest;
 import com.mouseviator.fsuipc.datarequest.IReadOnlyRequest;
+import com.mouseviator.fsuipc.datarequest.IShortDataRequest;
 import com.mouseviator.fsuipc.datarequest.IWriteOnlyRequest;
+import com.mouseviator.fsuipc.datarequest.StringValueCache;
 import com.mouseviator.fsuipc.datarequest.primitives.IntRequest;
+import com.mouseviator.fsuipc.datarequest.primitives.StringRequest;
+import java.nio.charset.Charset;
 import java.text.DecimalFormat;
 import java.time.LocalTime;
 
@@ -39,6 +47,8 @@ public class SimHelper {
     public IDataRequest<String> getSituationFile() {
 
         class SituationFileRequest extends DataRequest implements IReadOnlyRequest<String> {
+            private final StringValueCache valueCache = new StringValueCache();
+
 
             {
                 this.dataBuffer = new byte[256];
@@ -47,7 +57,7 @@ public class SimHelper {
 
             @Override
             public String getValue() {
-                return new String(this.dataBuffer).trim();
+                return valueCache.decode(this.dataBuffer, Charset.defaultCharset(), StringRequest.ValueRetrieveMethod.WHOLE_BUFFER);
             }
         }
         return new SituationFileRequest();
@@ -70,7 +80,7 @@ public class SimHelper {
             }
 
             @Override
-            public void setValue(Integer value) {
+            public void setAsInt(int value) {
                 LocalTime time = LocalTime.ofSecondOfDay(value);
                 this.dataBuffer[0] = (byte) time.getHour();
                 this.dataBuffer[1] = (byte) time.getMinute();
@@ -78,7 +88,7 @@ public class SimHelper {
             }
 
             @Override
-            public Integer getValue() {
+            public int getAsInt() {
                 LocalTime time = LocalTime.of(dataBuffer[0], dataBuffer[1], dataBuffer[2]);
 
                 return time.toSecondOfDay();
@@ -93,7 +103,7 @@ public class SimHelper {
      * will return 0 if sim is not paused, 1 if sim is paused.
      */
     public IDataRequest<Short> getPauseIndicator() {
-        class PauseIndicatorRequest extends DataRequest implements IReadOnlyRequest<Short> {
+        class PauseIndicatorRequest extends DataRequest implements IReadOnlyRequest<Short>, IShortDataRequest {
 
             {
                 this.dataBuffer = new byte[BUFFER_LENGTH_SHORT];
@@ -101,7 +111,7 @@ public class SimHelper {
             }
 
             @Override
-            public Short getValue() {
+            public short getAsShort() {
                 return getShort();
             }
         }
@@ -137,6 +147,28 @@ public class SimHelper {
         return request;
     }
 
+    /**
+     * Return request to read the in menu or dialog flag. READ ONLY!
+     *
+     * @return Data request to get whether the sim shows a menu or dialog. The
+     * request will return 0 if not, non-zero if menu or dialog is open.
+     */
+    public IByteDataRequest getMenuIndicator() {
+        class MenuIndicatorRequest extends DataRequest implements IReadOnlyRequest<Byte>, IByteDataRequest {
+
+            {
+                this.dataBuffer = new byte[BUFFER_LENGTH_BYTE];
+                this.offset = 0x3365;
+            }
+
+            @Override
+            public byte getAsByte() {
+                return dataBuffer[0];
+            }
+        }
+        return new MenuIndicatorRequest();
+    }
+
     /**
      * Return request to read simulator season. READ ONLY!
      *
@@ -145,7 +177,7 @@ public class SimHelper {
      */
     public IDataRequest<Short> getSeason() {
 
-        class SeasonRequest extends DataRequest implements IReadOnlyRequest<Short> {
+        class SeasonRequest extends DataRequest implements IReadOnlyRequest<Short>, IShortDataRequest {
 
             {
                 this.dataBuffer = new byte[BUFFER_LENGTH_SHORT];
@@ -153,7 +185,7 @@ public class SimHelper {
             }
 
             @Override
-            public Short getValue() {
+            public short getAsShort() {
                 return getShort();
             }
         }
@@ -169,7 +201,7 @@ public class SimHelper {
     public IDataRequest<Double> getGroundAltitude(boolean bFeet) {
         if (!bFeet) {
             //return in meters
-            class GroundAltitudeRequest extends DataRequest implements IReadOnlyRequest<Double> {
+            class GroundAltitudeRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
                 {
                     this.dataBuffer = new byte[BUFFER_LENGTH_INT];
@@ -177,7 +209,7 @@ public class SimHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     int altitude = getInt();
                     return altitude / 256.0d;
                 }
@@ -185,7 +217,7 @@ public class SimHelper {
             return new GroundAltitudeRequest();
         } else {
             //return in feet
-            class GroundAltitudeRequest extends DataRequest implements IReadOnlyRequest<Double> {
+            class GroundAltitudeRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
                 {
                     this.dataBuffer = new byte[BUFFER_LENGTH_INT];
@@ -193,7 +225,7 @@ public class SimHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     int altitude = getInt();
                     return altitude / 256.0d * 3.2808d;
                 }
@@ -208,7 +240,7 @@ public class SimHelper {
      * @return Data request to get the size of memory currently assigned to FSUIPC.
      */
     public IDataRequest<Integer> getFSUIPCAssignedMemorySize() {
-        class FSUIPCMemRequest extends DataRequest implements IReadOnlyRequest<Integer> {
+        class FSUIPCMemRequest extends DataRequest implements IReadOnlyRequest<Integer>, IIntDataRequest {
 
             {
                 this.dataBuffer = new byte[BUFFER_LENGTH_INT];
@@ -216,7 +248,7 @@ public class SimHelper {
             }
 
             @Override
-            public Integer getValue() {
+            public int getAsInt() {
                 return getInt();
             }
         }
@@ -229,7 +261,7 @@ public class SimHelper {
      * @return Data request to get the actual frame rate.
      */
     public IDataRequest<Float> getFrameRate() {
-        class FrameRateRequest extends DataRequest implements IReadOnlyRequest<Float> {
+        class FrameRateRequest extends DataRequest implements IReadOnlyRequest<Float>, IFloatDataRequest {
 
             {
                 this.dataBuffer = new byte[BUFFER_LENGTH_SHORT];
@@ -237,7 +269,7 @@ public class SimHelper {
             }
 
             @Override
-            public Float getValue() {
+            public float getAsFloat() {
                 return 32768 / (float)getShort();
             }
         }
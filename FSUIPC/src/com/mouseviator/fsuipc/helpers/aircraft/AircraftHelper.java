@@ -13,11 +13,16 @@
 package com.mouseviator.fsuipc.helpers.aircraft;
 
 import com.mouseviator.fsuipc.datarequest.DataRequest;
+import com.mouseviator.fsuipc.datarequest.IByteDataRequest;
 import com.mouseviator.fsuipc.datarequest.IDataRequest;
+import com.mouseviator.fsuipc.datarequest.IFloatDataRequest;
 import com.mouseviator.fsuipc.datarequest.IReadOnlyRequest;
+import com.mouseviator.fsuipc.datarequest.IShortDataRequest;
+import com.mouseviator.fsuipc.datarequest.StringValueCache;
 import com.mouseviator.fsuipc.datarequest.primitives.DoubleRequest;
 import com.mouseviator.fsuipc.datarequest.primitives.FloatRequest;
 import com.mouseviator.fsuipc.datarequest.primitives.StringRequest;
+import java.nio.charset.Charset;
 import java.security.InvalidParameterException;
 import java.util.EnumSet;
 import java.util.HashMap;
@@ -49,14 +54,14 @@ public class AircraftHelper {
 
             // We just ovveride the getValue method to retvrieve the true airspeed as float, as claculation is needed. 
             @Override
-            public Float getValue() {
+            public float getAsFloat() {
                 int iIAS = getInt();
 
                 return iIAS / 128.0f;
             }
 
             @Override
-            public void setValue(Float value) {
+            public void setAsFloat(float value) {
                 int iIAS = (int)(value / 128.0f);
                 putInt(iIAS);
             }                        
@@ -78,14 +83,14 @@ public class AircraftHelper {
 
             // We just ovveride the getValue method to retvrieve the true airspeed as float, as claculation is needed. 
             @Override
-            public Float getValue() {
+            public float getAsFloat() {
                 int iTAS = getInt();
 
                 return iTAS / 128.0f;
             }
 
             @Override
-            public void setValue(Float value) {
+            public void setAsFloat(float value) {
                 int iTAS = (int)(value / 128.0f);
                 putInt(iTAS);
             }                        
@@ -108,14 +113,14 @@ public class AircraftHelper {
 
                 // We just ovveride the getValue method to retvrieve the true airspeed as float, as claculation is needed. 
                 @Override
-                public Float getValue() {
+                public float getAsFloat() {
                     int iVS = getInt();
 
                     return iVS / 256.0f * 60 * 3.28084f;
                 }
 
                 @Override
-                public void setValue(Float value) {
+                public void setAsFloat(float value) {
                     int iVS = (int)(value * 256 / 60.0f / 3.28084f);
                     putInt(iVS);
                 }                                
@@ -126,14 +131,14 @@ public class AircraftHelper {
 
                 // We just ovveride the getValue method to retvrieve the true airspeed as float, as claculation is needed. 
                 @Override
-                public Float getValue() {
+                public float getAsFloat() {
                     int iVS = getInt();
 
                     return iVS / 256.0f;
                 }
                 
                 @Override
-                public void setValue(Float value) {
+                public void setAsFloat(float value) {
                     int iVS = (int)(value * 256);
                     putInt(iVS);
                 }                                
@@ -151,7 +156,7 @@ public class AircraftHelper {
     public DoubleRequest getLatitude() {
         return new DoubleRequest(0x0560) {
             @Override
-            public Double getValue() {
+            public double getAsDouble() {
                 //can do this, since double and long both have 8 bytes in Java
                 long latitude = getLong();
 
@@ -159,7 +164,7 @@ public class AircraftHelper {
             }
 
             @Override
-            public void setValue(Double value) {
+            public void setAsDouble(double value) {
                 long latitude = (long)(value / (90.0 * (10001750.0 * 65536.0 * 65536.0)));
                 putLong(latitude);
             }                        
@@ -176,7 +181,7 @@ public class AircraftHelper {
     public DoubleRequest getLongitude() {
         return new DoubleRequest(0x0568) {
             @Override
-            public Double getValue() {
+            public double getAsDouble() {
                 //can do this, since double and long both have 8 bytes in Java
                 long longitude = getLong();
 
@@ -184,7 +189,7 @@ public class AircraftHelper {
             }
 
             @Override
-            public void setValue(Double value) {
+            public void setAsDouble(double value) {
                 long longitude = (long)(value / (360.0 / (65536.0 * 65536.0 * 65536.0 * 65536.0)));
                 putLong(longitude);
             }                        
@@ -203,7 +208,7 @@ public class AircraftHelper {
             //meters result
             return new DoubleRequest(0x0570) {
                 @Override
-                public void setValue(Double value) {
+                public void setAsDouble(double value) {
                     double unit = Math.floor(value);
                     double fraction = value - unit;
                     
@@ -212,7 +217,7 @@ public class AircraftHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     //The altitude is coded such as:
                     //high integer is the unit
                     //low integer is the fractional part
@@ -227,7 +232,7 @@ public class AircraftHelper {
             return new DoubleRequest(0x0570) {
                 //feet result
                 @Override
-                public void setValue(Double value) {
+                public void setAsDouble(double value) {
                     double in_meters = value / 3.2808d;
                     double unit = Math.floor(in_meters);
                     double fraction = in_meters - unit;
@@ -237,7 +242,7 @@ public class AircraftHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     //The altitude is coded such as:
                     //high integer is the unit
                     //low integer is the fractional part
@@ -259,14 +264,14 @@ public class AircraftHelper {
      */
     public IDataRequest<Short> getNumberOfEngines() {
 
-        class NumOfEnginesRequest extends DataRequest implements IReadOnlyRequest<Short> {
+        class NumOfEnginesRequest extends DataRequest implements IReadOnlyRequest<Short>, IShortDataRequest {
             {
                 this.dataBuffer = new byte[BUFFER_LENGTH_SHORT];
                 this.offset = 0x0AEC;
             }
 
             @Override
-            public Short getValue() {
+            public short getAsShort() {
                 return getShort();
             }
         }
@@ -283,14 +288,14 @@ public class AircraftHelper {
     public FloatRequest getPitch() {
         return new FloatRequest(0x0578) {
             @Override
-            public Float getValue() {
+            public float getAsFloat() {
                 int pitch = getInt();
 
                 return pitch * 360.0f / (65536.0f * 65536.0f);
             }
 
             @Override
-            public void setValue(Float value) {
+            public void setAsFloat(float value) {
                 int pitch = (int)(value / 360.0f * (65536.0f * 65536.0f));
                 putInt(pitch);
             }            
@@ -307,14 +312,14 @@ public class AircraftHelper {
     public FloatRequest getBank() {
         return new FloatRequest(0x057C) {
             @Override
-            public Float getValue() {
+            public float getAsFloat() {
                 int bank = getInt();
 
                 return bank * 360.0f / (65536.0f * 65536.0f);
             }
 
             @Override
-            public void setValue(Float value) {
+            public void setAsFloat(float value) {
                 int bank = (int)(value / 360.0f * (65536.0f * 65536.0f));
                 putInt(bank);
             }                        
@@ -331,7 +336,7 @@ public class AircraftHelper {
     public FloatRequest getHeading() {
         return new FloatRequest(0x0580) {
             @Override
-            public Float getValue() {
+            public float getAsFloat() {
                 int heading = getInt();
 
                 // it gives negative value actually, to get what we would expect, substract from 360 (value is negative, that is why I add here....)
@@ -339,7 +344,7 @@ public class AircraftHelper {
             }
 
             @Override
-            public void setValue(Float value) {
+            public void setAsFloat(float value) {
                 int heading = (int)(360 - (value / 360.0f * (65536.0f * 65536.0f)));
                 putInt(heading);
             }                        
@@ -354,13 +359,13 @@ public class AircraftHelper {
      */
     public IDataRequest<Float> getMagneticVariation() {        
 
-        class MagVarRequest extends DataRequest implements IReadOnlyRequest<Float> {
+        class MagVarRequest extends DataRequest implements IReadOnlyRequest<Float>, IFloatDataRequest {
             {
                 this.dataBuffer = new byte[BUFFER_LENGTH_SHORT];
                 this.offset = 0x02A0;                
             }
             @Override
-            public Float getValue() {
+            public float getAsFloat() {
                 short magVar = getShort();
 
                 return magVar * 360.0f / 65536.0f;
@@ -376,14 +381,14 @@ public class AircraftHelper {
      */
     public IDataRequest<Byte> getEngineType() {        
 
-        class EngineTypeRequest extends DataRequest implements IReadOnlyRequest<Byte> {
+        class EngineTypeRequest extends DataRequest implements IReadOnlyRequest<Byte>, IByteDataRequest {
             {
                 this.dataBuffer = new byte[BUFFER_LENGTH_BYTE];
                 this.offset = 0x0609;
             }
 
             @Override
-            public Byte getValue() {
+            public byte getAsByte() {
                 return this.dataBuffer[0];
             }            
         }
@@ -437,6 +442,8 @@ public class AircraftHelper {
     public IDataRequest<String> getATCAircraftType() {        
 
         class ATCAircraftTypeRequest extends DataRequest implements IReadOnlyRequest<String> {
+            private final StringValueCache valueCache = new StringValueCache();
+
             {
                 this.dataBuffer = new byte[24];
                 this.offset = 0x3160;
@@ -444,7 +451,7 @@ public class AircraftHelper {
 
             @Override
             public String getValue() {
-                return new String(this.dataBuffer).trim();
+                return valueCache.decode(this.dataBuffer, Charset.defaultCharset(), StringRequest.ValueRetrieveMethod.WHOLE_BUFFER);
             }            
         }
         return new ATCAircraftTypeRequest();
@@ -457,14 +464,14 @@ public class AircraftHelper {
      */
     public IDataRequest<Short> getOnGround() {        
 
-        class OnGroundRequest extends DataRequest implements IReadOnlyRequest<Short> {
+        class OnGroundRequest extends DataRequest implements IReadOnlyRequest<Short>, IShortDataRequest {
             {
                 this.dataBuffer = new byte[BUFFER_LENGTH_SHORT];
                 this.offset = 0x0366;
             }
 
             @Override
-            public Short getValue() {
+            public short getAsShort() {
                 return getShort();
             }
         }        
@@ -14,6 +14,7 @@ package com.mouseviator.fsuipc.helpers.aircraft;
 
 import com.mouseviator.fsuipc.datarequest.DataRequest;
 import com.mouseviator.fsuipc.datarequest.IDataRequest;
+import com.mouseviator.fsuipc.datarequest.IFloatDataRequest;
 import com.mouseviator.fsuipc.datarequest.IReadOnlyRequest;
 import com.mouseviator.fsuipc.datarequest.primitives.DoubleRequest;
 import com.mouseviator.fsuipc.datarequest.primitives.FloatRequest;
@@ -92,14 +93,14 @@ public class Engine1Helper {
             }
             
             @Override           
-            public Float getValue() {
+            public float getAsFloat() {
                 short oilTemp = getShort();
                 
                 return oilTemp / 16384.0f * 140.0f;
             } 
 
             @Override
-            public void setValue(Float value) {
+            public void setAsFloat(float value) {
                 short oilTemp = (short)(value / 140.0f * 16384.0f);
                 putShort(oilTemp);
             }                        
@@ -117,14 +118,14 @@ public class Engine1Helper {
     public FloatRequest getOilQuantity() {
         return new FloatRequest(oilQuantityOffset) {
             @Override
-            public Float getValue() {
+            public float getAsFloat() {
                 int quantity = getInt();
                 
                 return quantity / 16384.0f * 100.0f;
             }
 
             @Override
-            public void setValue(Float value) {
+            public void setAsFloat(float value) {
                 int quantity = (int)(value / 100.0f * 16384.0f);
                 putInt(quantity);
             }           
@@ -142,14 +143,14 @@ public class Engine1Helper {
     public FloatRequest getOilPressure() {
         return new FloatRequest(oilPressureOffset) {
             @Override
-            public Float getValue() {
+            public float getAsFloat() {
                 short pressure = getShort();
                 
                 return pressure / 65535.0f * 220.0f;
             }
 
             @Override
-            public void setValue(Float value) {
+            public void setAsFloat(float value) {
                 short pressure = (short)(value * 220.0f / 65535.0f);
                 putInt(pressure);
             }           
@@ -171,14 +172,14 @@ public class Engine1Helper {
             }
 
             @Override
-            public Float getValue() {
+            public float getAsFloat() {
                 short manPressure = getShort();
                 
                 return manPressure / 1024.0f;
             }; 
 
             @Override
-            public void setValue(Float value) {
+            public void setAsFloat(float value) {
                 short manPressure = (short)(value * 1024);
                 putShort(manPressure);
             }                        
@@ -202,14 +203,14 @@ public class Engine1Helper {
      */
     public IDataRequest<Float> getElapsedTime() {        
 
-        class ElapsedTimeRequest extends DataRequest implements IReadOnlyRequest<Float> {
+        class ElapsedTimeRequest extends DataRequest implements IReadOnlyRequest<Float>, IFloatDataRequest {
             {
                 this.dataBuffer = new byte[BUFFER_LENGTH_FLOAT];
                 this.offset = elapsedTimeOffset;
             }
             
             @Override
-            public Float getValue() {
+            public float getAsFloat() {
                 return getFloat();
             }
         } 
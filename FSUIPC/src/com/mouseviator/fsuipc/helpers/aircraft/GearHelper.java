@@ -15,6 +15,7 @@ package com.mouseviator.fsuipc.helpers.aircraft;
 import com.mouseviator.fsuipc.datarequest.DataRequest;
 import static com.mouseviator.fsuipc.datarequest.DataRequest.BUFFER_LENGTH_SHORT;
 import com.mouseviator.fsuipc.datarequest.IDataRequest;
+import com.mouseviator.fsuipc.datarequest.IShortDataRequest;
 import com.mouseviator.fsuipc.datarequest.IReadOnlyRequest;
 import com.mouseviator.fsuipc.datarequest.primitives.IntRequest;
 
@@ -76,13 +77,13 @@ public class GearHelper {
      * @return Data request to get center wheel RPM.
      */
     public IDataRequest<Short> getCenterWheelRPM() {
-        class CenterWheelRPMRequest extends DataRequest implements IReadOnlyRequest<Short> {
+        class CenterWheelRPMRequest extends DataRequest implements IReadOnlyRequest<Short>, IShortDataRequest {
             {
                 this.offset = 0x0266;
                 this.dataBuffer = new byte[BUFFER_LENGTH_SHORT];
             }
             @Override
-            public Short getValue() {
+            public short getAsShort() {
                 return getShort();
             }
         }
@@ -95,13 +96,13 @@ public class GearHelper {
      * @return Data request to get left wheel RPM.
      */
     public IDataRequest<Short> getLeftWheelRPM() {
-        class LeftWheelRPMRequest extends DataRequest implements IReadOnlyRequest<Short> {
+        class LeftWheelRPMRequest extends DataRequest implements IReadOnlyRequest<Short>, IShortDataRequest {
             {
                 this.offset = 0x0268;
                 this.dataBuffer = new byte[BUFFER_LENGTH_SHORT];
             }
             @Override
-            public Short getValue() {
+            public short getAsShort() {
                 return getShort();
             }
         }
@@ -114,13 +115,13 @@ public class GearHelper {
      * @return Data request to get right wheel RPM.
      */
     public IDataRequest<Short> getRightWheelRPM() {
-        class RightWheelRPMRequest extends DataRequest implements IReadOnlyRequest<Short> {
+        class RightWheelRPMRequest extends DataRequest implements IReadOnlyRequest<Short>, IShortDataRequest {
             {
                 this.offset = 0x026A;
                 this.dataBuffer = new byte[BUFFER_LENGTH_SHORT];
             }
             @Override
-            public Short getValue() {
+            public short getAsShort() {
                 return getShort();
             }
         }
@@ -12,10 +12,16 @@
  */
 package com.mouseviator.fsuipc.helpers.avionics;
 
-import com.mouseviator.fsuipc.datarequest.DataRequest;
 import static com.mouseviator.fsuipc.datarequest.DataRequest.BUFFER_LENGTH_DOUBLE;
+import com.mouseviator.fsuipc.datarequest.DataRequest;
+import com.mouseviator.fsuipc.datarequest.IByteDataRequest;
 import com.mouseviator.fsuipc.datarequest.IDataRequest;
+import com.mouseviator.fsuipc.datarequest.IDoubleDataRequest;
+import com.mouseviator.fsuipc.datarequest.IIntDataRequest;
 import com.mouseviator.fsuipc.datarequest.IReadOnlyRequest;
+import com.mouseviator.fsuipc.datarequest.StringValueCache;
+import com.mouseviator.fsuipc.datarequest.primitives.StringRequest;
+import java.nio.charset.Charset;
 
 /**
  * This class provides methods that return data requests to gather various data
@@ -35,7 +41,7 @@ public class GPSHelper {
      */
     public IDataRequest<Double> getAltitude(boolean bFeet) {
         if (!bFeet) {
-            class AltitudeRequest extends DataRequest implements IReadOnlyRequest<Double> {
+            class AltitudeRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
                 {
                     this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -43,13 +49,13 @@ public class GPSHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     return getDouble();
                 }
             }
             return new AltitudeRequest();
         } else {
-            class AltitudeRequest extends DataRequest implements IReadOnlyRequest<Double> {
+            class AltitudeRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
                 {
                     this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -57,7 +63,7 @@ public class GPSHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     double altitude = getDouble();
 
                     return altitude * 3.2808;
@@ -74,7 +80,7 @@ public class GPSHelper {
      * @return Data request to get GPS longitude in degrees.
      */
     public IDataRequest<Double> getLongitude() {
-        class LongitudeRequest extends DataRequest implements IReadOnlyRequest<Double> {
+        class LongitudeRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
             {
                 this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -82,7 +88,7 @@ public class GPSHelper {
             }
 
             @Override
-            public Double getValue() {
+            public double getAsDouble() {
                 return getDouble();
             }
         }
@@ -96,7 +102,7 @@ public class GPSHelper {
      * @return Data request to get GPS latitude in degrees.
      */
     public IDataRequest<Double> getLatitude() {
-        class LatitudeRequest extends DataRequest implements IReadOnlyRequest<Double> {
+        class LatitudeRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
             {
                 this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -104,7 +110,7 @@ public class GPSHelper {
             }
 
             @Override
-            public Double getValue() {
+            public double getAsDouble() {
                 return getDouble();
             }
         }
@@ -120,7 +126,7 @@ public class GPSHelper {
      */
     public IDataRequest<Double> getMagneticVariation(boolean bDegrees) {
         if (!bDegrees) {
-            class MagVarRequest extends DataRequest implements IReadOnlyRequest<Double> {
+            class MagVarRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
                 {
                     this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -128,7 +134,7 @@ public class GPSHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     return getDouble();
                 }
             }
@@ -136,7 +142,7 @@ public class GPSHelper {
 
         } else {
             //return in degrees
-            class MagVarRequest extends DataRequest implements IReadOnlyRequest<Double> {
+            class MagVarRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
                 {
                     this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -144,7 +150,7 @@ public class GPSHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     double magVar = getDouble();
 
                     return Math.toDegrees(magVar);
@@ -160,7 +166,7 @@ public class GPSHelper {
      * @return Data request to get GPS vertical speed.
      */
     public IDataRequest<Double> getVerticalSpeed() {
-        class VSRequest extends DataRequest implements IReadOnlyRequest<Double> {
+        class VSRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
             {
                 this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -168,7 +174,7 @@ public class GPSHelper {
             }
 
             @Override
-            public Double getValue() {
+            public double getAsDouble() {
                 return getDouble();
             }
         }
@@ -183,7 +189,7 @@ public class GPSHelper {
      */
     public IDataRequest<Double> getGroundSpeed(boolean bKnots) {
         if (!bKnots) {
-            class GroundSpeedRequest extends DataRequest implements IReadOnlyRequest<Double> {
+            class GroundSpeedRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
                 {
                     this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -191,13 +197,13 @@ public class GPSHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     return getDouble();
                 }
             }
             return new GroundSpeedRequest();
         } else {
-            class GroundSpeedRequest extends DataRequest implements IReadOnlyRequest<Double> {
+            class GroundSpeedRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
                 {
                     this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -205,7 +211,7 @@ public class GPSHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     double gs = getDouble();
 
                     return gs * 1.94384449;
@@ -225,7 +231,7 @@ public class GPSHelper {
     public IDataRequest<Double> getHeading(boolean bDegrees) {
         if (!bDegrees) {
             //return normally in radians
-            class HeadingRequest extends DataRequest implements IReadOnlyRequest<Double> {
+            class HeadingRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
                 {
                     this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -233,14 +239,14 @@ public class GPSHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     return getDouble();
                 }
             }
             return new HeadingRequest();
         } else {
             //return in degrees
-            class HeadingRequest extends DataRequest implements IReadOnlyRequest<Double> {
+            class HeadingRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
                 {
                     this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -248,7 +254,7 @@ public class GPSHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     double heading = getDouble();
 
                     return Math.toDegrees(heading);
@@ -269,7 +275,7 @@ public class GPSHelper {
     public IDataRequest<Double> getRequiredHeading(boolean bDegrees) {
         if (!bDegrees) {
             //return normally in radians
-            class RequiredHeadingRequest extends DataRequest implements IReadOnlyRequest<Double> {
+            class RequiredHeadingRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
                 {
                     this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -277,14 +283,14 @@ public class GPSHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     return getDouble();
                 }
             }
             return new RequiredHeadingRequest();
         } else {
             //return in degrees
-            class RequiredHeadingRequest extends DataRequest implements IReadOnlyRequest<Double> {
+            class RequiredHeadingRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
                 {
                     this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -292,7 +298,7 @@ public class GPSHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     double heading = getDouble();
 
                     return Math.toDegrees(heading);
@@ -313,7 +319,7 @@ public class GPSHelper {
     public IDataRequest<Double> getMagneticTrack(boolean bDegrees) {
         if (!bDegrees) {
             //return normally in radians
-            class MagneticTrackRequest extends DataRequest implements IReadOnlyRequest<Double> {
+            class MagneticTrackRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
                 {
                     this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -321,14 +327,14 @@ public class GPSHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     return getDouble();
                 }
             }
             return new MagneticTrackRequest();
         } else {
             //return in degrees
-            class MagneticTrackRequest extends DataRequest implements IReadOnlyRequest<Double> {
+            class MagneticTrackRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
                 {
                     this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -336,7 +342,7 @@ public class GPSHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     double mTrack = getDouble();
 
                     return Math.toDegrees(mTrack);
@@ -357,7 +363,7 @@ public class GPSHelper {
     public IDataRequest<Double> getDistanceToNextWaypoint(boolean bNauticalMiles) {
         //return normally in radians
         if (!bNauticalMiles) {
-            class DistToNextWaypointRequest extends DataRequest implements IReadOnlyRequest<Double> {
+            class DistToNextWaypointRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
                 {
                     this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -365,14 +371,14 @@ public class GPSHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     return getDouble();
                 }
             }
             return new DistToNextWaypointRequest();
         } else {
             //value in nautical miles
-            class DistToNextWaypointRequest extends DataRequest implements IReadOnlyRequest<Double> {
+            class DistToNextWaypointRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
                 {
                     this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -380,7 +386,7 @@ public class GPSHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     double dist = getDouble();
 
                     return dist * 0.00053996f;
@@ -400,7 +406,7 @@ public class GPSHelper {
     public IDataRequest<Double> getMagBearingToNextWaypoint(boolean bDegrees) {
         //return normally in radians
         if (!bDegrees) {
-            class MagBearingToNextWaypointRequest extends DataRequest implements IReadOnlyRequest<Double> {
+            class MagBearingToNextWaypointRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
                 {
                     this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -408,14 +414,14 @@ public class GPSHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     return getDouble();
                 }
             }
             return new MagBearingToNextWaypointRequest();
         } else {
             //value in nautical miles
-            class MagBearingToNextWaypointRequest extends DataRequest implements IReadOnlyRequest<Double> {
+            class MagBearingToNextWaypointRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
                 {
                     this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -423,7 +429,7 @@ public class GPSHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     double bearing = getDouble();
 
                     return Math.toDegrees(bearing);
@@ -443,7 +449,7 @@ public class GPSHelper {
     public IDataRequest<Double> getCrossTrackError(boolean bNauticalMiles) {
         //return normally in radians
         if (!bNauticalMiles) {
-            class CrossTrackErrorRequest extends DataRequest implements IReadOnlyRequest<Double> {
+            class CrossTrackErrorRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
                 {
                     this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -451,14 +457,14 @@ public class GPSHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     return getDouble();
                 }
             }
             return new CrossTrackErrorRequest();
         } else {
             //value in nautical miles
-            class CrossTrackErrorRequest extends DataRequest implements IReadOnlyRequest<Double> {
+            class CrossTrackErrorRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
                 {
                     this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -466,7 +472,7 @@ public class GPSHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     double dist = getDouble();
 
                     return dist * 0.00053996f;
@@ -486,7 +492,7 @@ public class GPSHelper {
     public IDataRequest<Double> getTrackError(boolean bDegrees) {
         //return normally in radians
         if (!bDegrees) {
-            class TrackErrorRequest extends DataRequest implements IReadOnlyRequest<Double> {
+            class TrackErrorRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
                 {
                     this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -494,14 +500,14 @@ public class GPSHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     return getDouble();
                 }
             }
             return new TrackErrorRequest();
         } else {
             //value in nautical miles
-            class TrackErrorRequest extends DataRequest implements IReadOnlyRequest<Double> {
+            class TrackErrorRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
                 {
                     this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -509,7 +515,7 @@ public class GPSHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     double track_error = getDouble();
 
                     return Math.toDegrees(track_error);
@@ -526,7 +532,7 @@ public class GPSHelper {
      * @return Data request to get GPS previous waypoint valid flag. Request value will be 0 if not valid.
      */
     public IDataRequest<Byte> getPreviousWaypointValidFlag() {
-        class PrevWaypointValidFlagRequest extends DataRequest implements IReadOnlyRequest<Byte> {
+        class PrevWaypointValidFlagRequest extends DataRequest implements IReadOnlyRequest<Byte>, IByteDataRequest {
 
             {
                 this.dataBuffer = new byte[BUFFER_LENGTH_BYTE];
@@ -534,7 +540,7 @@ public class GPSHelper {
             }
 
             @Override
-            public Byte getValue() {
+            public byte getAsByte() {
                 return this.dataBuffer[0];
             }
         }
@@ -549,6 +555,8 @@ public class GPSHelper {
      */
     public IDataRequest<String> getPreviousWaypointID() {
         class PrevWaypointIDRequest extends DataRequest implements IReadOnlyRequest<String> {
+            private final StringValueCache valueCache = new StringValueCache();
+
 
             {
                 this.dataBuffer = new byte[6];
@@ -557,7 +565,7 @@ public class GPSHelper {
 
             @Override
             public String getValue() {
-                return new String(this.dataBuffer).trim();
+                return valueCache.decode(this.dataBuffer, Charset.defaultCharset(), StringRequest.ValueRetrieveMethod.WHOLE_BUFFER);
             }
         }
         return new PrevWaypointIDRequest();
@@ -570,7 +578,7 @@ public class GPSHelper {
      * @return Data request to get GPS previous waypoint longitude in degrees.
      */
     public IDataRequest<Double> getPreviousWaypointLongitude() {
-        class LongitudeRequest extends DataRequest implements IReadOnlyRequest<Double> {
+        class LongitudeRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
             {
                 this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -578,7 +586,7 @@ public class GPSHelper {
             }
 
             @Override
-            public Double getValue() {
+            public double getAsDouble() {
                 return getDouble();
             }
         }
@@ -592,7 +600,7 @@ public class GPSHelper {
      * @return Data request to get GPS previous waypoint latitude in degrees.
      */
     public IDataRequest<Double> getPreviousWaypointLatitude() {
-        class LatitudeRequest extends DataRequest implements IReadOnlyRequest<Double> {
+        class LatitudeRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
             {
                 this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -600,7 +608,7 @@ public class GPSHelper {
             }
 
             @Override
-            public Double getValue() {
+            public double getAsDouble() {
                 return getDouble();
             }
         }
@@ -615,7 +623,7 @@ public class GPSHelper {
      */
     public IDataRequest<Double> getPreviousWaypointAircraftAltitude(boolean bFeet) {
         if (!bFeet) {
-            class AltitudeRequest extends DataRequest implements IReadOnlyRequest<Double> {
+            class AltitudeRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
                 {
                     this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -623,13 +631,13 @@ public class GPSHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     return getDouble();
                 }
             }
             return new AltitudeRequest();
         } else {
-            class AltitudeRequest extends DataRequest implements IReadOnlyRequest<Double> {
+            class AltitudeRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
                 {
                     this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -637,7 +645,7 @@ public class GPSHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     double altitude = getDouble();
 
                     return altitude * 3.2808;
@@ -655,6 +663,8 @@ public class GPSHelper {
      */
     public IDataRequest<String> getNextWaypointID() {
         class NextWaypointIDRequest extends DataRequest implements IReadOnlyRequest<String> {
+            private final StringValueCache valueCache = new StringValueCache();
+
 
             {
                 this.dataBuffer = new byte[6];
@@ -663,7 +673,7 @@ public class GPSHelper {
 
             @Override
             public String getValue() {
-                return new String(this.dataBuffer).trim();
+                return valueCache.decode(this.dataBuffer, Charset.defaultCharset(), StringRequest.ValueRetrieveMethod.WHOLE_BUFFER);
             }
         }
         return new NextWaypointIDRequest();
@@ -676,7 +686,7 @@ public class GPSHelper {
      * @return Data request to get GPS next waypoint longitude in degrees.
      */
     public IDataRequest<Double> getNextWaypointLongitude() {
-        class LongitudeRequest extends DataRequest implements IReadOnlyRequest<Double> {
+        class LongitudeRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
             {
                 this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -684,7 +694,7 @@ public class GPSHelper {
             }
 
             @Override
-            public Double getValue() {
+            public double getAsDouble() {
                 return getDouble();
             }
         }
@@ -698,7 +708,7 @@ public class GPSHelper {
      * @return Data request to get GPS next waypoint latitude in degrees.
      */
     public IDataRequest<Double> getNextWaypointLatitude() {
-        class LatitudeRequest extends DataRequest implements IReadOnlyRequest<Double> {
+        class LatitudeRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
             {
                 this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -706,7 +716,7 @@ public class GPSHelper {
             }
 
             @Override
-            public Double getValue() {
+            public double getAsDouble() {
                 return getDouble();
             }
         }
@@ -721,7 +731,7 @@ public class GPSHelper {
      */
     public IDataRequest<Double> getNextWaypointAircraftAltitude(boolean bFeet) {
         if (!bFeet) {
-            class AltitudeRequest extends DataRequest implements IReadOnlyRequest<Double> {
+            class AltitudeRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
                 {
                     this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -729,13 +739,13 @@ public class GPSHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     return getDouble();
                 }
             }
             return new AltitudeRequest();
         } else {
-            class AltitudeRequest extends DataRequest implements IReadOnlyRequest<Double> {
+            class AltitudeRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
                 {
                     this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -743,7 +753,7 @@ public class GPSHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     double altitude = getDouble();
 
                     return altitude * 3.2808;
@@ -759,13 +769,13 @@ public class GPSHelper {
      * @return Data request to get GPS next waypoint ETE in seconds.
      */
     public IDataRequest<Integer> getNextWaypointETE() {
-        class NextWaypointETERequest extends DataRequest implements IReadOnlyRequest<Integer> {
+        class NextWaypointETERequest extends DataRequest implements IReadOnlyRequest<Integer>, IIntDataRequest {
             {
                 this.dataBuffer = new byte[BUFFER_LENGTH_INT];
                 this.offset = 0x60E4;
             }
             @Override
-            public Integer getValue() {
+            public int getAsInt() {
                 return getInt();
             }            
         }
@@ -778,13 +788,13 @@ public class GPSHelper {
      * @return Data request to get GPS next waypoint ETA in seconds.
      */
     public IDataRequest<Integer> getNextWaypointETA() {
-        class NextWaypointETARequest extends DataRequest implements IReadOnlyRequest<Integer> {
+        class NextWaypointETARequest extends DataRequest implements IReadOnlyRequest<Integer>, IIntDataRequest {
             {
                 this.dataBuffer = new byte[BUFFER_LENGTH_INT];
                 this.offset = 0x60E8;
             }
             @Override
-            public Integer getValue() {
+            public int getAsInt() {
                 return getInt();
             }            
         }
@@ -800,7 +810,7 @@ public class GPSHelper {
     public IDataRequest<Double> getCourseToSet(boolean bDegrees) {
         //return normally in radians
         if (!bDegrees) {
-            class CourseToSetRequest extends DataRequest implements IReadOnlyRequest<Double> {
+            class CourseToSetRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
                 {
                     this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -808,14 +818,14 @@ public class GPSHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     return getDouble();
                 }
             }
             return new CourseToSetRequest();
         } else {
             //value in nautical miles
-            class CourseToSetRequest extends DataRequest implements IReadOnlyRequest<Double> {
+            class CourseToSetRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
                 {
                     this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -823,7 +833,7 @@ public class GPSHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     double course = getDouble();
 
                     return Math.toDegrees(course);
@@ -841,6 +851,8 @@ public class GPSHelper {
      */
     public IDataRequest<String> getDestinationAirportID() {
         class DestinationAirportIDRequest extends DataRequest implements IReadOnlyRequest<String> {
+            private final StringValueCache valueCache = new StringValueCache();
+
 
             {
                 this.dataBuffer = new byte[5];
@@ -849,7 +861,7 @@ public class GPSHelper {
 
             @Override
             public String getValue() {
-                return new String(this.dataBuffer).trim();
+                return valueCache.decode(this.dataBuffer, Charset.defaultCharset(), StringRequest.ValueRetrieveMethod.WHOLE_BUFFER);
             }
         }
         return new DestinationAirportIDRequest();
@@ -862,13 +874,13 @@ public class GPSHelper {
      * @return Data request to get GPS destination ETE in seconds.
      */
     public IDataRequest<Integer> getDestinationETE() {
-        class DestinationETERequest extends DataRequest implements IReadOnlyRequest<Integer> {
+        class DestinationETERequest extends DataRequest implements IReadOnlyRequest<Integer>, IIntDataRequest {
             {
                 this.dataBuffer = new byte[BUFFER_LENGTH_INT];
                 this.offset = 0x6198;
             }
             @Override
-            public Integer getValue() {
+            public int getAsInt() {
                 return getInt();
             }            
         }
@@ -882,13 +894,13 @@ public class GPSHelper {
      * @return Data request to get GPS destination ETA in seconds.
      */
     public IDataRequest<Integer> getDestinationETA() {
-        class DestinationETARequest extends DataRequest implements IReadOnlyRequest<Integer> {
+        class DestinationETARequest extends DataRequest implements IReadOnlyRequest<Integer>, IIntDataRequest {
             {
                 this.dataBuffer = new byte[BUFFER_LENGTH_INT];
                 this.offset = 0x619C;
             }
             @Override
-            public Integer getValue() {
+            public int getAsInt() {
                 return getInt();
             }            
         }
@@ -906,7 +918,7 @@ public class GPSHelper {
     public IDataRequest<Double> getRouteTotalDistance(boolean bNauticalMiles) {
         //return normally in radians
         if (!bNauticalMiles) {
-            class RouteTotalDistanceRequest extends DataRequest implements IReadOnlyRequest<Double> {
+            class RouteTotalDistanceRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
                 {
                     this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -914,14 +926,14 @@ public class GPSHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     return getDouble();
                 }
             }
             return new RouteTotalDistanceRequest();
         } else {
             //value in nautical miles
-            class RouteTotalDistanceRequest extends DataRequest implements IReadOnlyRequest<Double> {
+            class RouteTotalDistanceRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
                 {
                     this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -929,7 +941,7 @@ public class GPSHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     double dist = getDouble();
 
                     return dist * 0.00053996f;
@@ -950,7 +962,7 @@ public class GPSHelper {
     public IDataRequest<Double> getEstimatedFuelBurn(boolean bLitres) {
         //return normally in gallons
         if (!bLitres) {
-            class EstimatedFuelBurnRequest extends DataRequest implements IReadOnlyRequest<Double> {
+            class EstimatedFuelBurnRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
                 {
                     this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -958,14 +970,14 @@ public class GPSHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     return getDouble();
                 }
             }
             return new EstimatedFuelBurnRequest();
         } else {
             //value in litres
-            class EstimatedFuelBurnRequest extends DataRequest implements IReadOnlyRequest<Double> {
+            class EstimatedFuelBurnRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
                 {
                     this.dataBuffer = new byte[BUFFER_LENGTH_DOUBLE];
@@ -973,7 +985,7 @@ public class GPSHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     double gallons = getDouble();
 
                     return gallons * 3.78541178;
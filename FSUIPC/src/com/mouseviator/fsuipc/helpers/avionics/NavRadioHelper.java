@@ -12,12 +12,20 @@
  */
 package com.mouseviator.fsuipc.helpers.avionics;
 
-import com.mouseviator.fsuipc.datarequest.DataRequest;
 import static com.mouseviator.fsuipc.datarequest.DataRequest.BUFFER_LENGTH_INT;
 import static com.mouseviator.fsuipc.datarequest.DataRequest.BUFFER_LENGTH_SHORT;
+import com.mouseviator.fsuipc.datarequest.DataRequest;
+import com.mouseviator.fsuipc.datarequest.IByteDataRequest;
 import com.mouseviator.fsuipc.datarequest.IDataRequest;
+import com.mouseviator.fsuipc.datarequest.IDoubleDataRequest;
+import com.mouseviator.fsuipc.datarequest.IFloatDataRequest;
+import com.mouseviator.fsuipc.datarequest.IIntDataRequest;
 import com.mouseviator.fsuipc.datarequest.IReadOnlyRequest;
+import com.mouseviator.fsuipc.datarequest.IShortDataRequest;
+import com.mouseviator.fsuipc.datarequest.StringValueCache;
 import com.mouseviator.fsuipc.datarequest.primitives.ShortRequest;
+import com.mouseviator.fsuipc.datarequest.primitives.StringRequest;
+import java.nio.charset.Charset;
 import java.security.InvalidParameterException;
 import java.util.EnumSet;
 import java.util.HashMap;
@@ -65,7 +73,7 @@ public abstract class NavRadioHelper extends RadioHelper {
      * @return Data request to get Course deviation needle indication.
      */
     public IDataRequest<Float> getCDINeedle() {
-        class CDINeedleRequest extends DataRequest implements IReadOnlyRequest<Float> {
+        class CDINeedleRequest extends DataRequest implements IReadOnlyRequest<Float>, IFloatDataRequest {
 
             {
                 this.offset = CDINeedleOffset;
@@ -73,7 +81,7 @@ public abstract class NavRadioHelper extends RadioHelper {
             }
 
             @Override
-            public Float getValue() {
+            public float getAsFloat() {
                 return getFloat();
             }
         }
@@ -87,7 +95,7 @@ public abstract class NavRadioHelper extends RadioHelper {
      * @return Data request to get Glide slope needle indication.
      */
     public IDataRequest<Float> getGSINeedle() {
-        class GSINeedleRequest extends DataRequest implements IReadOnlyRequest<Float> {
+        class GSINeedleRequest extends DataRequest implements IReadOnlyRequest<Float>, IFloatDataRequest {
 
             {
                 this.offset = GSINeedleOffset;
@@ -95,7 +103,7 @@ public abstract class NavRadioHelper extends RadioHelper {
             }
 
             @Override
-            public Float getValue() {
+            public float getAsFloat() {
                 return getFloat();
             }
         }
@@ -112,7 +120,7 @@ public abstract class NavRadioHelper extends RadioHelper {
      * @return Data request to get localiser needle indication.
      */
     public IDataRequest<Byte> getLocaliserNeedle() {
-        class LocaliserNeedleRequest extends DataRequest implements IReadOnlyRequest<Byte> {
+        class LocaliserNeedleRequest extends DataRequest implements IReadOnlyRequest<Byte>, IByteDataRequest {
 
             {
                 this.offset = localiserNeedleOffset;
@@ -120,7 +128,7 @@ public abstract class NavRadioHelper extends RadioHelper {
             }
 
             @Override
-            public Byte getValue() {
+            public byte getAsByte() {
                 return this.dataBuffer[0];
             }
         }
@@ -135,7 +143,7 @@ public abstract class NavRadioHelper extends RadioHelper {
      * @return Data request to get signal strength.
      */
     public IDataRequest<Integer> getSignalStrength() {
-        class SignalStrengthRequest extends DataRequest implements IReadOnlyRequest<Integer> {
+        class SignalStrengthRequest extends DataRequest implements IReadOnlyRequest<Integer>, IIntDataRequest {
 
             {
                 this.offset = signalStrengthOffset;
@@ -143,7 +151,7 @@ public abstract class NavRadioHelper extends RadioHelper {
             }
 
             @Override
-            public Integer getValue() {
+            public int getAsInt() {
                 return getInt();
             }
         }
@@ -160,7 +168,7 @@ public abstract class NavRadioHelper extends RadioHelper {
      */
     public IDataRequest<Float> getRadial(boolean bDegrees) {
         if (bDegrees) {
-            class RadialRequest extends DataRequest implements IReadOnlyRequest<Float> {
+            class RadialRequest extends DataRequest implements IReadOnlyRequest<Float>, IFloatDataRequest {
 
                 {
                     this.offset = radialOffset;
@@ -168,7 +176,7 @@ public abstract class NavRadioHelper extends RadioHelper {
                 }
 
                 @Override
-                public Float getValue() {
+                public float getAsFloat() {
                     short value = getShort();
                     float radial = value * 360 / 65536.0f;
                     return radial;
@@ -176,7 +184,7 @@ public abstract class NavRadioHelper extends RadioHelper {
             }
             return new RadialRequest();
         } else {
-            class RadialRequest extends DataRequest implements IReadOnlyRequest<Float> {
+            class RadialRequest extends DataRequest implements IReadOnlyRequest<Float>, IFloatDataRequest {
 
                 {
                     this.offset = radialOffset;
@@ -184,7 +192,7 @@ public abstract class NavRadioHelper extends RadioHelper {
                 }
 
                 @Override
-                public Float getValue() {
+                public float getAsFloat() {
                     short value = getShort();
                     float radial = value * 360 / 65536.0f;
                     return (float) Math.toRadians(radial);
@@ -213,7 +221,7 @@ public abstract class NavRadioHelper extends RadioHelper {
      * @return Data request to get relative bearing to a VOR.
      */
     public IDataRequest<Short> getVORRelativeBearing() {
-        class VORRelativeBearingRequest extends DataRequest implements IReadOnlyRequest<Short> {
+        class VORRelativeBearingRequest extends DataRequest implements IReadOnlyRequest<Short>, IShortDataRequest {
 
             {
                 this.offset = VORrelativeBearingOffset;
@@ -221,7 +229,7 @@ public abstract class NavRadioHelper extends RadioHelper {
             }
 
             @Override
-            public Short getValue() {
+            public short getAsShort() {
                 return getShort();
             }
         }
@@ -237,7 +245,7 @@ public abstract class NavRadioHelper extends RadioHelper {
      * @return Data request to get To/From flag.
      */
     public IDataRequest<Byte> getToFromFlag() {
-        class ToFromFlagRequest extends DataRequest implements IReadOnlyRequest<Byte> {
+        class ToFromFlagRequest extends DataRequest implements IReadOnlyRequest<Byte>, IByteDataRequest {
 
             {
                 this.offset = ToFromFlagOffset;
@@ -245,7 +253,7 @@ public abstract class NavRadioHelper extends RadioHelper {
             }
 
             @Override
-            public Byte getValue() {
+            public byte getAsByte() {
                 return this.dataBuffer[0];
             }
         }
@@ -259,7 +267,7 @@ public abstract class NavRadioHelper extends RadioHelper {
      * @return Data request to get glide slope flag.
      */
     public IDataRequest<Byte> getGSFlag() {
-        class GSFlagRequest extends DataRequest implements IReadOnlyRequest<Byte> {
+        class GSFlagRequest extends DataRequest implements IReadOnlyRequest<Byte>, IByteDataRequest {
 
             {
                 this.offset = GSFlagOffset;
@@ -267,7 +275,7 @@ public abstract class NavRadioHelper extends RadioHelper {
             }
 
             @Override
-            public Byte getValue() {
+            public byte getAsByte() {
                 return this.dataBuffer[0];
             }
         }
@@ -285,7 +293,7 @@ public abstract class NavRadioHelper extends RadioHelper {
      * @return Data request to get back course flags.
      */
     public IDataRequest<Byte> getBackCourseFlags() {
-        class BackCourseFlagsRequest extends DataRequest implements IReadOnlyRequest<Byte> {
+        class BackCourseFlagsRequest extends DataRequest implements IReadOnlyRequest<Byte>, IByteDataRequest {
 
             {
                 this.offset = backCourseFlagOffset;
@@ -293,7 +301,7 @@ public abstract class NavRadioHelper extends RadioHelper {
             }
 
             @Override
-            public Byte getValue() {
+            public byte getAsByte() {
                 return this.dataBuffer[0];
             }
         }
@@ -312,7 +320,7 @@ public abstract class NavRadioHelper extends RadioHelper {
      */
     public IDataRequest<Float> getMagneticVariation(boolean bDegrees) {
         if (bDegrees) {
-            class MagVarRequest extends DataRequest implements IReadOnlyRequest<Float> {
+            class MagVarRequest extends DataRequest implements IReadOnlyRequest<Float>, IFloatDataRequest {
 
                 {
                     this.offset = MagVarOffset;
@@ -320,7 +328,7 @@ public abstract class NavRadioHelper extends RadioHelper {
                 }
 
                 @Override
-                public Float getValue() {
+                public float getAsFloat() {
                     short value = getShort();
                     float magVar = value * 360 / 65536.0f;
                     return magVar;
@@ -328,7 +336,7 @@ public abstract class NavRadioHelper extends RadioHelper {
             }
             return new MagVarRequest();
         } else {
-            class MagVarRequest extends DataRequest implements IReadOnlyRequest<Float> {
+            class MagVarRequest extends DataRequest implements IReadOnlyRequest<Float>, IFloatDataRequest {
 
                 {
                     this.offset = MagVarOffset;
@@ -336,7 +344,7 @@ public abstract class NavRadioHelper extends RadioHelper {
                 }
 
                 @Override
-                public Float getValue() {
+                public float getAsFloat() {
                     short value = getShort();
                     float magVar = value * 360 / 65536.0f;
                     return (float) Math.toRadians(magVar);
@@ -357,7 +365,7 @@ public abstract class NavRadioHelper extends RadioHelper {
      * @return Data request to get back course flags.
      */
     public IDataRequest<Byte> getCodeFlags() {
-        class CodeFlagsRequest extends DataRequest implements IReadOnlyRequest<Byte> {
+        class CodeFlagsRequest extends DataRequest implements IReadOnlyRequest<Byte>, IByteDataRequest {
 
             {
                 this.offset = codeFlagsOffset;
@@ -365,7 +373,7 @@ public abstract class NavRadioHelper extends RadioHelper {
             }
 
             @Override
-            public Byte getValue() {
+            public byte getAsByte() {
                 return this.dataBuffer[0];
             }
         }
@@ -380,8 +388,8 @@ public abstract class NavRadioHelper extends RadioHelper {
      *
      * @return Data request to get latitude of VOR or glide slope transmitter.
      */
-    public IDataRequest<Double> getLatitude1() {
-        class LatitudeRequest extends DataRequest implements IReadOnlyRequest<Double> {
+    public IDoubleDataRequest getLatitude1() {
+        class LatitudeRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
             {
                 this.offset = latitudeOffset1;
@@ -389,7 +397,7 @@ public abstract class NavRadioHelper extends RadioHelper {
             }
 
             @Override
-            public Double getValue() {
+            public double getAsDouble() {
                 int value = getInt();
 
                 double latitude = value * 90.0d / 10001750.0d;
@@ -409,8 +417,8 @@ public abstract class NavRadioHelper extends RadioHelper {
      *
      * @return Data request to get latitude of VOR or localiser transmitter.
      */
-    public IDataRequest<Double> getLatitude2() {
-        class LatitudeRequest extends DataRequest implements IReadOnlyRequest<Double> {
+    public IDoubleDataRequest getLatitude2() {
+        class LatitudeRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
             {
                 this.offset = latitudeOffset2;
@@ -418,7 +426,7 @@ public abstract class NavRadioHelper extends RadioHelper {
             }
 
             @Override
-            public Double getValue() {
+            public double getAsDouble() {
                 int value = getInt();
 
                 double latitude = value * 90.0d / 10001750.0d;
@@ -438,8 +446,8 @@ public abstract class NavRadioHelper extends RadioHelper {
      *
      * @return Data request to get latitude of VOR or glide slope transmitter.
      */
-    public IDataRequest<Double> getLongitude1() {
-        class LongitudeRequest extends DataRequest implements IReadOnlyRequest<Double> {
+    public IDoubleDataRequest getLongitude1() {
+        class LongitudeRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
             {
                 this.offset = longitudeOffset1;
@@ -447,7 +455,7 @@ public abstract class NavRadioHelper extends RadioHelper {
             }
 
             @Override
-            public Double getValue() {
+            public double getAsDouble() {
                 int value = getInt();
 
                 double longitude = value * 360.0d / (65536.0d * 65536.0d);
@@ -467,8 +475,8 @@ public abstract class NavRadioHelper extends RadioHelper {
      *
      * @return Data request to get longitude of VOR or localiser transmitter.
      */
-    public IDataRequest<Double> getLongitude2() {
-        class LongitudeRequest extends DataRequest implements IReadOnlyRequest<Double> {
+    public IDoubleDataRequest getLongitude2() {
+        class LongitudeRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
             {
                 this.offset = longitudeOffset2;
@@ -476,7 +484,7 @@ public abstract class NavRadioHelper extends RadioHelper {
             }
 
             @Override
-            public Double getValue() {
+            public double getAsDouble() {
                 int value = getInt();
 
                 double longitude = value * 360.0d / (65536.0d * 65536.0d);
@@ -497,9 +505,9 @@ public abstract class NavRadioHelper extends RadioHelper {
      * @param bFeet Whether to get result in meters or feet.
      * @return Data request to get elevation of VOR or glide slope transmitter.
      */
-    public IDataRequest<Double> getElevation1(boolean bFeet) {
+    public IDoubleDataRequest getElevation1(boolean bFeet) {
         if (!bFeet) {
-            class ElevationRequest extends DataRequest implements IReadOnlyRequest<Double> {
+            class ElevationRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
                 {
                     this.offset = elevationOffset1;
@@ -507,7 +515,7 @@ public abstract class NavRadioHelper extends RadioHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     int elevation = getInt();
                     return (double) elevation;
                 }
@@ -515,7 +523,7 @@ public abstract class NavRadioHelper extends RadioHelper {
             }
             return new ElevationRequest();
         } else {
-            class ElevationRequest extends DataRequest implements IReadOnlyRequest<Double> {
+            class ElevationRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
                 {
                     this.offset = elevationOffset1;
@@ -523,7 +531,7 @@ public abstract class NavRadioHelper extends RadioHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     int elevation = getInt();
                     return (double) (elevation * 3.2808d);
                 }
@@ -543,9 +551,9 @@ public abstract class NavRadioHelper extends RadioHelper {
      * @param bFeet Whether to get result in meters or feet.
      * @return Data request to get elevation of VOR or localiser transmitter.
      */
-    public IDataRequest<Double> getElevation2(boolean bFeet) {
+    public IDoubleDataRequest getElevation2(boolean bFeet) {
         if (!bFeet) {
-            class ElevationRequest extends DataRequest implements IReadOnlyRequest<Double> {
+            class ElevationRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
                 {
                     this.offset = elevationOffset2;
@@ -553,7 +561,7 @@ public abstract class NavRadioHelper extends RadioHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     int elevation = getInt();
                     return (double) elevation;
                 }
@@ -561,7 +569,7 @@ public abstract class NavRadioHelper extends RadioHelper {
             }
             return new ElevationRequest();
         } else {
-            class ElevationRequest extends DataRequest implements IReadOnlyRequest<Double> {
+            class ElevationRequest extends DataRequest implements IReadOnlyRequest<Double>, IDoubleDataRequest {
 
                 {
                     this.offset = elevationOffset2;
@@ -569,7 +577,7 @@ public abstract class NavRadioHelper extends RadioHelper {
                 }
 
                 @Override
-                public Double getValue() {
+                public double getAsDouble() {
                     int elevation = getInt();
                     return (double) (elevation * 3.2808d);
                 }
@@ -589,7 +597,7 @@ public abstract class NavRadioHelper extends RadioHelper {
      */
     public IDataRequest<Float> getILSGlideslopeInclination(boolean bDegrees) {
         if (bDegrees) {
-            class ILSGSInclinationRequest extends DataRequest implements IReadOnlyRequest<Float> {
+            class ILSGSInclinationRequest extends DataRequest implements IReadOnlyRequest<Float>, IFloatDataRequest {
 
                 {
                     this.offset = ilsGlideSlopeInclinationOffset;
@@ -597,7 +605,7 @@ public abstract class NavRadioHelper extends RadioHelper {
                 }
 
                 @Override
-                public Float getValue() {
+                public float getAsFloat() {
                     final short value = getShort();
                     float inclination = value * 360 / 65536.0f;
                     return inclination;
@@ -605,7 +613,7 @@ public abstract class NavRadioHelper extends RadioHelper {
             }
             return new ILSGSInclinationRequest();
         } else {
-            class ILSGSInclinationRequest extends DataRequest implements IReadOnlyRequest<Float> {
+            class ILSGSInclinationRequest extends DataRequest implements IReadOnlyRequest<Float>, IFloatDataRequest {
 
                 {
                     this.offset = ilsGlideSlopeInclinationOffset;
@@ -613,7 +621,7 @@ public abstract class NavRadioHelper extends RadioHelper {
                 }
 
                 @Override
-                public Float getValue() {
+                public float getAsFloat() {
                     final short value = getShort();
                     float inclination = value * 360 / 65536.0f;
                     return (float) Math.toRadians(inclination);
@@ -630,7 +638,7 @@ public abstract class NavRadioHelper extends RadioHelper {
      * @return Data request to get ILS localiser inverse runway heading.
      */
     public IDataRequest<Float> getILSLocaliserInverseRunwayHeading() {
-        class ILSLocInvRWHeadingRequest extends DataRequest implements IReadOnlyRequest<Float> {
+        class ILSLocInvRWHeadingRequest extends DataRequest implements IReadOnlyRequest<Float>, IFloatDataRequest {
 
             {
                 this.offset = ilsInverseRunwayHeadingOffset;
@@ -638,7 +646,7 @@ public abstract class NavRadioHelper extends RadioHelper {
             }
 
             @Override
-            public Float getValue() {
+            public float getAsFloat() {
                 final short value = getShort();
                 float invHeading = value * 360 / 65536.0f;
                 return invHeading;
@@ -653,13 +661,13 @@ public abstract class NavRadioHelper extends RadioHelper {
      * @return Data request to get DME distance.
      */
     public IDataRequest<Float> getDMEDistance() {
-        class DMEDistanceRequest extends DataRequest implements IReadOnlyRequest<Float> {
+        class DMEDistanceRequest extends DataRequest implements IReadOnlyRequest<Float>, IFloatDataRequest {
             {
                 this.offset = dmeDistanceOffset;
                 this.dataBuffer = new byte[BUFFER_LENGTH_SHORT];
             }
             @Override
-            public Float getValue() {
+            public float getAsFloat() {
                 final short value = getShort();
                 return value / 10.0f;
             }            
@@ -673,13 +681,13 @@ public abstract class NavRadioHelper extends RadioHelper {
      * @return Data request to get DME speed.
      */
     public IDataRequest<Float> getDMESpeed() {
-        class DMESpeedRequest extends DataRequest implements IReadOnlyRequest<Float> {
+        class DMESpeedRequest extends DataRequest implements IReadOnlyRequest<Float>, IFloatDataRequest {
             {
                 this.offset = dmeSpeedOffset;
                 this.dataBuffer = new byte[BUFFER_LENGTH_SHORT];
             }
             @Override
-            public Float getValue() {
+            public float getAsFloat() {
                 final short value = getShort();
                 return value / 10.0f;
             }            
@@ -693,13 +701,13 @@ public abstract class NavRadioHelper extends RadioHelper {
      * @return Data request to get DME time to station.
      */
     public IDataRequest<Float> getDMETimeToStation() {
-        class DMETimeToStationRequest extends DataRequest implements IReadOnlyRequest<Float> {
+        class DMETimeToStationRequest extends DataRequest implements IReadOnlyRequest<Float>, IFloatDataRequest {
             {
                 this.offset = dmeTimeToStationOffset;
                 this.dataBuffer = new byte[BUFFER_LENGTH_SHORT];
             }
             @Override
-            public Float getValue() {
+            public float getAsFloat() {
                 final short value = getShort();
                 return value / 10.0f;
             }            
@@ -714,13 +722,15 @@ public abstract class NavRadioHelper extends RadioHelper {
      */
     public IDataRequest<String> getName() {
         class NameRequest extends DataRequest implements IReadOnlyRequest<String> {
+            private final StringValueCache valueCache = new StringValueCache();
+
             {
                 this.offset = nameOffset;
                 this.dataBuffer = new byte[25];
             }
             @Override
             public String getValue() {
-                return new String(this.dataBuffer).trim();
+                return valueCache.decode(this.dataBuffer, Charset.defaultCharset(), StringRequest.ValueRetrieveMethod.WHOLE_BUFFER);
             }            
         }
         return new NameRequest();
@@ -733,13 +743,15 @@ public abstract class NavRadioHelper extends RadioHelper {
      */
     public IDataRequest<String> getIdentity() {
         class IdentityRequest extends DataRequest implements IReadOnlyRequest<String> {
+            private final StringValueCache valueCache = new StringValueCache();
+
             {
                 this.offset = identityOffset;
                 this.dataBuffer = new byte[6];
             }
             @Override
             public String getValue() {
-                return new String(this.dataBuffer).trim();
+                return valueCache.decode(this.dataBuffer, Charset.defaultCharset(), StringRequest.ValueRetrieveMethod.WHOLE_BUFFER);
             }            
         }
         return new IdentityRequest();
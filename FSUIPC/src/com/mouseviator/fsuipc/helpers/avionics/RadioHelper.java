@@ -14,6 +14,7 @@ package com.mouseviator.fsuipc.helpers.avionics;
 
 import com.mouseviator.fsuipc.datarequest.DataRequest;
 import static com.mouseviator.fsuipc.datarequest.DataRequest.BUFFER_LENGTH_SHORT;
+import com.mouseviator.fsuipc.datarequest.ICommandRequest;
 import com.mouseviator.fsuipc.datarequest.IDataRequest;
 import com.mouseviator.fsuipc.datarequest.IWriteOnlyRequest;
 import com.mouseviator.fsuipc.datarequest.primitives.FloatRequest;
@@ -47,12 +48,12 @@ public abstract class RadioHelper {
             }
 
             @Override
-            public void setValue(Float value) {
+            public void setAsFloat(float value) {
                 putShort(encodeFrequency(value));
             }
 
             @Override
-            public Float getValue() {
+            public float getAsFloat() {
                 return decodeFrequency(getShort());
             }
         };
@@ -74,12 +75,12 @@ public abstract class RadioHelper {
             }
 
             @Override
-            public void setValue(Float value) {
+            public void setAsFloat(float value) {
                 putShort(encodeFrequency(value));
             }
 
             @Override
-            public Float getValue() {
+            public float getAsFloat() {
                 return decodeFrequency(getShort());
             }
         };
@@ -91,7 +92,7 @@ public abstract class RadioHelper {
      * @return Data request to toggle between active and standby frequency.
      */
     public IDataRequest<Byte> swapFrequencies() {
-        class SwapFreqiencyRequest extends DataRequest implements IWriteOnlyRequest<Byte> {
+        class SwapFreqiencyRequest extends DataRequest implements IWriteOnlyRequest<Byte>, ICommandRequest {
             {
                 this.offset = 0x3123;
                 this.dataBuffer = new byte[BUFFER_LENGTH_BYTE];
@@ -0,0 +1,248 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc.transport;
+
+import com.mouseviator.fsuipc.FSUIPC;
+import com.mouseviator.fsuipc.FSUIPCWrapper;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This is the default {@link IFSUIPCTransport} implementation. It just calls the native functions of
+ * {@link FSUIPCWrapper}, so the native library must be loaded (see {@link FSUIPC#load() }). Since the native functions
+ * are static, there is only one instance of this class, use {@link #getInstance() } to get it.
+ *
+ * <p>
+ * The native library can be an older version, without the functions added later. If the
+ * {@link FSUIPCWrapper#readDirect(int, int, java.nio.ByteBuffer, int) } or {@link FSUIPCWrapper#processBatch(int[], int[], byte[], byte[])
+ * } functions are missing, they are done by the functions the library has - the read goes into a byte array copied into
+ * the buffer after process, the batch is stored request by request (the same as the default implementation of
+ * {@link IFSUIPCTransport#processBatch(int[], int[], byte[], byte[]) }). If {@link FSUIPCWrapper#prepare(int[], int[], byte[], java.nio.ByteBuffer)
+ * } is missing, no set is prepared.</p>
+ *
+ * <p>
+ * The native functions are synchronized (see {@link FSUIPCWrapper}), so a status query would wait for the running
+ * process. The sim, FSUIPC and library versions change only when the connection is opened or closed, so they are
+ * cached then and {@link #getFSVersion() }, {@link #getVersion() } and {@link #getLibVersion() } do not call the native
+ * library.</p>
+ *
+ * @author Mouseviator
+ */
+public class FSUIPCWrapperTransport implements IFSUIPCTransport {
+
+    private static final Logger logger = Logger.getLogger(FSUIPCWrapperTransport.class.getName());
+
+    private static final FSUIPCWrapperTransport INSTANCE = new FSUIPCWrapperTransport();
+
+    /**
+     * Whether the native library has the {@link FSUIPCWrapper#readDirect(int, int, java.nio.ByteBuffer, int) } function.
+     */
+    private volatile boolean readDirectSupported = true;
+
+    /**
+     * Whether the native library has the {@link FSUIPCWrapper#processBatch(int[], int[], byte[], byte[]) } function.
+     */
+    private volatile boolean batchSupported = true;
+
+    /**
+     * Whether the native library has the {@link FSUIPCWrapper#prepare(int[], int[], byte[], java.nio.ByteBuffer) }
+     * function.
+     */
+    private volatile boolean preparedSupported = true;
+
+    /**
+     * The reads into direct byte buffers stored by the byte array functions, because the native library does not have
+     * the {@link FSUIPCWrapper#readDirect(int, int, java.nio.ByteBuffer, int) } function. Their data are copied into the
+     * buffers after process. Guarded by the {@link #getProcessLock() }, the same as the stored requests.
+     */
+    private final List<DirectRead> arDirectReads = new ArrayList<>();
+
+    /**
+     * The sim version, cached when the connection is opened.
+     */
+    private volatile int fsVersion = 0;
+
+    /**
+     * The FSUIPC version, cached when the connection is opened.
+     */
+    private volatile int version = 0;
+
+    /**
+     * The FSUIPC library version, cached when the connection is opened or on the first query.
+     */
+    private volatile int libVersion = 0;
+
+    /**
+     * @return Instance of FSUIPCWrapperTransport.
+     */
+    public static FSUIPCWrapperTransport getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Private constructor, use {@link #getInstance() }.
+     */
+    private FSUIPCWrapperTransport() {
+    }
+
+    @Override
+    public int open(int aFlightSim) {
+        final int iRet = FSUIPCWrapper.open(aFlightSim);
+        if (iRet != 0) {
+            fsVersion = FSUIPCWrapper.getFSVersion();
+            version = FSUIPCWrapper.getVersion();
+            libVersion = FSUIPCWrapper.getLibVersion();
+        }
+        return iRet;
+    }
+
+    @Override
+    public void close() {
+        FSUIPCWrapper.close();
+        arDirectReads.clear();
+        fsVersion = 0;
+        version = 0;
+    }
+
+    @Override
+    public int read(int aOffset, int aSize, byte[] aData) {
+        return FSUIPCWrapper.read(aOffset, aSize, aData);
+    }
+
+    @Override
+    public int readDirect(int aOffset, int aSize, ByteBuffer aBuffer, int aBufferOffset) {
+        if (readDirectSupported) {
+            try {
+                return FSUIPCWrapper.readDirect(aOffset, aSize, aBuffer, aBufferOffset);
+            } catch (UnsatisfiedLinkError ex) {
+                readDirectSupported = false;
+                logger.log(Level.WARNING, "The native library does not support direct reads, will read into byte arrays instead.", ex);
+            }
+        }
+
+        final byte[] data = new byte[aSize];
+        final int iRet = FSUIPCWrapper.read(aOffset, aSize, data);
+        if (iRet != 0) {
+            arDirectReads.add(new DirectRead(data, aBuffer, aBufferOffset));
+        }
+        return iRet;
+    }
+
+    @Override
+    public int write(int aOffset, int aSize, byte[] aData) {
+        return FSUIPCWrapper.write(aOffset, aSize, aData);
+    }
+
+    @Override
+    public int process() {
+        final int iRet = FSUIPCWrapper.process();
+        if (!arDirectReads.isEmpty()) {
+            if (iRet != 0) {
+                arDirectReads.forEach(DirectRead::copy);
+            }
+            arDirectReads.clear();
+        }
+        return iRet;
+    }
+
+    @Override
+    public int processBatch(int[] aOffsets, int[] aSizes, byte[] aTypes, byte[] aPool) {
+        if (batchSupported) {
+            try {
+                return FSUIPCWrapper.processBatch(aOffsets, aSizes, aTypes, aPool);
+            } catch (UnsatisfiedLinkError ex) {
+                batchSupported = false;
+                logger.log(Level.WARNING, "The native library does not support batch processing, will store the requests one by one instead.", ex);
+            }
+        }
+        return IFSUIPCTransport.super.processBatch(aOffsets, aSizes, aTypes, aPool);
+    }
+
+    @Override
+    public int prepare(int[] aOffsets, int[] aSizes, byte[] aTypes, ByteBuffer aPool) {
+        if (preparedSupported) {
+            try {
+                return FSUIPCWrapper.prepare(aOffsets, aSizes, aTypes, aPool);
+            } catch (UnsatisfiedLinkError ex) {
+                preparedSupported = false;
+                logger.log(Level.WARNING, "The native library does not support prepared sets, will process the requests the usual way.", ex);
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public int processPrepared(int aHandle) {
+        return FSUIPCWrapper.processPrepared(aHandle);
+    }
+
+    @Override
+    public int processPrepared(int aHandle, long[] aChanged) {
+        return FSUIPCWrapper.processPrepared(aHandle, aChanged);
+    }
+
+    @Override
+    public void releasePrepared(int aHandle) {
+        FSUIPCWrapper.releasePrepared(aHandle);
+    }
+
+    @Override
+    public int getResult() {
+        return FSUIPCWrapper.getResult();
+    }
+
+    @Override
+    public int getFSVersion() {
+        return fsVersion;
+    }
+
+    @Override
+    public int getVersion() {
+        return version;
+    }
+
+    @Override
+    public int getLibVersion() {
+        //the library version is compiled into the native library, so it is known before the connection is opened too
+        if (libVersion == 0) {
+            libVersion = FSUIPCWrapper.getLibVersion();
+        }
+        return libVersion;
+    }
+
+    /**
+     * A read into direct byte buffer done by reading into a byte array.
+     */
+    private static final class DirectRead {
+
+        private final byte[] data;
+        private final ByteBuffer buffer;
+        private final int bufferOffset;
+
+        DirectRead(byte[] data, ByteBuffer buffer, int bufferOffset) {
+            this.data = data;
+            this.buffer = buffer;
+            this.bufferOffset = bufferOffset;
+        }
+
+        /**
+         * Copies the read data into the buffer.
+         */
+        void copy() {
+            buffer.put(bufferOffset, data, 0, data.length);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc.transport;
+
+import com.mouseviator.fsuipc.FSUIPC;
+import com.mouseviator.fsuipc.FSUIPCWrapper;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * This interface defines the low level functions the {@link FSUIPC} class uses to exchange data with FSUIPC. The
+ * functions mirror the ones of {@link FSUIPCWrapper} - store read/write requests, then process them all at once. The
+ * default implementation is {@link FSUIPCWrapperTransport}, which just calls the {@link FSUIPCWrapper} native
+ * functions. Use {@link FSUIPC#setTransport(com.mouseviator.fsuipc.transport.IFSUIPCTransport) } to use another one,
+ * for example the {@link SimulatedOffsetSpace}.
+ *
+ * @author Mouseviator
+ */
+public interface IFSUIPCTransport {
+
+    /**
+     * Connect to FS.
+     *
+     * @param aFlightSim Version of flight simulator to try to connect to.
+     * @return False (0) if connection failed. True (non-zero) if connection opened.
+     */
+    public int open(int aFlightSim);
+
+    /**
+     * Close the connection to FSUIPC.
+     */
+    public void close();
+
+    /**
+     * Stores read request to read data from flight simulator. The data will be read into <b>aData</b> when the
+     * {@link #process() } is called.
+     *
+     * @param aOffset An FSUIPC offset to read data from.
+     * @param aSize A size of the data to read (in bytes).
+     * @param aData A buffer to store the read data into.
+     * @return Returns True (request successfully saved), or False (failed to save request). If request failed, we can
+     * get last error code by {@link #getResult() }
+     */
+    public int read(int aOffset, int aSize, byte[] aData);
+
+    /**
+     * Stores read request to read data from flight simulator directly into given direct byte buffer. The data will be
+     * written to the buffer, starting at <b>aBufferOffset</b>, when the {@link #process() } is called.
+     *
+     * @param aOffset An FSUIPC offset to read data from.
+     * @param aSize A size of the data to read (in bytes).
+     * @param aBuffer A direct byte buffer to store the read data into.
+     * @param aBufferOffset The position within the buffer to store the data at.
+     * @return Returns True (request successfully saved), or False (failed to save request). If request failed, we can
+     * get last error code by {@link #getResult() }
+     */
+    public int readDirect(int aOffset, int aSize, ByteBuffer aBuffer, int aBufferOffset);
+
+    /**
+     * Stores write request to write data to flight simulator.
+     *
+     * @param aOffset An FSUIPC offset to write data to.
+     * @param aSize A size of the data to write (in bytes).
+     * @param aData A data to write.
+     * @return Returns True (request successfully saved), or False (failed to save request). If request failed, we can
+     * get last error code by {@link #getResult() }
+     */
+    public int write(int aOffset, int aSize, byte[] aData);
+
+    /**
+     * Process all stored read/write requests.
+     *
+     * @return True if processing succeeded, False otherwise. In case of failure, get the last result by {@link #getResult()
+     * }.
+     */
+    public int process();
+
+    /**
+     * Stores a whole batch of read/write requests and processes them. See
+     * {@link FSUIPCWrapper#processBatch(int[], int[], byte[], byte[]) } for the layout of the arrays.
+     *
+     * <p>
+     * The default implementation calls {@link #read(int, int, byte[]) } and {@link #write(int, int, byte[]) } for every
+     * request and then {@link #process() }, so it brings no speed up. Transports that can do better, such as
+     * {@link FSUIPCWrapperTransport} (one JNI call for the whole batch), override it. If storing any of the requests
+     * fails, the requests stored so far are still processed, the same as the native function does, so they do not wait
+     * for the next, unrelated process call. The last result is then the one of that process call.</p>
+     *
+     * @param aOffsets FSUIPC offsets of the requests.
+     * @param aSizes Sizes of the requests (in bytes).
+     * @param aTypes Types of the requests, {@link FSUIPCWrapper#BATCH_READ} or {@link FSUIPCWrapper#BATCH_WRITE}.
+     * @param aPool The data of all the requests, one after another.
+     * @return Non zero value if all the requests were stored and processed, 0 otherwise. In case of failure, get the
+     * last result by {@link #getResult() }.
+     */
+    public default int processBatch(int[] aOffsets, int[] aSizes, byte[] aTypes, byte[] aPool) {
+        final byte[][] arData = new byte[aOffsets.length][];
+        int poolPos = 0;
+        int storedCount = aOffsets.length;
+
+        for (int i = 0; i < aOffsets.length; i++) {
+            arData[i] = Arrays.copyOfRange(aPool, poolPos, poolPos + aSizes[i]);
+            final int iRet = aTypes[i] == FSUIPCWrapper.BATCH_WRITE
+                    ? write(aOffsets[i], aSizes[i], arData[i])
+                    : read(aOffsets[i], aSizes[i], arData[i]);
+            if (iRet == 0) {
+                storedCount = i;
+                break;
+            }
+            poolPos += aSizes[i];
+        }
+
+        if (process() == 0) {
+            return 0;
+        }
+
+        //copy the read data of the stored requests into the pool
+        poolPos = 0;
+        for (int i = 0; i < storedCount; i++) {
+            if (aTypes[i] != FSUIPCWrapper.BATCH_WRITE) {
+                System.arraycopy(arData[i], 0, aPool, poolPos, aSizes[i]);
+            }
+            poolPos += aSizes[i];
+        }
+        return storedCount == aOffsets.length ? 1 : 0;
+    }
+
+    /**
+     * Registers a set of read/write requests, so that it can be processed again and again by
+     * {@link #processPrepared(int) }. See {@link FSUIPCWrapper#prepare(int[], int[], byte[], java.nio.ByteBuffer) } for
+     * the layout of the arrays.
+     *
+     * <p>
+     * The default implementation does not support prepared sets and always returns 0. Transports that can keep the
+     * requests, such as {@link FSUIPCWrapperTransport}, override it together with {@link #processPrepared(int) } and
+     * {@link #releasePrepared(int) }.</p>
+     *
+     * @param aOffsets FSUIPC offsets of the requests.
+     * @param aSizes Sizes of the requests (in bytes).
+     * @param aTypes Types of the requests, {@link FSUIPCWrapper#BATCH_READ} or {@link FSUIPCWrapper#BATCH_WRITE}.
+     * @param aPool A direct byte buffer for the data of all the requests.
+     * @return The handle of the prepared set (non-zero), or 0 if the set was not prepared.
+     */
+    public default int prepare(int[] aOffsets, int[] aSizes, byte[] aTypes, ByteBuffer aPool) {
+        return 0;
+    }
+
+    /**
+     * Stores all the requests of prepared set and processes them, see {@link #prepare(int[], int[], byte[], java.nio.ByteBuffer)
+     * }.
+     *
+     * @param aHandle The handle of prepared set.
+     * @return True if all the requests were stored and processed, False otherwise. In case of failure, get the last
+     * result by {@link #getResult() }.
+     */
+    public default int processPrepared(int aHandle) {
+        return 0;
+    }
+
+    /**
+     * Stores all the requests of prepared set and processes them, then sets the bits of the read requests that changed
+     * their data since the previous call. See {@link FSUIPCWrapper#processPrepared(int, long[]) }.
+     *
+     * <p>
+     * The default implementation calls {@link #processPrepared(int) } and sets all the bits, as if all the requests
+     * changed.</p>
+     *
+     * @param aHandle The handle of prepared set.
+     * @param aChanged The array for the changed bits.
+     * @return True if all the requests were stored and processed, False otherwise. In case of failure, get the last
+     * result by {@link #getResult() }.
+     */
+    public default int processPrepared(int aHandle, long[] aChanged) {
+        final int iRet = processPrepared(aHandle);
+        if (iRet != 0) {
+            Arrays.fill(aChanged, -1L);
+        }
+        return iRet;
+    }
+
+    /**
+     * Releases prepared set, see {@link #prepare(int[], int[], byte[], java.nio.ByteBuffer) }.
+     *
+     * @param aHandle The handle of prepared set.
+     */
+    public default void releasePrepared(int aHandle) {
+    }
+
+    /**
+     * Returns the lock to hold while storing the requests and processing them, so that the requests of another thread
+     * are not processed with them. See {@link FSUIPCWrapper#getProcessLock() }.
+     *
+     * <p>
+     * The default implementation returns {@link FSUIPCWrapper#getProcessLock() }.</p>
+     *
+     * @return The lock guarding the store/process sequence.
+     */
+    public default Lock getProcessLock() {
+        return FSUIPCWrapper.getProcessLock();
+    }
+
+    /**
+     * Returns the last result code of the calling thread. All the known values are defined within
+     * {@link FSUIPCWrapper.FSUIPCResult }.
+     *
+     * @return Integer value representing the last result.
+     */
+    public int getResult();
+
+    /**
+     * Returns the version of the simulator the transport is connected to.
+     *
+     * @return Integer value, should match one of the {@link FSUIPCWrapper.FSUIPCSimVersion}.
+     */
+    public int getFSVersion();
+
+    /**
+     * Returns the FSUIPC version.
+     *
+     * @return Integer value. HIWORD is 1000 x Version Number, LOWORD is build letter, with a = 1 etc.
+     */
+    public int getVersion();
+
+    /**
+     * Returns the FSUIPC library version.
+     *
+     * @return Integer value. HIWORD is 1000 x version, LOWORD is build letter, a = 1 etc.
+     */
+    public int getLibVersion();
+}
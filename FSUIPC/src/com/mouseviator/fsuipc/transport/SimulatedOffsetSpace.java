@@ -0,0 +1,613 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc.transport;
+
+import com.mouseviator.fsuipc.FSUIPC;
+import com.mouseviator.fsuipc.FSUIPCWrapper;
+import java.nio.ByteBuffer;
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This is pure Java {@link IFSUIPCTransport} implementation, that does not need the native library nor the simulator.
+ * It holds the FSUIPC offset space as a byte array (64 KB by default) in memory. Read requests read from it and write
+ * requests write to it when {@link #process() } is called, the same way FSUIPC would do. The content of the offset
+ * space can be set or checked by {@link #poke(int, byte[]) } and {@link #peek(int, int) }, so that it can act as the
+ * simulator.
+ *
+ * <p>
+ * To make it closer to the real thing, the {@link #process() } can take some time - see
+ * {@link #setLatency(long, long) }, and the size of all the requests stored between two process calls is limited the
+ * same way as it is in FSUIPC library (see {@link #setIPCBufferSize(int) }).</p>
+ *
+ * <p>
+ * The intended usage is to test and benchmark the {@link FSUIPC} class (request scheduling, listeners...) on machines
+ * without the simulator:</p>
+ *
+ * <pre><code>
+ *  SimulatedOffsetSpace offsetSpace = new SimulatedOffsetSpace();
+ *  offsetSpace.setLatency(2_000_000, 500_000);
+ *
+ *  FSUIPC fsuipc = FSUIPC.getInstance();
+ *  fsuipc.setTransport(offsetSpace);
+ *  fsuipc.connect(FSUIPCWrapper.FSUIPCSimVersion.SIM_ANY);
+ * </code></pre>
+ *
+ * @author Mouseviator
+ */
+public class SimulatedOffsetSpace implements IFSUIPCTransport {
+
+    /**
+     * The default size of the offset space in bytes.
+     */
+    public static final int DEFAULT_SIZE = 0x10000;
+
+    /**
+     * The default size of the memory for requests stored between two process calls. The same as in FSUIPC library.
+     */
+    public static final int DEFAULT_IPC_BUFFER_SIZE = 0x7F00;
+
+    /**
+     * The size of the header of every request stored in the IPC buffer.
+     */
+    public static final int REQUEST_HEADER_SIZE = 16;
+
+    /**
+     * The offset space.
+     */
+    private final byte[] image;
+
+    /**
+     * Requests stored since the last process call.
+     */
+    private final List<PendingRequest> arPendingRequests = new ArrayList<>();
+
+    /**
+     * Prepared request sets by their handles.
+     */
+    private final Map<Integer, PreparedSet> mapPreparedSets = new HashMap<>();
+
+    private FSUIPCWrapper.FSUIPCSimVersion simVersion = FSUIPCWrapper.FSUIPCSimVersion.SIM_P3D64;
+    private int version = 0x70000000;
+    private int libVersion = 2002;
+    private int ipcBufferSize = DEFAULT_IPC_BUFFER_SIZE;
+    private int ipcBufferUsed = 0;
+    private long latency = 0;
+    private long latencyJitter = 0;
+    private boolean open = false;
+    /**
+     * The last result, kept for every calling thread, the same way as the native library does.
+     */
+    private final ThreadLocal<Integer> result = ThreadLocal.withInitial(() -> FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_OK.getValue());
+    private final ReentrantLock processLock = new ReentrantLock();
+    private long processCount = 0;
+    private int lastProcessRequestCount = 0;
+    private int nextPreparedHandle = 1;
+
+    /**
+     * Creates new simulated offset space of {@link #DEFAULT_SIZE}.
+     */
+    public SimulatedOffsetSpace() {
+        this(DEFAULT_SIZE);
+    }
+
+    /**
+     * Creates new simulated offset space of given size.
+     *
+     * @param size The size of the offset space in bytes.
+     * @throws InvalidParameterException If size is less than 1.
+     */
+    public SimulatedOffsetSpace(int size) throws InvalidParameterException {
+        if (size < 1) {
+            throw new InvalidParameterException("Offset space size must be positive!");
+        }
+        this.image = new byte[size];
+    }
+
+    @Override
+    public synchronized int open(int aFlightSim) {
+        if (open) {
+            result.set(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_OPEN.getValue());
+            return 0;
+        }
+        if (aFlightSim != FSUIPCWrapper.FSUIPCSimVersion.SIM_ANY.getValue() && aFlightSim != simVersion.getValue()) {
+            result.set(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_WRONGFS.getValue());
+            return 0;
+        }
+        open = true;
+        result.set(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_OK.getValue());
+        return 1;
+    }
+
+    @Override
+    public synchronized void close() {
+        open = false;
+        arPendingRequests.clear();
+        mapPreparedSets.clear();
+        ipcBufferUsed = 0;
+    }
+
+    @Override
+    public synchronized int read(int aOffset, int aSize, byte[] aData) {
+        if (!checkRequest(aOffset, aSize, aData == null ? 0 : aData.length)) {
+            return 0;
+        }
+        arPendingRequests.add(new PendingRequest(aOffset, aSize, aData, 0, false));
+        return 1;
+    }
+
+    @Override
+    public synchronized int readDirect(int aOffset, int aSize, ByteBuffer aBuffer, int aBufferOffset) {
+        //the same checks the native library does
+        if (open && (aBuffer == null || !aBuffer.isDirect() || aBufferOffset < 0 || aBufferOffset > aBuffer.capacity() - aSize)) {
+            result.set(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_DATA.getValue());
+            return 0;
+        }
+        if (!checkRequest(aOffset, aSize, aSize)) {
+            return 0;
+        }
+        arPendingRequests.add(new PendingRequest(aOffset, aSize, aBuffer, aBufferOffset));
+        return 1;
+    }
+
+    @Override
+    public synchronized int write(int aOffset, int aSize, byte[] aData) {
+        if (!checkRequest(aOffset, aSize, aData == null ? 0 : aData.length)) {
+            return 0;
+        }
+        //FSUIPC copies the written data when the request is stored, so do we
+        final byte[] data = new byte[aSize];
+        System.arraycopy(aData, 0, data, 0, aSize);
+        arPendingRequests.add(new PendingRequest(aOffset, aSize, data, 0, true));
+        return 1;
+    }
+
+    /**
+     * Checks whether the request can be stored, sets the result if not.
+     */
+    private boolean checkRequest(int aOffset, int aSize, int dataLength) {
+        if (!open) {
+            result.set(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_NOTOPEN.getValue());
+            return false;
+        }
+        if (aSize < 1 || aSize > dataLength || aOffset < 0 || aOffset > image.length - aSize) {
+            result.set(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_DATA.getValue());
+            return false;
+        }
+        if (ipcBufferUsed + REQUEST_HEADER_SIZE + aSize > ipcBufferSize) {
+            result.set(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_SIZE.getValue());
+            return false;
+        }
+        ipcBufferUsed += REQUEST_HEADER_SIZE + aSize;
+        result.set(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_OK.getValue());
+        return true;
+    }
+
+    @Override
+    public int processBatch(int[] aOffsets, int[] aSizes, byte[] aTypes, byte[] aPool) {
+        int storeResult = FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_OK.getValue();
+        synchronized (this) {
+            if (aOffsets.length != aSizes.length || aOffsets.length != aTypes.length) {
+                result.set(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_DATA.getValue());
+                return 0;
+            }
+            int poolPos = 0;
+            for (int i = 0; i < aOffsets.length; i++) {
+                if (!checkRequest(aOffsets[i], aSizes[i], aPool.length - poolPos)) {
+                    storeResult = result.get();
+                    break;
+                }
+                if (aTypes[i] == FSUIPCWrapper.BATCH_WRITE) {
+                    final byte[] data = new byte[aSizes[i]];
+                    System.arraycopy(aPool, poolPos, data, 0, aSizes[i]);
+                    arPendingRequests.add(new PendingRequest(aOffsets[i], aSizes[i], data, 0, true));
+                } else {
+                    //read right into the pool
+                    arPendingRequests.add(new PendingRequest(aOffsets[i], aSizes[i], aPool, poolPos, false));
+                }
+                poolPos += aSizes[i];
+            }
+        }
+
+        return processStored(storeResult);
+    }
+
+    @Override
+    public synchronized int prepare(int[] aOffsets, int[] aSizes, byte[] aTypes, ByteBuffer aPool) {
+        //the same checks the native library does
+        if (aOffsets == null || aSizes == null || aTypes == null || aPool == null || !aPool.isDirect() || aOffsets.length == 0
+                || aOffsets.length != aSizes.length || aOffsets.length != aTypes.length) {
+            result.set(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_DATA.getValue());
+            return 0;
+        }
+        long poolSize = 0;
+        for (int size : aSizes) {
+            if (size < 1) {
+                result.set(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_DATA.getValue());
+                return 0;
+            }
+            poolSize += size;
+        }
+        if (poolSize > aPool.capacity()) {
+            result.set(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_DATA.getValue());
+            return 0;
+        }
+
+        final int handle = nextPreparedHandle++;
+        if (nextPreparedHandle <= 0) {
+            nextPreparedHandle = 1;
+        }
+        mapPreparedSets.put(handle, new PreparedSet(aOffsets.clone(), aSizes.clone(), aTypes.clone(), aPool));
+        return handle;
+    }
+
+    @Override
+    public int processPrepared(int aHandle) {
+        int storeResult = FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_OK.getValue();
+        synchronized (this) {
+            final PreparedSet preparedSet = mapPreparedSets.get(aHandle);
+            if (preparedSet == null) {
+                result.set(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_DATA.getValue());
+                return 0;
+            }
+            int poolPos = 0;
+            for (int i = 0; i < preparedSet.arOffsets.length; i++) {
+                final int size = preparedSet.arSizes[i];
+                if (!checkRequest(preparedSet.arOffsets[i], size, size)) {
+                    storeResult = result.get();
+                    break;
+                }
+                if (preparedSet.arTypes[i] == FSUIPCWrapper.BATCH_WRITE) {
+                    final byte[] data = new byte[size];
+                    preparedSet.pool.get(poolPos, data);
+                    arPendingRequests.add(new PendingRequest(preparedSet.arOffsets[i], size, data, 0, true));
+                } else {
+                    //read right into the pool
+                    arPendingRequests.add(new PendingRequest(preparedSet.arOffsets[i], size, preparedSet.pool, poolPos));
+                }
+                poolPos += size;
+            }
+        }
+
+        return processStored(storeResult);
+    }
+
+    @Override
+    public int processPrepared(int aHandle, long[] aChanged) {
+        final PreparedSet preparedSet;
+        synchronized (this) {
+            preparedSet = mapPreparedSets.get(aHandle);
+            if (preparedSet != null && (aChanged == null || aChanged.length < (preparedSet.arOffsets.length + 63) / 64)) {
+                result.set(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_DATA.getValue());
+                return 0;
+            }
+        }
+
+        final int iRet = processPrepared(aHandle);
+        if (iRet != 0) {
+            synchronized (this) {
+                preparedSet.updateChanged(aChanged);
+            }
+        }
+        return iRet;
+    }
+
+    @Override
+    public synchronized void releasePrepared(int aHandle) {
+        mapPreparedSets.remove(aHandle);
+    }
+
+    /**
+     * Processes the stored requests after a batch or prepared set was stored.
+     *
+     * @param storeResult The result of storing the requests.
+     * @return The same as {@link #process() }, but 0 if storing failed.
+     */
+    private int processStored(int storeResult) {
+        //the same as native library, process what was stored even if some request failed
+        final int iRet = process();
+        if (storeResult != FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_OK.getValue()) {
+            synchronized (this) {
+                result.set(storeResult);
+            }
+            return 0;
+        }
+        return iRet;
+    }
+
+    @Override
+    public int process() {
+        //wait outside of the lock, so that the content of offset space can be changed meanwhile, like in the real sim
+        final long delay;
+        synchronized (this) {
+            if (!open) {
+                result.set(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_NOTOPEN.getValue());
+                return 0;
+            }
+            if (arPendingRequests.isEmpty()) {
+                result.set(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_NODATA.getValue());
+                return 0;
+            }
+            delay = latency + (latencyJitter > 0 ? ThreadLocalRandom.current().nextLong(latencyJitter + 1) : 0);
+        }
+
+        if (delay > 0) {
+            final long deadline = System.nanoTime() + delay;
+            long remaining = delay;
+            while (remaining > 0) {
+                LockSupport.parkNanos(remaining);
+                remaining = deadline - System.nanoTime();
+            }
+        }
+
+        synchronized (this) {
+            //might have been closed meanwhile
+            if (!open) {
+                result.set(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_NOTOPEN.getValue());
+                return 0;
+            }
+            //processed in order, the same way FSUIPC does
+            for (PendingRequest request : arPendingRequests) {
+                if (request.write) {
+                    System.arraycopy(request.data, request.dataOffset, image, request.offset, request.size);
+                } else if (request.buffer != null) {
+                    request.buffer.put(request.dataOffset, image, request.offset, request.size);
+                } else {
+                    System.arraycopy(image, request.offset, request.data, request.dataOffset, request.size);
+                }
+            }
+            lastProcessRequestCount = arPendingRequests.size();
+            arPendingRequests.clear();
+            ipcBufferUsed = 0;
+            processCount++;
+            result.set(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_OK.getValue());
+        }
+        return 1;
+    }
+
+    @Override
+    public int getResult() {
+        return result.get();
+    }
+
+    @Override
+    public Lock getProcessLock() {
+        return processLock;
+    }
+
+    @Override
+    public synchronized int getFSVersion() {
+        return simVersion.getValue();
+    }
+
+    @Override
+    public synchronized int getVersion() {
+        return version;
+    }
+
+    @Override
+    public synchronized int getLibVersion() {
+        return libVersion;
+    }
+
+    /**
+     * Copies given data into the offset space.
+     *
+     * @param offset The offset to write the data to.
+     * @param data The data.
+     * @throws InvalidParameterException If the data does not fit into the offset space.
+     */
+    public synchronized void poke(int offset, byte[] data) throws InvalidParameterException {
+        if (offset < 0 || offset > image.length - data.length) {
+            throw new InvalidParameterException("Data out of the offset space!");
+        }
+        System.arraycopy(data, 0, image, offset, data.length);
+    }
+
+    /**
+     * Returns copy of the part of the offset space.
+     *
+     * @param offset The offset to start at.
+     * @param size The number of bytes to return.
+     * @return The data.
+     * @throws InvalidParameterException If the requested data are out of the offset space.
+     */
+    public synchronized byte[] peek(int offset, int size) throws InvalidParameterException {
+        if (offset < 0 || size < 0 || offset > image.length - size) {
+            throw new InvalidParameterException("Data out of the offset space!");
+        }
+        final byte[] data = new byte[size];
+        System.arraycopy(image, offset, data, 0, size);
+        return data;
+    }
+
+    /**
+     * Sets how long will every {@link #process() } call take. The time will be <b>latency</b> plus random time from
+     * 0 to <b>jitter</b>.
+     *
+     * @param latency Fixed part of the process time in nanoseconds.
+     * @param jitter Maximum random part of the process time in nanoseconds.
+     */
+    public synchronized void setLatency(long latency, long jitter) {
+        this.latency = Math.max(0, latency);
+        this.latencyJitter = Math.max(0, jitter);
+    }
+
+    /**
+     * @return Fixed part of the process time in nanoseconds.
+     */
+    public synchronized long getLatency() {
+        return latency;
+    }
+
+    /**
+     * @return Maximum random part of the process time in nanoseconds.
+     */
+    public synchronized long getLatencyJitter() {
+        return latencyJitter;
+    }
+
+    /**
+     * Sets the size of the memory for the requests stored between two process calls. Every request takes
+     * {@link #REQUEST_HEADER_SIZE} plus its size. If the request does not fit, the read/write function fails with
+     * {@link FSUIPCWrapper.FSUIPCResult#FSUIPC_ERR_SIZE}.
+     *
+     * @param ipcBufferSize The size in bytes.
+     */
+    public synchronized void setIPCBufferSize(int ipcBufferSize) {
+        this.ipcBufferSize = ipcBufferSize;
+    }
+
+    /**
+     * @return The size of the memory for the requests stored between two process calls.
+     */
+    public synchronized int getIPCBufferSize() {
+        return ipcBufferSize;
+    }
+
+    /**
+     * Sets the simulator version this offset space will pretend to be.
+     *
+     * @param simVersion The simulator version.
+     */
+    public synchronized void setSimVersion(FSUIPCWrapper.FSUIPCSimVersion simVersion) {
+        if (simVersion != null) {
+            this.simVersion = simVersion;
+        }
+    }
+
+    /**
+     * Sets the FSUIPC and FSUIPC library version this offset space will report.
+     *
+     * @param version The FSUIPC version.
+     * @param libVersion The library version.
+     */
+    public synchronized void setVersions(int version, int libVersion) {
+        this.version = version;
+        this.libVersion = libVersion;
+    }
+
+    /**
+     * @return Whether the connection is open.
+     */
+    public synchronized boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * @return The number of successful process calls.
+     */
+    public synchronized long getProcessCount() {
+        return processCount;
+    }
+
+    /**
+     * @return The number of requests processed by the last successful process call.
+     */
+    public synchronized int getLastProcessRequestCount() {
+        return lastProcessRequestCount;
+    }
+
+    /**
+     * @return The number of prepared request sets that were not released yet.
+     */
+    public synchronized int getPreparedSetCount() {
+        return mapPreparedSets.size();
+    }
+
+    /**
+     * @return The size of the offset space in bytes.
+     */
+    public int getSize() {
+        return image.length;
+    }
+
+    /**
+     * One stored read or write request.
+     */
+    private static final class PendingRequest {
+
+        private final int offset;
+        private final int size;
+        private final byte[] data;
+        private final ByteBuffer buffer;
+        private final int dataOffset;
+        private final boolean write;
+
+        private PendingRequest(int offset, int size, byte[] data, int dataOffset, boolean write) {
+            this.offset = offset;
+            this.size = size;
+            this.data = data;
+            this.buffer = null;
+            this.dataOffset = dataOffset;
+            this.write = write;
+        }
+
+        private PendingRequest(int offset, int size, ByteBuffer buffer, int bufferOffset) {
+            this.offset = offset;
+            this.size = size;
+            this.data = null;
+            this.buffer = buffer;
+            this.dataOffset = bufferOffset;
+            this.write = false;
+        }
+    }
+
+    /**
+     * One prepared request set.
+     */
+    private static final class PreparedSet {
+
+        private final int[] arOffsets;
+        private final int[] arSizes;
+        private final byte[] arTypes;
+        private final ByteBuffer pool;
+        private final byte[] arPrevious;
+        private boolean previousValid = false;
+
+        private PreparedSet(int[] arOffsets, int[] arSizes, byte[] arTypes, ByteBuffer pool) {
+            this.arOffsets = arOffsets;
+            this.arSizes = arSizes;
+            this.arTypes = arTypes;
+            this.pool = pool;
+            this.arPrevious = new byte[Arrays.stream(arSizes).sum()];
+        }
+
+        /**
+         * Compares the data of read requests with the previous ones, the same way the native library does.
+         */
+        private void updateChanged(long[] aChanged) {
+            Arrays.fill(aChanged, 0, (arOffsets.length + 63) / 64, 0L);
+            final byte[] data = new byte[arPrevious.length];
+            pool.get(0, data);
+            int poolPos = 0;
+            for (int i = 0; i < arOffsets.length; i++) {
+                if (arTypes[i] != FSUIPCWrapper.BATCH_WRITE && (!previousValid
+                        || Arrays.mismatch(arPrevious, poolPos, poolPos + arSizes[i], data, poolPos, poolPos + arSizes[i]) >= 0)) {
+                    aChanged[i / 64] |= 1L << (i % 64);
+                    System.arraycopy(data, poolPos, arPrevious, poolPos, arSizes[i]);
+                }
+                poolPos += arSizes[i];
+            }
+            previousValid = true;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+/**
+ * <p>This package contains the {@link com.mouseviator.fsuipc.transport.IFSUIPCTransport} interface, which is what the {@link com.mouseviator.fsuipc.FSUIPC} class uses to talk to
+ * FSUIPC, and its implementations. The default one, {@link com.mouseviator.fsuipc.transport.FSUIPCWrapperTransport}, uses the native functions of {@link com.mouseviator.fsuipc.FSUIPCWrapper}.
+ * The {@link com.mouseviator.fsuipc.transport.SimulatedOffsetSpace} is pure Java implementation, that keeps the whole FSUIPC offset space in memory, so that the {@link com.mouseviator.fsuipc.FSUIPC}
+ * class can be used (tested, benchmarked) without the native library and the simulator.</p>
+ */
+package com.mouseviator.fsuipc.transport;
@@ -0,0 +1,50 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc;
+
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * This class tests the period computation of the {@link AdaptivePolling} class.
+ *
+ * @author Mouseviator
+ */
+public class AdaptivePollingTest {
+
+    private static final long MIN_PERIOD = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long MAX_PERIOD = TimeUnit.MILLISECONDS.toNanos(500);
+
+    public AdaptivePollingTest() {
+    }
+
+    /**
+     * Test of computePeriod method, of class AdaptivePolling.
+     */
+    @Test
+    public void testComputePeriod() {
+        System.out.println("JUnit test: AdaptivePolling period computation");
+
+        //one frame
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(50), AdaptivePolling.computePeriod(false, 20.0f, MIN_PERIOD, MAX_PERIOD));
+        //never faster than the minimum period, never slower than the maximum one
+        assertEquals(MIN_PERIOD, AdaptivePolling.computePeriod(false, 200.0f, MIN_PERIOD, MAX_PERIOD));
+        assertEquals(MAX_PERIOD, AdaptivePolling.computePeriod(false, 1.5f, MIN_PERIOD, MAX_PERIOD));
+        //paused or in menu
+        assertEquals(MAX_PERIOD, AdaptivePolling.computePeriod(true, 60.0f, MIN_PERIOD, MAX_PERIOD));
+        //frame rate not known (0 from FSUIPC) and below 1 fps (negative)
+        assertEquals(MIN_PERIOD, AdaptivePolling.computePeriod(false, Float.POSITIVE_INFINITY, MIN_PERIOD, MAX_PERIOD));
+        assertEquals(MAX_PERIOD, AdaptivePolling.computePeriod(false, -0.9f, MIN_PERIOD, MAX_PERIOD));
+    }
+}
@@ -0,0 +1,160 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc;
+
+import com.mouseviator.fsuipc.datarequest.IDataRequest;
+import com.mouseviator.fsuipc.datarequest.primitives.IntRequest;
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * This class tests the {@link AsyncListener} class. It does not need the simulator to be running.
+ *
+ * @author Mouseviator
+ */
+public class AsyncListenerTest {
+
+    public AsyncListenerTest() {
+    }
+
+    /**
+     * Test that the processing cycles the listener did not get to are conflated into the latest one.
+     */
+    @Test
+    public void testConflation() {
+        System.out.println("JUnit test: AsyncListener conflation");
+
+        final List<Runnable> arTasks = new ArrayList<>();
+        final RecordingListener recorder = new RecordingListener();
+        final AsyncListener asyncListener = new AsyncListener(recorder, arTasks::add, AsyncListener.DEFAULT_QUEUE_CAPACITY);
+
+        final AbstractQueue<IDataRequest> arRequests = new ConcurrentLinkedQueue<>();
+        final IntRequest heading = new IntRequest(0x0580);
+        final IntRequest bank = new IntRequest(0x0584);
+        asyncListener.onConnected();
+        asyncListener.onProcess(arRequests);
+        asyncListener.onChanged(List.of(heading));
+        asyncListener.onProcess(arRequests);
+        asyncListener.onChanged(List.of(bank, heading));
+        asyncListener.onProcess(arRequests);
+
+        //one drain was scheduled, the listener did not get anything yet
+        assertEquals(1, arTasks.size());
+        assertTrue(recorder.arEvents.isEmpty());
+        arTasks.remove(0).run();
+
+        assertEquals(List.of("connected", "process", "changed:2"), recorder.arEvents);
+        assertEquals(2, asyncListener.getConflatedCount());
+        assertEquals(0, asyncListener.getDroppedCount());
+    }
+
+    /**
+     * Test that the oldest notifications are dropped when the queue is full.
+     */
+    @Test
+    public void testBoundedQueue() {
+        System.out.println("JUnit test: AsyncListener bounded queue");
+
+        final List<Runnable> arTasks = new ArrayList<>();
+        final RecordingListener recorder = new RecordingListener();
+        final AsyncListener asyncListener = new AsyncListener(recorder, arTasks::add, 2);
+
+        asyncListener.onFail(1);
+        asyncListener.onFail(2);
+        asyncListener.onFail(3);
+        arTasks.remove(0).run();
+
+        assertEquals(List.of("fail:2", "fail:3"), recorder.arEvents);
+        assertEquals(1, asyncListener.getDroppedCount());
+
+        //closed listener gets nothing more
+        asyncListener.close();
+        asyncListener.onFail(4);
+        assertTrue(arTasks.isEmpty());
+    }
+
+    /**
+     * Test that slow listener does not block the caller.
+     */
+    @Test
+    public void testOwnThread() throws InterruptedException {
+        System.out.println("JUnit test: AsyncListener own thread");
+
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch processed = new CountDownLatch(2);
+        final AsyncListener asyncListener = new AsyncListener(new RecordingListener() {
+            @Override
+            public void onProcess(AbstractQueue<IDataRequest> arRequests) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                }
+                processed.countDown();
+            }
+        });
+
+        //the listener is stuck in the first cycle, the others are conflated into one
+        final AbstractQueue<IDataRequest> arRequests = new ConcurrentLinkedQueue<>();
+        asyncListener.onProcess(arRequests);
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 100; i++) {
+            asyncListener.onProcess(arRequests);
+        }
+        release.countDown();
+        assertTrue(processed.await(5, TimeUnit.SECONDS));
+        assertEquals(99, asyncListener.getConflatedCount());
+        asyncListener.close();
+    }
+
+    /**
+     * Listener recording the notifications it got.
+     */
+    private static class RecordingListener implements IFSUIPCListener {
+
+        final List<String> arEvents = new ArrayList<>();
+
+        @Override
+        public void onConnected() {
+            arEvents.add("connected");
+        }
+
+        @Override
+        public void onDisconnected() {
+            arEvents.add("disconnected");
+        }
+
+        @Override
+        public void onProcess(AbstractQueue<IDataRequest> arRequests) {
+            arEvents.add("process");
+        }
+
+        @Override
+        public void onChanged(Collection<IDataRequest> arChangedRequests) {
+            arEvents.add("changed:" + arChangedRequests.size());
+        }
+
+        @Override
+        public void onFail(int lastResult) {
+            arEvents.add("fail:" + lastResult);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc;
+
+import com.mouseviator.fsuipc.datarequest.IDataRequest;
+import com.mouseviator.fsuipc.datarequest.primitives.IntRequest;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * This class tests the {@link ChangeTracker} class. It does not need the simulator to be running.
+ *
+ * @author Mouseviator
+ */
+public class ChangeTrackerTest {
+
+    public ChangeTrackerTest() {
+    }
+
+    /**
+     * Test of update function and the changed requests view.
+     */
+    @Test
+    public void testUpdate() {
+        System.out.println("JUnit test: ChangeTracker.update");
+
+        IntRequest heading = new IntRequest(0x0580);
+        IntRequest bank = new IntRequest(0x057C);
+        IntRequest write = new IntRequest(0x66C0, 1);
+        List<IDataRequest> arRequests = new ArrayList<>(List.of(heading, write, bank));
+        ChangeTracker changeTracker = new ChangeTracker();
+
+        //everything is new at first, but writes are not tracked
+        assertEquals(2, changeTracker.update(arRequests));
+        assertEquals(List.of(heading, bank), new ArrayList<>(changeTracker.getChangedRequests()));
+
+        //nothing changed
+        assertEquals(0, changeTracker.update(arRequests));
+        assertTrue(changeTracker.getChangedRequests().isEmpty());
+
+        //only bank changed
+        bank.getDataBuffer()[0] = 1;
+        assertEquals(1, changeTracker.update(arRequests));
+        assertEquals(List.of(bank), new ArrayList<>(changeTracker.getChangedRequests()));
+        assertEquals(0, changeTracker.update(arRequests));
+
+        //removed and added again is a new one
+        arRequests.remove(heading);
+        assertEquals(0, changeTracker.update(arRequests));
+        arRequests.add(heading);
+        assertEquals(1, changeTracker.update(arRequests));
+        assertEquals(List.of(heading), new ArrayList<>(changeTracker.getChangedRequests()));
+
+        changeTracker.reset();
+        assertEquals(2, changeTracker.update(arRequests));
+    }
+}
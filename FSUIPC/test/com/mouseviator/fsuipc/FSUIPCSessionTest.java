@@ -0,0 +1,162 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc;
+
+import com.mouseviator.fsuipc.datarequest.IDataRequest;
+import com.mouseviator.fsuipc.datarequest.primitives.IntRequest;
+import com.mouseviator.fsuipc.transport.SimulatedOffsetSpace;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.After;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class tests the {@link FSUIPCSession} class using the {@link SimulatedOffsetSpace} transport. It does not need
+ * the simulator to be running.
+ *
+ * @author Mouseviator
+ */
+public class FSUIPCSessionTest {
+
+    private FSUIPC fsuipc;
+    private SimulatedOffsetSpace offsetSpace;
+
+    public FSUIPCSessionTest() {
+    }
+
+    @Before
+    public void setUp() {
+        offsetSpace = new SimulatedOffsetSpace();
+        fsuipc = FSUIPC.getInstance();
+        fsuipc.setTransport(offsetSpace);
+        assertNotEquals(0, fsuipc.connect(FSUIPCWrapper.FSUIPCSimVersion.SIM_ANY));
+    }
+
+    @After
+    public void tearDown() {
+        fsuipc.disconnect();
+        fsuipc.removeAllListeners();
+        fsuipc.setTransport(null);
+    }
+
+    /**
+     * Test that the sessions have their own requests and listeners, but their reads are processed together.
+     */
+    @Test
+    public void testSessions() throws InterruptedException {
+        System.out.println("JUnit test: FSUIPCSession with simulated offset space");
+
+        offsetSpace.poke(0x0580, ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(450).array());
+
+        final FSUIPCSession autopilot = fsuipc.createSession();
+        final FSUIPCSession display = fsuipc.createSession();
+        final List<Integer> arAutopilotSizes = new CopyOnWriteArrayList<>();
+        final List<IDataRequest> arDisplayChanged = new CopyOnWriteArrayList<>();
+        final List<Boolean> arDisplayConnections = new CopyOnWriteArrayList<>();
+        autopilot.addListener(new TestListener() {
+            @Override
+            public void onProcess(AbstractQueue<IDataRequest> arRequests) {
+                arAutopilotSizes.add(arRequests.size());
+            }
+        });
+        display.addListener(new TestListener() {
+            @Override
+            public void onChanged(Collection<IDataRequest> arChanged) {
+                arDisplayChanged.addAll(arChanged);
+            }
+
+            @Override
+            public void onDisconnected() {
+                arDisplayConnections.add(false);
+            }
+        });
+
+        //the same heading in both sessions and the bank right before it is one block read
+        final IntRequest autopilotHeading = (IntRequest) autopilot.addContinualRequest(new IntRequest(0x0580));
+        final IntRequest displayHeading = (IntRequest) display.addContinualRequest(new IntRequest(0x0580));
+        final IntRequest displayBank = (IntRequest) display.addContinualRequest(new IntRequest(0x057C), 2);
+        assertEquals(2, display.getProcessingDivisor(displayBank));
+        assertEquals(FSUIPC.DEFAULT_PROCESSING_DIVISOR, autopilot.getProcessingDivisor(displayBank));
+
+        assertEquals(FSUIPC.PROCESS_RESULT_OK, fsuipc.processRequests(5, true));
+        waitForProcessCount(4);
+        assertEquals(1, offsetSpace.getLastProcessRequestCount());
+        assertEquals(450, autopilotHeading.getAsInt());
+        assertEquals(450, displayHeading.getAsInt());
+        assertTrue(arAutopilotSizes.stream().allMatch(size -> size == 1));
+        assertTrue(arDisplayChanged.contains(displayHeading));
+        assertFalse(arDisplayChanged.contains(autopilotHeading));
+
+        //canceling the processing does not clear the requests of the sessions
+        assertTrue(fsuipc.cancelRequestsProcessing());
+        assertEquals(1, autopilot.getContinualRequests().size());
+        assertEquals(2, display.getContinualRequests().size());
+
+        //closed session is not processed anymore, the other one goes on
+        autopilot.close();
+        assertTrue(autopilot.isClosed());
+        offsetSpace.poke(0x0580, ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(900).array());
+        assertEquals(FSUIPC.PROCESS_RESULT_OK, fsuipc.processRequests(5, true));
+        waitForProcessCount(offsetSpace.getProcessCount() + 2);
+        assertEquals(900, displayHeading.getAsInt());
+        assertEquals(450, autopilotHeading.getAsInt());
+        try {
+            autopilot.addContinualRequest(new IntRequest(0x0580));
+            fail("Closed session should not accept requests");
+        } catch (IllegalStateException ex) {
+        }
+
+        fsuipc.disconnect();
+        assertEquals(List.of(false), arDisplayConnections);
+        display.close();
+    }
+
+    /**
+     * Waits till the simulated offset space is processed given number of times.
+     */
+    private void waitForProcessCount(long count) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (offsetSpace.getProcessCount() < count) {
+            assertTrue("Timed out waiting for processing", System.currentTimeMillis() < deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Listener doing nothing, to override only what the test needs.
+     */
+    private static class TestListener implements IFSUIPCListener {
+
+        @Override
+        public void onConnected() {
+        }
+
+        @Override
+        public void onDisconnected() {
+        }
+
+        @Override
+        public void onProcess(AbstractQueue<IDataRequest> arRequests) {
+        }
+
+        @Override
+        public void onFail(int lastResult) {
+        }
+    }
+}
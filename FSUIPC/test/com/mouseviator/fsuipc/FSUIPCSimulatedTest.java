@@ -0,0 +1,771 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc;
+
+import com.mouseviator.fsuipc.datarequest.IDataRequest;
+import com.mouseviator.fsuipc.datarequest.primitives.DoubleRequest;
+import com.mouseviator.fsuipc.datarequest.primitives.IntRequest;
+import com.mouseviator.fsuipc.transport.SimulatedOffsetSpace;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.security.InvalidParameterException;
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import org.junit.After;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class tests the {@link FSUIPC} class using the {@link SimulatedOffsetSpace} transport, so unlike the
+ * {@link FSUIPCTest}, it does not need the simulator to be running.
+ *
+ * @author Mouseviator
+ */
+public class FSUIPCSimulatedTest {
+
+    private FSUIPC fsuipc;
+    private SimulatedOffsetSpace offsetSpace;
+
+    public FSUIPCSimulatedTest() {
+    }
+
+    @Before
+    public void setUp() {
+        offsetSpace = new SimulatedOffsetSpace();
+        fsuipc = FSUIPC.getInstance();
+        fsuipc.setTransport(offsetSpace);
+        assertNotEquals(0, fsuipc.connect(FSUIPCWrapper.FSUIPCSimVersion.SIM_ANY));
+    }
+
+    @After
+    public void tearDown() {
+        fsuipc.disconnect();
+        fsuipc.removeAllListeners();
+        fsuipc.getOneTimeRequests().clear();
+        fsuipc.setReadCoalescingGap(FSUIPC.DEFAULT_READ_COALESCING_GAP);
+        fsuipc.setShadowImageEnabled(false);
+        fsuipc.setBatchProcessingEnabled(false);
+        fsuipc.setWriteCoalescingEnabled(false);
+        fsuipc.setPreparedProcessingEnabled(false);
+        fsuipc.setLightPriorityProcessing(false);
+        fsuipc.setTransport(null);
+    }
+
+    /**
+     * Puts int value into the simulated offset space.
+     */
+    private void pokeInt(int offset, int value) {
+        offsetSpace.poke(offset, ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(value).array());
+    }
+
+    /**
+     * Test of processRequestsOnce with adjacent reads merged into one block.
+     */
+    @Test
+    public void testProcessRequestsOnce() {
+        System.out.println("JUnit test: FSUIPC.processRequestsOnce with simulated offset space");
+
+        pokeInt(0x0580, 450);
+        offsetSpace.poke(0x0560, ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putDouble(49.5).array());
+
+        IntRequest heading = (IntRequest) fsuipc.addOneTimeRequest(new IntRequest(0x0580));
+        IntRequest bank = (IntRequest) fsuipc.addOneTimeRequest(new IntRequest(0x057C));
+        DoubleRequest latitude = (DoubleRequest) fsuipc.addOneTimeRequest(new DoubleRequest(0x0560));
+        fsuipc.addOneTimeRequest(new IntRequest(0x66C0, 12345));
+
+        assertEquals(FSUIPC.PROCESS_RESULT_OK, fsuipc.processRequestsOnce());
+        assertEquals(Integer.valueOf(450), heading.getValue());
+        assertEquals(Integer.valueOf(0), bank.getValue());
+        assertEquals(Double.valueOf(49.5), latitude.getValue());
+        assertArrayEquals(new IntRequest(0x66C0, 12345).getDataBuffer(), offsetSpace.peek(0x66C0, 4));
+        //bank and heading are one block, latitude another one, and the write
+        assertEquals(3, offsetSpace.getLastProcessRequestCount());
+        assertTrue(fsuipc.getOneTimeRequests().isEmpty());
+
+        //without merging, every request is registered
+        fsuipc.setReadCoalescingGap(FSUIPC.READ_COALESCING_DISABLED);
+        fsuipc.addOneTimeRequest(heading);
+        fsuipc.addOneTimeRequest(bank);
+        assertEquals(FSUIPC.PROCESS_RESULT_OK, fsuipc.processRequestsOnce());
+        assertEquals(2, offsetSpace.getLastProcessRequestCount());
+    }
+
+    /**
+     * Test that the one-time writes to the same offset are collapsed and adjacent ones merged, if enabled.
+     */
+    @Test
+    public void testWriteCoalescing() {
+        System.out.println("JUnit test: FSUIPC write coalescing with simulated offset space");
+
+        fsuipc.setWriteCoalescingEnabled(true);
+        assertTrue(fsuipc.isWriteCoalescingEnabled());
+        //a burst of throttle lever writes and the lever of the second engine right after it
+        for (int i = 1; i <= 10; i++) {
+            fsuipc.addOneTimeRequest(new IntRequest(0x088C, i * 100));
+        }
+        fsuipc.addOneTimeRequest(new IntRequest(0x0890, 77));
+
+        assertEquals(FSUIPC.PROCESS_RESULT_OK, fsuipc.processRequestsOnce());
+        assertEquals(1, offsetSpace.getLastProcessRequestCount());
+        assertArrayEquals(new IntRequest(0x088C, 1000).getDataBuffer(), offsetSpace.peek(0x088C, 4));
+        assertArrayEquals(new IntRequest(0x0890, 77).getDataBuffer(), offsetSpace.peek(0x0890, 4));
+
+        //disabled, every write is registered
+        fsuipc.setWriteCoalescingEnabled(false);
+        fsuipc.addOneTimeRequest(new IntRequest(0x088C, 1));
+        fsuipc.addOneTimeRequest(new IntRequest(0x088C, 2));
+        assertEquals(FSUIPC.PROCESS_RESULT_OK, fsuipc.processRequestsOnce());
+        assertEquals(2, offsetSpace.getLastProcessRequestCount());
+    }
+
+    /**
+     * Test that the same continual requests share one physical read.
+     */
+    @Test
+    public void testSharedContinualReads() throws InterruptedException {
+        System.out.println("JUnit test: FSUIPC shared continual reads with simulated offset space");
+
+        pokeInt(0x0580, 900);
+        IntRequest heading = (IntRequest) fsuipc.addContinualRequest(new IntRequest(0x0580));
+        IntRequest heading2 = (IntRequest) fsuipc.addContinualRequest(new IntRequest(0x0580));
+        IntRequest heading3 = (IntRequest) fsuipc.addContinualRequest(new IntRequest(0x0580));
+
+        assertEquals(FSUIPC.PROCESS_RESULT_OK, fsuipc.processRequests(10, true));
+        waitForProcessCount(2);
+        assertEquals(1, offsetSpace.getLastProcessRequestCount());
+        assertEquals(Integer.valueOf(900), heading.getValue());
+        assertEquals(Integer.valueOf(900), heading2.getValue());
+        assertEquals(Integer.valueOf(900), heading3.getValue());
+
+        //removing all but one keeps the physical read alive
+        assertTrue(fsuipc.removeContinualRequest(heading));
+        assertTrue(fsuipc.removeContinualRequest(heading2));
+        pokeInt(0x0580, 1800);
+        waitForProcessCount(offsetSpace.getProcessCount() + 2);
+        assertEquals(Integer.valueOf(1800), heading3.getValue());
+        assertEquals(Integer.valueOf(900), heading.getValue());
+
+        //request added while processing is picked up on the next tick
+        pokeInt(0x0584, 45);
+        IntRequest bank = (IntRequest) fsuipc.addContinualRequest(new IntRequest(0x0584));
+        waitForProcessCount(offsetSpace.getProcessCount() + 2);
+        assertEquals(Integer.valueOf(45), bank.getValue());
+
+        assertTrue(fsuipc.cancelRequestsProcessing());
+    }
+
+    /**
+     * Test that with the shadow image enabled, the data end up both in the image and in the requests.
+     */
+    @Test
+    public void testShadowImage() {
+        System.out.println("JUnit test: FSUIPC shadow image with simulated offset space");
+
+        pokeInt(0x0580, 450);
+        pokeInt(0x057C, -10);
+        fsuipc.setShadowImageEnabled(true);
+        ShadowImage image = fsuipc.getShadowImage();
+        assertNotNull(image);
+
+        IntRequest heading = (IntRequest) fsuipc.addOneTimeRequest(new IntRequest(0x0580));
+        IntRequest bank = (IntRequest) fsuipc.addOneTimeRequest(new IntRequest(0x057C));
+        assertEquals(FSUIPC.PROCESS_RESULT_OK, fsuipc.processRequestsOnce());
+
+        assertEquals(450, image.getInt(0x0580));
+        assertEquals(-10, image.getInt(0x057C));
+        assertEquals(Integer.valueOf(450), heading.getValue());
+        assertEquals(Integer.valueOf(-10), bank.getValue());
+        assertEquals(1, offsetSpace.getLastProcessRequestCount());
+
+        fsuipc.setShadowImageEnabled(false);
+        assertNull(fsuipc.getShadowImage());
+    }
+
+    /**
+     * Test that batch processing gives the same results as the per-request processing and keeps the order.
+     */
+    @Test
+    public void testBatchProcessing() {
+        System.out.println("JUnit test: FSUIPC batch processing with simulated offset space");
+
+        pokeInt(0x0580, 450);
+        pokeInt(0x057C, -10);
+        pokeInt(0x66C0, 1);
+        fsuipc.setBatchProcessingEnabled(true);
+
+        IntRequest heading = (IntRequest) fsuipc.addOneTimeRequest(new IntRequest(0x0580));
+        IntRequest bank = (IntRequest) fsuipc.addOneTimeRequest(new IntRequest(0x057C));
+        IntRequest userBefore = (IntRequest) fsuipc.addOneTimeRequest(new IntRequest(0x66C0));
+        fsuipc.addOneTimeRequest(new IntRequest(0x66C0, 2));
+        IntRequest userAfter = (IntRequest) fsuipc.addOneTimeRequest(new IntRequest(0x66C0));
+
+        assertEquals(FSUIPC.PROCESS_RESULT_OK, fsuipc.processRequestsOnce());
+        assertEquals(Integer.valueOf(450), heading.getValue());
+        assertEquals(Integer.valueOf(-10), bank.getValue());
+        assertEquals(Integer.valueOf(1), userBefore.getValue());
+        assertEquals(Integer.valueOf(2), userAfter.getValue());
+        //one block for bank and heading, the first user offset read, the write, and the last read
+        assertEquals(4, offsetSpace.getLastProcessRequestCount());
+    }
+
+    /**
+     * Test that listeners get only the changed continual requests.
+     */
+    @Test
+    public void testOnChanged() throws InterruptedException {
+        System.out.println("JUnit test: FSUIPC onChanged with simulated offset space");
+
+        final List<List<IDataRequest>> arDeliveries = new CopyOnWriteArrayList<>();
+        fsuipc.addListener(new IFSUIPCListener() {
+            @Override
+            public void onConnected() {
+            }
+
+            @Override
+            public void onDisconnected() {
+            }
+
+            @Override
+            public void onProcess(AbstractQueue<IDataRequest> arRequests) {
+            }
+
+            @Override
+            public void onChanged(Collection<IDataRequest> arChangedRequests) {
+                arDeliveries.add(new ArrayList<>(arChangedRequests));
+            }
+
+            @Override
+            public void onFail(int lastResult) {
+            }
+        });
+
+        pokeInt(0x0580, 450);
+        IntRequest heading = (IntRequest) fsuipc.addContinualRequest(new IntRequest(0x0580));
+        IntRequest bank = (IntRequest) fsuipc.addContinualRequest(new IntRequest(0x057C));
+
+        assertEquals(FSUIPC.PROCESS_RESULT_OK, fsuipc.processRequests(5, true));
+        waitForProcessCount(3);
+        //the first cycle delivers all, then nothing changes
+        assertEquals(1, arDeliveries.size());
+        assertEquals(List.of(heading, bank), arDeliveries.get(0));
+
+        pokeInt(0x057C, 100);
+        waitForProcessCount(offsetSpace.getProcessCount() + 3);
+        assertTrue(fsuipc.cancelRequestsProcessing());
+        assertEquals(2, arDeliveries.size());
+        assertEquals(List.of(bank), arDeliveries.get(1));
+    }
+
+    /**
+     * Test that continual requests with processing divisor are processed only on their ticks.
+     */
+    @Test
+    public void testProcessingDivisor() throws InterruptedException {
+        System.out.println("JUnit test: FSUIPC processing divisor with simulated offset space");
+
+        final List<Integer> arRequestCounts = new CopyOnWriteArrayList<>();
+        final List<Integer> arFails = new CopyOnWriteArrayList<>();
+        fsuipc.addListener(new IFSUIPCListener() {
+            @Override
+            public void onConnected() {
+            }
+
+            @Override
+            public void onDisconnected() {
+            }
+
+            @Override
+            public void onProcess(AbstractQueue<IDataRequest> arRequests) {
+                arRequestCounts.add(offsetSpace.getLastProcessRequestCount());
+            }
+
+            @Override
+            public void onFail(int lastResult) {
+                arFails.add(lastResult);
+            }
+        });
+
+        IntRequest heading = (IntRequest) fsuipc.addContinualRequest(new IntRequest(0x0580));
+        IntRequest slow = (IntRequest) fsuipc.addContinualRequest(new IntRequest(0x0024), 3);
+        assertEquals(FSUIPC.DEFAULT_PROCESSING_DIVISOR, fsuipc.getProcessingDivisor(heading));
+        assertEquals(3, fsuipc.getProcessingDivisor(slow));
+
+        assertEquals(FSUIPC.PROCESS_RESULT_OK, fsuipc.processRequests(5, true));
+        waitForProcessCount(6);
+        assertTrue(fsuipc.cancelRequestsProcessing());
+        assertEquals(List.of(2, 1, 1, 2, 1, 1), arRequestCounts.subList(0, 6));
+
+        //canceling clears the continual requests
+        assertEquals(FSUIPC.DEFAULT_PROCESSING_DIVISOR, fsuipc.getProcessingDivisor(slow));
+
+        //only the slow request, so on most of the ticks, nothing is processed and that is not a failure
+        fsuipc.addContinualRequest(slow, 3);
+        final long processCount = offsetSpace.getProcessCount();
+        assertEquals(FSUIPC.PROCESS_RESULT_OK, fsuipc.processRequests(5, true));
+        waitForProcessCount(processCount + 2);
+        assertTrue(fsuipc.cancelRequestsProcessing());
+        assertTrue(arFails.isEmpty());
+
+        try {
+            fsuipc.addContinualRequest(heading, 0);
+            fail("Divisor 0 should not be accepted");
+        } catch (InvalidParameterException ex) {
+        }
+    }
+
+    /**
+     * Test that canceling the processing waits for the cycle in progress to complete.
+     */
+    @Test
+    public void testCancelWaitsForCycle() throws InterruptedException {
+        System.out.println("JUnit test: FSUIPC cancel processing with cycle in progress");
+
+        final CountDownLatch cycleStarted = new CountDownLatch(1);
+        final AtomicBoolean cycleInProgress = new AtomicBoolean(false);
+        fsuipc.addListener(new IFSUIPCListener() {
+            @Override
+            public void onConnected() {
+            }
+
+            @Override
+            public void onDisconnected() {
+            }
+
+            @Override
+            public void onProcess(AbstractQueue<IDataRequest> arRequests) {
+                cycleInProgress.set(true);
+                cycleStarted.countDown();
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException ex) {
+                }
+                cycleInProgress.set(false);
+            }
+
+            @Override
+            public void onFail(int lastResult) {
+            }
+        });
+
+        fsuipc.addContinualRequest(new IntRequest(0x0580));
+        assertEquals(FSUIPC.PROCESS_RESULT_OK, fsuipc.processRequests(10, true));
+        assertTrue(cycleStarted.await(5, TimeUnit.SECONDS));
+        assertTrue(fsuipc.cancelRequestsProcessing());
+        assertFalse(cycleInProgress.get());
+
+        //and it can be started again right away
+        fsuipc.addContinualRequest(new IntRequest(0x0580));
+        final long processCount = offsetSpace.getProcessCount();
+        assertEquals(FSUIPC.PROCESS_RESULT_OK, fsuipc.processRequests(10, true));
+        waitForProcessCount(processCount + 1);
+    }
+
+    /**
+     * Test that the futures of submitted requests complete once the requests are processed, or fail with the FSUIPC
+     * result.
+     */
+    @Test
+    public void testSubmit() throws Exception {
+        System.out.println("JUnit test: FSUIPC submit with simulated offset space");
+
+        //serviced by processRequestsOnce
+        pokeInt(0x0580, 900);
+        IntRequest heading = new IntRequest(0x0580);
+        CompletableFuture<List<IDataRequest>> future = fsuipc.submit(heading);
+        assertFalse(future.isDone());
+        assertEquals(FSUIPC.PROCESS_RESULT_OK, fsuipc.processRequestsOnce());
+        assertEquals(List.of(heading), future.getNow(null));
+        assertEquals(Integer.valueOf(900), heading.getValue());
+
+        //serviced by the processing thread, write and then read it back
+        fsuipc.addContinualRequest(new IntRequest(0x0584));
+        assertEquals(FSUIPC.PROCESS_RESULT_OK, fsuipc.processRequests(10, true));
+        IntRequest write = new IntRequest(0x0580, 1800);
+        IntRequest read = new IntRequest(0x0580);
+        fsuipc.submit(write).thenCompose(arRequests -> fsuipc.submit(read)).get(5, TimeUnit.SECONDS);
+        assertEquals(Integer.valueOf(1800), read.getValue());
+
+        //the request is out of the offset space, so it fails to be stored
+        future = fsuipc.submit(new IntRequest(SimulatedOffsetSpace.DEFAULT_SIZE - 2));
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Request out of the offset space should fail");
+        } catch (ExecutionException ex) {
+            assertEquals(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_DATA, ((FSUIPCException) ex.getCause()).getResult());
+        }
+        assertTrue(fsuipc.cancelRequestsProcessing());
+
+        //not processed till disconnect
+        future = fsuipc.submit(new IntRequest(0x0580));
+        fsuipc.disconnect();
+        assertTrue(future.isCompletedExceptionally());
+        future = fsuipc.submit(new IntRequest(0x0580));
+        assertTrue(future.isCompletedExceptionally());
+
+        assertTrue(fsuipc.submit().isDone());
+    }
+
+    /**
+     * Test that the processing cycles are measured and the metrics are published over JMX.
+     */
+    @Test
+    public void testMetrics() throws Exception {
+        System.out.println("JUnit test: FSUIPC metrics with simulated offset space");
+
+        final FSUIPCMetrics metrics = fsuipc.getMetrics();
+        metrics.reset();
+        fsuipc.addContinualRequest(new IntRequest(0x0580));
+        fsuipc.addContinualRequest(new IntRequest(0x0584));
+        fsuipc.addContinualRequest(new DoubleRequest(0x0560));
+        assertEquals(FSUIPC.PROCESS_RESULT_OK, fsuipc.processRequests(5, true));
+        waitForProcessCount(5);
+        assertTrue(fsuipc.cancelRequestsProcessing());
+
+        //failed one-time request
+        fsuipc.addOneTimeRequest(new IntRequest(SimulatedOffsetSpace.DEFAULT_SIZE - 2));
+        assertEquals(FSUIPC.PROCESS_RESULT_REQUESTS_STORE_FAILED, fsuipc.processRequestsOnce());
+        fsuipc.getOneTimeRequests().clear();
+
+        final FSUIPCMetrics.Snapshot snapshot = metrics.getSnapshot();
+        assertTrue(snapshot.getCycleCount() >= 5);
+        assertTrue(snapshot.getProcessLatency().getCount() >= 5);
+        assertEquals(snapshot.getCycleCount(), snapshot.getScheduleJitter().getCount());
+        //heading and bank are one block, latitude is another
+        assertEquals(16, snapshot.getCycleBytes().getMax());
+        assertEquals(2, snapshot.getCycleRequests().getMax());
+        assertEquals(Long.valueOf(1), snapshot.getFailureCounts().get(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_DATA.name()));
+
+        assertTrue(fsuipc.registerMetricsMBean());
+        try {
+            final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName objectName = new ObjectName(FSUIPC.METRICS_MBEAN_NAME);
+            assertTrue((Long) mBeanServer.getAttribute(objectName, "CycleCount") >= 5);
+            final CompositeData processLatency = (CompositeData) mBeanServer.getAttribute(objectName, "ProcessLatency");
+            assertTrue((Long) processLatency.get("p99") > 0);
+        } finally {
+            assertTrue(fsuipc.unregisterMetricsMBean());
+        }
+    }
+
+    /**
+     * Test that the priority requests are processed right away, not at the next cycle.
+     */
+    @Test
+    public void testPriorityRequest() throws InterruptedException {
+        System.out.println("JUnit test: FSUIPC priority requests with simulated offset space");
+
+        fsuipc.addContinualRequest(new IntRequest(0x0580));
+        assertEquals(FSUIPC.PROCESS_RESULT_OK, fsuipc.processRequests(2000, true));
+        waitForProcessCount(1);
+
+        //the whole cycle, the continual request and the priority one
+        long processCount = offsetSpace.getProcessCount();
+        long startTime = System.currentTimeMillis();
+        fsuipc.addPriorityRequest(new IntRequest(0x088C, 1234));
+        waitForProcessCount(processCount + 1);
+        assertTrue(System.currentTimeMillis() - startTime < 1000);
+        assertEquals(2, offsetSpace.getLastProcessRequestCount());
+        assertArrayEquals(new IntRequest(0x088C, 1234).getDataBuffer(), offsetSpace.peek(0x088C, 4));
+        assertTrue(fsuipc.getOneTimeRequests().isEmpty());
+
+        //light, only the priority request
+        fsuipc.setLightPriorityProcessing(true);
+        assertTrue(fsuipc.isLightPriorityProcessing());
+        processCount = offsetSpace.getProcessCount();
+        startTime = System.currentTimeMillis();
+        fsuipc.addPriorityRequest(new IntRequest(0x088C, 4321));
+        waitForProcessCount(processCount + 1);
+        assertTrue(System.currentTimeMillis() - startTime < 1000);
+        assertEquals(1, offsetSpace.getLastProcessRequestCount());
+        assertArrayEquals(new IntRequest(0x088C, 4321).getDataBuffer(), offsetSpace.peek(0x088C, 4));
+        assertTrue(fsuipc.cancelRequestsProcessing());
+
+        //not processing, it just waits
+        fsuipc.addPriorityRequest(new IntRequest(0x088C, 1));
+        assertEquals(1, fsuipc.getOneTimeRequests().size());
+    }
+
+    /**
+     * Test that the adaptive processing follows the frame rate and backs off while the sim is paused.
+     */
+    @Test
+    public void testAdaptiveProcessing() throws InterruptedException {
+        System.out.println("JUnit test: FSUIPC adaptive processing with simulated offset space");
+
+        //20 fps, so the cycles come every 50 ms, not every 5 ms
+        pokeShort(0x0274, (short) 1638);
+        fsuipc.addContinualRequest(new IntRequest(0x0580));
+        long processCount = offsetSpace.getProcessCount();
+        assertEquals(FSUIPC.PROCESS_RESULT_OK, fsuipc.processRequestsAdaptive(5, 300, true));
+        Thread.sleep(500);
+        long cycles = offsetSpace.getProcessCount() - processCount;
+        assertTrue("Cycles at 20 fps: " + cycles, cycles >= 3 && cycles <= 20);
+
+        //paused, back off to the maximum period
+        pokeShort(0x0264, (short) 1);
+        Thread.sleep(100);
+        processCount = offsetSpace.getProcessCount();
+        Thread.sleep(500);
+        cycles = offsetSpace.getProcessCount() - processCount;
+        assertTrue("Cycles while paused: " + cycles, cycles >= 1 && cycles <= 3);
+
+        //running again with frame rate unknown, the minimum period
+        pokeShort(0x0264, (short) 0);
+        pokeShort(0x0274, (short) 0);
+        waitForProcessCount(offsetSpace.getProcessCount() + 30);
+        assertTrue(fsuipc.cancelRequestsProcessing());
+
+        try {
+            fsuipc.processRequestsAdaptive(10, 5, true);
+            fail("Maximum period less than minimum should not be accepted");
+        } catch (InvalidParameterException ex) {
+        }
+    }
+
+    /**
+     * Test that the continual requests are processed as prepared set, and the set is prepared again when they change.
+     */
+    @Test
+    public void testPreparedProcessing() throws InterruptedException {
+        System.out.println("JUnit test: FSUIPC prepared processing with simulated offset space");
+
+        pokeInt(0x0580, 900);
+        pokeInt(0x057C, 10);
+        fsuipc.setPreparedProcessingEnabled(true);
+        IntRequest heading = (IntRequest) fsuipc.addContinualRequest(new IntRequest(0x0580));
+        IntRequest bank = (IntRequest) fsuipc.addContinualRequest(new IntRequest(0x057C));
+        fsuipc.addContinualRequest(new IntRequest(0x66C0, 7));
+
+        assertEquals(FSUIPC.PROCESS_RESULT_OK, fsuipc.processRequests(10, true));
+        waitForProcessCount(2);
+        assertEquals(1, offsetSpace.getPreparedSetCount());
+        //one block for heading and bank, and the write
+        assertEquals(2, offsetSpace.getLastProcessRequestCount());
+        assertEquals(Integer.valueOf(900), heading.getValue());
+        assertEquals(Integer.valueOf(10), bank.getValue());
+        assertArrayEquals(new byte[]{7, 0, 0, 0}, offsetSpace.peek(0x66C0, 4));
+
+        pokeInt(0x0580, 1800);
+        waitForProcessCount(offsetSpace.getProcessCount() + 2);
+        assertEquals(Integer.valueOf(1800), heading.getValue());
+
+        //one-time request is processed the usual way, together with the continual ones
+        IntRequest user = (IntRequest) fsuipc.addOneTimeRequest(new IntRequest(0x66C0));
+        waitForProcessCount(offsetSpace.getProcessCount() + 2);
+        assertEquals(Integer.valueOf(7), user.getValue());
+
+        //changed continual requests are prepared again, the old set is released
+        pokeInt(0x0238, 12);
+        IntRequest time = (IntRequest) fsuipc.addContinualRequest(new IntRequest(0x0238));
+        waitForProcessCount(offsetSpace.getProcessCount() + 2);
+        assertEquals(Integer.valueOf(12), time.getValue());
+        assertEquals(1, offsetSpace.getPreparedSetCount());
+
+        assertTrue(fsuipc.cancelRequestsProcessing());
+        assertEquals(0, offsetSpace.getPreparedSetCount());
+    }
+
+    /**
+     * Test that the processing goes on after a cycle failed with an error, such as the native function missing in an
+     * older native library.
+     */
+    @Test
+    public void testProcessingSurvivesFailedCycle() throws InterruptedException {
+        System.out.println("JUnit test: FSUIPC processing after failed cycle");
+
+        final AtomicBoolean failed = new AtomicBoolean(false);
+        fsuipc.disconnect();
+        offsetSpace = new SimulatedOffsetSpace() {
+            @Override
+            public synchronized int prepare(int[] aOffsets, int[] aSizes, byte[] aTypes, ByteBuffer aPool) {
+                if (failed.compareAndSet(false, true)) {
+                    throw new UnsatisfiedLinkError("prepare");
+                }
+                return super.prepare(aOffsets, aSizes, aTypes, aPool);
+            }
+        };
+        fsuipc.setTransport(offsetSpace);
+        assertNotEquals(0, fsuipc.connect(FSUIPCWrapper.FSUIPCSimVersion.SIM_ANY));
+
+        pokeInt(0x0580, 900);
+        fsuipc.setPreparedProcessingEnabled(true);
+        IntRequest heading = (IntRequest) fsuipc.addContinualRequest(new IntRequest(0x0580));
+        assertEquals(FSUIPC.PROCESS_RESULT_OK, fsuipc.processRequests(5, true));
+
+        waitForProcessCount(2);
+        assertTrue(failed.get());
+        assertEquals(1, offsetSpace.getPreparedSetCount());
+        assertTrue(fsuipc.cancelRequestsProcessing());
+        assertEquals(Integer.valueOf(900), heading.getValue());
+    }
+
+    /**
+     * Test that with prepared processing, only the changed requests are delivered by onChanged.
+     */
+    @Test
+    public void testPreparedOnChanged() throws InterruptedException {
+        System.out.println("JUnit test: FSUIPC onChanged with prepared processing");
+
+        final List<List<IDataRequest>> arDeliveries = new CopyOnWriteArrayList<>();
+        fsuipc.addListener(new IFSUIPCListener() {
+            @Override
+            public void onConnected() {
+            }
+
+            @Override
+            public void onDisconnected() {
+            }
+
+            @Override
+            public void onProcess(AbstractQueue<IDataRequest> arRequests) {
+            }
+
+            @Override
+            public void onChanged(Collection<IDataRequest> arChangedRequests) {
+                arDeliveries.add(new ArrayList<>(arChangedRequests));
+            }
+
+            @Override
+            public void onFail(int lastResult) {
+            }
+        });
+
+        pokeInt(0x0580, 450);
+        fsuipc.setPreparedProcessingEnabled(true);
+        IntRequest heading = (IntRequest) fsuipc.addContinualRequest(new IntRequest(0x0580));
+        IntRequest bank = (IntRequest) fsuipc.addContinualRequest(new IntRequest(0x057C));
+
+        assertEquals(FSUIPC.PROCESS_RESULT_OK, fsuipc.processRequests(5, true));
+        waitForProcessCount(3);
+        assertEquals(1, offsetSpace.getPreparedSetCount());
+        assertEquals(1, arDeliveries.size());
+        assertEquals(List.of(heading, bank), arDeliveries.get(0));
+
+        pokeInt(0x0580, 900);
+        waitForProcessCount(offsetSpace.getProcessCount() + 3);
+        assertEquals(Integer.valueOf(900), heading.getValue());
+
+        //one-time request goes the usual way, the next prepared cycle copies all the data again
+        fsuipc.addOneTimeRequest(new IntRequest(0x66C0));
+        pokeInt(0x057C, 100);
+        waitForProcessCount(offsetSpace.getProcessCount() + 3);
+        assertTrue(fsuipc.cancelRequestsProcessing());
+        assertEquals(Integer.valueOf(100), bank.getValue());
+        assertEquals(3, arDeliveries.size());
+        assertEquals(List.of(heading), arDeliveries.get(1));
+        assertEquals(List.of(bank), arDeliveries.get(2));
+    }
+
+    /**
+     * Test that the processing waits for the process lock of the transport, while the last result can be read.
+     */
+    @Test
+    public void testProcessLock() throws InterruptedException {
+        System.out.println("JUnit test: FSUIPC process lock with simulated offset space");
+
+        pokeInt(0x0580, 900);
+        IntRequest heading = (IntRequest) fsuipc.addContinualRequest(new IntRequest(0x0580));
+        assertEquals(FSUIPC.PROCESS_RESULT_OK, fsuipc.processRequests(5, true));
+        waitForProcessCount(2);
+
+        final long processCount;
+        offsetSpace.getProcessLock().lock();
+        try {
+            //let the running cycle finish, then nothing is processed while the lock is held
+            Thread.sleep(20);
+            processCount = offsetSpace.getProcessCount();
+            Thread.sleep(50);
+            assertEquals(processCount, offsetSpace.getProcessCount());
+            assertEquals(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_OK, fsuipc.getLastResult());
+        } finally {
+            offsetSpace.getProcessLock().unlock();
+        }
+
+        pokeInt(0x0580, 1800);
+        waitForProcessCount(processCount + 2);
+        assertTrue(fsuipc.cancelRequestsProcessing());
+        assertEquals(Integer.valueOf(1800), heading.getValue());
+    }
+
+    /**
+     * Test that when the one-time requests are processed by more threads at once, every one of them is processed,
+     * none is removed by a thread that did not process it.
+     */
+    @Test
+    public void testConcurrentOneTimeRequests() throws InterruptedException {
+        System.out.println("JUnit test: FSUIPC one-time requests processed by more threads");
+
+        pokeInt(0x0580, 900);
+        fsuipc.addContinualRequest(new IntRequest(0x057C));
+        assertEquals(FSUIPC.PROCESS_RESULT_OK, fsuipc.processRequests(1, true));
+
+        final List<IntRequest> arRequests = new CopyOnWriteArrayList<>();
+        final Thread[] arThreads = new Thread[4];
+        for (int t = 0; t < arThreads.length; t++) {
+            arThreads[t] = new Thread(() -> {
+                for (int i = 0; i < 200; i++) {
+                    arRequests.add((IntRequest) fsuipc.addOneTimeRequest(new IntRequest(0x0580)));
+                    fsuipc.processRequestsOnce();
+                }
+            });
+            arThreads[t].start();
+        }
+        for (Thread thread : arThreads) {
+            thread.join();
+        }
+
+        //the ones left are processed by the next cycles
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (!fsuipc.getOneTimeRequests().isEmpty()) {
+            assertTrue("Timed out waiting for one-time requests", System.currentTimeMillis() < deadline);
+            Thread.sleep(5);
+        }
+        assertTrue(fsuipc.cancelRequestsProcessing());
+
+        assertEquals(800, arRequests.size());
+        for (IntRequest request : arRequests) {
+            assertEquals(Integer.valueOf(900), request.getValue());
+        }
+    }
+
+    /**
+     * Puts short value into the simulated offset space.
+     */
+    private void pokeShort(int offset, short value) {
+        offsetSpace.poke(offset, ByteBuffer.allocate(2).order(ByteOrder.LITTLE_ENDIAN).putShort(value).array());
+    }
+
+    /**
+     * Waits till the simulated offset space is processed given number of times.
+     */
+    private void waitForProcessCount(long count) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (offsetSpace.getProcessCount() < count) {
+            assertTrue("Timed out waiting for processing", System.currentTimeMillis() < deadline);
+            Thread.sleep(5);
+        }
+    }
+}
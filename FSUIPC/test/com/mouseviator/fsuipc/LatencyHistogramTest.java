@@ -0,0 +1,72 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * This class tests the {@link LatencyHistogram} class.
+ *
+ * @author Mouseviator
+ */
+public class LatencyHistogramTest {
+
+    public LatencyHistogramTest() {
+    }
+
+    /**
+     * Test that every value falls into a bucket whose upper bound is within the declared precision.
+     */
+    @Test
+    public void testBuckets() {
+        System.out.println("JUnit test: LatencyHistogram buckets");
+
+        for (long value : new long[]{0, 1, 15, 16, 17, 31, 32, 1000, 123456789, Long.MAX_VALUE / 3, Long.MAX_VALUE}) {
+            final int bucket = LatencyHistogram.getBucket(value);
+            final long upperBound = LatencyHistogram.getBucketUpperBound(bucket);
+            assertTrue("Value " + value, upperBound >= value);
+            assertTrue("Value " + value, upperBound - value <= value / LatencyHistogram.SUB_BUCKET_COUNT);
+            if (bucket > 0) {
+                assertTrue("Value " + value, LatencyHistogram.getBucketUpperBound(bucket - 1) < value);
+            }
+        }
+    }
+
+    /**
+     * Test the percentiles of known distribution.
+     */
+    @Test
+    public void testStats() {
+        System.out.println("JUnit test: LatencyHistogram stats");
+
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getStats().getCount());
+
+        //1..1000 microseconds
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        final LatencyStats stats = histogram.getStats();
+        assertEquals(1000, stats.getCount());
+        assertEquals(500500, stats.getMean());
+        assertEquals(1000000, stats.getMax());
+        assertEquals(500000, stats.getP50(), 500000 / 16);
+        assertEquals(990000, stats.getP99(), 990000 / 16);
+        assertEquals(999000, stats.getP999(), 999000 / 16);
+        assertTrue(stats.getP50() <= stats.getP90() && stats.getP90() <= stats.getP99() && stats.getP99() <= stats.getP999());
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+    }
+}
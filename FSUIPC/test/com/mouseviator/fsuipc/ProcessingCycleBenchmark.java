@@ -0,0 +1,164 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc;
+
+import com.mouseviator.fsuipc.datarequest.IDataRequest;
+import com.mouseviator.fsuipc.datarequest.primitives.IntRequest;
+import com.mouseviator.fsuipc.transport.SimulatedOffsetSpace;
+import java.util.AbstractQueue;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark of the request processing of {@link FSUIPC} class against the {@link SimulatedOffsetSpace}:
+ *
+ * <ul>
+ * <li><b>continualCycle</b> - one cycle of the processing thread, that is registering the (cached) plan of continual
+ * requests, the process call, and notifying a listener, including finding out what changed. The cycle is run directly,
+ * without the scheduling, so the benchmark measures the work of the cycle only.</li>
+ * <li><b>compileContinualPlan</b> - compiling the continual requests into the request plan, as done once they
+ * change.</li>
+ * <li><b>registerRequests</b> - adding the requests as one-time requests and {@link FSUIPC#processRequestsOnce() },
+ * that compiles, registers and processes them.</li>
+ * </ul>
+ *
+ * <p>
+ * It is in the <code>com.mouseviator.fsuipc</code> package, to be able to run the processing cycles directly.</p>
+ *
+ * @author Mouseviator
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProcessingCycleBenchmark {
+
+    /**
+     * The number of requests.
+     */
+    @Param({"10", "100", "1000"})
+    public int requestCount;
+
+    /**
+     * Whether to use the batch processing (see {@link FSUIPC#setBatchProcessingEnabled(boolean) }).
+     */
+    @Param({"false", "true"})
+    public boolean batch;
+
+    private FSUIPC fsuipc;
+    private SimulatedOffsetSpace offsetSpace;
+    private IDataRequest[] arRequests;
+    private Runnable worker;
+    private final IFSUIPCListener listener = new IFSUIPCListener() {
+        @Override
+        public void onConnected() {
+        }
+
+        @Override
+        public void onDisconnected() {
+        }
+
+        @Override
+        public void onProcess(AbstractQueue<IDataRequest> arRequests) {
+            processCount++;
+        }
+
+        @Override
+        public void onChanged(Collection<IDataRequest> arChangedRequests) {
+            changedCount += arChangedRequests.size();
+        }
+
+        @Override
+        public void onFail(int lastResult) {
+        }
+    };
+    private long processCount;
+    private long changedCount;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        offsetSpace = new SimulatedOffsetSpace();
+        fsuipc = FSUIPC.getInstance();
+        fsuipc.setTransport(offsetSpace);
+        fsuipc.setBatchProcessingEnabled(batch);
+        if (fsuipc.connect(FSUIPCWrapper.FSUIPCSimVersion.SIM_ANY) == 0) {
+            throw new IllegalStateException("Failed to open simulated connection!");
+        }
+
+        //runs of 4 adjacent 4 byte reads, that are merged into block reads
+        arRequests = new IDataRequest[requestCount];
+        for (int i = 0; i < requestCount; i++) {
+            arRequests[i] = new IntRequest(0x1000 + (i / 4) * 32 + (i % 4) * 4);
+        }
+        for (IDataRequest dataRequest : arRequests) {
+            fsuipc.addContinualRequest(dataRequest);
+        }
+        fsuipc.addListener(listener);
+        worker = fsuipc.createContinualRequestsWorker(TimeUnit.MILLISECONDS.toNanos(20));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fsuipc.removeListener(listener);
+        fsuipc.clearContinualRequests();
+        fsuipc.disconnect();
+        fsuipc.setBatchProcessingEnabled(false);
+        fsuipc.setTransport(null);
+    }
+
+    @Benchmark
+    public long continualCycle() {
+        worker.run();
+        return processCount;
+    }
+
+    @Benchmark
+    public RequestPlan compileContinualPlan() {
+        return RequestPlan.compile(Arrays.asList(arRequests), null, FSUIPC.DEFAULT_READ_COALESCING_GAP, null);
+    }
+
+    @Benchmark
+    public int registerRequests() {
+        for (IDataRequest dataRequest : arRequests) {
+            fsuipc.addOneTimeRequest(dataRequest);
+        }
+        return fsuipc.processRequestsOnce();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        final Options options = new OptionsBuilder()
+                .include(ProcessingCycleBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
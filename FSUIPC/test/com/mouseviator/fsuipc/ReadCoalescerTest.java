@@ -0,0 +1,107 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc;
+
+import com.mouseviator.fsuipc.datarequest.IDataRequest;
+import com.mouseviator.fsuipc.datarequest.primitives.DoubleRequest;
+import com.mouseviator.fsuipc.datarequest.primitives.IntRequest;
+import com.mouseviator.fsuipc.datarequest.primitives.ShortRequest;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * This class tests the {@link ReadCoalescer} class. It does not need the simulator to be running.
+ *
+ * @author Mouseviator
+ */
+public class ReadCoalescerTest {
+
+    public ReadCoalescerTest() {
+    }
+
+    /**
+     * Test that adjacent and overlapping requests end up in one block and distant ones do not.
+     */
+    @Test
+    public void testCoalesce() {
+        System.out.println("JUnit test: ReadCoalescer.coalesce");
+
+        IntRequest heading = new IntRequest(0x0580);
+        DoubleRequest latitude = new DoubleRequest(0x0560);
+        DoubleRequest longitude = new DoubleRequest(0x0568);
+        IntRequest heading2 = new IntRequest(0x0580);
+        ShortRequest pause = new ShortRequest(0x0264);
+
+        List<IDataRequest> arRequests = Arrays.asList(heading, latitude, pause, longitude, heading2);
+
+        List<ReadCoalescer.ReadBlock> arBlocks = ReadCoalescer.coalesce(arRequests, 0);
+        assertEquals(3, arBlocks.size());
+        assertEquals(0x0264, arBlocks.get(0).getOffset());
+        assertEquals(2, arBlocks.get(0).getSize());
+        assertEquals(0x0560, arBlocks.get(1).getOffset());
+        assertEquals(16, arBlocks.get(1).getSize());
+        assertEquals(2, arBlocks.get(1).getRequestCount());
+        assertEquals(0x0580, arBlocks.get(2).getOffset());
+        assertEquals(4, arBlocks.get(2).getSize());
+        assertEquals(2, arBlocks.get(2).getRequestCount());
+
+        //with gap big enough, the latitude/longitude and heading will be one block
+        arBlocks = ReadCoalescer.coalesce(arRequests, 0x10);
+        assertEquals(2, arBlocks.size());
+        assertEquals(0x0560, arBlocks.get(1).getOffset());
+        assertEquals(0x24, arBlocks.get(1).getSize());
+        assertEquals(4, arBlocks.get(1).getRequestCount());
+    }
+
+    /**
+     * Test that the block data are copied into the right requests.
+     */
+    @Test
+    public void testScatter() {
+        System.out.println("JUnit test: ReadCoalescer.ReadBlock.scatter");
+
+        IntRequest first = new IntRequest(0x0100);
+        ShortRequest second = new ShortRequest(0x0106);
+
+        List<ReadCoalescer.ReadBlock> arBlocks = ReadCoalescer.coalesce(Arrays.asList(second, first), 2);
+        assertEquals(1, arBlocks.size());
+
+        ReadCoalescer.ReadBlock block = arBlocks.get(0);
+        assertEquals(8, block.getSize());
+        byte[] data = block.getDataBuffer();
+        //little endian 450 at 0x0100 and 12 at 0x0106
+        data[0] = (byte) 0xC2;
+        data[1] = (byte) 0x01;
+        data[6] = (byte) 12;
+        block.scatter();
+
+        assertEquals(Integer.valueOf(450), first.getValue());
+        assertEquals(Short.valueOf((short) 12), second.getValue());
+    }
+
+    /**
+     * Test that the blocks do not grow over the maximum block size.
+     */
+    @Test
+    public void testMaxBlockSize() {
+        System.out.println("JUnit test: ReadCoalescer maximum block size");
+
+        IntRequest first = new IntRequest(0x1000);
+        IntRequest second = new IntRequest(0x1000 + ReadCoalescer.MAX_BLOCK_SIZE);
+
+        List<ReadCoalescer.ReadBlock> arBlocks = ReadCoalescer.coalesce(Arrays.asList(first, second), Integer.MAX_VALUE);
+        assertEquals(2, arBlocks.size());
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc;
+
+import com.mouseviator.fsuipc.datarequest.IDataRequest;
+import com.mouseviator.fsuipc.datarequest.primitives.IntRequest;
+import com.mouseviator.fsuipc.transport.SimulatedOffsetSpace;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * This class tests the {@link RequestBatch} class. It does not need the simulator to be running.
+ *
+ * @author Mouseviator
+ */
+public class RequestBatchTest {
+
+    public RequestBatchTest() {
+    }
+
+    /**
+     * Test that the batch of a plan can be processed again and again, with the same arrays passed to the transport.
+     */
+    @Test
+    public void testProcessAgain() {
+        System.out.println("JUnit test: RequestBatch processed again");
+
+        final List<Object> arPassedArrays = new ArrayList<>();
+        SimulatedOffsetSpace offsetSpace = new SimulatedOffsetSpace() {
+            @Override
+            public int processBatch(int[] aOffsets, int[] aSizes, byte[] aTypes, byte[] aPool) {
+                arPassedArrays.addAll(Arrays.asList(aOffsets, aSizes, aTypes, aPool));
+                return super.processBatch(aOffsets, aSizes, aTypes, aPool);
+            }
+        };
+        assertNotEquals(0, offsetSpace.open(FSUIPCWrapper.FSUIPCSimVersion.SIM_ANY.getValue()));
+
+        IntRequest heading = new IntRequest(0x0580);
+        IntRequest bank = new IntRequest(0x057C);
+        IntRequest write = new IntRequest(0x66C0, 7);
+        RequestPlan plan = RequestPlan.compile(Arrays.<IDataRequest>asList(heading, bank, write), null, 0, null);
+        RequestBatch batch = new RequestBatch(plan);
+        assertEquals(2, batch.getCount());
+        assertEquals(12, batch.getPoolSize());
+
+        pokeInt(offsetSpace, 0x0580, 900);
+        assertNotEquals(0, batch.process(offsetSpace));
+        assertEquals(Integer.valueOf(900), heading.getValue());
+        assertArrayEquals(new byte[]{7, 0, 0, 0}, offsetSpace.peek(0x66C0, 4));
+
+        pokeInt(offsetSpace, 0x0580, 1800);
+        write.setValue(8);
+        assertNotEquals(0, batch.process(offsetSpace));
+        assertEquals(Integer.valueOf(1800), heading.getValue());
+        assertArrayEquals(new byte[]{8, 0, 0, 0}, offsetSpace.peek(0x66C0, 4));
+
+        //the second process got the very same arrays
+        assertEquals(8, arPassedArrays.size());
+        for (int i = 0; i < 4; i++) {
+            assertSame(arPassedArrays.get(i), arPassedArrays.get(i + 4));
+        }
+    }
+
+    /**
+     * Test that a request with data buffer shorter than its size does not make the batch fail.
+     */
+    @Test
+    public void testShortBuffer() {
+        System.out.println("JUnit test: RequestBatch with short data buffer");
+
+        SimulatedOffsetSpace offsetSpace = new SimulatedOffsetSpace();
+        assertNotEquals(0, offsetSpace.open(FSUIPCWrapper.FSUIPCSimVersion.SIM_ANY.getValue()));
+        pokeInt(offsetSpace, 0x0580, 900);
+
+        IntRequest heading = new IntRequest(0x0580) {
+            @Override
+            public int getSize() {
+                return 8;
+            }
+        };
+        IntRequest write = new IntRequest(0x66C0, 7) {
+            @Override
+            public int getSize() {
+                return 8;
+            }
+        };
+        RequestBatch batch = new RequestBatch();
+        batch.add(heading);
+        batch.add(write);
+
+        assertNotEquals(0, batch.process(offsetSpace));
+        assertEquals(Integer.valueOf(900), heading.getValue());
+        assertArrayEquals(new byte[]{7, 0, 0, 0}, offsetSpace.peek(0x66C0, 4));
+    }
+
+    /**
+     * Puts int value into the simulated offset space.
+     */
+    private void pokeInt(SimulatedOffsetSpace offsetSpace, int offset, int value) {
+        offsetSpace.poke(offset, ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(value).array());
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc;
+
+import com.mouseviator.fsuipc.datarequest.IDataRequest;
+import com.mouseviator.fsuipc.datarequest.primitives.IntRequest;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * This class tests the {@link RequestPlan} class. It does not need the simulator to be running.
+ *
+ * @author Mouseviator
+ */
+public class RequestPlanTest {
+
+    public RequestPlanTest() {
+    }
+
+    /**
+     * Test that reads are merged into blocks, writes stay single steps and the order of reads and writes is kept.
+     */
+    @Test
+    public void testCompile() {
+        System.out.println("JUnit test: RequestPlan.compile");
+
+        IntRequest heading = new IntRequest(0x0580);
+        IntRequest heading2 = new IntRequest(0x0580);
+        IntRequest bank = new IntRequest(0x0584);
+        IntRequest write = new IntRequest(0x3110, 1);
+        IntRequest altitude = new IntRequest(0x0574);
+
+        SharedRead sharedRead = new SharedRead(0x0580, 4);
+        sharedRead.addSubscriber(heading);
+        sharedRead.addSubscriber(heading2);
+        Map<Long, SharedRead> mapShared = new HashMap<>();
+        mapShared.put(SharedRead.key(heading), sharedRead);
+
+        List<IDataRequest> arRequests = Arrays.asList(heading, heading2, bank, write, altitude);
+        RequestPlan plan = RequestPlan.compile(arRequests, mapShared, 0, null);
+        assertEquals(3, plan.getStepCount());
+        assertEquals(0x0580, plan.getBlock(0).getOffset());
+        assertEquals(8, plan.getBlock(0).getSize());
+        assertEquals(2, plan.getBlock(0).getRequestCount());
+        assertNull(plan.getRequest(0));
+        assertNull(plan.getBlock(1));
+        assertSame(write, plan.getRequest(1));
+        assertEquals(0x0574, plan.getBlock(2).getOffset());
+
+        //only the requests that pass the filter make it into the plan
+        plan = RequestPlan.compile(arRequests, mapShared, 0, dataRequest -> dataRequest == bank);
+        assertEquals(1, plan.getStepCount());
+        assertEquals(0x0584, plan.getBlock(0).getOffset());
+
+        assertTrue(RequestPlan.compile(arRequests, mapShared, 0, dataRequest -> false).isEmpty());
+    }
+
+    /**
+     * Test that a block of one request follows the request buffer, even if the request replaces it.
+     */
+    @Test
+    public void testBlockBuffer() {
+        System.out.println("JUnit test: RequestPlan block buffer");
+
+        IntRequest heading = new IntRequest(0x0580);
+        RequestPlan plan = RequestPlan.compile(Arrays.asList(heading), null, 0, null);
+        assertSame(heading.getDataBuffer(), plan.getBlock(0).getDataBuffer());
+
+        heading.setValue(5);
+        assertSame(heading.getDataBuffer(), plan.getBlock(0).getDataBuffer());
+    }
+}
@@ -0,0 +1,166 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc;
+
+import com.mouseviator.fsuipc.datarequest.IDataRequest;
+import com.mouseviator.fsuipc.datarequest.primitives.IntRequest;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * This class tests the {@link SharedRead} class. It does not need the simulator to be running.
+ *
+ * @author Mouseviator
+ */
+public class SharedReadTest {
+
+    public SharedReadTest() {
+    }
+
+    /**
+     * Test the reference counting of subscribers.
+     */
+    @Test
+    public void testSubscribers() {
+        System.out.println("JUnit test: SharedRead subscribers");
+
+        IntRequest heading = new IntRequest(0x0580);
+        IntRequest heading2 = new IntRequest(0x0580);
+        SharedRead sharedRead = new SharedRead(0x0580, 4);
+
+        assertEquals(SharedRead.key(heading), SharedRead.key(heading2));
+        assertNotEquals(SharedRead.key(0x0580, 4), SharedRead.key(0x0580, 8));
+
+        sharedRead.addSubscriber(heading);
+        sharedRead.addSubscriber(heading2);
+        sharedRead.addSubscriber(heading);
+        assertEquals(3, sharedRead.getSubscriberCount());
+
+        assertTrue(sharedRead.removeSubscriber(heading));
+        assertEquals(2, sharedRead.getSubscriberCount());
+        assertTrue(sharedRead.removeSubscriber(heading));
+        assertFalse(sharedRead.removeSubscriber(heading));
+        assertEquals(1, sharedRead.getSubscriberCount());
+    }
+
+    /**
+     * Test that removing a subscriber removes that very request, not another one that is equal to it.
+     */
+    @Test
+    public void testRemoveEqualSubscriber() {
+        System.out.println("JUnit test: SharedRead remove equal subscriber");
+
+        //all the requests of the same offset are equal
+        IntRequest heading = new EqualIntRequest(0x0580);
+        IntRequest heading2 = new EqualIntRequest(0x0580);
+        assertEquals(heading, heading2);
+        SharedRead sharedRead = new SharedRead(0x0580, 4);
+        sharedRead.addSubscriber(heading);
+        sharedRead.addSubscriber(heading2);
+
+        assertTrue(sharedRead.removeSubscriber(heading2));
+        assertFalse(sharedRead.removeSubscriber(heading2));
+        assertEquals(1, sharedRead.getSubscriberCount());
+
+        sharedRead.getDataBuffer()[0] = (byte) 0xC2;
+        sharedRead.getDataBuffer()[1] = (byte) 0x01;
+        sharedRead.scatter();
+
+        assertEquals(Integer.valueOf(450), heading.getValue());
+        assertEquals(Integer.valueOf(0), heading2.getValue());
+    }
+
+    /**
+     * Test that the data read by the shared read end up in all the subscribers, also when it is a part of a block.
+     */
+    @Test
+    public void testScatter() {
+        System.out.println("JUnit test: SharedRead.scatter");
+
+        IntRequest heading = new IntRequest(0x0580);
+        IntRequest heading2 = new IntRequest(0x0580);
+        IntRequest other = new IntRequest(0x057C);
+        SharedRead sharedRead = new SharedRead(0x0580, 4);
+        sharedRead.addSubscriber(heading);
+        sharedRead.addSubscriber(heading2);
+
+        List<ReadCoalescer.ReadBlock> arBlocks = ReadCoalescer.coalesce(List.<IDataRequest>of(sharedRead, other), 0);
+        assertEquals(1, arBlocks.size());
+
+        byte[] data = arBlocks.get(0).getDataBuffer();
+        data[4] = (byte) 0xC2;
+        data[5] = (byte) 0x01;
+        arBlocks.get(0).scatter();
+
+        assertEquals(Integer.valueOf(450), heading.getValue());
+        assertEquals(Integer.valueOf(450), heading2.getValue());
+        assertEquals(Integer.valueOf(0), other.getValue());
+    }
+
+    /**
+     * Test that a shared read is registered after a WRITE request to the same offset that comes between its
+     * subscribers, so that the later subscriber still reads the data after the write.
+     */
+    @Test
+    public void testReadAfterWrite() {
+        System.out.println("JUnit test: SharedRead read after write");
+
+        IntRequest headingBefore = new IntRequest(0x0580);
+        IntRequest headingWrite = new IntRequest(0x0580, 450);
+        IntRequest headingAfter = new IntRequest(0x0580);
+        SharedRead sharedRead = new SharedRead(0x0580, 4);
+        sharedRead.addSubscriber(headingBefore);
+        sharedRead.addSubscriber(headingAfter);
+        Map<Long, SharedRead> mapShared = new HashMap<>();
+        mapShared.put(SharedRead.key(headingBefore), sharedRead);
+
+        RequestPlan plan = RequestPlan.compile(Arrays.<IDataRequest>asList(headingBefore, headingWrite, headingAfter), mapShared, 0, null);
+        assertEquals(2, plan.getStepCount());
+        assertSame(headingWrite, plan.getRequest(0));
+        assertNull(plan.getBlock(0));
+        assertEquals(0x0580, plan.getBlock(1).getOffset());
+        assertEquals(1, plan.getBlock(1).getRequestCount());
+
+        //the data read after the write end up in both subscribers
+        byte[] data = plan.getBlock(1).getDataBuffer();
+        data[0] = (byte) 0xC2;
+        data[1] = (byte) 0x01;
+        plan.getBlock(1).scatter();
+        assertEquals(Integer.valueOf(450), headingBefore.getValue());
+        assertEquals(Integer.valueOf(450), headingAfter.getValue());
+    }
+
+    /**
+     * Int request equal to any other int request of the same offset.
+     */
+    private static final class EqualIntRequest extends IntRequest {
+
+        EqualIntRequest(int offset) {
+            super(offset);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof IntRequest && ((IntRequest) obj).getOffset() == getOffset();
+        }
+
+        @Override
+        public int hashCode() {
+            return getOffset();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc;
+
+import com.mouseviator.fsuipc.datarequest.IDataRequest;
+import com.mouseviator.fsuipc.datarequest.advanced.FSControlRequest;
+import com.mouseviator.fsuipc.datarequest.primitives.ByteRequest;
+import com.mouseviator.fsuipc.datarequest.primitives.IntRequest;
+import com.mouseviator.fsuipc.datarequest.primitives.ShortRequest;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * This class tests the {@link WriteCoalescer} class. It does not need the simulator to be running.
+ *
+ * @author Mouseviator
+ */
+public class WriteCoalescerTest {
+
+    public WriteCoalescerTest() {
+    }
+
+    /**
+     * Test that the last write to the same offset and size wins and adjacent writes end up in one block.
+     */
+    @Test
+    public void testCoalesce() {
+        System.out.println("JUnit test: WriteCoalescer.coalesce");
+
+        IntRequest throttle1 = new IntRequest(0x088C, 1000);
+        IntRequest throttle2 = new IntRequest(0x088C, 2000);
+        IntRequest throttle3 = new IntRequest(0x088C, 3000);
+        List<IDataRequest> arWrites = WriteCoalescer.coalesce(Arrays.asList(throttle1, throttle2, throttle3));
+        assertEquals(1, arWrites.size());
+        assertSame(throttle3, arWrites.get(0));
+
+        //adjacent writes are one block, the distant one is alone
+        ShortRequest first = new ShortRequest(0x0100, (short) 0x0201);
+        ShortRequest second = new ShortRequest(0x0102, (short) 0x0403);
+        ShortRequest distant = new ShortRequest(0x0110, (short) 1);
+        arWrites = WriteCoalescer.coalesce(Arrays.asList(second, distant, first));
+        assertEquals(2, arWrites.size());
+        assertTrue(arWrites.get(0) instanceof WriteCoalescer.WriteBlock);
+        assertEquals(0x0100, arWrites.get(0).getOffset());
+        assertEquals(IDataRequest.RequestType.WRITE, arWrites.get(0).getType());
+        assertEquals(2, ((WriteCoalescer.WriteBlock) arWrites.get(0)).getRequestCount());
+        assertArrayEquals(new byte[]{1, 2, 3, 4}, arWrites.get(0).getDataBuffer());
+        assertSame(distant, arWrites.get(1));
+
+        //where the writes overlap, the later one wins
+        IntRequest wide = new IntRequest(0x0200, 0x11111111);
+        ByteRequest narrow = new ByteRequest(0x0201, (byte) 0x22);
+        arWrites = WriteCoalescer.coalesce(Arrays.asList(wide, narrow));
+        assertEquals(1, arWrites.size());
+        assertArrayEquals(new byte[]{0x11, 0x22, 0x11, 0x11}, arWrites.get(0).getDataBuffer());
+        arWrites = WriteCoalescer.coalesce(Arrays.asList(narrow, wide));
+        assertArrayEquals(new byte[]{0x11, 0x11, 0x11, 0x11}, arWrites.get(0).getDataBuffer());
+    }
+
+    /**
+     * Test that the plan coalesces only the runs of writes and not across reads and commands.
+     */
+    @Test
+    public void testCompilePlan() {
+        System.out.println("JUnit test: RequestPlan.compile with write coalescing");
+
+        FSControlRequest control1 = new FSControlRequest(65752);
+        FSControlRequest control2 = new FSControlRequest(65752);
+        assertFalse(WriteCoalescer.isCoalescable(control1));
+        assertFalse(WriteCoalescer.isCoalescable(new IntRequest(0x088C)));
+
+        List<IDataRequest> arRequests = Arrays.asList(new IntRequest(0x088C, 1), new IntRequest(0x088C, 2), control1, control2,
+                new IntRequest(0x088C, 3), new IntRequest(0x0580), new IntRequest(0x088C, 4), new IntRequest(0x0890, 5));
+        RequestPlan plan = RequestPlan.compile(arRequests, null, 0, null, true);
+        //throttle, both controls, throttle, heading read, throttle and next int as one block
+        assertEquals(6, plan.getStepCount());
+        assertSame(control1, plan.getRequest(1));
+        assertSame(control2, plan.getRequest(2));
+        assertNotNull(plan.getBlock(4));
+        assertEquals(8, plan.getRequest(5).getSize());
+
+        //without coalescing, every write is a step
+        plan = RequestPlan.compile(arRequests, null, 0, null);
+        assertEquals(8, plan.getStepCount());
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc.benchmark;
+
+import com.mouseviator.fsuipc.FSUIPC;
+import com.mouseviator.fsuipc.FSUIPCWrapper;
+import com.mouseviator.fsuipc.transport.FSUIPCWrapperTransport;
+import com.mouseviator.fsuipc.transport.IFSUIPCTransport;
+import com.mouseviator.fsuipc.transport.SimulatedOffsetSpace;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark comparing one processing cycle done the per-request way (one {@link IFSUIPCTransport#read(int, int, byte[])
+ * } call per request, then {@link IFSUIPCTransport#process() }) with the batch way (one
+ * {@link IFSUIPCTransport#processBatch(int[], int[], byte[], byte[]) } call).
+ *
+ * <p>
+ * With the <b>simulated</b> backend ({@link SimulatedOffsetSpace}), this measures only the Java side. To measure the
+ * JNI crossings, run it with <b>-p backend=native</b> on Windows, with the native library in the working directory and
+ * the simulator running. Run the {@link #main(java.lang.String[]) } function, or use the JMH command line options.</p>
+ *
+ * @author Mouseviator
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchProcessingBenchmark {
+
+    /**
+     * The number of requests per cycle.
+     */
+    @Param({"10", "100", "1000"})
+    public int requestCount;
+
+    /**
+     * The backend to use, "simulated" or "native".
+     */
+    @Param({"simulated"})
+    public String backend;
+
+    private IFSUIPCTransport transport;
+    private int[] arOffsets;
+    private int[] arSizes;
+    private byte[] arTypes;
+    private byte[][] arData;
+    private byte[] arPool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("native".equals(backend)) {
+            final byte result = FSUIPC.load();
+            if (result != FSUIPC.LIB_LOAD_RESULT_OK && result != FSUIPC.LIB_LOAD_RESULT_ALREADY_LOADED) {
+                throw new IllegalStateException("Failed to load native library!");
+            }
+            transport = FSUIPCWrapperTransport.getInstance();
+        } else {
+            transport = new SimulatedOffsetSpace();
+        }
+        if (transport.open(FSUIPCWrapper.FSUIPCSimVersion.SIM_ANY.getValue()) == 0) {
+            throw new IllegalStateException("Failed to open FSUIPC connection! Result: " + transport.getResult());
+        }
+
+        //4 byte reads at every 8 bytes, so that nothing is adjacent
+        arOffsets = new int[requestCount];
+        arSizes = new int[requestCount];
+        arTypes = new byte[requestCount];
+        arData = new byte[requestCount][];
+        for (int i = 0; i < requestCount; i++) {
+            arOffsets[i] = 0x1000 + i * 8;
+            arSizes[i] = 4;
+            arTypes[i] = FSUIPCWrapper.BATCH_READ;
+            arData[i] = new byte[4];
+        }
+        arPool = new byte[requestCount * 4];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        transport.close();
+    }
+
+    @Benchmark
+    public int perRequest() {
+        for (int i = 0; i < requestCount; i++) {
+            transport.read(arOffsets[i], arSizes[i], arData[i]);
+        }
+        return transport.process();
+    }
+
+    @Benchmark
+    public int batch() {
+        return transport.processBatch(arOffsets, arSizes, arTypes, arPool);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        final Options options = new OptionsBuilder()
+                .include(BatchProcessingBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
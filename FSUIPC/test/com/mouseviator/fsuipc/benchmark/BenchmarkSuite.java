@@ -0,0 +1,181 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs all the JMH benchmarks of the SDK and keeps their results, so that the performance can be tracked over time and
+ * regressions in the hot paths are caught. Every run writes:
+ *
+ * <ul>
+ * <li>the JMH result file in JSON format (it can be viewed by JMH visualizers), named by the time of the run,</li>
+ * <li>a line per benchmark (and its parameters) appended to the <code>history.csv</code> file.</li>
+ * </ul>
+ *
+ * <p>
+ * Then the results are compared with the last ones of the same benchmark in the history. Any result that got worse by
+ * more than the threshold (and more than the error of both results) is reported as regression and the suite exits with
+ * code 1, so it can be used in a build.</p>
+ *
+ * <p>
+ * The results go to the <code>benchmark-results</code> directory, the threshold is 10 percent. Both can be changed by
+ * the <code>fsuipc.benchmark.results</code> and <code>fsuipc.benchmark.threshold</code> system properties. The arguments
+ * are the JMH command line options, for example a regular expression of benchmarks to run, or <code>-p
+ * requestCount=100</code>.</p>
+ *
+ * @author Mouseviator
+ */
+public class BenchmarkSuite {
+
+    /**
+     * The benchmarks to run if not specified by the arguments.
+     */
+    private static final String ALL_BENCHMARKS = "com\\.mouseviator\\.fsuipc\\..*Benchmark";
+
+    private static final String HISTORY_FILE = "history.csv";
+    private static final String HISTORY_HEADER = "time,benchmark,params,mode,score,error,unit";
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        final Path resultsDir = Paths.get(System.getProperty("fsuipc.benchmark.results", "benchmark-results"));
+        final double threshold = Double.parseDouble(System.getProperty("fsuipc.benchmark.threshold", "10")) / 100.0;
+        Files.createDirectories(resultsDir);
+
+        final String time = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
+        final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        final OptionsBuilder optionsBuilder = new OptionsBuilder();
+        optionsBuilder.parent(commandLineOptions);
+        if (commandLineOptions.getIncludes().isEmpty()) {
+            optionsBuilder.include(ALL_BENCHMARKS);
+        }
+        final Options options = optionsBuilder
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultsDir.resolve(time + ".json").toString())
+                .build();
+        final Collection<RunResult> arResults = new Runner(options).run();
+
+        final Path historyFile = resultsDir.resolve(HISTORY_FILE);
+        final Map<String, String[]> mapPrevious = readLastResults(historyFile);
+        final List<String> arLines = new ArrayList<>();
+        final List<String> arRegressions = new ArrayList<>();
+        for (RunResult result : arResults) {
+            final String[] arRecord = toRecord(time, result);
+            arLines.add(String.join(",", arRecord));
+
+            final String[] arPrevious = mapPrevious.get(getKey(arRecord));
+            if (arPrevious != null && isRegression(arPrevious, arRecord, threshold)) {
+                arRegressions.add(String.format("%s [%s]: %s -> %s %s", arRecord[1], arRecord[2], arPrevious[4], arRecord[4], arRecord[6]));
+            }
+        }
+        if (!Files.exists(historyFile)) {
+            arLines.add(0, HISTORY_HEADER);
+        }
+        Files.write(historyFile, arLines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+
+        if (!arRegressions.isEmpty()) {
+            System.out.println("Performance regressions against the previous run (threshold " + threshold * 100 + "%):");
+            arRegressions.forEach(regression -> System.out.println("  " + regression));
+            System.exit(1);
+        }
+        System.out.println("No performance regressions against the previous run.");
+    }
+
+    /**
+     * Converts the result into the columns of history file (see {@link #HISTORY_HEADER}).
+     */
+    private static String[] toRecord(String time, RunResult result) {
+        final StringBuilder params = new StringBuilder();
+        for (String key : result.getParams().getParamsKeys()) {
+            if (params.length() > 0) {
+                params.append(';');
+            }
+            params.append(key).append('=').append(result.getParams().getParam(key));
+        }
+        return new String[]{
+            time,
+            result.getParams().getBenchmark(),
+            params.toString(),
+            result.getParams().getMode().shortLabel(),
+            String.valueOf(result.getPrimaryResult().getScore()),
+            String.valueOf(result.getPrimaryResult().getScoreError()),
+            result.getPrimaryResult().getScoreUnit()
+        };
+    }
+
+    private static String getKey(String[] arRecord) {
+        return arRecord[1] + "|" + arRecord[2] + "|" + arRecord[3];
+    }
+
+    /**
+     * Reads the history file and returns the last result of every benchmark.
+     */
+    private static Map<String, String[]> readLastResults(Path historyFile) {
+        final Map<String, String[]> mapLast = new HashMap<>();
+        if (!Files.exists(historyFile)) {
+            return mapLast;
+        }
+        try {
+            for (String line : Files.readAllLines(historyFile, StandardCharsets.UTF_8)) {
+                final String[] arRecord = line.split(",", -1);
+                if (arRecord.length == 7 && !line.equals(HISTORY_HEADER)) {
+                    mapLast.put(getKey(arRecord), arRecord);
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return mapLast;
+    }
+
+    /**
+     * Tells whether the current result is worse than the previous one by more than the threshold and the errors. For
+     * the throughput, lower score is worse, for the other modes (time) higher score is worse.
+     */
+    private static boolean isRegression(String[] arPrevious, String[] arCurrent, double threshold) {
+        if (!arPrevious[6].equals(arCurrent[6])) {
+            return false;
+        }
+        final double previous = Double.parseDouble(arPrevious[4]);
+        final double current = Double.parseDouble(arCurrent[4]);
+        final double errors = getError(arPrevious) + getError(arCurrent);
+        final double worse = Mode.deepValueOf(arCurrent[3]) == Mode.Throughput ? previous - current : current - previous;
+        return worse > previous * threshold && worse > errors;
+    }
+
+    private static double getError(String[] arRecord) {
+        final double error = Double.parseDouble(arRecord[5]);
+        return Double.isNaN(error) ? 0 : error;
+    }
+}
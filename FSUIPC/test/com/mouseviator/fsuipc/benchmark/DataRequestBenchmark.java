@@ -0,0 +1,187 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc.benchmark;
+
+import com.mouseviator.fsuipc.datarequest.primitives.ByteRequest;
+import com.mouseviator.fsuipc.datarequest.primitives.DoubleRequest;
+import com.mouseviator.fsuipc.datarequest.primitives.FloatRequest;
+import com.mouseviator.fsuipc.datarequest.primitives.IntRequest;
+import com.mouseviator.fsuipc.datarequest.primitives.LongRequest;
+import com.mouseviator.fsuipc.datarequest.primitives.ShortRequest;
+import com.mouseviator.fsuipc.datarequest.primitives.StringRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark of the value access of the data requests - getting and putting the value of every primitive data
+ * request (boxed by {@link com.mouseviator.fsuipc.datarequest.IDataRequest#getValue() } and primitive by the getAs
+ * functions), and decoding the {@link StringRequest} by both {@link StringRequest.ValueRetrieveMethod}s. This is what
+ * the listeners do with every request on every processing cycle.
+ *
+ * <p>
+ * The values put are taken from the state, so that JIT cannot fold them into constants.</p>
+ *
+ * @author Mouseviator
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DataRequestBenchmark {
+
+    /**
+     * The aircraft title, as FSUIPC would return it at 0x3D00 - zero terminated in a 256 bytes long buffer.
+     */
+    private static final String AIRCRAFT_TITLE = "Cessna Skyhawk 172SP Asobo";
+
+    private final ByteRequest byteRequest = new ByteRequest(0x0264);
+    private final ShortRequest shortRequest = new ShortRequest(0x0274);
+    private final IntRequest intRequest = new IntRequest(0x0580);
+    private final LongRequest longRequest = new LongRequest(0x0560);
+    private final FloatRequest floatRequest = new FloatRequest(0x2EF8);
+    private final DoubleRequest doubleRequest = new DoubleRequest(0x6010);
+    private final StringRequest stringRequest = new StringRequest(0x3D00, 256);
+
+    private byte byteValue = 1;
+    private short shortValue = 1_000;
+    private int intValue = 1_000_000;
+    private long longValue = 1_000_000_000_000L;
+    private float floatValue = 0.5f;
+    private double doubleValue = 49.5;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final byte[] arTitle = AIRCRAFT_TITLE.getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(arTitle, 0, stringRequest.getDataBuffer(), 0, arTitle.length);
+        byteRequest.setValue(byteValue);
+        shortRequest.setValue(shortValue);
+        intRequest.setValue(intValue);
+        longRequest.setValue(longValue);
+        floatRequest.setValue(floatValue);
+        doubleRequest.setValue(doubleValue);
+    }
+
+    @Benchmark
+    public Byte getByte() {
+        return byteRequest.getValue();
+    }
+
+    @Benchmark
+    public void putByte() {
+        byteRequest.setValue(byteValue);
+    }
+
+    @Benchmark
+    public Short getShort() {
+        return shortRequest.getValue();
+    }
+
+    @Benchmark
+    public void putShort() {
+        shortRequest.setValue(shortValue);
+    }
+
+    @Benchmark
+    public Integer getInt() {
+        return intRequest.getValue();
+    }
+
+    @Benchmark
+    public void putInt() {
+        intRequest.setValue(intValue);
+    }
+
+    @Benchmark
+    public int getAsInt() {
+        return intRequest.getAsInt();
+    }
+
+    @Benchmark
+    public void setAsInt() {
+        intRequest.setAsInt(intValue);
+    }
+
+    @Benchmark
+    public Long getLong() {
+        return longRequest.getValue();
+    }
+
+    @Benchmark
+    public void putLong() {
+        longRequest.setValue(longValue);
+    }
+
+    @Benchmark
+    public Float getFloat() {
+        return floatRequest.getValue();
+    }
+
+    @Benchmark
+    public void putFloat() {
+        floatRequest.setValue(floatValue);
+    }
+
+    @Benchmark
+    public Double getDouble() {
+        return doubleRequest.getValue();
+    }
+
+    @Benchmark
+    public void putDouble() {
+        doubleRequest.setValue(doubleValue);
+    }
+
+    @Benchmark
+    public double getAsDouble() {
+        return doubleRequest.getAsDouble();
+    }
+
+    @Benchmark
+    public void setAsDouble() {
+        doubleRequest.setAsDouble(doubleValue);
+    }
+
+    @Benchmark
+    public String getStringWholeBuffer() {
+        return stringRequest.getValue(StringRequest.ValueRetrieveMethod.WHOLE_BUFFER);
+    }
+
+    @Benchmark
+    public String getStringToFirstZeroByte() {
+        return stringRequest.getValue(StringRequest.ValueRetrieveMethod.TO_FIRST_ZERO_BYTE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        final Options options = new OptionsBuilder()
+                .include(DataRequestBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,143 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc.benchmark;
+
+import com.mouseviator.fsuipc.datarequest.DataRequest;
+import com.mouseviator.fsuipc.datarequest.advanced.FSControlRequest;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark of the primitive encoding and decoding functions of {@link DataRequest} (and the {@link FSControlRequest}
+ * setters), without the boxing of the {@link com.mouseviator.fsuipc.datarequest.IDataRequest} interface. Run it with
+ * the GC profiler (the {@link #main(java.lang.String[]) } function does, or use <b>-prof gc</b>), the
+ * <b>gc.alloc.rate.norm</b> shows the bytes allocated per call, which should be 0.
+ *
+ * @author Mouseviator
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DataRequestEncodingBenchmark {
+
+    /**
+     * Data request with 8 bytes buffer, calling the protected functions of {@link DataRequest}.
+     */
+    private static class EncodingRequest extends DataRequest {
+
+        EncodingRequest() {
+            dataBuffer = new byte[BUFFER_LENGTH_LONG];
+        }
+
+        short shortRoundTrip(short value) {
+            putShort(value);
+            return getShort();
+        }
+
+        int intRoundTrip(int value) {
+            putInt(value);
+            return getInt();
+        }
+
+        int boxedIntRoundTrip(Integer value) {
+            putInt(value);
+            return getInt();
+        }
+
+        long longRoundTrip(long value) {
+            putLong(value);
+            return getLong();
+        }
+
+        float floatRoundTrip(float value) {
+            putFloat(value);
+            return getFloat();
+        }
+
+        double doubleRoundTrip(double value) {
+            putDouble(value);
+            return getDouble();
+        }
+    }
+
+    private final EncodingRequest request = new EncodingRequest();
+    private final FSControlRequest controlRequest = new FSControlRequest(65752);
+
+    private short shortValue = 1_000;
+    private int intValue = 1_000_000;
+    private long longValue = 1_000_000_000_000L;
+    private float floatValue = 0.5f;
+    private double doubleValue = 49.5;
+    private Integer boxedValue = 1_000_000;
+
+    @Benchmark
+    public short shortRoundTrip() {
+        return request.shortRoundTrip(shortValue);
+    }
+
+    @Benchmark
+    public int intRoundTrip() {
+        return request.intRoundTrip(intValue);
+    }
+
+    @Benchmark
+    public long longRoundTrip() {
+        return request.longRoundTrip(longValue);
+    }
+
+    @Benchmark
+    public float floatRoundTrip() {
+        return request.floatRoundTrip(floatValue);
+    }
+
+    @Benchmark
+    public double doubleRoundTrip() {
+        return request.doubleRoundTrip(doubleValue);
+    }
+
+    @Benchmark
+    public int boxedIntRoundTrip() {
+        return request.boxedIntRoundTrip(boxedValue);
+    }
+
+    @Benchmark
+    public FSControlRequest controlRequest() {
+        controlRequest.setControl(intValue);
+        controlRequest.setValue(boxedValue);
+        return controlRequest;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        final Options options = new OptionsBuilder()
+                .include(DataRequestEncodingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
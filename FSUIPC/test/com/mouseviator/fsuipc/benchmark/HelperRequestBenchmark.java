@@ -0,0 +1,82 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc.benchmark;
+
+import com.mouseviator.fsuipc.helpers.LVarHelper;
+import com.mouseviator.fsuipc.helpers.LuaHelper;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark of the construction of the data requests by {@link LVarHelper} and {@link LuaHelper} - the LVar read,
+ * write and create requests and the lua run requests. The helpers do not talk to FSUIPC here, so this measures the
+ * building of the control strings and the request objects.
+ *
+ * @author Mouseviator
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HelperRequestBenchmark {
+
+    private final LVarHelper lvarHelper = new LVarHelper();
+    private final LuaHelper luaHelper = new LuaHelper();
+
+    private String lvar = "L:A32NX_EFIS_L_OPTION";
+    private String luaProgram = "ipcReady";
+    private int offset = 0x66C0;
+    private double value = 1.0;
+    private int luaParam = 1;
+
+    @Benchmark
+    public LVarHelper.LVarResult readLVar() {
+        return lvarHelper.readLVar(lvar, offset, LVarHelper.LVarValueFormat.DOUBLE);
+    }
+
+    @Benchmark
+    public LVarHelper.LVarResult writeLVar() {
+        return lvarHelper.writeLVar(lvar, offset, value);
+    }
+
+    @Benchmark
+    public LVarHelper.LVarResult createLVar() {
+        return lvarHelper.createLVar(lvar, offset, value);
+    }
+
+    @Benchmark
+    public LuaHelper.LuaResult lua() {
+        return luaHelper.lua(luaProgram, luaParam);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        final Options options = new OptionsBuilder()
+                .include(HelperRequestBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
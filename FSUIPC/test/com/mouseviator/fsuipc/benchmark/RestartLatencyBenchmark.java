@@ -0,0 +1,117 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc.benchmark;
+
+import com.mouseviator.fsuipc.FSUIPC;
+import com.mouseviator.fsuipc.FSUIPCWrapper;
+import com.mouseviator.fsuipc.datarequest.primitives.IntRequest;
+import com.mouseviator.fsuipc.transport.SimulatedOffsetSpace;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark of the time it takes to restart the continual requests processing with a new request set, that is
+ * {@link FSUIPC#cancelRequestsProcessing() }, adding the new requests and {@link FSUIPC#processRequests(int, boolean) },
+ * until the first cycle of the new set is processed. Also measures the whole disconnect/connect round trip. Uses the {@link SimulatedOffsetSpace}, so it
+ * measures the thread handling only.
+ *
+ * @author Mouseviator
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RestartLatencyBenchmark {
+
+    /**
+     * Processing period long enough for only the first, immediate, cycle to run.
+     */
+    private static final int PERIOD = 1000;
+
+    private FSUIPC fsuipc;
+    private SimulatedOffsetSpace offsetSpace;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        offsetSpace = new SimulatedOffsetSpace();
+        fsuipc = FSUIPC.getInstance();
+        fsuipc.setTransport(offsetSpace);
+        if (fsuipc.connect(FSUIPCWrapper.FSUIPCSimVersion.SIM_ANY) == 0) {
+            throw new IllegalStateException("Failed to open simulated connection!");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fsuipc.disconnect();
+        fsuipc.setTransport(null);
+    }
+
+    @Benchmark
+    public long restartProcessing() {
+        final long processCount = offsetSpace.getProcessCount();
+        //canceling clears the continual requests, so the new set is added after it
+        if (!fsuipc.cancelRequestsProcessing()) {
+            throw new IllegalStateException("Failed to cancel processing!");
+        }
+        fsuipc.addContinualRequest(new IntRequest(0x0580));
+        if (fsuipc.processRequests(PERIOD, false) != FSUIPC.PROCESS_RESULT_OK) {
+            throw new IllegalStateException("Failed to restart processing!");
+        }
+        return awaitProcessCount(processCount + 1);
+    }
+
+    @Benchmark
+    public long reconnect() {
+        fsuipc.disconnect();
+        if (fsuipc.connect(FSUIPCWrapper.FSUIPCSimVersion.SIM_ANY) == 0) {
+            throw new IllegalStateException("Failed to open simulated connection!");
+        }
+        return restartProcessing();
+    }
+
+    /**
+     * Spins till the simulated offset space is processed given number of times.
+     */
+    private long awaitProcessCount(long count) {
+        long processCount;
+        while ((processCount = offsetSpace.getProcessCount()) < count) {
+            Thread.onSpinWait();
+        }
+        return processCount;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        final Options options = new OptionsBuilder()
+                .include(RestartLatencyBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
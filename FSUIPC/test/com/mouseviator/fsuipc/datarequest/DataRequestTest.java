@@ -0,0 +1,166 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc.datarequest;
+
+import com.mouseviator.fsuipc.datarequest.advanced.FSControlRequest;
+import com.mouseviator.fsuipc.datarequest.primitives.IntRequest;
+import com.mouseviator.fsuipc.helpers.aircraft.AircraftHelper;
+import com.mouseviator.fsuipc.helpers.avionics.GPSHelper;
+import java.lang.management.ManagementFactory;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * This class tests the encoding and decoding of the primitive values by the {@link DataRequest} class.
+ *
+ * @author Mouseviator
+ */
+public class DataRequestTest {
+
+    /**
+     * Data request with 8 bytes buffer, calling the protected functions of {@link DataRequest}.
+     */
+    private static class EncodingRequest extends DataRequest {
+
+        EncodingRequest() {
+            dataBuffer = new byte[BUFFER_LENGTH_LONG];
+        }
+
+        long roundTrip(long value) {
+            putShort((short) value);
+            final short shortValue = getShort();
+            putInt((int) value);
+            final int intValue = getInt();
+            putFloat((float) value);
+            final float floatValue = getFloat();
+            putDouble((double) value);
+            final double doubleValue = getDouble();
+            putLong(value);
+            return getLong() + shortValue + intValue + (long) floatValue + (long) doubleValue;
+        }
+    }
+
+    public DataRequestTest() {
+    }
+
+    /**
+     * Test that the values are stored little-endian and read back.
+     */
+    @Test
+    public void testEncoding() {
+        System.out.println("JUnit test: DataRequest encoding");
+
+        EncodingRequest request = new EncodingRequest();
+        request.putInt(0x04030201);
+        assertArrayEquals(new byte[]{1, 2, 3, 4, 0, 0, 0, 0}, request.getDataBuffer());
+        assertEquals(0x04030201, request.getInt());
+        assertEquals(0x0201, request.getShort());
+
+        request.putLong(Long.valueOf(0x0807060504030201L));
+        assertArrayEquals(new byte[]{1, 2, 3, 4, 5, 6, 7, 8}, request.getDataBuffer());
+        assertEquals(0x0807060504030201L, request.getLong());
+
+        request.putShort(Short.valueOf((short) -2));
+        assertEquals(-2, request.getShort());
+
+        request.putFloat(Float.valueOf(-1.5f));
+        assertEquals(-1.5f, request.getFloat(), 0);
+        assertEquals(Float.floatToIntBits(-1.5f), request.getInt());
+
+        request.putDouble(Double.valueOf(49.5));
+        assertEquals(49.5, request.getDouble(), 0);
+        assertEquals(Double.doubleToLongBits(49.5), request.getLong());
+
+        request.putInt(-1, DataRequest.BUFFER_LENGTH_INT);
+        assertEquals(-1, request.getDataBuffer()[7]);
+    }
+
+    /**
+     * Test that the FS control and its parameter are stored in the lower and higher 4 bytes.
+     */
+    @Test
+    public void testFSControlRequest() {
+        System.out.println("JUnit test: FSControlRequest encoding");
+
+        FSControlRequest request = new FSControlRequest(0x01020304, 0x05060708);
+        assertArrayEquals(new byte[]{4, 3, 2, 1, 8, 7, 6, 5}, request.getDataBuffer());
+
+        request.setControl(65752);
+        request.setValue(-1);
+        assertArrayEquals(new byte[]{(byte) 0xD8, 0, 1, 0, -1, -1, -1, -1}, request.getDataBuffer());
+    }
+
+    /**
+     * Test that the primitive and the boxed functions give the same values, including the scaled values of the helper
+     * requests.
+     */
+    @Test
+    public void testPrimitiveAccess() {
+        System.out.println("JUnit test: primitive data request access");
+
+        IntRequest intRequest = new IntRequest(0x0580);
+        intRequest.setAsInt(-5);
+        assertEquals(-5, intRequest.getAsInt());
+        assertEquals(Integer.valueOf(-5), intRequest.getValue());
+        intRequest.setValue(7);
+        assertEquals(7, intRequest.getAsInt());
+
+        //IAS is stored as knots * 128
+        IFloatDataRequest ias = new AircraftHelper().getIAS();
+        ((DataRequest) ias).putInt(256);
+        assertEquals(2.0f, ias.getAsFloat(), 0);
+        assertEquals(ias.getValue(), ias.getAsFloat(), 0);
+
+        //GPS altitude is stored in meters, the helper keeps its IDataRequest<Double> return type
+        IDataRequest<Double> altitudeRequest = new GPSHelper().getAltitude(true);
+        assertTrue(altitudeRequest instanceof IDoubleDataRequest);
+        IDoubleDataRequest altitude = (IDoubleDataRequest) altitudeRequest;
+        ((DataRequest) altitude).putDouble(100.0);
+        assertEquals(328.08, altitude.getAsDouble(), 1e-9);
+        assertEquals(altitude.getValue(), altitude.getAsDouble(), 0);
+        try {
+            altitude.setAsDouble(1.0);
+            fail("Read-only request should not accept value!");
+        } catch (UnsupportedOperationException ex) {
+        }
+    }
+
+    /**
+     * Test that encoding and decoding does not allocate.
+     */
+    @Test
+    public void testNoAllocation() {
+        System.out.println("JUnit test: DataRequest encoding allocation");
+
+        final com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        org.junit.Assume.assumeTrue(threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled());
+
+        EncodingRequest request = new EncodingRequest();
+        long sum = 0;
+        //let JIT compile it first
+        for (int i = 0; i < 100_000; i++) {
+            sum += request.roundTrip(i);
+        }
+
+        final long threadId = Thread.currentThread().getId();
+        final long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100_000; i++) {
+            sum += request.roundTrip(i);
+        }
+        final long allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        assertNotEquals(0, sum);
+        //allow for a few bytes of the measurement itself
+        assertTrue("Allocated " + allocated + " bytes", allocated < 1024);
+    }
+}
@@ -130,6 +130,37 @@ public class StringRequestTest {
         testString(request, TEST_STRING2, 10, charset);
     }
 
+    /**
+     * Test that the decoded value is reused while the byte data buffer does not change, and decoded again when it
+     * does.
+     */
+    @Test
+    public void testCachedValue() {
+        System.out.println("JUnit test: StringRequest cached value");
+
+        StringRequest request = new StringRequest(TEST_OFFSET, 16);
+        byte[] arData = request.getDataBuffer();
+        arData[0] = 'A';
+        arData[1] = 'B';
+
+        String value = request.getValue();
+        assertEquals("AB", value);
+        assertSame(value, request.getValue());
+
+        //the buffer is changed in place, as FSUIPC does
+        arData[1] = 'C';
+        assertEquals("AC", request.getValue());
+
+        //other method decodes again
+        arData[3] = 'D';
+        assertEquals("AC", request.getValue(StringRequest.ValueRetrieveMethod.TO_FIRST_ZERO_BYTE));
+        assertEquals("AC\u0000D", request.getValue(StringRequest.ValueRetrieveMethod.WHOLE_BUFFER));
+
+        //new buffer by setValue
+        request.setValue("XYZ");
+        assertEquals("XYZ", request.getValue());
+    }
+
     /**
      * Test of allocate method, of class StringRequest.
      */
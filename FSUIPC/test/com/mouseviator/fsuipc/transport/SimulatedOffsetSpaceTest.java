@@ -0,0 +1,313 @@
+/**
+ * <pre>
+ * ##########################################################################################################
+ * ######                            This file is part of Java FSUIPC SDK                              ######
+ * ######                                        Version: 1.0                                          ######
+ * ######         Based upon 64 bit Java SDK by Paul Henty who amended 32 bit SDK by Mark Burton       ######
+ * ######                                   ©2020, Radek Henys                                         ######
+ * ######                         All rights .... well, this will be LGPL or so                        ######
+ * ######                                   http:\\mouseviator.com                                     ######
+ * ##########################################################################################################
+ * </pre>
+ */
+package com.mouseviator.fsuipc.transport;
+
+import com.mouseviator.fsuipc.FSUIPCWrapper;
+import java.nio.ByteBuffer;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * This class tests the {@link SimulatedOffsetSpace} class.
+ *
+ * @author Mouseviator
+ */
+public class SimulatedOffsetSpaceTest {
+
+    public SimulatedOffsetSpaceTest() {
+    }
+
+    /**
+     * Test open/close and the result codes.
+     */
+    @Test
+    public void testOpenClose() {
+        System.out.println("JUnit test: SimulatedOffsetSpace open and close");
+
+        SimulatedOffsetSpace offsetSpace = new SimulatedOffsetSpace();
+        byte[] data = new byte[4];
+
+        assertEquals(0, offsetSpace.read(0x0580, 4, data));
+        assertEquals(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_NOTOPEN.getValue(), offsetSpace.getResult());
+
+        assertEquals(0, offsetSpace.open(FSUIPCWrapper.FSUIPCSimVersion.SIM_FSX.getValue()));
+        assertEquals(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_WRONGFS.getValue(), offsetSpace.getResult());
+
+        assertNotEquals(0, offsetSpace.open(FSUIPCWrapper.FSUIPCSimVersion.SIM_ANY.getValue()));
+        assertEquals(0, offsetSpace.open(FSUIPCWrapper.FSUIPCSimVersion.SIM_ANY.getValue()));
+        assertEquals(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_OPEN.getValue(), offsetSpace.getResult());
+
+        assertEquals(0, offsetSpace.process());
+        assertEquals(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_NODATA.getValue(), offsetSpace.getResult());
+
+        offsetSpace.close();
+        assertFalse(offsetSpace.isOpen());
+    }
+
+    /**
+     * Test that reads and writes are processed in order.
+     */
+    @Test
+    public void testReadWrite() {
+        System.out.println("JUnit test: SimulatedOffsetSpace read and write");
+
+        SimulatedOffsetSpace offsetSpace = new SimulatedOffsetSpace();
+        offsetSpace.open(FSUIPCWrapper.FSUIPCSimVersion.SIM_ANY.getValue());
+        offsetSpace.poke(0x66C0, new byte[]{1, 2, 3, 4});
+
+        byte[] before = new byte[4];
+        byte[] after = new byte[4];
+        byte[] written = new byte[]{5, 6, 7, 8};
+
+        assertNotEquals(0, offsetSpace.read(0x66C0, 4, before));
+        assertNotEquals(0, offsetSpace.write(0x66C0, 4, written));
+        //the written data are copied when the request is stored
+        written[0] = 0;
+        assertNotEquals(0, offsetSpace.read(0x66C0, 4, after));
+        //nothing happens before process
+        assertArrayEquals(new byte[4], before);
+
+        assertNotEquals(0, offsetSpace.process());
+        assertArrayEquals(new byte[]{1, 2, 3, 4}, before);
+        assertArrayEquals(new byte[]{5, 6, 7, 8}, after);
+        assertArrayEquals(new byte[]{5, 6, 7, 8}, offsetSpace.peek(0x66C0, 4));
+        assertEquals(3, offsetSpace.getLastProcessRequestCount());
+        assertEquals(1, offsetSpace.getProcessCount());
+    }
+
+    /**
+     * Test reading into direct byte buffer.
+     */
+    @Test
+    public void testReadDirect() {
+        System.out.println("JUnit test: SimulatedOffsetSpace direct read");
+
+        SimulatedOffsetSpace offsetSpace = new SimulatedOffsetSpace();
+        offsetSpace.open(FSUIPCWrapper.FSUIPCSimVersion.SIM_ANY.getValue());
+        offsetSpace.poke(0x0580, new byte[]{1, 2, 3, 4});
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(16);
+        assertNotEquals(0, offsetSpace.readDirect(0x0580, 4, buffer, 8));
+        assertNotEquals(0, offsetSpace.process());
+        assertEquals(0, buffer.get(7));
+        assertEquals(1, buffer.get(8));
+        assertEquals(4, buffer.get(11));
+
+        //heap buffer or data out of the buffer are refused
+        assertEquals(0, offsetSpace.readDirect(0x0580, 4, ByteBuffer.allocate(16), 0));
+        assertEquals(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_DATA.getValue(), offsetSpace.getResult());
+        assertEquals(0, offsetSpace.readDirect(0x0580, 4, buffer, 13));
+        assertEquals(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_DATA.getValue(), offsetSpace.getResult());
+    }
+
+    /**
+     * Test batch processing, both the simulated offset space one and the default one of the interface.
+     */
+    @Test
+    public void testProcessBatch() {
+        System.out.println("JUnit test: SimulatedOffsetSpace batch processing");
+
+        final SimulatedOffsetSpace offsetSpace = new SimulatedOffsetSpace();
+        //passes everything but the batch processing to the offset space, so the default one is used
+        IFSUIPCTransport defaultBatchTransport = new IFSUIPCTransport() {
+            public int open(int aFlightSim) { return offsetSpace.open(aFlightSim); }
+            public void close() { offsetSpace.close(); }
+            public int read(int aOffset, int aSize, byte[] aData) { return offsetSpace.read(aOffset, aSize, aData); }
+            public int readDirect(int aOffset, int aSize, ByteBuffer aBuffer, int aBufferOffset) { return offsetSpace.readDirect(aOffset, aSize, aBuffer, aBufferOffset); }
+            public int write(int aOffset, int aSize, byte[] aData) { return offsetSpace.write(aOffset, aSize, aData); }
+            public int process() { return offsetSpace.process(); }
+            public int getResult() { return offsetSpace.getResult(); }
+            public int getFSVersion() { return offsetSpace.getFSVersion(); }
+            public int getVersion() { return offsetSpace.getVersion(); }
+            public int getLibVersion() { return offsetSpace.getLibVersion(); }
+        };
+        offsetSpace.open(FSUIPCWrapper.FSUIPCSimVersion.SIM_ANY.getValue());
+
+        for (IFSUIPCTransport transport : new IFSUIPCTransport[]{offsetSpace, defaultBatchTransport}) {
+            offsetSpace.poke(0x66C0, new byte[]{1, 2, 3, 4, 0, 0});
+
+            //read, write the same offset, read again, then read 2 bytes
+            int[] offsets = new int[]{0x66C0, 0x66C0, 0x66C0, 0x66C4};
+            int[] sizes = new int[]{4, 4, 4, 2};
+            byte[] types = new byte[]{FSUIPCWrapper.BATCH_READ, FSUIPCWrapper.BATCH_WRITE, FSUIPCWrapper.BATCH_READ, FSUIPCWrapper.BATCH_READ};
+            byte[] pool = new byte[]{0, 0, 0, 0, 5, 6, 7, 8, 0, 0, 0, 0, 9, 9};
+
+            assertNotEquals(0, transport.processBatch(offsets, sizes, types, pool));
+            assertArrayEquals(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 5, 6, 7, 8, 0, 0}, pool);
+            assertArrayEquals(new byte[]{5, 6, 7, 8}, offsetSpace.peek(0x66C0, 4));
+        }
+
+        //store failure is reported even though the stored requests were processed
+        for (IFSUIPCTransport transport : new IFSUIPCTransport[]{offsetSpace, defaultBatchTransport}) {
+            final long processCount = offsetSpace.getProcessCount();
+            byte[] pool = new byte[8];
+            assertEquals(0, transport.processBatch(new int[]{0x66C0, SimulatedOffsetSpace.DEFAULT_SIZE}, new int[]{4, 4},
+                    new byte[]{FSUIPCWrapper.BATCH_READ, FSUIPCWrapper.BATCH_READ}, pool));
+            assertEquals(processCount + 1, offsetSpace.getProcessCount());
+            assertArrayEquals(new byte[]{5, 6, 7, 8, 0, 0, 0, 0}, pool);
+        }
+        assertEquals(0, offsetSpace.processBatch(new int[]{0x66C0, SimulatedOffsetSpace.DEFAULT_SIZE}, new int[]{4, 4},
+                new byte[]{FSUIPCWrapper.BATCH_READ, FSUIPCWrapper.BATCH_READ}, new byte[8]));
+        assertEquals(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_DATA.getValue(), offsetSpace.getResult());
+    }
+
+    /**
+     * Test prepared request sets.
+     */
+    @Test
+    public void testPrepared() {
+        System.out.println("JUnit test: SimulatedOffsetSpace prepared request sets");
+
+        SimulatedOffsetSpace offsetSpace = new SimulatedOffsetSpace();
+        offsetSpace.open(FSUIPCWrapper.FSUIPCSimVersion.SIM_ANY.getValue());
+        offsetSpace.poke(0x66C0, new byte[]{1, 2, 3, 4});
+
+        //write 2 bytes, then read 4 bytes of the same offset
+        ByteBuffer pool = ByteBuffer.allocateDirect(6);
+        int handle = offsetSpace.prepare(new int[]{0x66C0, 0x66C0}, new int[]{2, 4}, new byte[]{FSUIPCWrapper.BATCH_WRITE, FSUIPCWrapper.BATCH_READ}, pool);
+        assertNotEquals(0, handle);
+        assertEquals(1, offsetSpace.getPreparedSetCount());
+
+        pool.put(0, (byte) 5).put(1, (byte) 6);
+        assertNotEquals(0, offsetSpace.processPrepared(handle));
+        assertEquals(5, pool.get(2));
+        assertEquals(4, pool.get(5));
+        assertEquals(2, offsetSpace.getLastProcessRequestCount());
+
+        //the same set again, with new data to write
+        pool.put(0, (byte) 7);
+        assertNotEquals(0, offsetSpace.processPrepared(handle));
+        assertEquals(7, pool.get(2));
+        assertEquals(2, offsetSpace.getProcessCount());
+
+        //heap buffer or data not fitting the buffer are refused
+        assertEquals(0, offsetSpace.prepare(new int[]{0x66C0}, new int[]{4}, new byte[]{FSUIPCWrapper.BATCH_READ}, ByteBuffer.allocate(4)));
+        assertEquals(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_DATA.getValue(), offsetSpace.getResult());
+        assertEquals(0, offsetSpace.prepare(new int[]{0x66C0}, new int[]{8}, new byte[]{FSUIPCWrapper.BATCH_READ}, pool));
+
+        offsetSpace.releasePrepared(handle);
+        assertEquals(0, offsetSpace.getPreparedSetCount());
+        assertEquals(0, offsetSpace.processPrepared(handle));
+        assertEquals(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_DATA.getValue(), offsetSpace.getResult());
+
+        //closing releases all the sets
+        assertNotEquals(0, offsetSpace.prepare(new int[]{0x66C0}, new int[]{4}, new byte[]{FSUIPCWrapper.BATCH_READ}, pool));
+        offsetSpace.close();
+        assertEquals(0, offsetSpace.getPreparedSetCount());
+    }
+
+    /**
+     * Test the bits of changed read requests of prepared set.
+     */
+    @Test
+    public void testPreparedChanged() {
+        System.out.println("JUnit test: SimulatedOffsetSpace prepared set changes");
+
+        SimulatedOffsetSpace offsetSpace = new SimulatedOffsetSpace();
+        offsetSpace.open(FSUIPCWrapper.FSUIPCSimVersion.SIM_ANY.getValue());
+        offsetSpace.poke(0x0580, new byte[]{1, 2, 3, 4});
+
+        ByteBuffer pool = ByteBuffer.allocateDirect(10);
+        int handle = offsetSpace.prepare(new int[]{0x0580, 0x66C0, 0x057C}, new int[]{4, 2, 4},
+                new byte[]{FSUIPCWrapper.BATCH_READ, FSUIPCWrapper.BATCH_WRITE, FSUIPCWrapper.BATCH_READ}, pool);
+        assertNotEquals(0, handle);
+
+        //the first call, all the reads changed, the write never
+        long[] arChanged = new long[1];
+        assertNotEquals(0, offsetSpace.processPrepared(handle, arChanged));
+        assertEquals(0b101L, arChanged[0]);
+
+        //nothing changed
+        assertNotEquals(0, offsetSpace.processPrepared(handle, arChanged));
+        assertEquals(0L, arChanged[0]);
+
+        offsetSpace.poke(0x057C, new byte[]{9});
+        assertNotEquals(0, offsetSpace.processPrepared(handle, arChanged));
+        assertEquals(0b100L, arChanged[0]);
+        assertEquals(9, pool.get(6));
+
+        //too short array is refused
+        assertEquals(0, offsetSpace.processPrepared(handle, new long[0]));
+        assertEquals(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_DATA.getValue(), offsetSpace.getResult());
+        offsetSpace.close();
+    }
+
+    /**
+     * Test that the last result is kept for every calling thread.
+     */
+    @Test
+    public void testResultPerThread() throws Exception {
+        System.out.println("JUnit test: SimulatedOffsetSpace result per thread");
+
+        SimulatedOffsetSpace offsetSpace = new SimulatedOffsetSpace();
+        offsetSpace.open(FSUIPCWrapper.FSUIPCSimVersion.SIM_ANY.getValue());
+        assertEquals(0, offsetSpace.read(0x10000, 4, new byte[4]));
+        assertEquals(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_DATA.getValue(), offsetSpace.getResult());
+
+        //another thread does not see the failure, and its calls do not change the result of this one
+        final int[] arOtherResult = new int[2];
+        Thread other = new Thread(() -> {
+            arOtherResult[0] = offsetSpace.getResult();
+            offsetSpace.read(0x0580, 4, new byte[4]);
+            offsetSpace.process();
+            arOtherResult[1] = offsetSpace.getResult();
+        });
+        other.start();
+        other.join();
+        assertEquals(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_OK.getValue(), arOtherResult[0]);
+        assertEquals(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_OK.getValue(), arOtherResult[1]);
+        assertEquals(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_DATA.getValue(), offsetSpace.getResult());
+        offsetSpace.close();
+    }
+
+    /**
+     * Test bad requests and the IPC buffer limit.
+     */
+    @Test
+    public void testLimits() {
+        System.out.println("JUnit test: SimulatedOffsetSpace limits");
+
+        SimulatedOffsetSpace offsetSpace = new SimulatedOffsetSpace();
+        offsetSpace.open(FSUIPCWrapper.FSUIPCSimVersion.SIM_ANY.getValue());
+
+        assertEquals(0, offsetSpace.read(SimulatedOffsetSpace.DEFAULT_SIZE - 2, 4, new byte[4]));
+        assertEquals(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_DATA.getValue(), offsetSpace.getResult());
+
+        offsetSpace.setIPCBufferSize(2 * (SimulatedOffsetSpace.REQUEST_HEADER_SIZE + 4));
+        assertNotEquals(0, offsetSpace.read(0x0580, 4, new byte[4]));
+        assertNotEquals(0, offsetSpace.read(0x0580, 4, new byte[4]));
+        assertEquals(0, offsetSpace.read(0x0580, 4, new byte[4]));
+        assertEquals(FSUIPCWrapper.FSUIPCResult.FSUIPC_ERR_SIZE.getValue(), offsetSpace.getResult());
+
+        //process frees the buffer
+        assertNotEquals(0, offsetSpace.process());
+        assertNotEquals(0, offsetSpace.read(0x0580, 4, new byte[4]));
+    }
+
+    /**
+     * Test the latency model.
+     */
+    @Test
+    public void testLatency() {
+        System.out.println("JUnit test: SimulatedOffsetSpace latency");
+
+        SimulatedOffsetSpace offsetSpace = new SimulatedOffsetSpace();
+        offsetSpace.open(FSUIPCWrapper.FSUIPCSimVersion.SIM_ANY.getValue());
+        offsetSpace.setLatency(5_000_000, 1_000_000);
+
+        offsetSpace.read(0x0580, 4, new byte[4]);
+        long start = System.nanoTime();
+        offsetSpace.process();
+        assertTrue(System.nanoTime() - start >= 5_000_000);
+    }
+}
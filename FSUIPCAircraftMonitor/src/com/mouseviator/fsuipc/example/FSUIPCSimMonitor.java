@@ -12,6 +12,7 @@
  */
 package com.mouseviator.fsuipc.example;
 
+import com.mouseviator.fsuipc.AsyncListener;
 import com.mouseviator.fsuipc.FSUIPC;
 import com.mouseviator.fsuipc.FSUIPCWrapper;
 import com.mouseviator.fsuipc.IFSUIPCListener;
@@ -1097,8 +1098,8 @@ public class FSUIPCSimMonitor extends javax.swing.JFrame {
             }
         };
 
-        //add the listener to fsuipc
-        fsuipc.addListener(fsuipcListener);
+        //add the listener to fsuipc, called on its own thread, so the map recentering does not delay the processing
+        fsuipc.addListener(new AsyncListener(fsuipcListener));
 
         //start the thread that will wait for successful fsuipc connection, will try every 5 seconds
         fsuipc.waitForConnection(FSUIPCWrapper.FSUIPCSimVersion.SIM_ANY, 5);